@@ -15,20 +15,18 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.internal.checkers;
 
-import java.util.Collection;
 import java.util.Iterator;
 import java.util.Stack;
 
 import org.eclipse.cdt.codan.checkers.CodanCheckersActivator;
 import org.eclipse.cdt.codan.core.cxx.CxxAstUtils;
 import org.eclipse.cdt.codan.core.cxx.model.AbstractAstFunctionChecker;
+import org.eclipse.cdt.codan.core.cxx.model.ControlFlowAnalysis;
 import org.eclipse.cdt.codan.core.model.IProblem;
 import org.eclipse.cdt.codan.core.model.IProblemWorkingCopy;
-import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
 import org.eclipse.cdt.codan.core.model.cfg.ICfgData;
 import org.eclipse.cdt.codan.core.model.cfg.IControlFlowGraph;
 import org.eclipse.cdt.codan.core.model.cfg.IExitNode;
-import org.eclipse.cdt.codan.internal.core.cfg.ControlFlowGraph;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.DOMException;
 import org.eclipse.cdt.core.dom.ast.EScopeKind;
@@ -322,19 +320,7 @@ public class ReturnChecker extends AbstractAstFunctionChecker {
 	}
 
 	private boolean isInDeadCode(IASTFunctionDefinition func, IASTStatement last) {
-		Collection<IBasicBlock> deadBlocks = getDeadBlocks(func);
-		for (Iterator<IBasicBlock> iterator = deadBlocks.iterator(); iterator.hasNext();) {
-			IBasicBlock bb = iterator.next();
-			if (((ICfgData) bb).getData() == last)
-				return true;
-		}
-		return false;
-	}
-
-	// TODO: Any reason not to just expose getDeadNodes() in IControlFlowGraph?
-	public Collection<IBasicBlock> getDeadBlocks(IASTFunctionDefinition func) {
-		IControlFlowGraph graph = getModelCache().getControlFlowGraph(func);
-		return ((ControlFlowGraph) graph).getDeadNodes();
+		return getModelCache().getControlFlowAnalysis(func).isDeadData(last);
 	}
 
 	protected void reportNoRet(IASTFunctionDefinition func, boolean hasRet) {
@@ -378,8 +364,8 @@ public class ReturnChecker extends AbstractAstFunctionChecker {
 			if (astNode == null) {
 				// If it real exit node such as return, exit or throw data will be an AST node,
 				// if it is null it is a fake node added by the graph builder.
-				Collection<IBasicBlock> deadBlocks = getDeadBlocks(func);
-				if (!deadBlocks.contains(node)) // exit node is in dead code, not reporting Bug 350168
+				ControlFlowAnalysis analysis = getModelCache().getControlFlowAnalysis(func);
+				if (!analysis.isDead(node)) // exit node is in dead code, not reporting Bug 350168
 					return true;
 			}
 		}
@@ -267,7 +267,7 @@ public class ControlFlowGraphBuilder {
 		return ((IASTUnaryExpression) expression).getOperator() == IASTUnaryExpression.op_throw;
 	}
 
-	private boolean isExitStatement(IASTNode body) {
+	static boolean isExitStatement(IASTNode body) {
 		if (!(body instanceof IASTExpressionStatement))
 			return false;
 		IASTExpression expression = ((IASTExpressionStatement) body).getExpression();
@@ -593,13 +593,20 @@ public class ControlFlowGraphBuilder {
 
 	private boolean isConstant(IDecisionNode node, long testvalue) {
 		if (node instanceof ICfgData) {
-			IASTNode ast = (IASTNode) ((ICfgData) node).getData();
-			if (ast instanceof IASTExpression) {
-				Number numericalValue = ValueFactory.getConstantNumericalValue((IASTExpression) ast);
-				if (numericalValue != null)
-					return numericalValue.longValue() == testvalue;
-			}
+			Number numericalValue = getConstantValue((IASTNode) ((ICfgData) node).getData());
+			if (numericalValue != null)
+				return numericalValue.longValue() == testvalue;
 		}
 		return false;
 	}
+
+	/**
+	 * @return the value of a constant condition, or <code>null</code> if the
+	 *     condition is not constant
+	 */
+	static Number getConstantValue(IASTNode ast) {
+		if (ast instanceof IASTExpression)
+			return ValueFactory.getConstantNumericalValue((IASTExpression) ast);
+		return null;
+	}
 }
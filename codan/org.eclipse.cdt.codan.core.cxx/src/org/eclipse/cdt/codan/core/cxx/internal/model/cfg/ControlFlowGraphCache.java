@@ -0,0 +1,293 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.model.cfg;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
+import org.eclipse.cdt.codan.core.model.cfg.IDecisionNode;
+import org.eclipse.cdt.codan.internal.core.cfg.AbstractBasicBlock;
+import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTExpressionStatement;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+
+/**
+ * Cache of the control flow graphs of functions which outlives the ASTs the
+ * graphs were built from. A graph is keyed by the translation unit and the
+ * source text of the function. When a function with the same text and the same
+ * AST structure is found in a new AST, e.g. after the editor is reconciled, the
+ * cached graph is bound to the nodes of the new AST instead of being built again.
+ * <p>
+ * A graph refers to the nodes of a single AST, so a graph taken from the cache
+ * belongs to its caller until it is returned with {@link #release(Lease)}. The
+ * graphs in the cache do not refer to any AST.
+ * <p>
+ * A graph also depends on the declarations outside of the function, which
+ * tell whether a called function returns and whether a condition is constant.
+ * Before a cached graph is bound to a new AST, these are evaluated again in the
+ * new AST, and the graph is built again if any of them has changed.
+ * <p>
+ * This class is thread-safe.
+ */
+public class ControlFlowGraphCache {
+	private static final int MAX_SIZE = 500;
+	/** Index of the data of a node which is not an AST node */
+	private static final int NO_AST_NODE = -1;
+
+	private static final ControlFlowGraphCache instance = new ControlFlowGraphCache();
+
+	private static class Key {
+		final String translationUnit;
+		final String source;
+		final int hash;
+
+		Key(String translationUnit, String source) {
+			this.translationUnit = translationUnit;
+			this.source = source;
+			this.hash = 31 * translationUnit.hashCode() + source.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return hash == other.hash && translationUnit.equals(other.translationUnit) && source.equals(other.source);
+		}
+	}
+
+	/**
+	 * A graph and the positions of the data of its nodes in the preorder
+	 * traversal of the function.
+	 */
+	private static class Entry {
+		final CxxControlFlowGraph graph;
+		final AbstractBasicBlock[] nodes;
+		final int[] dataIndexes;
+		final Class<?>[] dataClasses;
+		/** The result of {@link #getFact} for the data of each node */
+		final Object[] facts;
+		final int astNodeCount;
+
+		Entry(CxxControlFlowGraph graph, AbstractBasicBlock[] nodes, int[] dataIndexes, Class<?>[] dataClasses,
+				Object[] facts, int astNodeCount) {
+			this.graph = graph;
+			this.nodes = nodes;
+			this.dataIndexes = dataIndexes;
+			this.dataClasses = dataClasses;
+			this.facts = facts;
+			this.astNodeCount = astNodeCount;
+		}
+
+		/**
+		 * @return false if the graph cannot be bound to the given AST nodes.
+		 */
+		boolean bind(IASTNode[] astNodes) {
+			if (astNodes.length != astNodeCount)
+				return false;
+			for (int i = 0; i < nodes.length; i++) {
+				int index = dataIndexes[i];
+				if (index != NO_AST_NODE && astNodes[index].getClass() != dataClasses[i])
+					return false;
+			}
+			for (int i = 0; i < nodes.length; i++) {
+				int index = dataIndexes[i];
+				if (index != NO_AST_NODE && !Objects.equals(facts[i], getFact(nodes[i], astNodes[index])))
+					return false;
+			}
+			for (int i = 0; i < nodes.length; i++) {
+				int index = dataIndexes[i];
+				if (index != NO_AST_NODE)
+					nodes[i].setData(astNodes[index]);
+			}
+			return true;
+		}
+
+		void unbind() {
+			for (int i = 0; i < nodes.length; i++) {
+				if (dataIndexes[i] != NO_AST_NODE)
+					nodes[i].setData(null);
+			}
+		}
+	}
+
+	/**
+	 * A graph taken from the cache, or built because it was not in the cache.
+	 */
+	public static class Lease {
+		private final Key key;
+		private final Entry entry;
+		private final CxxControlFlowGraph graph;
+
+		private Lease(Key key, Entry entry, CxxControlFlowGraph graph) {
+			this.key = key;
+			this.entry = entry;
+			this.graph = graph;
+		}
+
+		public CxxControlFlowGraph getGraph() {
+			return graph;
+		}
+	}
+
+	private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+	private long hitCount;
+	private long missCount;
+
+	public static ControlFlowGraphCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Returns the graph of a function, taken from the cache if the function has
+	 * not changed since its graph was released, or built otherwise.
+	 *
+	 * @param translationUnit identifies the translation unit containing the function
+	 * @param func the function
+	 * @return the graph, to be returned with {@link #release(Lease)} when it is no longer used.
+	 */
+	public Lease acquire(String translationUnit, IASTFunctionDefinition func) {
+		Key key = new Key(translationUnit, func.getRawSignature());
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.remove(key);
+		}
+		IASTNode[] astNodes = getNodesInPreorder(func);
+		if (entry != null && entry.bind(astNodes)) {
+			synchronized (entries) {
+				hitCount++;
+			}
+			return new Lease(key, entry, entry.graph);
+		}
+		synchronized (entries) {
+			missCount++;
+		}
+		CxxControlFlowGraph graph = CxxControlFlowGraph.build(func);
+		return new Lease(key, createEntry(graph, astNodes), graph);
+	}
+
+	/**
+	 * Returns a graph to the cache. The graph must no longer be used by the caller.
+	 */
+	public void release(Lease lease) {
+		if (lease.entry == null)
+			return;
+		lease.entry.unbind();
+		synchronized (entries) {
+			entries.put(lease.key, lease.entry);
+		}
+	}
+
+	/**
+	 * The number of graphs taken from the cache.
+	 */
+	public long getHitCount() {
+		synchronized (entries) {
+			return hitCount;
+		}
+	}
+
+	/**
+	 * The number of graphs built because they were not in the cache.
+	 */
+	public long getMissCount() {
+		synchronized (entries) {
+			return missCount;
+		}
+	}
+
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * @return the entry for the graph, or <code>null</code> if the data of a node
+	 *     is an AST node which is not part of the function.
+	 */
+	private static Entry createEntry(CxxControlFlowGraph graph, IASTNode[] astNodes) {
+		Map<IASTNode, Integer> indexes = new IdentityHashMap<>(astNodes.length);
+		for (int i = 0; i < astNodes.length; i++) {
+			indexes.put(astNodes[i], i);
+		}
+		Collection<IBasicBlock> blocks = graph.getNodes();
+		AbstractBasicBlock[] nodes = new AbstractBasicBlock[blocks.size()];
+		int[] dataIndexes = new int[nodes.length];
+		Class<?>[] dataClasses = new Class<?>[nodes.length];
+		Object[] facts = new Object[nodes.length];
+		int i = 0;
+		for (IBasicBlock block : blocks) {
+			if (!(block instanceof AbstractBasicBlock))
+				return null;
+			nodes[i] = (AbstractBasicBlock) block;
+			Object data = nodes[i].getData();
+			if (data instanceof IASTNode) {
+				Integer index = indexes.get(data);
+				if (index == null)
+					return null;
+				dataIndexes[i] = index;
+				dataClasses[i] = data.getClass();
+				facts[i] = getFact(nodes[i], (IASTNode) data);
+			} else {
+				dataIndexes[i] = NO_AST_NODE;
+			}
+			i++;
+		}
+		return new Entry(graph, nodes, dataIndexes, dataClasses, facts, astNodes.length);
+	}
+
+	/**
+	 * Returns what the {@link ControlFlowGraphBuilder} found out about the data
+	 * of a node from outside of the function: whether a statement calls a
+	 * function which does not return, or the value of a constant condition.
+	 */
+	private static Object getFact(IBasicBlock node, IASTNode data) {
+		if (node instanceof IDecisionNode) {
+			Number value = ControlFlowGraphBuilder.getConstantValue(data);
+			return value != null ? Long.valueOf(value.longValue()) : null;
+		}
+		if (data instanceof IASTExpressionStatement)
+			return Boolean.valueOf(ControlFlowGraphBuilder.isExitStatement(data));
+		return null;
+	}
+
+	private static IASTNode[] getNodesInPreorder(IASTFunctionDefinition func) {
+		final List<IASTNode> nodes = new ArrayList<>();
+		func.accept(new ASTGenericVisitor(true) {
+			@Override
+			protected int genericVisit(IASTNode node) {
+				nodes.add(node);
+				return PROCESS_CONTINUE;
+			}
+		});
+		return nodes.toArray(new IASTNode[nodes.size()]);
+	}
+}
@@ -0,0 +1,444 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
+import org.eclipse.cdt.codan.core.model.cfg.ICfgData;
+import org.eclipse.cdt.codan.core.model.cfg.IConnectorNode;
+import org.eclipse.cdt.codan.core.model.cfg.IControlFlowGraph;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTBinaryExpression;
+import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
+import org.eclipse.cdt.core.dom.ast.IASTExpression;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTIdExpression;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTUnaryExpression;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IField;
+import org.eclipse.cdt.core.dom.ast.IVariable;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTryBlockStatement;
+
+/**
+ * Data flow facts about the control flow graph of a function, which checkers
+ * can share through {@link CxxModelsCache#getControlFlowAnalysis(IASTFunctionDefinition)}.
+ * <p>
+ * The nodes of the graph and the variables of the function are numbered, and
+ * sets of nodes and of variables are represented as bit sets in
+ * <code>long</code> arrays, with the bit <code>i % 64</code> of the element
+ * <code>i / 64</code> standing for the node or variable number <code>i</code>.
+ * The arrays returned by this class must not be modified.
+ * <p>
+ * The variables of a function are its parameters and local variables. A
+ * variable is defined by a node if the node assigns it or declares it with an
+ * initializer, and used by a node if the node reads it, including by a compound
+ * assignment or an increment. The facts are conservative: a node that takes
+ * the address of a variable only uses it, and a node that defines and reads a
+ * variable uses it.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @since 3.7
+ */
+public final class ControlFlowAnalysis {
+	private static final int[] NO_NODES = {};
+
+	private final IASTFunctionDefinition func;
+	private final IBasicBlock[] nodes;
+	private final Map<IBasicBlock, Integer> nodeNumbers;
+	private final int[][] successors;
+	private final int[][] predecessors;
+	private final long[] reachable;
+	// Computed on demand
+	private IVariable[] variables;
+	private Map<IBinding, Integer> variableNumbers;
+	private long[][] definitions;
+	private long[][] uses;
+	private long[][] liveIn;
+	private long[][] liveOut;
+
+	public ControlFlowAnalysis(IASTFunctionDefinition func, IControlFlowGraph graph) {
+		this.func = func;
+		nodeNumbers = new IdentityHashMap<>();
+		List<IBasicBlock> list = new ArrayList<>();
+		// Number the nodes reachable from the start node first, then the dead nodes.
+		collectNodes(graph.getStartNode(), list);
+		int reachableCount = list.size();
+		for (Iterator<IBasicBlock> iterator = graph.getUnconnectedNodeIterator(); iterator.hasNext();) {
+			collectNodes(iterator.next(), list);
+		}
+		nodes = list.toArray(new IBasicBlock[list.size()]);
+		reachable = newBitSet(nodes.length);
+		for (int i = 0; i < reachableCount; i++) {
+			set(reachable, i);
+		}
+		successors = new int[nodes.length][];
+		int[] predecessorCounts = new int[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			successors[i] = getNumbers(nodes[i].getOutgoingNodes());
+			for (int successor : successors[i]) {
+				predecessorCounts[successor]++;
+			}
+		}
+		predecessors = new int[nodes.length][];
+		for (int i = 0; i < nodes.length; i++) {
+			predecessors[i] = predecessorCounts[i] == 0 ? NO_NODES : new int[predecessorCounts[i]];
+			predecessorCounts[i] = 0;
+		}
+		for (int i = 0; i < nodes.length; i++) {
+			for (int successor : successors[i]) {
+				predecessors[successor][predecessorCounts[successor]++] = i;
+			}
+		}
+	}
+
+	/**
+	 * Adds the nodes that can be reached from the given node to the list, in
+	 * depth first order. Like {@link IControlFlowGraph#getNodes()}, follows the
+	 * incoming edges of connector nodes as well.
+	 */
+	private void collectNodes(IBasicBlock start, List<IBasicBlock> list) {
+		if (start == null || nodeNumbers.containsKey(start))
+			return;
+		Deque<IBasicBlock> pending = new ArrayDeque<>();
+		pending.push(start);
+		while (!pending.isEmpty()) {
+			IBasicBlock node = pending.pop();
+			if (nodeNumbers.containsKey(node))
+				continue;
+			nodeNumbers.put(node, list.size());
+			list.add(node);
+			if (node instanceof IConnectorNode)
+				pushAll(node.getIncomingNodes(), pending);
+			pushAll(node.getOutgoingNodes(), pending);
+		}
+	}
+
+	private void pushAll(IBasicBlock[] blocks, Deque<IBasicBlock> pending) {
+		for (int i = blocks.length; --i >= 0;) {
+			if (blocks[i] != null && !nodeNumbers.containsKey(blocks[i]))
+				pending.push(blocks[i]);
+		}
+	}
+
+	private int[] getNumbers(IBasicBlock[] blocks) {
+		int[] numbers = new int[blocks.length];
+		int count = 0;
+		for (IBasicBlock block : blocks) {
+			Integer number = block != null ? nodeNumbers.get(block) : null;
+			if (number != null)
+				numbers[count++] = number;
+		}
+		return count == 0 ? NO_NODES : Arrays.copyOf(numbers, count);
+	}
+
+	public int getNodeCount() {
+		return nodes.length;
+	}
+
+	public IBasicBlock getNode(int number) {
+		return nodes[number];
+	}
+
+	/**
+	 * @return the number of the node, or -1 if it is not a node of the graph.
+	 */
+	public int getNumber(IBasicBlock node) {
+		Integer number = nodeNumbers.get(node);
+		return number != null ? number : -1;
+	}
+
+	public int[] getSuccessors(int node) {
+		return successors[node];
+	}
+
+	public int[] getPredecessors(int node) {
+		return predecessors[node];
+	}
+
+	/**
+	 * @return the nodes that can be reached from the start node.
+	 */
+	public long[] getReachableNodes() {
+		return reachable;
+	}
+
+	/**
+	 * Returns whether the node is a node of the graph that cannot be reached
+	 * from the start node, i.e. one of {@code ControlFlowGraph.getDeadNodes()}.
+	 */
+	public boolean isDead(IBasicBlock node) {
+		int number = getNumber(node);
+		return number >= 0 && !isSet(reachable, number);
+	}
+
+	/**
+	 * Returns whether a dead node has the given data, e.g. AST node.
+	 */
+	public boolean isDeadData(Object data) {
+		for (int i = 0; i < nodes.length; i++) {
+			if (!isSet(reachable, i) && nodes[i] instanceof ICfgData && ((ICfgData) nodes[i]).getData() == data)
+				return true;
+		}
+		return false;
+	}
+
+	public int getVariableCount() {
+		computeDefinitionsAndUses();
+		return variables.length;
+	}
+
+	public IVariable getVariable(int number) {
+		computeDefinitionsAndUses();
+		return variables[number];
+	}
+
+	/**
+	 * @return the number of the variable, or -1 if it is not a parameter or a
+	 *     local variable of the function.
+	 */
+	public int getNumber(IVariable variable) {
+		computeDefinitionsAndUses();
+		Integer number = variableNumbers.get(variable);
+		return number != null ? number : -1;
+	}
+
+	/**
+	 * @return the variables defined by the node.
+	 */
+	public long[] getDefinitions(int node) {
+		computeDefinitionsAndUses();
+		return definitions[node];
+	}
+
+	/**
+	 * @return the variables used by the node.
+	 */
+	public long[] getUses(int node) {
+		computeDefinitionsAndUses();
+		return uses[node];
+	}
+
+	/**
+	 * @return the variables whose value may be used after entering the node,
+	 *     before they are defined again.
+	 */
+	public long[] getLiveIn(int node) {
+		computeLiveVariables();
+		return liveIn[node];
+	}
+
+	/**
+	 * @return the variables whose value may be used after leaving the node,
+	 *     before they are defined again.
+	 */
+	public long[] getLiveOut(int node) {
+		computeLiveVariables();
+		return liveOut[node];
+	}
+
+	private void computeDefinitionsAndUses() {
+		if (variables != null)
+			return;
+		final List<IVariable> list = new ArrayList<>();
+		variableNumbers = new IdentityHashMap<>();
+		func.accept(new ASTVisitor() {
+			{
+				shouldVisitDeclarators = true;
+			}
+
+			@Override
+			public int visit(IASTDeclarator declarator) {
+				IBinding binding = declarator.getName().resolveBinding();
+				if (binding instanceof IVariable && !(binding instanceof IField)
+						&& !variableNumbers.containsKey(binding)) {
+					variableNumbers.put(binding, list.size());
+					list.add((IVariable) binding);
+				}
+				return PROCESS_CONTINUE;
+			}
+		});
+		variables = list.toArray(new IVariable[list.size()]);
+		definitions = new long[nodes.length][];
+		uses = new long[nodes.length][];
+		for (int i = 0; i < nodes.length; i++) {
+			definitions[i] = newBitSet(variables.length);
+			uses[i] = newBitSet(variables.length);
+			Object data = nodes[i] instanceof ICfgData ? ((ICfgData) nodes[i]).getData() : null;
+			// The data of a try block node is the whole statement, its parts have nodes of their own.
+			if (data instanceof IASTNode && !(data instanceof IASTName) && !(data instanceof ICPPASTTryBlockStatement))
+				collectDefinitionsAndUses((IASTNode) data, definitions[i], uses[i]);
+		}
+	}
+
+	private void collectDefinitionsAndUses(IASTNode data, final long[] defs, final long[] used) {
+		data.accept(new ASTVisitor() {
+			{
+				shouldVisitDeclarators = true;
+				shouldVisitExpressions = true;
+			}
+
+			@Override
+			public int visit(IASTDeclarator declarator) {
+				if (declarator.getInitializer() != null) {
+					int number = getVariableNumber(declarator.getName());
+					if (number >= 0)
+						set(defs, number);
+				}
+				return PROCESS_CONTINUE;
+			}
+
+			@Override
+			public int visit(IASTExpression expression) {
+				if (expression instanceof IASTIdExpression) {
+					int number = getVariableNumber(((IASTIdExpression) expression).getName());
+					if (number >= 0) {
+						if (isAssigned(expression))
+							set(defs, number);
+						if (!isOnlyAssigned(expression))
+							set(used, number);
+					}
+				}
+				return PROCESS_CONTINUE;
+			}
+		});
+	}
+
+	private int getVariableNumber(IASTName name) {
+		Integer number = variableNumbers.get(name.resolveBinding());
+		return number != null ? number : -1;
+	}
+
+	private static boolean isAssigned(IASTExpression expression) {
+		IASTNode parent = expression.getParent();
+		if (parent instanceof IASTBinaryExpression) {
+			IASTBinaryExpression binary = (IASTBinaryExpression) parent;
+			if (binary.getOperand1() != expression)
+				return false;
+			switch (binary.getOperator()) {
+			case IASTBinaryExpression.op_assign:
+			case IASTBinaryExpression.op_multiplyAssign:
+			case IASTBinaryExpression.op_divideAssign:
+			case IASTBinaryExpression.op_moduloAssign:
+			case IASTBinaryExpression.op_plusAssign:
+			case IASTBinaryExpression.op_minusAssign:
+			case IASTBinaryExpression.op_shiftLeftAssign:
+			case IASTBinaryExpression.op_shiftRightAssign:
+			case IASTBinaryExpression.op_binaryAndAssign:
+			case IASTBinaryExpression.op_binaryXorAssign:
+			case IASTBinaryExpression.op_binaryOrAssign:
+				return true;
+			}
+		} else if (parent instanceof IASTUnaryExpression) {
+			switch (((IASTUnaryExpression) parent).getOperator()) {
+			case IASTUnaryExpression.op_prefixIncr:
+			case IASTUnaryExpression.op_prefixDecr:
+			case IASTUnaryExpression.op_postFixIncr:
+			case IASTUnaryExpression.op_postFixDecr:
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isOnlyAssigned(IASTExpression expression) {
+		IASTNode parent = expression.getParent();
+		return parent instanceof IASTBinaryExpression
+				&& ((IASTBinaryExpression) parent).getOperator() == IASTBinaryExpression.op_assign
+				&& ((IASTBinaryExpression) parent).getOperand1() == expression;
+	}
+
+	/**
+	 * Computes the live variables by iterating
+	 * <code>in = uses | (out & ~definitions)</code>, where <code>out</code> is
+	 * the union of <code>in</code> of the successors, until nothing changes.
+	 */
+	private void computeLiveVariables() {
+		if (liveIn != null)
+			return;
+		computeDefinitionsAndUses();
+		int words = words(variables.length);
+		long[][] in = new long[nodes.length][];
+		long[][] out = new long[nodes.length][];
+		for (int i = 0; i < nodes.length; i++) {
+			in[i] = uses[i].clone();
+			out[i] = new long[words];
+		}
+		boolean[] queued = new boolean[nodes.length];
+		Deque<Integer> worklist = new ArrayDeque<>(nodes.length);
+		// Backward problem, start from the last nodes to converge faster.
+		for (int i = nodes.length; --i >= 0;) {
+			worklist.add(i);
+			queued[i] = true;
+		}
+		while (!worklist.isEmpty()) {
+			int node = worklist.poll();
+			queued[node] = false;
+			long[] nodeOut = out[node];
+			for (int successor : successors[node]) {
+				long[] successorIn = in[successor];
+				for (int w = 0; w < words; w++) {
+					nodeOut[w] |= successorIn[w];
+				}
+			}
+			long[] nodeIn = in[node];
+			long[] nodeDefinitions = definitions[node];
+			long[] nodeUses = uses[node];
+			boolean changed = false;
+			for (int w = 0; w < words; w++) {
+				long value = nodeUses[w] | (nodeOut[w] & ~nodeDefinitions[w]);
+				if (value != nodeIn[w]) {
+					nodeIn[w] = value;
+					changed = true;
+				}
+			}
+			if (changed) {
+				for (int predecessor : predecessors[node]) {
+					if (!queued[predecessor]) {
+						queued[predecessor] = true;
+						worklist.add(predecessor);
+					}
+				}
+			}
+		}
+		liveIn = in;
+		liveOut = out;
+	}
+
+	/**
+	 * @return an empty bit set for the given number of nodes or variables.
+	 */
+	public static long[] newBitSet(int size) {
+		return new long[words(size)];
+	}
+
+	public static boolean isSet(long[] bits, int index) {
+		return (bits[index >>> 6] & (1L << index)) != 0;
+	}
+
+	private static void set(long[] bits, int index) {
+		bits[index >>> 6] |= 1L << index;
+	}
+
+	private static int words(int size) {
+		return (size + 63) >>> 6;
+	}
+}
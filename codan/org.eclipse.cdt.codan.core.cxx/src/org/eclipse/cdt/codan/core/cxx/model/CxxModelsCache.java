@@ -14,16 +14,30 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.core.cxx.model;
 
-import java.util.WeakHashMap;
-
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.cdt.codan.core.cxx.Activator;
 import org.eclipse.cdt.codan.core.cxx.internal.model.CodanCommentMap;
-import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.CxxControlFlowGraph;
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.ControlFlowGraphCache;
+import org.eclipse.cdt.codan.core.model.ICheckerInputs;
 import org.eclipse.cdt.codan.core.model.ICodanDisposable;
 import org.eclipse.cdt.codan.core.model.cfg.IControlFlowGraph;
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexFile;
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.index.IIndexInclude;
+import org.eclipse.cdt.core.index.IndexLocationFactory;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.internal.core.dom.rewrite.commenthandler.ASTCommenter;
 import org.eclipse.core.resources.IFile;
@@ -34,7 +48,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
 /**
  * Cache data models for resource so checkers can share it
  */
-public class CxxModelsCache implements ICodanDisposable {
+public class CxxModelsCache implements ICodanDisposable, ICheckerInputs {
 	private static final int PARSE_MODE = ITranslationUnit.AST_SKIP_ALL_HEADERS
 			| ITranslationUnit.AST_CONFIGURE_USING_SOURCE_CONTEXT
 			| ITranslationUnit.AST_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS
@@ -44,14 +58,17 @@ public class CxxModelsCache implements ICodanDisposable {
 	private final ITranslationUnit tu;
 	private IASTTranslationUnit ast;
 	private IIndex index;
-	private final WeakHashMap<IASTFunctionDefinition, IControlFlowGraph> cfgmap;
+	/** Graphs taken from the shared cache, returned to it on dispose */
+	private final Map<IASTFunctionDefinition, ControlFlowGraphCache.Lease> cfgmap;
+	private final Map<IASTFunctionDefinition, ControlFlowAnalysis> analyses;
 	private ICodanCommentMap commentMap;
 	private boolean disposed;
 
 	CxxModelsCache(ITranslationUnit tu) {
 		this.tu = tu;
 		this.file = tu != null ? (IFile) tu.getResource() : null;
-		cfgmap = new WeakHashMap<>(0);
+		cfgmap = new HashMap<>();
+		analyses = new HashMap<>();
 	}
 
 	CxxModelsCache(IASTTranslationUnit ast) {
@@ -82,17 +99,35 @@ public class CxxModelsCache implements ICodanDisposable {
 		return file;
 	}
 
+	/**
+	 * Returns the control flow graph of a function. The graph of a function
+	 * whose source has not changed since the last time its graph was built, e.g.
+	 * by a previous reconcile, is taken from a shared cache instead of being built
+	 * again. The graph may be used until the cache is disposed.
+	 */
 	public synchronized IControlFlowGraph getControlFlowGraph(IASTFunctionDefinition func) {
-		IControlFlowGraph cfg = cfgmap.get(func);
-		if (cfg != null)
-			return cfg;
-		cfg = CxxControlFlowGraph.build(func);
-		// TODO(Alena Laskavaia): Change to LRU.
-		if (cfgmap.size() > 20) { // if too many function better drop the cache
-			cfgmap.clear();
+		ControlFlowGraphCache.Lease lease = cfgmap.get(func);
+		if (lease == null) {
+			lease = ControlFlowGraphCache.getInstance().acquire(func.getContainingFilename(), func);
+			cfgmap.put(func, lease);
+		}
+		return lease.getGraph();
+	}
+
+	/**
+	 * Returns the reachability and data flow facts about the control flow graph
+	 * of a function, shared by the checkers. It may be used until the cache is
+	 * disposed.
+	 *
+	 * @since 3.7
+	 */
+	public synchronized ControlFlowAnalysis getControlFlowAnalysis(IASTFunctionDefinition func) {
+		ControlFlowAnalysis analysis = analyses.get(func);
+		if (analysis == null) {
+			analysis = new ControlFlowAnalysis(func, getControlFlowGraph(func));
+			analyses.put(func, analysis);
 		}
-		cfgmap.put(func, cfg);
-		return cfg;
+		return analysis;
 	}
 
 	public synchronized ICodanCommentMap getCommentedNodeMap() {
@@ -131,6 +166,39 @@ public class CxxModelsCache implements ICodanDisposable {
 		return this.index;
 	}
 
+	/**
+	 * Returns the locations of the headers included by the translation unit,
+	 * directly or indirectly, according to the index.
+	 *
+	 * @since 3.7
+	 */
+	@Override
+	public synchronized Collection<URI> getInputLocations() {
+		Set<URI> locations = new LinkedHashSet<>();
+		if (tu == null || disposed)
+			return locations;
+		try {
+			IIndexFileLocation location = IndexLocationFactory.getIFL(tu);
+			if (location == null)
+				return locations;
+			IIndex index = getIndex();
+			Deque<IIndexFile> pending = new ArrayDeque<>(Arrays.asList(index.getFiles(location)));
+			while (!pending.isEmpty()) {
+				for (IIndexInclude include : pending.pop().getIncludes()) {
+					if (include.isResolved() && locations.add(include.getIncludesLocation().getURI())) {
+						IIndexFile file = index.resolveInclude(include);
+						if (file != null)
+							pending.push(file);
+					}
+				}
+			}
+			locations.remove(location.getURI());
+		} catch (CoreException e) {
+			Activator.log(e);
+		}
+		return locations;
+	}
+
 	/**
 	 * @see IDisposable#dispose()
 	 * This method should not be called concurrently with any other method.
@@ -139,6 +207,11 @@ public class CxxModelsCache implements ICodanDisposable {
 	public void dispose() {
 		Assert.isTrue(!disposed, "CxxASTCache.dispose() called more than once."); //$NON-NLS-1$
 		disposed = true;
+		analyses.clear();
+		for (ControlFlowGraphCache.Lease lease : cfgmap.values()) {
+			ControlFlowGraphCache.getInstance().release(lease);
+		}
+		cfgmap.clear();
 		if (index != null) {
 			index.releaseReadLock();
 		}
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cfg;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.ControlFlowGraphCache;
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.CxxControlFlowGraph;
+import org.eclipse.cdt.codan.core.cxx.model.ControlFlowAnalysis;
+import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
+import org.eclipse.cdt.codan.core.model.cfg.ICfgData;
+import org.eclipse.cdt.codan.core.model.cfg.IControlFlowGraph;
+import org.eclipse.cdt.codan.core.tests.CodanFastCxxAstTestCase;
+import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IVariable;
+
+/**
+ * Tests for ControlFlowAnalysis and ControlFlowGraphCache
+ */
+public class ControlFlowAnalysisTest extends CodanFastCxxAstTestCase {
+	private IASTFunctionDefinition func;
+	private ControlFlowAnalysis analysis;
+
+	@Override
+	public boolean isCpp() {
+		return true;
+	}
+
+	private void analyze(String code) {
+		parse(code);
+		func = (IASTFunctionDefinition) tu.getDeclarations()[0];
+		analysis = new ControlFlowAnalysis(func, CxxControlFlowGraph.build(func));
+	}
+
+	private int findNode(String source) {
+		for (int i = 0; i < analysis.getNodeCount(); i++) {
+			IBasicBlock node = analysis.getNode(i);
+			Object data = ((ICfgData) node).getData();
+			if (data instanceof IASTNode && ((IASTNode) data).getRawSignature().equals(source))
+				return i;
+		}
+		fail("No node for " + source);
+		return -1;
+	}
+
+	private boolean isLiveIn(String source, String variable) {
+		long[] live = analysis.getLiveIn(findNode(source));
+		for (int i = 0; i < analysis.getVariableCount(); i++) {
+			IVariable v = analysis.getVariable(i);
+			if (v.getName().equals(variable))
+				return ControlFlowAnalysis.isSet(live, i);
+		}
+		fail("No variable " + variable);
+		return false;
+	}
+
+	//	int f() {
+	//	  return 1;
+	//	  int a = 2;
+	//	}
+	public void testDeadCode() {
+		analyze(getAboveComment());
+		IASTStatement[] statements = ((IASTCompoundStatement) func.getBody()).getStatements();
+		assertFalse(analysis.isDeadData(statements[0]));
+		assertTrue(analysis.isDeadData(statements[1]));
+		assertFalse(ControlFlowAnalysis.isSet(analysis.getReachableNodes(), findNode("int a = 2;")));
+	}
+
+	//	int f(int p) {
+	//	  int a = p;
+	//	  int b = 0;
+	//	  while (a > 0) {
+	//	    b += a;
+	//	    a--;
+	//	  }
+	//	  a = 5;
+	//	  return b;
+	//	}
+	public void testLiveVariables() {
+		analyze(getAboveComment());
+		assertEquals(3, analysis.getVariableCount());
+		assertTrue(isLiveIn("int a = p;", "p"));
+		assertFalse(isLiveIn("int b = 0;", "p"));
+		assertTrue(isLiveIn("b += a;", "a"));
+		assertTrue(isLiveIn("b += a;", "b"));
+		assertFalse(isLiveIn("a = 5;", "a"));
+		assertTrue(isLiveIn("a = 5;", "b"));
+		assertFalse(isLiveIn("return b;", "a"));
+	}
+
+	//	int f(int p) {
+	//	  if (p) return 1;
+	//	  return 0;
+	//	}
+	public void testCacheRebindsGraph() {
+		ControlFlowGraphCache cache = ControlFlowGraphCache.getInstance();
+		cache.clear();
+		parse(getAboveComment());
+		IASTFunctionDefinition func1 = (IASTFunctionDefinition) tu.getDeclarations()[0];
+		ControlFlowGraphCache.Lease lease1 = cache.acquire("test.cpp", func1);
+		IControlFlowGraph graph = lease1.getGraph();
+		cache.release(lease1);
+
+		long hits = cache.getHitCount();
+		parse(getAboveComment());
+		IASTFunctionDefinition func2 = (IASTFunctionDefinition) tu.getDeclarations()[0];
+		ControlFlowGraphCache.Lease lease2 = cache.acquire("test.cpp", func2);
+		assertEquals(hits + 1, cache.getHitCount());
+		assertSame(graph, lease2.getGraph());
+		for (IBasicBlock node : graph.getNodes()) {
+			Object data = ((ICfgData) node).getData();
+			if (data instanceof IASTNode)
+				assertSame(func2.getTranslationUnit(), ((IASTNode) data).getTranslationUnit());
+		}
+		cache.release(lease2);
+	}
+
+	/**
+	 * Acquires the graph of the last function in each code, as if the code was
+	 * changed between two reconciles, and returns the source of the dead statements
+	 * in the second graph.
+	 */
+	private Set<String> reacquire(String code1, String code2) {
+		ControlFlowGraphCache cache = ControlFlowGraphCache.getInstance();
+		cache.clear();
+		parse(code1);
+		IASTDeclaration[] declarations = tu.getDeclarations();
+		ControlFlowGraphCache.Lease lease1 = cache.acquire("test.cpp",
+				(IASTFunctionDefinition) declarations[declarations.length - 1]);
+		IControlFlowGraph graph = lease1.getGraph();
+		cache.release(lease1);
+
+		long misses = cache.getMissCount();
+		parse(code2);
+		declarations = tu.getDeclarations();
+		ControlFlowGraphCache.Lease lease2 = cache.acquire("test.cpp",
+				(IASTFunctionDefinition) declarations[declarations.length - 1]);
+		try {
+			assertEquals(misses + 1, cache.getMissCount());
+			assertNotSame(graph, lease2.getGraph());
+			Set<String> dead = new HashSet<>();
+			for (IBasicBlock node : lease2.getGraph().getDeadNodes()) {
+				Object data = ((ICfgData) node).getData();
+				if (data instanceof IASTNode)
+					dead.add(((IASTNode) data).getRawSignature());
+			}
+			return dead;
+		} finally {
+			cache.release(lease2);
+		}
+	}
+
+	//	void fail();
+	//	int f(int p) {
+	//	  fail();
+	//	  return p;
+	//	}
+
+	//	[[noreturn]] void fail();
+	//	int f(int p) {
+	//	  fail();
+	//	  return p;
+	//	}
+	public void testCacheChecksNoReturn() {
+		StringBuilder[] contents = getContents(2);
+		assertEquals(Collections.singleton("return p;"), reacquire(contents[0].toString(), contents[1].toString()));
+		assertEquals(Collections.emptySet(), reacquire(contents[1].toString(), contents[0].toString()));
+	}
+
+	//	constexpr int c = 1;
+	//	int f() {
+	//	  if (c)
+	//	    return 1;
+	//	  return 0;
+	//	}
+
+	//	constexpr int c = 0;
+	//	int f() {
+	//	  if (c)
+	//	    return 1;
+	//	  return 0;
+	//	}
+	public void testCacheChecksConstantConditions() {
+		StringBuilder[] contents = getContents(2);
+		Set<String> dead = reacquire(contents[0].toString(), contents[1].toString());
+		assertTrue(dead.contains("return 1;"));
+		assertFalse(dead.contains("return 0;"));
+		dead = reacquire(contents[1].toString(), contents[0].toString());
+		assertFalse(dead.contains("return 1;"));
+		assertTrue(dead.contains("return 0;"));
+	}
+}
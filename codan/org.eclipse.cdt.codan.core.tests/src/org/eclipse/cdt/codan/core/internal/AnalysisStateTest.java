@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
+import org.eclipse.cdt.codan.core.tests.CheckerTestCase;
+import org.eclipse.cdt.codan.internal.checkers.StatementHasNoEffectChecker;
+import org.eclipse.cdt.codan.internal.core.AnalysisState;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Tests for {@link AnalysisState}
+ */
+@SuppressWarnings("nls")
+public class AnalysisStateTest extends CheckerTestCase {
+	private static final CheckerLaunchMode FULL = CheckerLaunchMode.RUN_ON_FULL_BUILD;
+	private static final CheckerLaunchMode INC = CheckerLaunchMode.RUN_ON_INC_BUILD;
+
+	private IFile header;
+	private IFile source1;
+	private IFile source2;
+
+	@Override
+	public boolean isCpp() {
+		return true;
+	}
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		enableProblems(StatementHasNoEffectChecker.ER_ID);
+		header = load("@file:header.h\nint g;\n");
+		source1 = load("@file:source1.cpp\n#include \"header.h\"\nvoid f1() {}\n");
+		source2 = load("@file:source2.cpp\nvoid f2() {}\n");
+	}
+
+	private IFile load(String code) throws CoreException {
+		loadcode(code);
+		return currentIFile;
+	}
+
+	private static Set<URI> inputs(IFile... files) {
+		Set<URI> inputs = new HashSet<>();
+		for (IFile file : files) {
+			inputs.add(file.getLocationURI());
+		}
+		return inputs;
+	}
+
+	private static void touch(IFile file) throws CoreException {
+		File location = file.getLocation().toFile();
+		assertTrue(location.setLastModified(location.lastModified() + 10000));
+		file.refreshLocal(0, null);
+	}
+
+	public void testIsUpToDate() throws Exception {
+		AnalysisState state = AnalysisState.load(cproject.getProject());
+		state.startBuild();
+		assertFalse(state.isUpToDate(source1, FULL));
+		state.update(source1, FULL, inputs(header));
+		assertTrue(state.isUpToDate(source1, FULL));
+		// analyzed in another mode
+		assertFalse(state.isUpToDate(source1, INC));
+
+		// a changed input is seen by the next build only
+		touch(header);
+		assertTrue(state.isUpToDate(source1, FULL));
+		state.startBuild();
+		assertFalse(state.isUpToDate(source1, FULL));
+
+		state.update(source1, FULL, inputs(header));
+		assertTrue(state.isUpToDate(source1, FULL));
+		source1.setContents(new ByteArrayInputStream("void f1() {}\n".getBytes()), true, false, null);
+		assertFalse(state.isUpToDate(source1, FULL));
+
+		// an input that does not exist is never up to date
+		state.update(source2, FULL, Collections.singleton(new File(tmpDir, "missing.h").toURI()));
+		assertFalse(state.isUpToDate(source2, FULL));
+	}
+
+	public void testGetDependents() throws Exception {
+		AnalysisState state = AnalysisState.load(cproject.getProject());
+		state.startBuild();
+		state.update(source1, FULL, inputs(header));
+		state.update(source2, FULL, inputs());
+		assertEquals(Arrays.asList(source1), state.getDependents(inputs(header)));
+		assertEquals(Collections.emptyList(), state.getDependents(inputs(source2)));
+		assertEquals(Collections.emptyList(), state.getDependents(inputs()));
+
+		state.remove(source1);
+		assertEquals(Collections.emptyList(), state.getDependents(inputs(header)));
+	}
+
+	public void testRetain() throws Exception {
+		AnalysisState state = AnalysisState.load(cproject.getProject());
+		state.startBuild();
+		state.update(source1, FULL, inputs(header));
+		state.update(source2, FULL, inputs());
+		state.retain(Arrays.asList(source1, header));
+		assertTrue(state.isUpToDate(source1, FULL));
+		assertFalse(state.isUpToDate(source2, FULL));
+	}
+
+	public void testSaveAndLoad() throws Exception {
+		AnalysisState state = AnalysisState.load(cproject.getProject());
+		state.startBuild();
+		state.update(source1, FULL, inputs(header));
+		state.update(source2, INC, inputs());
+		state.save();
+
+		AnalysisState loaded = AnalysisState.load(cproject.getProject());
+		loaded.startBuild();
+		assertTrue(loaded.isUpToDate(source1, FULL));
+		assertTrue(loaded.isUpToDate(source2, INC));
+		assertFalse(loaded.isUpToDate(source2, FULL));
+		assertEquals(Arrays.asList(source1), loaded.getDependents(inputs(header)));
+
+		// a cleared state is saved too
+		loaded.clear();
+		loaded.save();
+		assertFalse(AnalysisState.load(cproject.getProject()).isUpToDate(source1, FULL));
+	}
+
+	public void testConfigurationChanged() throws Exception {
+		AnalysisState state = AnalysisState.load(cproject.getProject());
+		state.startBuild();
+		state.update(source1, FULL, inputs(header));
+		state.save();
+
+		enableProblems(StatementHasNoEffectChecker.ER_ID,
+				"org.eclipse.cdt.codan.internal.checkers.AssignmentInConditionProblem");
+		assertFalse(AnalysisState.load(cproject.getProject()).isUpToDate(source1, FULL));
+		// a running builder discards its state at the start of the next build
+		assertTrue(state.isUpToDate(source1, FULL));
+		state.startBuild();
+		assertFalse(state.isUpToDate(source1, FULL));
+	}
+}
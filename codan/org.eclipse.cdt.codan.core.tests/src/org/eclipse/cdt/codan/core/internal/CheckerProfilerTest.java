@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.internal;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.cdt.codan.core.CodanCorePlugin;
+import org.eclipse.cdt.codan.core.PreferenceConstants;
+import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
+import org.eclipse.cdt.codan.internal.core.CheckerProfiler;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for {@link CheckerProfiler}
+ */
+@SuppressWarnings("nls")
+public class CheckerProfilerTest extends TestCase {
+	private static final String CHECKER = "test.Checker";
+	private static final String SLOW_CHECKER = "test.SlowChecker";
+	private static final long MILLI = 1000000;
+
+	private CheckerProfiler profiler;
+
+	@Override
+	protected void setUp() throws Exception {
+		profiler = CheckerProfiler.getInstance();
+		profiler.reset();
+		profiler.resumeAll();
+		profiler.setEnabled(true);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		profiler.setEnabled(false);
+		profiler.reset();
+		profiler.resumeAll();
+		getPreferences().remove(PreferenceConstants.P_RUN_AS_YOU_TYPE_BUDGET + '.' + SLOW_CHECKER);
+	}
+
+	private static IEclipsePreferences getPreferences() {
+		return InstanceScope.INSTANCE.getNode(CodanCorePlugin.PLUGIN_ID);
+	}
+
+	private static IFile file(String name) {
+		return ResourcesPlugin.getWorkspace().getRoot().getFile(new Path("/project/" + name));
+	}
+
+	private void add(String checker, String file, CheckerLaunchMode mode, long millis) {
+		profiler.add(checker, file(file), mode, millis * MILLI, millis * MILLI, -1);
+	}
+
+	private String csv() {
+		StringWriter out = new StringWriter();
+		profiler.writeCsv(new PrintWriter(out));
+		return out.toString();
+	}
+
+	private String json() {
+		StringWriter out = new StringWriter();
+		profiler.writeJson(new PrintWriter(out));
+		return out.toString();
+	}
+
+	/**
+	 * @return the columns of the line of a checker in the CSV report
+	 */
+	private List<String> csvColumns(String checker) {
+		for (String line : csv().split("\\R")) {
+			if (line.startsWith(checker + ','))
+				return Arrays.asList(line.split(","));
+		}
+		fail("no line for " + checker);
+		return null;
+	}
+
+	public void testHistogramBuckets() {
+		profiler.add(CHECKER, file("a.c"), CheckerLaunchMode.RUN_ON_FULL_BUILD, MILLI / 2, MILLI / 2, -1);
+		add(CHECKER, "b.c", CheckerLaunchMode.RUN_ON_FULL_BUILD, 1);
+		add(CHECKER, "c.c", CheckerLaunchMode.RUN_ON_FULL_BUILD, 3);
+		add(CHECKER, "d.c", CheckerLaunchMode.RUN_ON_FULL_BUILD, 3);
+		add(CHECKER, "e.c", CheckerLaunchMode.RUN_ON_FULL_BUILD, 6000);
+
+		List<String> header = Arrays.asList(csv().split("\\R")[0].split(","));
+		List<String> columns = csvColumns(CHECKER);
+		assertEquals(header.size(), columns.size());
+		assertEquals("5", columns.get(header.indexOf("runs")));
+		assertEquals("6007.500", columns.get(header.indexOf("total_ms")));
+		assertEquals("6000.000", columns.get(header.indexOf("max_ms")));
+		// each bucket counts the runs shorter than its bound, and not shorter than the previous bound
+		assertEquals("1", columns.get(header.indexOf("lt_1ms")));
+		assertEquals("1", columns.get(header.indexOf("lt_2ms")));
+		assertEquals("2", columns.get(header.indexOf("lt_5ms")));
+		assertEquals("0", columns.get(header.indexOf("lt_5000ms")));
+		assertEquals("1", columns.get(header.indexOf("ge_5000ms")));
+	}
+
+	public void testSlowestFiles() {
+		for (int i = 1; i <= 12; i++) {
+			add(CHECKER, "f" + i + ".c", CheckerLaunchMode.RUN_ON_FULL_BUILD, i);
+		}
+		String json = json();
+		// the ten slowest files, slowest first
+		int index = 0;
+		for (int i = 12; i >= 3; i--) {
+			int next = json.indexOf("\"/project/f" + i + ".c\"");
+			assertTrue("f" + i + ".c", next > index);
+			index = next;
+		}
+		assertFalse(json.contains("\"/project/f2.c\""));
+		assertFalse(json.contains("\"/project/f1.c\""));
+	}
+
+	public void testOverrunSuspends() {
+		getPreferences().putLong(PreferenceConstants.P_RUN_AS_YOU_TYPE_BUDGET + '.' + SLOW_CHECKER, 10);
+		add(SLOW_CHECKER, "a.c", CheckerLaunchMode.RUN_AS_YOU_TYPE, 20);
+		add(SLOW_CHECKER, "a.c", CheckerLaunchMode.RUN_AS_YOU_TYPE, 20);
+		// a run within the budget starts the count again
+		add(SLOW_CHECKER, "a.c", CheckerLaunchMode.RUN_AS_YOU_TYPE, 5);
+		add(SLOW_CHECKER, "a.c", CheckerLaunchMode.RUN_AS_YOU_TYPE, 20);
+		add(SLOW_CHECKER, "a.c", CheckerLaunchMode.RUN_AS_YOU_TYPE, 20);
+		// the budget only applies to the runs as you type
+		add(SLOW_CHECKER, "a.c", CheckerLaunchMode.RUN_ON_FULL_BUILD, 20);
+		assertEquals(Collections.emptySet(), profiler.getSuspended());
+
+		add(SLOW_CHECKER, "a.c", CheckerLaunchMode.RUN_AS_YOU_TYPE, 20);
+		assertEquals(Collections.singleton(SLOW_CHECKER), profiler.getSuspended());
+		assertTrue(json().contains("\"suspended\": [\"" + SLOW_CHECKER + "\"]"));
+
+		// a checker without a budget of its own has the default budget
+		add(CHECKER, "a.c", CheckerLaunchMode.RUN_AS_YOU_TYPE, 20);
+		add(CHECKER, "a.c", CheckerLaunchMode.RUN_AS_YOU_TYPE, 20);
+		add(CHECKER, "a.c", CheckerLaunchMode.RUN_AS_YOU_TYPE, 20);
+		assertEquals(Collections.singleton(SLOW_CHECKER), profiler.getSuspended());
+
+		profiler.resume(SLOW_CHECKER);
+		assertEquals(Collections.emptySet(), profiler.getSuspended());
+		add(SLOW_CHECKER, "a.c", CheckerLaunchMode.RUN_AS_YOU_TYPE, 20);
+		assertEquals(Collections.emptySet(), profiler.getSuspended());
+	}
+
+	public void testJson() {
+		add(CHECKER, "a.c", CheckerLaunchMode.RUN_ON_FULL_BUILD, 2);
+		add(CHECKER, "b\"c.c", CheckerLaunchMode.RUN_ON_FULL_BUILD, 4);
+		add(SLOW_CHECKER, "a.c", CheckerLaunchMode.RUN_ON_FULL_BUILD, 1);
+		String json = json();
+		assertTrue(json.contains("\"cpu_time\": " + profiler.isCpuTimeSupported() + ","));
+		assertTrue(json.contains("\"checker\": \"" + CHECKER + "\","));
+		assertTrue(json.contains("\"checker\": \"" + SLOW_CHECKER + "\","));
+		assertTrue(json.contains("\"runs\": 2,"));
+		assertTrue(json.contains("\"total_ms\": 6.000,"));
+		assertTrue(json.contains("\"mean_ms\": 3.000,"));
+		assertTrue(json.contains("{ \"file\": \"/project/b\\\"c.c\", \"ms\": 4.000 },"));
+		// the checkers are separated by commas, the last one is not followed by one
+		String nl = System.lineSeparator();
+		assertTrue(json.contains("    }," + nl + "    {"));
+		assertTrue(json.trim().endsWith("    }" + nl + "  ]" + nl + "}"));
+	}
+
+	public void testDisabled() {
+		profiler.setEnabled(false);
+		add(CHECKER, "a.c", CheckerLaunchMode.RUN_ON_FULL_BUILD, 2);
+		assertEquals(1, csv().split("\\R").length);
+
+		profiler.setEnabled(true);
+		add(CHECKER, "a.c", CheckerLaunchMode.RUN_ON_FULL_BUILD, 2);
+		assertEquals(2, csv().split("\\R").length);
+		profiler.reset();
+		assertEquals(1, csv().split("\\R").length);
+	}
+}
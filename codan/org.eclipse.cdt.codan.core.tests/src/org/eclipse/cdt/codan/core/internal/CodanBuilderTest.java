@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.cdt.codan.core.model.IProblemReporter;
+import org.eclipse.cdt.codan.core.tests.CheckerTestCase;
+import org.eclipse.cdt.codan.internal.checkers.StatementHasNoEffectChecker;
+import org.eclipse.cdt.codan.internal.core.CodanBuilder;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+/**
+ * Tests that the {@link CodanBuilder} analyzes only the files whose inputs have
+ * changed. The problems are deleted before each build, so the files with
+ * problems afterwards are the analyzed ones.
+ */
+@SuppressWarnings("nls")
+public class CodanBuilderTest extends CheckerTestCase {
+	private IFile header;
+	private IFile source1;
+	private IFile source2;
+
+	@Override
+	public boolean isCpp() {
+		return true;
+	}
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		enableProblems(StatementHasNoEffectChecker.ER_ID);
+	}
+
+	private void loadFiles() throws Exception {
+		loadcode("@file:header.h\nvoid h(int a);\n");
+		header = currentIFile;
+		loadcode("@file:source1.cpp\n#include \"header.h\"\nvoid f1(int a) {\n  a;\n}\n");
+		source1 = currentIFile;
+		loadcode("@file:source2.cpp\nvoid f2(int a) {\n  a;\n}\n");
+		source2 = currentIFile;
+		// the included files are found in the index
+		indexFiles();
+	}
+
+	/**
+	 * Deletes all problems, builds the project and returns the names of the
+	 * files with problems.
+	 */
+	private Set<String> build(int kind) throws CoreException {
+		cproject.getProject().deleteMarkers(IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE, true,
+				IResource.DEPTH_INFINITE);
+		cproject.getProject().build(kind, CodanBuilder.BUILDER_ID, null, new NullProgressMonitor());
+		Set<String> files = new TreeSet<>();
+		for (IMarker marker : cproject.getProject().findMarkers(IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE,
+				true, IResource.DEPTH_INFINITE)) {
+			files.add(marker.getResource().getName());
+		}
+		return files;
+	}
+
+	private static Set<String> names(IFile... files) {
+		Set<String> names = new TreeSet<>();
+		for (IFile file : files) {
+			names.add(file.getName());
+		}
+		return names;
+	}
+
+	public void testUnchangedFilesSkipped() throws Exception {
+		loadFiles();
+		assertEquals(names(source1, source2), build(IncrementalProjectBuilder.FULL_BUILD));
+		assertEquals(names(), build(IncrementalProjectBuilder.FULL_BUILD));
+		assertEquals(names(), build(IncrementalProjectBuilder.INCREMENTAL_BUILD));
+
+		// a changed file is analyzed again
+		source2.setContents(new ByteArrayInputStream("void f2(int b) {\n  b;\n}\n".getBytes()), true, false, null);
+		assertEquals(names(source2), build(IncrementalProjectBuilder.INCREMENTAL_BUILD));
+		assertEquals(names(), build(IncrementalProjectBuilder.INCREMENTAL_BUILD));
+
+		// so are the files including a changed file
+		File location = header.getLocation().toFile();
+		assertTrue(location.setLastModified(location.lastModified() + 10000));
+		header.refreshLocal(0, null);
+		assertEquals(names(source1), build(IncrementalProjectBuilder.INCREMENTAL_BUILD));
+	}
+
+	public void testCleanAnalyzesAll() throws Exception {
+		loadFiles();
+		build(IncrementalProjectBuilder.FULL_BUILD);
+		assertEquals(names(), build(IncrementalProjectBuilder.FULL_BUILD));
+		cproject.getProject().build(IncrementalProjectBuilder.CLEAN_BUILD, CodanBuilder.BUILDER_ID, null,
+				new NullProgressMonitor());
+		assertEquals(names(source1, source2), build(IncrementalProjectBuilder.FULL_BUILD));
+	}
+
+	public void testConfigurationChangeAnalyzesAll() throws Exception {
+		loadFiles();
+		build(IncrementalProjectBuilder.FULL_BUILD);
+		assertEquals(names(), build(IncrementalProjectBuilder.FULL_BUILD));
+		enableProblems(StatementHasNoEffectChecker.ER_ID,
+				"org.eclipse.cdt.codan.internal.checkers.AssignmentInConditionProblem");
+		assertEquals(names(source1, source2), build(IncrementalProjectBuilder.FULL_BUILD));
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.IProblemReporter;
+import org.eclipse.cdt.codan.core.tests.CheckerTestCase;
+import org.eclipse.cdt.codan.internal.checkers.ReturnChecker;
+import org.eclipse.cdt.codan.internal.checkers.StatementHasNoEffectChecker;
+import org.eclipse.cdt.codan.internal.core.CheckersRegistry;
+import org.eclipse.cdt.codan.internal.core.CodanRunner;
+import org.eclipse.cdt.codan.internal.core.ParallelCodanRunner;
+import org.eclipse.cdt.codan.internal.core.model.CodanProblemMarker;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+/**
+ * Tests for {@link ParallelCodanRunner}
+ */
+@SuppressWarnings("nls")
+public class ParallelCodanRunnerTest extends CheckerTestCase {
+	private static final String ASSIGNMENT_IN_CONDITION_ID = "org.eclipse.cdt.codan.internal.checkers.AssignmentInConditionProblem";
+
+	@Override
+	public boolean isCpp() {
+		return true;
+	}
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		enableProblems(ReturnChecker.RET_NO_VALUE_ID, ReturnChecker.RET_NORET_ID, StatementHasNoEffectChecker.ER_ID,
+				ASSIGNMENT_IN_CONDITION_ID);
+	}
+
+	/**
+	 * @return the problems reported on the project, as sorted descriptions
+	 */
+	private List<String> getProblems() throws CoreException {
+		List<String> problems = new ArrayList<>();
+		for (IMarker marker : cproject.getProject().findMarkers(IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE,
+				true, IResource.DEPTH_INFINITE)) {
+			problems.add(marker.getResource().getName() + ":" + getLine(marker) + ":"
+					+ CodanProblemMarker.getProblemId(marker) + ":" + marker.getAttribute(IMarker.MESSAGE, ""));
+		}
+		Collections.sort(problems);
+		return problems;
+	}
+
+	private void deleteProblems() throws CoreException {
+		cproject.getProject().deleteMarkers(IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE, true,
+				IResource.DEPTH_INFINITE);
+	}
+
+	//	int f(int a) {
+	//	  int b = 3;
+	//	  if (a = b)
+	//	    b++;
+	//	  a + b;
+	//	}
+	//	void g(int a) {
+	//	  if (a)
+	//	    return;
+	//	  a;
+	//	}
+	//	int h() {
+	//	  return;
+	//	}
+	public void testSameProblemsAsSequentialRun() throws Exception {
+		String code = getAboveComment();
+		for (int i = 0; i < 12; i++) {
+			loadcode(code);
+		}
+		CodanRunner.processResource(cproject.getProject(), CheckerLaunchMode.RUN_ON_FULL_BUILD,
+				new NullProgressMonitor());
+		List<String> sequential = getProblems();
+		assertFalse(sequential.isEmpty());
+
+		deleteProblems();
+		ParallelCodanRunner.processResource(cproject.getProject(), CheckerLaunchMode.RUN_ON_FULL_BUILD, 4,
+				new NullProgressMonitor());
+		assertEquals(sequential, getProblems());
+
+		// a second run replaces the problems of the first one
+		ParallelCodanRunner.processResource(cproject.getProject(), CheckerLaunchMode.RUN_ON_FULL_BUILD, 3,
+				new NullProgressMonitor());
+		assertEquals(sequential, getProblems());
+	}
+
+	public void testInvalidThreads() throws Exception {
+		try {
+			ParallelCodanRunner.processResource(cproject.getProject(), CheckerLaunchMode.RUN_ON_FULL_BUILD, 0,
+					new NullProgressMonitor());
+			fail();
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	//	int f() {
+	//	}
+	public void testCreateCheckerCopy() throws Exception {
+		loadcode(getAboveComment());
+		CheckersRegistry registry = CheckersRegistry.getInstance();
+		IChecker checker = null;
+		for (IChecker c : registry) {
+			if (c instanceof ReturnChecker)
+				checker = c;
+		}
+		assertNotNull(checker);
+
+		IChecker copy = registry.createCheckerCopy(checker);
+		assertNotNull(copy);
+		assertNotSame(checker, copy);
+		assertSame(ReturnChecker.class, copy.getClass());
+		assertSame(checker, registry.getOriginalChecker(copy));
+		assertSame(checker, registry.getOriginalChecker(checker));
+		assertEquals(registry.getRefProblems(checker), registry.getRefProblems(copy));
+		assertTrue(registry.isCheckerEnabled(copy, currentIFile, CheckerLaunchMode.RUN_ON_FULL_BUILD));
+
+		// every call makes a new copy
+		IChecker copy2 = registry.createCheckerCopy(checker);
+		assertNotSame(copy, copy2);
+		registry.releaseCheckerCopy(copy2);
+
+		registry.releaseCheckerCopy(copy);
+		assertSame(copy, registry.getOriginalChecker(copy));
+		assertNull(registry.getRefProblems(copy));
+
+		// a copy has no extension, so it cannot be copied
+		assertNull(registry.createCheckerCopy(copy));
+	}
+}
@@ -14,6 +14,10 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.core.tests;
 
+import org.eclipse.cdt.codan.core.internal.AnalysisStateTest;
+import org.eclipse.cdt.codan.core.internal.CheckerProfilerTest;
+import org.eclipse.cdt.codan.core.internal.CodanBuilderTest;
+import org.eclipse.cdt.codan.core.internal.ParallelCodanRunnerTest;
 import org.eclipse.cdt.codan.core.internal.checkers.AbstractClassInstantiationCheckerTest;
 import org.eclipse.cdt.codan.core.internal.checkers.AssignmentInConditionCheckerTest;
 import org.eclipse.cdt.codan.core.internal.checkers.AssignmentOperatorCheckerTest;
@@ -113,6 +117,10 @@ public class AutomatedIntegrationSuite extends TestSuite {
 		suite.addTestSuite(NoDiscardCheckerTest.class);
 		// framework
 		suite.addTest(CodanFastTestSuite.suite());
+		suite.addTestSuite(ParallelCodanRunnerTest.class);
+		suite.addTestSuite(AnalysisStateTest.class);
+		suite.addTestSuite(CodanBuilderTest.class);
+		suite.addTestSuite(CheckerProfilerTest.class);
 		// quick fixes
 		suite.addTestSuite(CreateLocalVariableQuickFixTest.class);
 		suite.addTestSuite(SuggestedParenthesisQuickFixTest.class);
@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.core.tests;
 
+import org.eclipse.cdt.codan.core.cfg.ControlFlowAnalysisTest;
 import org.eclipse.cdt.codan.core.cfg.ControlFlowGraphTest;
 import org.eclipse.cdt.codan.core.cxx.CxxAstUtilsTest;
 import org.eclipse.cdt.codan.core.param.BasicProblemPreferenceTest;
@@ -47,6 +48,7 @@ public class CodanFastTestSuite extends TestSuite {
 		suite.addTestSuite(MapProblemPreferenceTest.class);
 		suite.addTestSuite(CxxAstUtilsTest.class);
 		suite.addTestSuite(ControlFlowGraphTest.class);
+		suite.addTestSuite(ControlFlowAnalysisTest.class);
 		return suite;
 	}
 }
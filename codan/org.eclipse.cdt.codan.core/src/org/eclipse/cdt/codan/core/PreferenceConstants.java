@@ -21,4 +21,11 @@ public class PreferenceConstants {
 	public static final String P_RUN_IN_EDITOR = "inEditor"; //$NON-NLS-1$
 	public static final String P_PROBLEMS = "problems"; //$NON-NLS-1$
 	public static final String P_USE_PARENT = "useParentScope"; //$NON-NLS-1$
+	/**
+	 * Time budget of a checker running as you type in milliseconds, 0 for no budget.
+	 * Can be overridden for a checker by a key followed by a dot and the class
+	 * name of the checker.
+	 * @since 4.3
+	 */
+	public static final String P_RUN_AS_YOU_TYPE_BUDGET = "runAsYouTypeBudget"; //$NON-NLS-1$
 }
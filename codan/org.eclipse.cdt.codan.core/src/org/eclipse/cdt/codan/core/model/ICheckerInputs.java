@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.model;
+
+import java.net.URI;
+import java.util.Collection;
+
+/**
+ * An object stored in an {@link ICheckerInvocationContext} that knows which
+ * files, besides the resource of the context, were read by the checkers, e.g.
+ * the headers included by a source file. The builder analyzes a resource again
+ * only when the resource or one of these files has changed.
+ * <p>
+ * This interface can be implemented by clients.
+ *
+ * @since 4.3
+ */
+public interface ICheckerInputs {
+	/**
+	 * Returns the files read when analyzing the resource of the context. Called
+	 * once the checkers are done, before the context is disposed.
+	 *
+	 * @return the locations of the files, not including the resource itself.
+	 */
+	Collection<URI> getInputLocations();
+}
@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.cdt.codan.core.CodanCorePlugin;
+import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.IProblem;
+import org.eclipse.cdt.codan.core.model.IProblemProfile;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * The inputs of the last analysis of each file of a project: the modification
+ * stamp of the file, and the files read by the checkers with their time stamps.
+ * The builder uses it to analyze only the files whose inputs have changed. The
+ * results of the analysis are the problem markers, which are persistent, so the
+ * state is saved in the working location of the project to survive a restart.
+ * <p>
+ * The state is discarded when the configuration of the problems of the project
+ * changes, or when a bundle contributing checkers is updated. It is not
+ * thread-safe, it belongs to the builder of the project.
+ *
+ * Clients: this should not be used directly, it is used by the CodanBuilder
+ */
+public class AnalysisState {
+	private static final String FILE_NAME = "analysis.state"; //$NON-NLS-1$
+	private static final int VERSION = 1;
+	/** Time stamp of an input that does not exist or whose time stamp is not known */
+	private static final long NO_STAMP = 0;
+
+	private static class FileRecord {
+		final CheckerLaunchMode mode;
+		final long stamp;
+		final String[] inputs;
+		final long[] inputStamps;
+
+		FileRecord(CheckerLaunchMode mode, long stamp, String[] inputs, long[] inputStamps) {
+			this.mode = mode;
+			this.stamp = stamp;
+			this.inputs = inputs;
+			this.inputStamps = inputStamps;
+		}
+	}
+
+	private final IProject project;
+	/** Records by project relative path */
+	private final Map<String, FileRecord> records = new HashMap<>();
+	/** Time stamps of the inputs, read once per build */
+	private final Map<String, Long> inputStamps = new HashMap<>();
+	private long configuration;
+	private boolean dirty;
+
+	private AnalysisState(IProject project) {
+		this.project = project;
+	}
+
+	/**
+	 * Loads the state saved for a project, or returns an empty state if there is
+	 * none, or if the configuration of the problems or the checkers have changed
+	 * since.
+	 */
+	public static AnalysisState load(IProject project) {
+		AnalysisState state = new AnalysisState(project);
+		state.configuration = state.computeConfiguration();
+		File file = state.getStateFile();
+		if (file == null || !file.exists())
+			return state;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != VERSION || in.readLong() != state.configuration)
+				return state;
+			CheckerLaunchMode[] modes = CheckerLaunchMode.values();
+			for (int i = in.readInt(); i > 0; i--) {
+				String path = in.readUTF();
+				CheckerLaunchMode mode = modes[in.readByte()];
+				long stamp = in.readLong();
+				int count = in.readInt();
+				String[] inputs = new String[count];
+				long[] stamps = new long[count];
+				for (int j = 0; j < count; j++) {
+					inputs[j] = in.readUTF();
+					stamps[j] = in.readLong();
+				}
+				state.records.put(path, new FileRecord(mode, stamp, inputs, stamps));
+			}
+		} catch (IOException | RuntimeException e) {
+			// Analyze all files again.
+			state.records.clear();
+			CodanCorePlugin.log(e);
+		}
+		return state;
+	}
+
+	/**
+	 * Saves the state in the working location of the project, if it has changed.
+	 */
+	public void save() {
+		if (!dirty)
+			return;
+		File file = getStateFile();
+		if (file == null)
+			return;
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(VERSION);
+			out.writeLong(configuration);
+			out.writeInt(records.size());
+			for (Map.Entry<String, FileRecord> entry : records.entrySet()) {
+				FileRecord record = entry.getValue();
+				out.writeUTF(entry.getKey());
+				out.writeByte(record.mode.ordinal());
+				out.writeLong(record.stamp);
+				out.writeInt(record.inputs.length);
+				for (int i = 0; i < record.inputs.length; i++) {
+					out.writeUTF(record.inputs[i]);
+					out.writeLong(record.inputStamps[i]);
+				}
+			}
+			dirty = false;
+		} catch (IOException e) {
+			CodanCorePlugin.log(e);
+		}
+	}
+
+	/**
+	 * Starts a build. Forgets the time stamps of the inputs read by the previous
+	 * build, and discards the state if the configuration of the problems or the
+	 * checkers have changed.
+	 */
+	public void startBuild() {
+		inputStamps.clear();
+		long newConfiguration = computeConfiguration();
+		if (newConfiguration != configuration) {
+			configuration = newConfiguration;
+			clear();
+		}
+	}
+
+	/**
+	 * Returns whether a file was analyzed in the given mode, and neither the file
+	 * nor the files read by the checkers have changed since.
+	 */
+	public boolean isUpToDate(IFile file, CheckerLaunchMode mode) {
+		FileRecord record = records.get(getKey(file));
+		if (record == null || record.mode != mode || record.stamp != file.getModificationStamp())
+			return false;
+		for (int i = 0; i < record.inputs.length; i++) {
+			if (record.inputStamps[i] == NO_STAMP || getInputStamp(record.inputs[i]) != record.inputStamps[i])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Records that a file was analyzed.
+	 *
+	 * @param file the analyzed file
+	 * @param mode the launch mode of the checkers
+	 * @param inputs the locations of the files read by the checkers
+	 */
+	public void update(IFile file, CheckerLaunchMode mode, Set<URI> inputs) {
+		String[] locations = new String[inputs.size()];
+		long[] stamps = new long[locations.length];
+		int i = 0;
+		for (URI input : inputs) {
+			locations[i] = input.toString();
+			stamps[i] = getInputStamp(locations[i]);
+			i++;
+		}
+		records.put(getKey(file), new FileRecord(mode, file.getModificationStamp(), locations, stamps));
+		dirty = true;
+	}
+
+	/**
+	 * Forgets a file, e.g. because it was removed.
+	 */
+	public void remove(IFile file) {
+		if (records.remove(getKey(file)) != null)
+			dirty = true;
+	}
+
+	/**
+	 * Forgets the files which are not in the given collection.
+	 */
+	public void retain(Collection<IFile> files) {
+		Map<String, FileRecord> retained = new HashMap<>();
+		for (IFile file : files) {
+			String key = getKey(file);
+			FileRecord record = records.get(key);
+			if (record != null)
+				retained.put(key, record);
+		}
+		if (retained.size() != records.size()) {
+			records.clear();
+			records.putAll(retained);
+			dirty = true;
+		}
+	}
+
+	/**
+	 * Returns the files of the project whose last analysis read one of the
+	 * given files.
+	 *
+	 * @param changedLocations the locations of the changed files
+	 */
+	public List<IFile> getDependents(Set<URI> changedLocations) {
+		List<IFile> dependents = new ArrayList<>();
+		if (changedLocations.isEmpty())
+			return dependents;
+		Set<String> changed = new HashSet<>();
+		for (URI location : changedLocations) {
+			changed.add(location.toString());
+		}
+		for (Map.Entry<String, FileRecord> entry : records.entrySet()) {
+			for (String input : entry.getValue().inputs) {
+				if (changed.contains(input)) {
+					IResource file = project.findMember(entry.getKey());
+					if (file instanceof IFile)
+						dependents.add((IFile) file);
+					break;
+				}
+			}
+		}
+		return dependents;
+	}
+
+	/**
+	 * Discards the state, all files are analyzed again.
+	 */
+	public void clear() {
+		if (!records.isEmpty()) {
+			records.clear();
+			dirty = true;
+		}
+	}
+
+	private static String getKey(IFile file) {
+		return file.getProjectRelativePath().toPortableString();
+	}
+
+	private long getInputStamp(String location) {
+		Long stamp = inputStamps.get(location);
+		if (stamp == null) {
+			stamp = NO_STAMP;
+			try {
+				URI uri = new URI(location);
+				if ("file".equals(uri.getScheme())) //$NON-NLS-1$
+					stamp = new File(uri).lastModified();
+			} catch (Exception e) {
+				// The time stamp is not known, the input is considered changed.
+			}
+			inputStamps.put(location, stamp);
+		}
+		return stamp;
+	}
+
+	private long computeConfiguration() {
+		IProblemProfile profile = CheckersRegistry.getInstance().getResourceProfile(project);
+		long hash = 1;
+		for (IProblem problem : profile.getProblems()) {
+			hash = 31 * hash + problem.getId().hashCode();
+			hash = 31 * hash + (problem.isEnabled() ? 1 : 0);
+			hash = 31 * hash + problem.getSeverity().ordinal();
+			String pattern = problem.getMessagePattern();
+			hash = 31 * hash + (pattern != null ? pattern.hashCode() : 0);
+			if (problem.getPreference() != null)
+				hash = 31 * hash + problem.getPreference().exportValue().hashCode();
+		}
+		// A new version of a checker may report other problems on the same files.
+		Set<String> bundles = new TreeSet<>();
+		for (IChecker checker : CheckersRegistry.getInstance()) {
+			Bundle bundle = FrameworkUtil.getBundle(checker.getClass());
+			if (bundle != null)
+				bundles.add(bundle.getSymbolicName() + '_' + bundle.getVersion());
+		}
+		for (String bundle : bundles) {
+			hash = 31 * hash + bundle.hashCode();
+		}
+		return hash;
+	}
+
+	private File getStateFile() {
+		IPath location = project.getWorkingLocation(CodanCorePlugin.PLUGIN_ID);
+		return location != null ? location.append(FILE_NAME).toFile() : null;
+	}
+}
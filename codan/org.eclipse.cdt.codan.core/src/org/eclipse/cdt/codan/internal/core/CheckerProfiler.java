@@ -0,0 +1,443 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.cdt.codan.core.CodanCorePlugin;
+import org.eclipse.cdt.codan.core.PreferenceConstants;
+import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Measures the runs of the checkers, and enforces the time budget of the
+ * checkers running as you type.
+ * <p>
+ * When profiling is enabled, the profiler keeps for each checker a histogram of
+ * the time taken by its runs, the number of bytes allocated by the runs, and
+ * the files on which it was the slowest. A report can be written in CSV or JSON.
+ * <p>
+ * The time of a run is the CPU time of the thread running the checker, so that
+ * the time spent waiting for the index lock or for other threads is not counted.
+ * Where the JVM cannot measure the CPU time of threads, the elapsed time is used.
+ * <p>
+ * Independently of profiling, a checker which exceeds its time budget for
+ * {@link #MAX_OVERRUNS} consecutive runs as you type is suspended, i.e. no
+ * longer runs as you type until it is resumed from the Code Analysis
+ * preference page or the workbench restarts. The budget is set by the
+ * {@link PreferenceConstants#P_RUN_AS_YOU_TYPE_BUDGET} preference, which can be
+ * overridden for a checker by a preference whose key is followed by a dot and
+ * the class name of the checker. A budget of 0 disables the enforcement.
+ * <p>
+ * This class is thread-safe.
+ */
+public class CheckerProfiler {
+	/** Upper bounds of the buckets of the latency histograms in milliseconds, the last bucket is unbounded */
+	public static final long[] BUCKETS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000 };
+	/** The number of consecutive runs over budget after which a checker is suspended */
+	public static final int MAX_OVERRUNS = 3;
+	/** The number of slowest files kept for each checker */
+	private static final int SLOWEST_FILES = 10;
+	private static final long NANOS_PER_MILLI = 1000000;
+
+	private static final CheckerProfiler instance = new CheckerProfiler();
+
+	/**
+	 * The running time and allocation of one run of a checker on a file.
+	 */
+	public static class Run {
+		private final String checker;
+		private final IResource file;
+		private final CheckerLaunchMode mode;
+		private final long start;
+		private final long cpuStart;
+		private final long allocated;
+
+		private Run(String checker, IResource file, CheckerLaunchMode mode, long cpuStart, long allocated) {
+			this.checker = checker;
+			this.file = file;
+			this.mode = mode;
+			this.cpuStart = cpuStart;
+			this.allocated = allocated;
+			this.start = System.nanoTime();
+		}
+	}
+
+	private static class FileTime implements Comparable<FileTime> {
+		final String path;
+		final long nanos;
+
+		FileTime(String path, long nanos) {
+			this.path = path;
+			this.nanos = nanos;
+		}
+
+		@Override
+		public int compareTo(FileTime other) {
+			return Long.compare(other.nanos, nanos);
+		}
+	}
+
+	private static class CheckerRecord {
+		long count;
+		long totalNanos;
+		long totalElapsedNanos;
+		long maxNanos;
+		long allocatedBytes;
+		final long[] histogram = new long[BUCKETS.length + 1];
+		/** The slowest files, slowest first */
+		final List<FileTime> slowestFiles = new ArrayList<>(SLOWEST_FILES + 1);
+
+		void add(IResource file, long nanos, long elapsedNanos, long allocated) {
+			count++;
+			totalNanos += nanos;
+			totalElapsedNanos += elapsedNanos;
+			maxNanos = Math.max(maxNanos, nanos);
+			if (allocated > 0)
+				allocatedBytes += allocated;
+			long millis = nanos / NANOS_PER_MILLI;
+			int bucket = 0;
+			while (bucket < BUCKETS.length && millis >= BUCKETS[bucket]) {
+				bucket++;
+			}
+			histogram[bucket]++;
+			if (slowestFiles.size() < SLOWEST_FILES || nanos > slowestFiles.get(slowestFiles.size() - 1).nanos) {
+				FileTime fileTime = new FileTime(file.getFullPath().toString(), nanos);
+				int index = Collections.binarySearch(slowestFiles, fileTime);
+				slowestFiles.add(index < 0 ? -index - 1 : index, fileTime);
+				if (slowestFiles.size() > SLOWEST_FILES)
+					slowestFiles.remove(SLOWEST_FILES);
+			}
+		}
+	}
+
+	private final Map<String, CheckerRecord> records = new TreeMap<>();
+	private final Map<String, Integer> overruns = new ConcurrentHashMap<>();
+	private final Set<String> suspended = ConcurrentHashMap.newKeySet();
+	private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+	private final boolean cpuTimeSupported = enableCpuTime(threadBean);
+	/** com.sun.management.ThreadMXBean.getCurrentThreadAllocatedBytes(), if available */
+	private final Method allocatedBytesMethod = getAllocatedBytesMethod(threadBean);
+	private volatile boolean enabled;
+
+	/**
+	 * @return global instance of the profiler
+	 */
+	public static CheckerProfiler getInstance() {
+		return instance;
+	}
+
+	/**
+	 * @return true if the runs of the checkers are profiled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @param enabled set to true to profile the runs of the checkers
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Called before a checker runs on a file.
+	 *
+	 * @return the run to pass to {@link #stop(Run)}
+	 */
+	public Run start(IChecker checker, IResource file, CheckerLaunchMode mode) {
+		return new Run(checker.getClass().getName(), file, mode, getCpuTime(), enabled ? getAllocatedBytes() : 0);
+	}
+
+	/**
+	 * Called after a checker has run on a file, by the thread that called {@link #start}.
+	 */
+	public void stop(Run run) {
+		long elapsed = System.nanoTime() - run.start;
+		long nanos = cpuTimeSupported ? getCpuTime() - run.cpuStart : elapsed;
+		long allocated = enabled && run.allocated > 0 ? getAllocatedBytes() - run.allocated : -1;
+		add(run.checker, run.file, run.mode, nanos, elapsed, allocated);
+	}
+
+	/**
+	 * Records a run of a checker on a file.
+	 *
+	 * @param checker the class name of the checker
+	 * @param mode the launch mode of the run, the time budget applies to the
+	 *        runs as you type
+	 * @param nanos the time of the run, see {@link #isCpuTimeSupported()}
+	 * @param elapsedNanos the elapsed time of the run
+	 * @param allocated the bytes allocated by the run, or -1 if unknown
+	 */
+	public void add(String checker, IResource file, CheckerLaunchMode mode, long nanos, long elapsedNanos,
+			long allocated) {
+		if (enabled) {
+			synchronized (records) {
+				CheckerRecord record = records.get(checker);
+				if (record == null) {
+					record = new CheckerRecord();
+					records.put(checker, record);
+				}
+				record.add(file, nanos, elapsedNanos, allocated);
+			}
+		}
+		if (mode == CheckerLaunchMode.RUN_AS_YOU_TYPE)
+			checkBudget(checker, nanos / NANOS_PER_MILLI);
+	}
+
+	/**
+	 * @return true if the time of a run is the CPU time of the thread running
+	 *         the checker, false if it is the elapsed time
+	 */
+	public boolean isCpuTimeSupported() {
+		return cpuTimeSupported;
+	}
+
+	/**
+	 * Returns whether a checker is suspended because it exceeded its time
+	 * budget when running as you type.
+	 */
+	public boolean isSuspended(IChecker checker) {
+		return !suspended.isEmpty() && suspended.contains(checker.getClass().getName());
+	}
+
+	/**
+	 * @return the class names of the suspended checkers, sorted
+	 */
+	public Set<String> getSuspended() {
+		return new TreeSet<>(suspended);
+	}
+
+	/**
+	 * Lets a suspended checker run as you type again.
+	 */
+	public void resume(IChecker checker) {
+		resume(checker.getClass().getName());
+	}
+
+	/**
+	 * Lets a suspended checker run as you type again.
+	 *
+	 * @param checker the class name of the checker
+	 */
+	public void resume(String checker) {
+		suspended.remove(checker);
+		overruns.remove(checker);
+	}
+
+	/**
+	 * Lets all suspended checkers run as you type again.
+	 */
+	public void resumeAll() {
+		for (String checker : getSuspended()) {
+			resume(checker);
+		}
+	}
+
+	private void checkBudget(String checker, long millis) {
+		long budget = getBudget(checker);
+		if (budget <= 0 || millis <= budget) {
+			overruns.remove(checker);
+			return;
+		}
+		int count = overruns.merge(checker, 1, Integer::sum);
+		if (count >= MAX_OVERRUNS && suspended.add(checker)) {
+			CodanCorePlugin.log(new Status(IStatus.WARNING, CodanCorePlugin.PLUGIN_ID,
+					NLS.bind(Messages.CheckerProfiler_CheckerSuspended,
+							new Object[] { checker, millis, budget, count })));
+		}
+	}
+
+	private static long getBudget(String checker) {
+		long budget = Platform.getPreferencesService().getLong(CodanCorePlugin.PLUGIN_ID,
+				PreferenceConstants.P_RUN_AS_YOU_TYPE_BUDGET, 0, null);
+		return Platform.getPreferencesService().getLong(CodanCorePlugin.PLUGIN_ID,
+				PreferenceConstants.P_RUN_AS_YOU_TYPE_BUDGET + '.' + checker, budget, null);
+	}
+
+	/**
+	 * Discards the collected measurements.
+	 */
+	public void reset() {
+		synchronized (records) {
+			records.clear();
+		}
+	}
+
+	/**
+	 * Writes the collected measurements as comma separated values, one line per
+	 * checker. Times are in milliseconds, the allocated bytes are -1 if the
+	 * allocations cannot be measured. The elapsed time of the runs is written
+	 * in the elapsed_ms column, the other times are as described in
+	 * {@link #isCpuTimeSupported()}.
+	 */
+	public void writeCsv(PrintWriter out) {
+		StringBuilder header = new StringBuilder("checker,runs,total_ms,elapsed_ms,mean_ms,max_ms,allocated_bytes"); //$NON-NLS-1$
+		for (long bound : BUCKETS) {
+			header.append(",lt_").append(bound).append("ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		header.append(",ge_").append(BUCKETS[BUCKETS.length - 1]).append("ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		out.println(header);
+		synchronized (records) {
+			for (Map.Entry<String, CheckerRecord> entry : records.entrySet()) {
+				CheckerRecord record = entry.getValue();
+				out.print(entry.getKey());
+				out.print(',');
+				out.print(record.count);
+				out.print(',');
+				out.print(toMillis(record.totalNanos));
+				out.print(',');
+				out.print(toMillis(record.totalElapsedNanos));
+				out.print(',');
+				out.print(toMillis(record.count == 0 ? 0 : record.totalNanos / record.count));
+				out.print(',');
+				out.print(toMillis(record.maxNanos));
+				out.print(',');
+				out.print(allocatedBytesMethod != null ? record.allocatedBytes : -1);
+				for (long bucket : record.histogram) {
+					out.print(',');
+					out.print(bucket);
+				}
+				out.println();
+			}
+		}
+		out.flush();
+	}
+
+	/**
+	 * Writes the collected measurements as a JSON object, including the slowest
+	 * files of each checker. Times are in milliseconds.
+	 */
+	public void writeJson(PrintWriter out) {
+		out.println("{"); //$NON-NLS-1$
+		out.println("  \"buckets_ms\": " + Arrays.toString(BUCKETS) + ","); //$NON-NLS-1$ //$NON-NLS-2$
+		out.println("  \"cpu_time\": " + cpuTimeSupported + ","); //$NON-NLS-1$ //$NON-NLS-2$
+		out.println("  \"suspended\": [" + toJsonStrings(suspended) + "],"); //$NON-NLS-1$ //$NON-NLS-2$
+		out.println("  \"checkers\": ["); //$NON-NLS-1$
+		synchronized (records) {
+			int i = 0;
+			for (Map.Entry<String, CheckerRecord> entry : records.entrySet()) {
+				CheckerRecord record = entry.getValue();
+				out.println("    {"); //$NON-NLS-1$
+				out.println("      \"checker\": " + toJsonString(entry.getKey()) + ","); //$NON-NLS-1$ //$NON-NLS-2$
+				out.println("      \"runs\": " + record.count + ","); //$NON-NLS-1$ //$NON-NLS-2$
+				out.println("      \"total_ms\": " + toMillis(record.totalNanos) + ","); //$NON-NLS-1$ //$NON-NLS-2$
+				out.println("      \"elapsed_ms\": " + toMillis(record.totalElapsedNanos) + ","); //$NON-NLS-1$ //$NON-NLS-2$
+				out.println("      \"mean_ms\": " //$NON-NLS-1$
+						+ toMillis(record.count == 0 ? 0 : record.totalNanos / record.count) + ","); //$NON-NLS-1$
+				out.println("      \"max_ms\": " + toMillis(record.maxNanos) + ","); //$NON-NLS-1$ //$NON-NLS-2$
+				if (allocatedBytesMethod != null)
+					out.println("      \"allocated_bytes\": " + record.allocatedBytes + ","); //$NON-NLS-1$ //$NON-NLS-2$
+				out.println("      \"histogram\": " + Arrays.toString(record.histogram) + ","); //$NON-NLS-1$ //$NON-NLS-2$
+				out.println("      \"slowest_files\": ["); //$NON-NLS-1$
+				for (int j = 0; j < record.slowestFiles.size(); j++) {
+					FileTime fileTime = record.slowestFiles.get(j);
+					out.print("        { \"file\": " + toJsonString(fileTime.path) + ", \"ms\": " //$NON-NLS-1$ //$NON-NLS-2$
+							+ toMillis(fileTime.nanos) + " }"); //$NON-NLS-1$
+					out.println(j < record.slowestFiles.size() - 1 ? "," : ""); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				out.println("      ]"); //$NON-NLS-1$
+				out.println(++i < records.size() ? "    }," : "    }"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		out.println("  ]"); //$NON-NLS-1$
+		out.println("}"); //$NON-NLS-1$
+		out.flush();
+	}
+
+	private static String toMillis(long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / (double) NANOS_PER_MILLI); //$NON-NLS-1$
+	}
+
+	private static String toJsonStrings(Set<String> strings) {
+		StringBuilder buf = new StringBuilder();
+		for (String string : new TreeSet<>(strings)) {
+			if (buf.length() > 0)
+				buf.append(", "); //$NON-NLS-1$
+			buf.append(toJsonString(string));
+		}
+		return buf.toString();
+	}
+
+	private static String toJsonString(String string) {
+		StringBuilder buf = new StringBuilder(string.length() + 2);
+		buf.append('"');
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			if (c == '"' || c == '\\') {
+				buf.append('\\').append(c);
+			} else if (c < ' ') {
+				buf.append(String.format("\\u%04x", (int) c)); //$NON-NLS-1$
+			} else {
+				buf.append(c);
+			}
+		}
+		return buf.append('"').toString();
+	}
+
+	private long getCpuTime() {
+		return cpuTimeSupported ? threadBean.getCurrentThreadCpuTime() : 0;
+	}
+
+	private static boolean enableCpuTime(ThreadMXBean bean) {
+		try {
+			if (!bean.isCurrentThreadCpuTimeSupported())
+				return false;
+			if (!bean.isThreadCpuTimeEnabled())
+				bean.setThreadCpuTimeEnabled(true);
+			return bean.getCurrentThreadCpuTime() >= 0;
+		} catch (UnsupportedOperationException | SecurityException e) {
+			return false;
+		}
+	}
+
+	private long getAllocatedBytes() {
+		if (allocatedBytesMethod == null)
+			return 0;
+		try {
+			return (Long) allocatedBytesMethod.invoke(threadBean);
+		} catch (Exception e) {
+			return 0;
+		}
+	}
+
+	private static Method getAllocatedBytesMethod(ThreadMXBean bean) {
+		try {
+			// The extension of ThreadMXBean measuring allocations is specific to HotSpot.
+			Class<?> extension = Class.forName("com.sun.management.ThreadMXBean"); //$NON-NLS-1$
+			if (!extension.isInstance(bean))
+				return null;
+			Method method = extension.getMethod("getCurrentThreadAllocatedBytes"); //$NON-NLS-1$
+			return (Long) method.invoke(bean) >= 0 ? method : null;
+		} catch (Exception | LinkageError e) {
+			return null;
+		}
+	}
+}
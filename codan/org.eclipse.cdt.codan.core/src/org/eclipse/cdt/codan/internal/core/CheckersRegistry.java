@@ -16,7 +16,9 @@ package org.eclipse.cdt.codan.internal.core;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -70,6 +72,8 @@ public class CheckersRegistry implements ICheckersRegistry {
 	private final Map<Object, IProblemProfile> profiles = new HashMap<>();
 	private final Map<IChecker, Collection<IProblem>> problemList = new HashMap<>();
 	private final Map<String, IChecker> problemCheckerMapping = new HashMap<>();
+	private final Map<IChecker, IConfigurationElement> checkerElements = new HashMap<>();
+	private final Map<IChecker, IChecker> checkerCopies = Collections.synchronizedMap(new IdentityHashMap<>());
 	private final List<ICheckerEnablementVerifier> checkerEnablementVerifiers = new ArrayList<>();
 
 	private CheckersRegistry() {
@@ -153,6 +157,7 @@ public class CheckersRegistry implements ICheckersRegistry {
 					Object checker = configurationElement.createExecutableExtension(CLASS_ATTR);
 					checkerObj = (IChecker) checker;
 					addChecker(checkerObj);
+					checkerElements.put(checkerObj, configurationElement);
 				} catch (CoreException e) {
 					CodanCorePlugin.log(e);
 					return;
@@ -324,7 +329,49 @@ public class CheckersRegistry implements ICheckersRegistry {
 	 */
 	@Override
 	public Collection<IProblem> getRefProblems(IChecker checker) {
-		return problemList.get(checker);
+		return problemList.get(getOriginalChecker(checker));
+	}
+
+	/**
+	 * Creates a new instance of a checker contributed by an extension, to be
+	 * used by a single thread.  The copy reports the problems of the original
+	 * checker, and has to be released with {@link #releaseCheckerCopy(IChecker)}.
+	 *
+	 * @param checker the registered checker
+	 * @return the copy, or <code>null</code> if the checker cannot be copied
+	 */
+	public IChecker createCheckerCopy(IChecker checker) {
+		IConfigurationElement configurationElement = checkerElements.get(checker);
+		if (configurationElement == null)
+			return null;
+		try {
+			IChecker copy = (IChecker) configurationElement.createExecutableExtension(CLASS_ATTR);
+			checkerCopies.put(copy, checker);
+			return copy;
+		} catch (CoreException e) {
+			CodanCorePlugin.log(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Releases a copy created by {@link #createCheckerCopy(IChecker)}.
+	 *
+	 * @param copy the copy of a checker
+	 */
+	public void releaseCheckerCopy(IChecker copy) {
+		checkerCopies.remove(copy);
+	}
+
+	/**
+	 * Returns the registered checker a checker was copied from.
+	 *
+	 * @param checker a registered checker or a copy
+	 * @return the registered checker
+	 */
+	public IChecker getOriginalChecker(IChecker checker) {
+		IChecker original = checkerCopies.get(checker);
+		return original != null ? original : checker;
 	}
 
 	@Override
@@ -333,7 +380,7 @@ public class CheckersRegistry implements ICheckersRegistry {
 	}
 
 	@Override
-	public IProblemProfile getWorkspaceProfile() {
+	public synchronized IProblemProfile getWorkspaceProfile() {
 		IProblemProfile wp = profiles.get(ResourcesPlugin.getWorkspace());
 		if (wp == null) {
 			wp = (IProblemProfile) getDefaultProfile().clone();
@@ -350,7 +397,7 @@ public class CheckersRegistry implements ICheckersRegistry {
 	}
 
 	@Override
-	public void updateProfile(IResource element, IProblemProfile profile) {
+	public synchronized void updateProfile(IResource element, IProblemProfile profile) {
 		// Updating profile can invalidate all cached profiles
 		IProblemProfile defaultProfile = getDefaultProfile();
 		profiles.clear();
@@ -360,7 +407,7 @@ public class CheckersRegistry implements ICheckersRegistry {
 	}
 
 	@Override
-	public IProblemProfile getResourceProfile(IResource element) {
+	public synchronized IProblemProfile getResourceProfile(IResource element) {
 		IProblemProfile prof = profiles.get(element);
 		if (prof == null) {
 			if (element instanceof IProject) {
@@ -118,6 +118,23 @@ public class CheckersTimeStats {
 		checkerStop(id, ELAPSED);
 	}
 
+	/**
+	 * Adds elapsed time measured by the caller for checker with given id, can
+	 * be called by concurrent runs of the same checker
+	 *
+	 * @param id
+	 * @param duration - elapsed time in milliseconds
+	 */
+	public void checkerTime(String id, long duration) {
+		if (enableStats) {
+			synchronized (records) {
+				TimeRecord record = getTimeRecord(getKey(id, ELAPSED));
+				record.count++;
+				record.duration += duration;
+			}
+		}
+	}
+
 	/**
 	 * Print checker stats to stdout if tracing enabled
 	 */
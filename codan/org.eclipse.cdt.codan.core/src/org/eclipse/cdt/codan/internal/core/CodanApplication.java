@@ -13,11 +13,15 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.internal.core;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 
 import org.eclipse.cdt.codan.core.CodanRuntime;
 import org.eclipse.cdt.codan.core.model.AbstractProblemReporter;
+import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
 import org.eclipse.cdt.codan.core.model.ICodanProblemMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -38,6 +42,8 @@ public class CodanApplication implements IApplication {
 	private Collection<String> projects = new ArrayList<>();
 	private boolean verbose;
 	private boolean all;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private String profile;
 
 	@Override
 	public Object start(IApplicationContext context) throws Exception {
@@ -46,8 +52,16 @@ public class CodanApplication implements IApplication {
 			help();
 			return EXIT_OK;
 		}
-		extractArguments(args);
-		CodanBuilder codanBuilder = new CodanBuilder();
+		if (!extractArguments(args)) {
+			help();
+			return EXIT_OK;
+		}
+		if (!new CodanBuilder().isEnabled())
+			return EXIT_OK;
+		if (profile != null) {
+			CheckerProfiler.getInstance().reset();
+			CheckerProfiler.getInstance().setEnabled(true);
+		}
 		CodanRuntime runtime = CodanRuntime.getInstance();
 		runtime.setProblemReporter(new AbstractProblemReporter() {
 			@Override
@@ -60,7 +74,8 @@ public class CodanApplication implements IApplication {
 		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
 		if (all) {
 			log(Messages.CodanApplication_LogRunWorkspace);
-			codanBuilder.processResource(root, new NullProgressMonitor());
+			ParallelCodanRunner.processResource(root, CheckerLaunchMode.RUN_ON_FULL_BUILD, threads,
+					new NullProgressMonitor());
 		} else {
 			for (String project : projects) {
 				log(Messages.CodanApplication_LogRunProject + project);
@@ -70,12 +85,29 @@ public class CodanApplication implements IApplication {
 							NLS.bind(Messages.CodanApplication_Error_ProjectDoesNotExists, project));
 					continue;
 				}
-				codanBuilder.processResource(wProject, new NullProgressMonitor());
+				ParallelCodanRunner.processResource(wProject, CheckerLaunchMode.RUN_ON_FULL_BUILD, threads,
+						new NullProgressMonitor());
 			}
 		}
+		if (profile != null) {
+			writeProfile();
+			CheckerProfiler.getInstance().setEnabled(false);
+		}
 		return EXIT_OK;
 	}
 
+	private void writeProfile() {
+		try (PrintWriter out = new PrintWriter(profile, StandardCharsets.UTF_8)) {
+			if (profile.endsWith(".json")) { //$NON-NLS-1$
+				CheckerProfiler.getInstance().writeJson(out);
+			} else {
+				CheckerProfiler.getInstance().writeCsv(out);
+			}
+		} catch (IOException e) {
+			System.err.println(NLS.bind(Messages.CodanApplication_Error_Profile, profile, e.getMessage()));
+		}
+	}
+
 	/**
 	 * @param string
 	 */
@@ -86,18 +118,34 @@ public class CodanApplication implements IApplication {
 
 	/**
 	 * @param args
+	 * @return false if the arguments are not valid
 	 */
-	private void extractArguments(String[] args) {
+	private boolean extractArguments(String[] args) {
 		for (int i = 0; i < args.length; i++) {
 			String string = args[i];
 			if (string.equals("-verbose")) { //$NON-NLS-1$
 				verbose = true;
 			} else if (string.equals("-all")) { //$NON-NLS-1$
 				all = true;
+			} else if (string.equals("-profile")) { //$NON-NLS-1$
+				if (++i == args.length)
+					return false;
+				profile = args[i];
+			} else if (string.equals("-threads")) { //$NON-NLS-1$
+				try {
+					threads = Integer.parseInt(args[++i]);
+				} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+					threads = 0;
+				}
+				if (threads < 1) {
+					System.err.println(Messages.CodanApplication_Error_InvalidThreads);
+					return false;
+				}
 			} else {
 				projects.add(string);
 			}
 		}
+		return true;
 	}
 
 	/**
@@ -108,6 +156,8 @@ public class CodanApplication implements IApplication {
 		System.out.println(Messages.CodanApplication_Options);
 		System.out.println(Messages.CodanApplication_all_option);
 		System.out.println(Messages.CodanApplication_verbose_option);
+		System.out.println(Messages.CodanApplication_threads_option);
+		System.out.println(Messages.CodanApplication_profile_option);
 	}
 
 	@Override
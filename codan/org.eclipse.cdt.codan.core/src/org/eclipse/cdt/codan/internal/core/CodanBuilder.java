@@ -14,10 +14,18 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.internal.core;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
 import org.eclipse.cdt.codan.core.model.ICodanBuilder;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceDelta;
@@ -25,6 +33,7 @@ import org.eclipse.core.resources.IResourceDeltaVisitor;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
 
 /**
  * Implementation of {@link ICodanBuilder}
@@ -35,6 +44,7 @@ public class CodanBuilder extends IncrementalProjectBuilder implements ICodanBui
 	 */
 	public static final String BUILDER_ID = "org.eclipse.cdt.codan.core.codanBuilder"; //$NON-NLS-1$
 	private boolean enabled = true;
+	private AnalysisState analysisState;
 
 	{
 		if (Boolean.valueOf(System.getProperty("codan.disabled"))) { //$NON-NLS-1$
@@ -42,29 +52,37 @@ public class CodanBuilder extends IncrementalProjectBuilder implements ICodanBui
 		}
 	}
 
-	private class CodanDeltaVisitor implements IResourceDeltaVisitor {
-		private IProgressMonitor monitor;
+	/**
+	 * Collects the files added, changed or removed by a build delta.
+	 */
+	private static class CodanDeltaVisitor implements IResourceDeltaVisitor {
+		private final AnalysisState state;
+		private final Set<IFile> changedFiles = new LinkedHashSet<>();
+		private final Set<URI> changedLocations = new HashSet<>();
 
-		public CodanDeltaVisitor(IProgressMonitor monitor) {
-			this.monitor = monitor;
+		public CodanDeltaVisitor(AnalysisState state) {
+			this.state = state;
 		}
 
 		@Override
 		public boolean visit(IResourceDelta delta) throws CoreException {
 			IResource resource = delta.getResource();
+			if (resource.getType() != IResource.FILE)
+				return true;
+			IFile file = (IFile) resource;
 			switch (delta.getKind()) {
 			case IResourceDelta.ADDED:
-				// Handle added resource
-				processResourceDelta(resource, monitor);
+			case IResourceDelta.CHANGED:
+				changedFiles.add(file);
 				break;
 			case IResourceDelta.REMOVED:
-				// Handle removed resource
-				break;
-			case IResourceDelta.CHANGED:
-				// Handle changed resource
-				processResourceDelta(resource, monitor);
+				state.remove(file);
 				break;
 			}
+			// Files including the file have to be analyzed again.
+			URI location = file.getLocationURI();
+			if (location != null)
+				changedLocations.add(location);
 			// Return true to continue visiting children.
 			return true;
 		}
@@ -108,17 +126,67 @@ public class CodanBuilder extends IncrementalProjectBuilder implements ICodanBui
 		CodanRunner.processResource(resource, mode, monitor);
 	}
 
-	private void processResourceDelta(IResource resource, IProgressMonitor monitor) {
-		processResource(resource, monitor, CheckerLaunchMode.RUN_ON_INC_BUILD);
+	@Override
+	protected void clean(IProgressMonitor monitor) throws CoreException {
+		AnalysisState state = getAnalysisState();
+		state.clear();
+		state.save();
 	}
 
 	protected void fullBuild(final IProgressMonitor monitor) throws CoreException {
-		processResource(getProject(), monitor);
+		AnalysisState state = getAnalysisState();
+		state.startBuild();
+		List<IFile> files = new ArrayList<>();
+		getProject().accept(resource -> {
+			if (resource.getType() == IResource.FILE)
+				files.add((IFile) resource);
+			return true;
+		});
+		state.retain(files);
+		try {
+			processFiles(files, CheckerLaunchMode.RUN_ON_FULL_BUILD, state, monitor);
+		} finally {
+			state.save();
+		}
 	}
 
 	protected void incrementalBuild(IResourceDelta delta, IProgressMonitor monitor) throws CoreException {
-		// The visitor does the work.
-		delta.accept(new CodanDeltaVisitor(monitor));
+		AnalysisState state = getAnalysisState();
+		state.startBuild();
+		CodanDeltaVisitor visitor = new CodanDeltaVisitor(state);
+		delta.accept(visitor);
+		Set<IFile> files = visitor.changedFiles;
+		files.addAll(state.getDependents(visitor.changedLocations));
+		try {
+			processFiles(files, CheckerLaunchMode.RUN_ON_INC_BUILD, state, monitor);
+		} finally {
+			state.save();
+		}
+	}
+
+	/**
+	 * Runs the checkers on the files whose inputs have changed since their last
+	 * analysis, and records their new inputs.
+	 */
+	private void processFiles(Collection<IFile> files, CheckerLaunchMode mode, AnalysisState state,
+			IProgressMonitor monitor) {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, files.size());
+		for (IFile file : files) {
+			if (!file.exists() || state.isUpToDate(file, mode)) {
+				subMonitor.worked(1);
+				continue;
+			}
+			Set<URI> inputs = CodanRunner.processFile(file, mode, subMonitor.split(1));
+			if (inputs == null)
+				return; // Canceled, the file is analyzed again by the next build.
+			state.update(file, mode, inputs);
+		}
+	}
+
+	private AnalysisState getAnalysisState() {
+		if (analysisState == null)
+			analysisState = AnalysisState.load(getProject());
+		return analysisState;
 	}
 
 	@Override
@@ -14,9 +14,14 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.internal.core;
 
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Set;
+
 import org.eclipse.cdt.codan.core.CodanCorePlugin;
 import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
 import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.ICheckerInputs;
 import org.eclipse.cdt.codan.core.model.ICheckerInvocationContext;
 import org.eclipse.cdt.codan.core.model.IRunnableInEditorChecker;
 import org.eclipse.core.resources.IContainer;
@@ -80,40 +85,8 @@ public class CodanRunner {
 		SubMonitor subMonitor = SubMonitor.convert(monitor, work);
 		subMonitor.subTask(NLS.bind(Messages.CodanRunner_Code_analysis_on, resource.getFullPath().toString()));
 		try {
-			CheckersTimeStats.getInstance().checkerStart(CheckersTimeStats.ALL);
-			ICheckerInvocationContext context = new CheckerInvocationContext(resource);
 			if (children == null) {
-				try {
-					for (IChecker checker : chegistry) {
-						if (subMonitor.isCanceled())
-							return;
-						if (chegistry.isCheckerEnabled(checker, resource, checkerLaunchMode)) {
-							synchronized (checker) {
-								try {
-									checker.before(resource);
-									CheckersTimeStats.getInstance().checkerStart(checker.getClass().getName());
-									if (checkerLaunchMode == CheckerLaunchMode.RUN_AS_YOU_TYPE) {
-										((IRunnableInEditorChecker) checker).processModel(model, context);
-									} else {
-										checker.processResource(resource, context);
-									}
-								} catch (OperationCanceledException e) {
-									return;
-								} catch (Throwable e) {
-									CodanCorePlugin.log(e);
-								} finally {
-									CheckersTimeStats.getInstance().checkerStop(checker.getClass().getName());
-									checker.after(resource);
-								}
-							}
-						}
-						subMonitor.worked(1);
-					}
-				} finally {
-					context.dispose();
-					CheckersTimeStats.getInstance().checkerStop(CheckersTimeStats.ALL);
-					//CheckersTimeStats.getInstance().printStats();
-				}
+				runCheckers(resource, model, checkerLaunchMode, subMonitor, null);
 			}
 
 			if (children != null && (checkerLaunchMode == CheckerLaunchMode.RUN_ON_FULL_BUILD
@@ -128,4 +101,78 @@ public class CodanRunner {
 			monitor.done();
 		}
 	}
+
+	/**
+	 * Runs all checkers on a given file, and returns the files read by the
+	 * checkers besides the file itself, as reported by the {@link ICheckerInputs}
+	 * stored in the invocation context.
+	 *
+	 * @param resource - the file to run the checkers on
+	 * @param checkerLaunchMode - the checker launch mode.
+	 * @param monitor - the progress monitor
+	 * @return the locations of the files read by the checkers, or <code>null</code>
+	 *     if the analysis was canceled.
+	 */
+	static Set<URI> processFile(IResource resource, CheckerLaunchMode checkerLaunchMode, IProgressMonitor monitor) {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, CheckersRegistry.getInstance().getCheckersSize());
+		subMonitor.subTask(NLS.bind(Messages.CodanRunner_Code_analysis_on, resource.getFullPath().toString()));
+		try {
+			Set<URI> inputs = new HashSet<>();
+			return runCheckers(resource, null, checkerLaunchMode, subMonitor, inputs) ? inputs : null;
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * @return false if the analysis was canceled.
+	 */
+	private static boolean runCheckers(IResource resource, Object model, CheckerLaunchMode checkerLaunchMode,
+			SubMonitor subMonitor, Set<URI> inputs) {
+		CheckersRegistry chegistry = CheckersRegistry.getInstance();
+		CheckersTimeStats.getInstance().checkerStart(CheckersTimeStats.ALL);
+		ICheckerInvocationContext context = new CheckerInvocationContext(resource);
+		try {
+			for (IChecker checker : chegistry) {
+				if (subMonitor.isCanceled())
+					return false;
+				if (chegistry.isCheckerEnabled(checker, resource, checkerLaunchMode)
+						&& (checkerLaunchMode != CheckerLaunchMode.RUN_AS_YOU_TYPE
+								|| !CheckerProfiler.getInstance().isSuspended(checker))) {
+					synchronized (checker) {
+						CheckerProfiler.Run run = CheckerProfiler.getInstance().start(checker, resource,
+								checkerLaunchMode);
+						try {
+							checker.before(resource);
+							CheckersTimeStats.getInstance().checkerStart(checker.getClass().getName());
+							if (checkerLaunchMode == CheckerLaunchMode.RUN_AS_YOU_TYPE) {
+								((IRunnableInEditorChecker) checker).processModel(model, context);
+							} else {
+								checker.processResource(resource, context);
+							}
+						} catch (OperationCanceledException e) {
+							return false;
+						} catch (Throwable e) {
+							CodanCorePlugin.log(e);
+						} finally {
+							CheckersTimeStats.getInstance().checkerStop(checker.getClass().getName());
+							checker.after(resource);
+							CheckerProfiler.getInstance().stop(run);
+						}
+					}
+				}
+				subMonitor.worked(1);
+			}
+			if (inputs != null) {
+				ICheckerInputs checkerInputs = context.get(ICheckerInputs.class);
+				if (checkerInputs != null)
+					inputs.addAll(checkerInputs.getInputLocations());
+			}
+			return true;
+		} finally {
+			context.dispose();
+			CheckersTimeStats.getInstance().checkerStop(CheckersTimeStats.ALL);
+			//CheckersTimeStats.getInstance().printStats();
+		}
+	}
 }
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.codan.core.CodanCorePlugin;
+import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.ICheckerInvocationContext;
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Runs all checkers on the files of a container using a pool of worker threads.
+ *
+ * Each file is processed by a single worker, which runs all enabled checkers on
+ * it with one invocation context, so that the AST and the other models of the
+ * file are built once. A worker runs its own copies of the checkers, so that the
+ * state of a checker stays confined to one thread. Checkers that cannot be
+ * copied are run by one worker at a time.
+ *
+ * The workers use the workspace and the problem reporter concurrently, so this
+ * runner should not be used from a builder holding the workspace lock.
+ *
+ * Clients: this should not be called directly, it is used by the headless CodanApplication
+ */
+public class ParallelCodanRunner {
+	/** Interval at which the progress monitor is updated, in milliseconds */
+	private static final long PROGRESS_INTERVAL = 200;
+
+	private final CheckersRegistry chegistry = CheckersRegistry.getInstance();
+	private final CheckerLaunchMode checkerLaunchMode;
+	private final Queue<IResource> files;
+	private final AtomicInteger processed = new AtomicInteger();
+	private volatile boolean canceled;
+
+	private ParallelCodanRunner(List<IResource> files, CheckerLaunchMode checkerLaunchMode) {
+		this.files = new ConcurrentLinkedQueue<>(files);
+		this.checkerLaunchMode = checkerLaunchMode;
+	}
+
+	/**
+	 * Runs all checkers on a given resource and its children.
+	 *
+	 * @param resource - the resource to run the checkers on, either IFile or IContainer
+	 * @param checkerLaunchMode - the checker launch mode.
+	 * @param threads - the maximum number of worker threads
+	 * @param monitor - the progress monitor
+	 */
+	public static void processResource(IResource resource, CheckerLaunchMode checkerLaunchMode, int threads,
+			IProgressMonitor monitor) {
+		if (threads < 1)
+			throw new IllegalArgumentException("Invalid number of threads: " + threads); //$NON-NLS-1$
+		List<IResource> files = new ArrayList<>();
+		collectFiles(resource, files);
+		SubMonitor subMonitor = SubMonitor.convert(monitor, files.size());
+		subMonitor.subTask(NLS.bind(Messages.CodanRunner_Code_analysis_on, resource.getFullPath().toString()));
+		ParallelCodanRunner runner = new ParallelCodanRunner(files, checkerLaunchMode);
+		Thread[] workers = new Thread[Math.min(threads, files.size())];
+		for (int i = 0; i < workers.length; i++) {
+			workers[i] = new Thread(runner::runWorker, "Codan Worker " + (i + 1)); //$NON-NLS-1$
+			workers[i].setDaemon(true);
+		}
+		try {
+			CheckersTimeStats.getInstance().checkerStart(CheckersTimeStats.ALL);
+			for (Thread worker : workers) {
+				worker.start();
+			}
+			int reported = 0;
+			for (Thread worker : workers) {
+				while (worker.isAlive()) {
+					worker.join(PROGRESS_INTERVAL);
+					if (subMonitor.isCanceled())
+						runner.canceled = true;
+					int done = runner.processed.get();
+					subMonitor.worked(done - reported);
+					reported = done;
+				}
+			}
+		} catch (InterruptedException e) {
+			runner.canceled = true;
+			Thread.currentThread().interrupt();
+		} finally {
+			CheckersTimeStats.getInstance().checkerStop(CheckersTimeStats.ALL);
+			monitor.done();
+		}
+	}
+
+	private static void collectFiles(IResource resource, List<IResource> files) {
+		if (resource instanceof IContainer) {
+			try {
+				for (IResource child : ((IContainer) resource).members()) {
+					collectFiles(child, files);
+				}
+			} catch (CoreException e) {
+				CodanCorePlugin.log(e);
+			}
+		} else if (resource.getType() == IResource.FILE) {
+			files.add(resource);
+		}
+	}
+
+	private void runWorker() {
+		// Copies of the checkers used by this worker, or the checkers themselves if they cannot be copied
+		Map<IChecker, IChecker> copies = new HashMap<>();
+		try {
+			IResource file;
+			while (!canceled && (file = files.poll()) != null) {
+				processFile(file, copies);
+				processed.incrementAndGet();
+			}
+		} finally {
+			for (Map.Entry<IChecker, IChecker> entry : copies.entrySet()) {
+				if (entry.getValue() != entry.getKey())
+					chegistry.releaseCheckerCopy(entry.getValue());
+			}
+		}
+	}
+
+	private void processFile(IResource file, Map<IChecker, IChecker> copies) {
+		ICheckerInvocationContext context = new CheckerInvocationContext(file);
+		try {
+			for (IChecker checker : chegistry) {
+				if (canceled)
+					return;
+				if (chegistry.isCheckerEnabled(checker, file, checkerLaunchMode)) {
+					IChecker copy = copies.get(checker);
+					if (copy == null) {
+						copy = chegistry.createCheckerCopy(checker);
+						if (copy == null)
+							copy = checker;
+						copies.put(checker, copy);
+					}
+					if (copy == checker) {
+						synchronized (checker) {
+							runChecker(checker, file, context);
+						}
+					} else {
+						runChecker(copy, file, context);
+					}
+				}
+			}
+		} finally {
+			context.dispose();
+		}
+	}
+
+	private void runChecker(IChecker checker, IResource file, ICheckerInvocationContext context) {
+		long start = System.currentTimeMillis();
+		CheckerProfiler.Run run = CheckerProfiler.getInstance().start(checker, file, checkerLaunchMode);
+		try {
+			checker.before(file);
+			checker.processResource(file, context);
+		} catch (OperationCanceledException e) {
+			canceled = true;
+		} catch (Throwable e) {
+			CodanCorePlugin.log(e);
+		} finally {
+			CheckersTimeStats.getInstance().checkerTime(checker.getClass().getName(),
+					System.currentTimeMillis() - start);
+			checker.after(file);
+			CheckerProfiler.getInstance().stop(run);
+		}
+	}
+}
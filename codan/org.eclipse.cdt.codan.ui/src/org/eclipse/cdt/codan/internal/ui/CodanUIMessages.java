@@ -33,6 +33,8 @@ public class CodanUIMessages extends NLS {
 	public static String CodanPreferencePage_MessageLabel;
 	public static String CodanPreferencePage_NoInfo;
 	public static String CodanPreferencePage_Parameters;
+	public static String CodanPreferencePage_Resume;
+	public static String CodanPreferencePage_Suspended;
 	public static String CodanPreferencePage_Update_markers;
 	public static String ProblemsTreeEditor_NameColumn;
 	public static String ProblemsTreeEditor_Problems;
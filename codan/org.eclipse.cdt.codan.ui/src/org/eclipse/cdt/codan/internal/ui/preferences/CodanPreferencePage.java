@@ -30,6 +30,7 @@ import org.eclipse.cdt.codan.core.model.ICodanBuilder;
 import org.eclipse.cdt.codan.core.model.ICodanProblemMarker;
 import org.eclipse.cdt.codan.core.model.IProblem;
 import org.eclipse.cdt.codan.core.model.IProblemProfile;
+import org.eclipse.cdt.codan.internal.core.CheckerProfiler;
 import org.eclipse.cdt.codan.internal.core.CheckersRegistry;
 import org.eclipse.cdt.codan.internal.ui.CodanUIActivator;
 import org.eclipse.cdt.codan.internal.ui.CodanUIMessages;
@@ -63,6 +64,7 @@ import org.eclipse.jface.viewers.ISelectionChangedListener;
 import org.eclipse.jface.viewers.ITreeSelection;
 import org.eclipse.jface.viewers.SelectionChangedEvent;
 import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
@@ -71,6 +73,7 @@ import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Label;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IEditorReference;
 import org.eclipse.ui.IWorkbench;
@@ -157,9 +160,41 @@ public class CodanPreferencePage extends FieldEditorOverlayPage implements IWork
 		}
 		Composite comp = (Composite) super.createContents(parent);
 		createInfoControl(parent);
+		if (!isPropertyPage())
+			createSuspendedControl(parent);
 		return comp;
 	}
 
+	/**
+	 * Shows the checkers suspended as you type by the {@link CheckerProfiler},
+	 * with a button to resume them.
+	 */
+	private void createSuspendedControl(Composite comp) {
+		Set<String> suspended = CheckerProfiler.getInstance().getSuspended();
+		if (suspended.isEmpty())
+			return;
+		final Composite group = new Composite(comp, SWT.NONE);
+		group.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+		GridLayout layout = new GridLayout(2, false);
+		layout.marginWidth = 0;
+		group.setLayout(layout);
+		Label label = new Label(group, SWT.WRAP);
+		label.setLayoutData(GridDataFactory.fillDefaults().grab(true, false).hint(300, SWT.DEFAULT).create());
+		label.setText(NLS.bind(CodanUIMessages.CodanPreferencePage_Suspended, String.join(", ", suspended))); //$NON-NLS-1$
+		Button resumeButton = new Button(group, SWT.PUSH);
+		resumeButton.setLayoutData(GridDataFactory.swtDefaults().align(SWT.END, SWT.BEGINNING).create());
+		resumeButton.setText(CodanUIMessages.CodanPreferencePage_Resume);
+		resumeButton.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				CheckerProfiler.getInstance().resumeAll();
+				Composite parent = group.getParent();
+				group.dispose();
+				parent.layout(true, true);
+			}
+		});
+	}
+
 	private void createInfoControl(Composite comp) {
 		Composite info = new Composite(comp, SWT.NONE);
 		info.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPParserExtensionConfiguration;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPScannerExtensionConfiguration;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IParserLogService;
+import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.GNUCPPSourceParser;
+import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+
+/**
+ * Inputs for the parser benchmarks. The name of an input is either one of the synthetic inputs
+ * {@link #TEMPLATES}, {@link #MACROS} and {@link #GENERATED}, or the path of a source file.
+ * <p>
+ * Includes are not resolved, real-world inputs should therefore be preprocessed translation
+ * units as produced by {@code gcc -E}.
+ */
+@SuppressWarnings("nls")
+public final class BenchmarkInputs {
+	/** Class and function templates with nested instantiations, exercises template resolution. */
+	public static final String TEMPLATES = "templates";
+	/** Nested function-like macros, token pasting and conditional compilation. */
+	public static final String MACROS = "macros";
+	/** A large file of simple declarations and functions as created by code generators. */
+	public static final String GENERATED = "generated";
+
+	static final IParserLogService NULL_LOG = new NullLogService();
+	private static final String FILE_NAME = "benchmark.cpp";
+
+	private BenchmarkInputs() {
+	}
+
+	/**
+	 * Returns the code of the given input.
+	 * @param input the name of a synthetic input or the path of a file
+	 * @param scale the number of repetitions of the building blocks of a synthetic input
+	 */
+	public static char[] load(String input, int scale) throws IOException {
+		switch (input) {
+		case TEMPLATES:
+			return templates(scale).toCharArray();
+		case MACROS:
+			return macros(scale).toCharArray();
+		case GENERATED:
+			return generated(scale).toCharArray();
+		default:
+			return new String(Files.readAllBytes(Path.of(input)), StandardCharsets.UTF_8).toCharArray();
+		}
+	}
+
+	static ScannerInfo createScannerInfo() {
+		Map<String, String> macros = new HashMap<>();
+		macros.put("__GNUC__", "10");
+		macros.put("__GNUC_MINOR__", "2");
+		macros.put("__cplusplus", "201703L");
+		macros.put("__SIZEOF_INT__", "4");
+		macros.put("__SIZEOF_POINTER__", "8");
+		return new ScannerInfo(macros);
+	}
+
+	static LexerOptions createLexerOptions() {
+		LexerOptions options = new LexerOptions();
+		options.fSupportRawStringLiterals = true;
+		options.fSupportUserDefinedLiterals = true;
+		options.fSupportDigitSeparators = true;
+		return options;
+	}
+
+	static CPreprocessor createPreprocessor(char[] code) {
+		ScannerInfo scannerInfo = createScannerInfo();
+		return new CPreprocessor(FileContent.create(FILE_NAME, code), scannerInfo, ParserLanguage.CPP, NULL_LOG,
+				GPPScannerExtensionConfiguration.getInstance(scannerInfo),
+				IncludeFileContentProvider.getEmptyFilesProvider());
+	}
+
+	static IASTTranslationUnit parse(char[] code) {
+		GNUCPPSourceParser parser = new GNUCPPSourceParser(createPreprocessor(code), ParserMode.COMPLETE_PARSE,
+				NULL_LOG, GPPParserExtensionConfiguration.getInstance(), null);
+		return parser.parse();
+	}
+
+	private static String templates(int scale) {
+		StringBuilder buf = new StringBuilder();
+		buf.append("""
+				namespace bench {
+				template<typename T, T v> struct integral_constant { static constexpr T value = v; };
+				typedef integral_constant<bool, true> true_type;
+				typedef integral_constant<bool, false> false_type;
+				template<typename T, typename U> struct is_same : false_type {};
+				template<typename T> struct is_same<T, T> : true_type {};
+				template<bool B, typename T = void> struct enable_if {};
+				template<typename T> struct enable_if<true, T> { typedef T type; };
+				template<typename T> struct remove_ref { typedef T type; };
+				template<typename T> struct remove_ref<T&> { typedef T type; };
+				template<typename T> T&& declval();
+				template<typename... Ts> struct type_list { static constexpr int size = sizeof...(Ts); };
+				template<int N> struct fib { static constexpr int value = fib<N - 1>::value + fib<N - 2>::value; };
+				template<> struct fib<1> { static constexpr int value = 1; };
+				template<> struct fib<0> { static constexpr int value = 0; };
+				template<typename T, typename Alloc = int>
+				class vector {
+				public:
+					typedef T value_type;
+					typedef T* iterator;
+					vector() : fBegin(0), fEnd(0) {}
+					iterator begin() const { return fBegin; }
+					iterator end() const { return fEnd; }
+					template<typename U, typename = typename enable_if<is_same<U, T>::value>::type>
+					void push_back(const U& value) { *fEnd++ = value; }
+					T& operator[](int i) { return fBegin[i]; }
+					int size() const { return fEnd - fBegin; }
+				private:
+					T* fBegin;
+					T* fEnd;
+				};
+				template<typename K, typename V>
+				struct pair { K first; V second; };
+				template<typename K, typename V>
+				class map {
+				public:
+					typedef pair<K, V> entry;
+					V& operator[](const K& key) { return find(key)->second; }
+					entry* find(const K& key) { return fEntries.begin(); }
+				private:
+					vector<entry> fEntries;
+				};
+				template<typename F, typename... Args>
+				auto invoke(F f, Args... args) -> decltype(f(args...)) { return f(args...); }
+				}
+				""");
+		for (int i = 0; i < scale; i++) {
+			buf.append("namespace n").append(i).append(" {\n");
+			buf.append("struct S { int x; double y; bench::vector<int> v; };\n");
+			buf.append("template<typename T> struct wrapper {\n");
+			buf.append("\tT value;\n");
+			buf.append("\ttypedef typename bench::remove_ref<T>::type type;\n");
+			buf.append("};\n");
+			buf.append("typedef bench::map<int, bench::vector<wrapper<S> > > table_t;\n");
+			buf.append("int f(const S& s) { return s.x + static_cast<int>(s.y); }\n");
+			buf.append("template<typename T> T sum(bench::vector<T>& v) {\n");
+			buf.append("\tT result = T();\n");
+			buf.append("\tfor (typename bench::vector<T>::iterator it = v.begin(); it != v.end(); ++it)\n");
+			buf.append("\t\tresult += *it;\n");
+			buf.append("\treturn result;\n");
+			buf.append("}\n");
+			buf.append("int use(table_t& t) {\n");
+			buf.append("\tbench::vector<int> ints;\n");
+			buf.append("\tints.push_back(").append(i).append(");\n");
+			buf.append("\twrapper<S>::type s;\n");
+			buf.append("\tt[").append(i).append("].push_back(wrapper<S>());\n");
+			buf.append("\tstatic_assert(bench::fib<").append(i % 20).append(">::value >= 0, \"fib\");\n");
+			buf.append("\tstatic_assert(bench::type_list<int, S, table_t>::size == 3, \"size\");\n");
+			buf.append("\treturn sum(ints) + f(s) + bench::invoke(f, s) + t[0].size();\n");
+			buf.append("}\n");
+			buf.append("}\n");
+		}
+		return buf.toString();
+	}
+
+	private static String macros(int scale) {
+		StringBuilder buf = new StringBuilder();
+		buf.append("""
+				#define CAT_(a, b) a ## b
+				#define CAT(a, b) CAT_(a, b)
+				#define STR_(x) #x
+				#define STR(x) STR_(x)
+				#define MAX(a, b) ((a) > (b) ? (a) : (b))
+				#define MIN(a, b) ((a) < (b) ? (a) : (b))
+				#define CLAMP(x, lo, hi) MIN(MAX(x, lo), hi)
+				#define REPEAT_1(m, x) m(x, 0)
+				#define REPEAT_2(m, x) REPEAT_1(m, x) m(x, 1)
+				#define REPEAT_4(m, x) REPEAT_2(m, x) m(x, 2) m(x, 3)
+				#define REPEAT_8(m, x) REPEAT_4(m, x) m(x, 4) m(x, 5) m(x, 6) m(x, 7)
+				#define FIELD(prefix, n) int CAT(prefix, n);
+				#define GETTER(p, n) int CAT(get_, CAT(p, n))() const { return CLAMP(CAT(p, n), 0, 100); }
+				#define VA_COUNT_(_1, _2, _3, _4, _5, N, ...) N
+				#define VA_COUNT(...) VA_COUNT_(__VA_ARGS__, 5, 4, 3, 2, 1)
+				#define LOG(fmt, ...) log_impl(__FILE__, __LINE__, fmt, VA_COUNT(__VA_ARGS__), __VA_ARGS__)
+				#if defined(__GNUC__) && __GNUC__ >= 4
+				#define INLINE inline __attribute__((always_inline))
+				#else
+				#define INLINE inline
+				#endif
+				int log_impl(const char* file, int line, const char* fmt, int count, ...);
+				""");
+		for (int i = 0; i < scale; i++) {
+			buf.append("#define ID_").append(i).append(" CAT(id, ").append(i).append(")\n");
+			buf.append("#if (").append(i).append(" % 3) == 0 && defined(__cplusplus)\n");
+			buf.append("#define KIND_").append(i).append(" 1\n");
+			buf.append("#elif (").append(i).append(" % 3) == 1\n");
+			buf.append("#define KIND_").append(i).append(" 2\n");
+			buf.append("#else\n");
+			buf.append("#define KIND_").append(i).append(" 3\n");
+			buf.append("#endif\n");
+			buf.append("struct ID_").append(i).append(" {\n");
+			buf.append("\tREPEAT_8(FIELD, f)\n");
+			buf.append("\tREPEAT_8(GETTER, f)\n");
+			buf.append("};\n");
+			buf.append("INLINE int CAT(check_, ").append(i).append(")(int a, int b) {\n");
+			buf.append("\tLOG(STR(ID_").append(i).append("), a, b, KIND_").append(i).append(");\n");
+			buf.append("\treturn CLAMP(a + b * KIND_").append(i).append(", MIN(a, b), MAX(a, b));\n");
+			buf.append("}\n");
+		}
+		return buf.toString();
+	}
+
+	private static String generated(int scale) {
+		StringBuilder buf = new StringBuilder();
+		buf.append("typedef unsigned int uint32_t;\n");
+		buf.append("struct reg { const char* name; uint32_t address; uint32_t reset; uint32_t mask; };\n");
+		for (int i = 0; i < scale; i++) {
+			buf.append("enum field_").append(i).append(" { F").append(i).append("_A = ").append(i)
+					.append(", F").append(i).append("_B = F").append(i).append("_A << 1, F").append(i)
+					.append("_C = F").append(i).append("_B | 0x").append(Integer.toHexString(i)).append(" };\n");
+			buf.append("static const reg reg_").append(i).append(" = { \"REG").append(i).append("\", 0x")
+					.append(Integer.toHexString(0x40000000 + 4 * i)).append("u, ").append(i).append("u, 0xffffu };\n");
+			buf.append("uint32_t read_").append(i).append("(const uint32_t* base) {\n");
+			buf.append("\tuint32_t v = base[").append(i).append("] & reg_").append(i).append(".mask;\n");
+			buf.append("\tif (v > F").append(i).append("_C) {\n");
+			buf.append("\t\tv = (v >> 2) ^ reg_").append(i).append(".reset;\n");
+			buf.append("\t}\n");
+			buf.append("\treturn v + F").append(i).append("_A * 3 - F").append(i).append("_B / 2;\n");
+			buf.append("}\n");
+		}
+		buf.append("static const reg* const all_regs[] = {\n");
+		for (int i = 0; i < scale; i++) {
+			buf.append("\t&reg_").append(i).append(",\n");
+		}
+		buf.append("};\n");
+		return buf.toString();
+	}
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.parser.util.CharArrayHashMap;
+import org.eclipse.cdt.core.parser.util.CharArrayMap;
+import org.eclipse.cdt.core.parser.util.CharArrayObjectMap;
+import org.eclipse.cdt.core.parser.util.LongObjectMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the lookup performance of the maps used by the preprocessor and the index. Half of
+ * the looked up keys are contained in the maps. Char array keys are looked up as slices of a
+ * larger buffer, the way the preprocessor looks up identifiers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapBenchmark {
+	private static final int LOOKUPS = 1024;
+
+	@Param({ "100", "10000" })
+	public int size;
+
+	private final CharArrayHashMap<Object> fCharArrayHashMap = new CharArrayHashMap<>();
+	private final CharArrayMap<Object> fCharArrayMap = new CharArrayMap<>();
+	private CharArrayObjectMap<Object> fCharArrayObjectMap;
+	private final LongObjectMap<Object> fLongObjectMap = new LongObjectMap<>();
+	private final HashMap<Long, Object> fHashMap = new HashMap<>();
+
+	private char[] fBuffer;
+	private int[] fOffsets;
+	private int[] fLengths;
+	private long[] fLongKeys;
+
+	@Setup
+	@SuppressWarnings("nls")
+	public void setup() {
+		Random random = new Random(42);
+		fCharArrayObjectMap = new CharArrayObjectMap<>(size);
+		StringBuilder buf = new StringBuilder();
+		fOffsets = new int[LOOKUPS];
+		fLengths = new int[LOOKUPS];
+		for (int i = 0; i < LOOKUPS; i++) {
+			// Even lookups hit, odd ones miss.
+			String key = "identifier_" + (i % 2 == 0 ? random.nextInt(size) : size + random.nextInt(size));
+			fOffsets[i] = buf.length();
+			fLengths[i] = key.length();
+			buf.append(key).append(' ');
+		}
+		fBuffer = buf.toString().toCharArray();
+		fLongKeys = new long[LOOKUPS];
+		for (int i = 0; i < LOOKUPS; i++) {
+			// Record pointers of the index are multiples of 8.
+			fLongKeys[i] = 8L * (i % 2 == 0 ? random.nextInt(size) : size + random.nextInt(size));
+		}
+		for (int i = 0; i < size; i++) {
+			char[] key = ("identifier_" + i).toCharArray();
+			Object value = Integer.valueOf(i);
+			fCharArrayHashMap.put(key, value);
+			fCharArrayMap.put(key, value);
+			fCharArrayObjectMap.put(key, value);
+			fLongObjectMap.put(8L * i, value);
+			fHashMap.put(8L * i, value);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public void charArrayHashMap(Blackhole blackhole) {
+		for (int i = 0; i < LOOKUPS; i++) {
+			blackhole.consume(fCharArrayHashMap.get(fBuffer, fOffsets[i], fLengths[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public void charArrayMap(Blackhole blackhole) {
+		for (int i = 0; i < LOOKUPS; i++) {
+			blackhole.consume(fCharArrayMap.get(fBuffer, fOffsets[i], fLengths[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public void charArrayObjectMap(Blackhole blackhole) {
+		for (int i = 0; i < LOOKUPS; i++) {
+			blackhole.consume(fCharArrayObjectMap.get(fBuffer, fOffsets[i], fLengths[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public void longObjectMap(Blackhole blackhole) {
+		for (int i = 0; i < LOOKUPS; i++) {
+			blackhole.consume(fLongObjectMap.get(fLongKeys[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public void hashMapWithLongKeys(Blackhole blackhole) {
+		for (int i = 0; i < LOOKUPS; i++) {
+			blackhole.consume(fHashMap.get(fLongKeys[i]));
+		}
+	}
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IProblemBinding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the time for parsing a translation unit with the C++ parser, with and without
+ * resolving all names of the AST.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+	@Param({ BenchmarkInputs.TEMPLATES, BenchmarkInputs.MACROS, BenchmarkInputs.GENERATED })
+	public String input;
+
+	@Param({ "500" })
+	public int scale;
+
+	private char[] fCode;
+
+	@Setup
+	public void setup() throws Exception {
+		fCode = BenchmarkInputs.load(input, scale);
+	}
+
+	/**
+	 * Preprocessing and parsing, without name resolution.
+	 */
+	@Benchmark
+	public IASTTranslationUnit parse() {
+		return BenchmarkInputs.parse(fCode);
+	}
+
+	/**
+	 * Preprocessing, parsing and resolution of all names in the AST.
+	 */
+	@Benchmark
+	public int resolveNames(Blackhole blackhole) {
+		IASTTranslationUnit tu = BenchmarkInputs.parse(fCode);
+		NameResolver resolver = new NameResolver(blackhole);
+		tu.accept(resolver);
+		return resolver.fProblems;
+	}
+
+	private static class NameResolver extends ASTVisitor {
+		private final Blackhole fBlackhole;
+		int fProblems;
+
+		NameResolver(Blackhole blackhole) {
+			fBlackhole = blackhole;
+			shouldVisitNames = true;
+		}
+
+		@Override
+		public int visit(IASTName name) {
+			IBinding binding = name.resolveBinding();
+			if (binding instanceof IProblemBinding) {
+				fProblems++;
+			}
+			fBlackhole.consume(binding);
+			return PROCESS_CONTINUE;
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.parser.EndOfFileException;
+import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of the {@link CPreprocessor}, the counter {@code tokens} reports the
+ * number of tokens after macro expansion per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreprocessorBenchmark {
+	@Param({ BenchmarkInputs.TEMPLATES, BenchmarkInputs.MACROS, BenchmarkInputs.GENERATED })
+	public String input;
+
+	@Param({ "500" })
+	public int scale;
+
+	private char[] fCode;
+
+	/**
+	 * Counts the tokens returned by the preprocessor.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class TokenCounter {
+		public long tokens;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			tokens = 0;
+		}
+	}
+
+	@Setup
+	public void setup() throws Exception {
+		fCode = BenchmarkInputs.load(input, scale);
+	}
+
+	@Benchmark
+	public int preprocess(TokenCounter counter) {
+		CPreprocessor preprocessor = BenchmarkInputs.createPreprocessor(fCode);
+		int count = 0;
+		try {
+			while (true) {
+				preprocessor.nextToken();
+				count++;
+			}
+		} catch (EndOfFileException e) {
+			// End of input reached.
+		}
+		counter.tokens += count;
+		return count;
+	}
+}
@@ -14,6 +14,9 @@
  *******************************************************************************/
 package org.eclipse.cdt.core.model.tests;
 
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.IPDOMManager;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
@@ -22,6 +25,7 @@ import org.eclipse.cdt.core.model.CoreModel;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.cdt.core.model.IWorkingCopy;
 import org.eclipse.cdt.core.testplugin.CProjectHelper;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
@@ -88,7 +92,35 @@ public class ASTCacheTests extends BaseTestCase {
 		}
 	}
 
+	/**
+	 * A cache counting the ASTs it creates. Creating an AST takes a while, so
+	 * that concurrent requests overlap.
+	 */
+	private static class CountingASTCache extends ASTCache {
+		final AtomicInteger fCount = new AtomicInteger();
+
+		CountingASTCache() {
+			super();
+		}
+
+		CountingASTCache(int maxEntries, long maxWeight) {
+			super(maxEntries, maxWeight);
+		}
+
+		@Override
+		public IASTTranslationUnit createAST(ITranslationUnit tUnit, IIndex index, IProgressMonitor progressMonitor) {
+			fCount.incrementAndGet();
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return super.createAST(tUnit, index, progressMonitor);
+		}
+	}
+
 	private ICProject fProject;
+	private IFile fFile2;
 	private ITranslationUnit fTU1;
 	private ITranslationUnit fTU2;
 	private IIndex fIndex;
@@ -117,6 +149,7 @@ public class ASTCacheTests extends BaseTestCase {
 		assertNotNull(file2);
 		fTU1 = (ITranslationUnit) CoreModel.getDefault().create(file1);
 		assertNotNull(fTU1);
+		fFile2 = file2;
 		fTU2 = (ITranslationUnit) CoreModel.getDefault().create(file2);
 		assertNotNull(fTU2);
 		waitForIndexer(fProject);
@@ -152,52 +185,60 @@ public class ASTCacheTests extends BaseTestCase {
 
 	private void checkActiveElement() throws Exception {
 		ASTCache cache = new ASTCache();
-		assertFalse(cache.isActiveElement(fTU1));
-		assertFalse(cache.isActiveElement(fTU2));
-		cache.setActiveElement(fTU1);
-		assertTrue(cache.isActiveElement(fTU1));
-		assertFalse(cache.isActiveElement(fTU2));
-		cache.setActiveElement(fTU2);
-		assertFalse(cache.isActiveElement(fTU1));
-		assertTrue(cache.isActiveElement(fTU2));
+		try {
+			assertFalse(cache.isActiveElement(fTU1));
+			assertFalse(cache.isActiveElement(fTU2));
+			cache.setActiveElement(fTU1);
+			assertTrue(cache.isActiveElement(fTU1));
+			assertFalse(cache.isActiveElement(fTU2));
+			cache.setActiveElement(fTU2);
+			assertFalse(cache.isActiveElement(fTU1));
+			assertTrue(cache.isActiveElement(fTU2));
+		} finally {
+			cache.dispose();
+		}
 	}
 
 	private void checkSingleThreadAccess() throws Exception {
 		final ASTCache cache = new ASTCache();
-		final int[] counter = { 0 };
-		cache.setActiveElement(fTU1);
-		IStatus status = cache.runOnAST(fTU1, false, null, new ASTRunnable() {
-			@Override
-			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
-				assertNull(ast);
-				counter[0]++;
-				return Status.OK_STATUS;
-			}
-		});
-		assertEquals(1, counter[0]);
+		try {
+			final int[] counter = { 0 };
+			cache.setActiveElement(fTU1);
+			IStatus status = cache.runOnAST(fTU1, false, null, new ASTRunnable() {
+				@Override
+				public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
+					assertNull(ast);
+					counter[0]++;
+					return Status.OK_STATUS;
+				}
+			});
+			assertEquals(1, counter[0]);
 
-		IProgressMonitor npm = new NullProgressMonitor();
-		npm.setCanceled(true);
-		status = cache.runOnAST(fTU1, true, npm, new ASTRunnable() {
-			@Override
-			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
-				assertNull(ast);
-				counter[0]++;
-				return Status.OK_STATUS;
-			}
-		});
-		assertEquals(2, counter[0]);
+			IProgressMonitor npm = new NullProgressMonitor();
+			npm.setCanceled(true);
+			status = cache.runOnAST(fTU1, true, npm, new ASTRunnable() {
+				@Override
+				public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
+					assertNull(ast);
+					counter[0]++;
+					return Status.OK_STATUS;
+				}
+			});
+			assertEquals(2, counter[0]);
 
-		npm.setCanceled(false);
-		status = cache.runOnAST(fTU1, true, npm, new ASTRunnable() {
-			@Override
-			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
-				assertNotNull(ast);
-				counter[0]++;
-				return Status.OK_STATUS;
-			}
-		});
-		assertEquals(3, counter[0]);
+			npm.setCanceled(false);
+			status = cache.runOnAST(fTU1, true, npm, new ASTRunnable() {
+				@Override
+				public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
+					assertNotNull(ast);
+					counter[0]++;
+					return Status.OK_STATUS;
+				}
+			});
+			assertEquals(3, counter[0]);
+		} finally {
+			cache.dispose();
+		}
 	}
 
 	private void checkAccessWithSequentialReconciler() throws Exception {
@@ -253,6 +294,7 @@ public class ASTCacheTests extends BaseTestCase {
 			reconciler1.join(1000);
 			reconciler2.fStopped = true;
 			reconciler2.join(1000);
+			cache.dispose();
 		}
 	}
 
@@ -315,9 +357,144 @@ public class ASTCacheTests extends BaseTestCase {
 			reconciler1.join(1000);
 			reconciler2.fStopped = true;
 			reconciler2.join(1000);
+			cache.dispose();
+		}
+	}
+
+	public void testASTsOfInactiveElementsAreCached() throws Exception {
+		ASTCache cache = new ASTCache();
+		try {
+			cache.setActiveElement(fTU1);
+			IASTTranslationUnit ast1 = getAST(cache, fTU1);
+			assertNotNull(ast1);
+			cache.setActiveElement(fTU2);
+			IASTTranslationUnit ast2 = getAST(cache, fTU2);
+			assertNotNull(ast2);
+			assertSame(ast1, getAST(cache, fTU1));
+			cache.setActiveElement(fTU1);
+			assertSame(ast1, getAST(cache, fTU1));
+			assertSame(ast2, getAST(cache, fTU2));
+		} finally {
+			cache.dispose();
+		}
+	}
+
+	public void testLeastRecentlyUsedASTIsEvicted() throws Exception {
+		ASTCache cache = new ASTCache(1, ASTCache.DEFAULT_MAX_WEIGHT);
+		try {
+			cache.setActiveElement(fTU1);
+			IASTTranslationUnit ast1 = getAST(cache, fTU1);
+			IASTTranslationUnit ast2 = getAST(cache, fTU2);
+			assertNotNull(ast2);
+			// The AST of the active element is kept, the other one is evicted.
+			assertSame(ast1, getAST(cache, fTU1));
+			assertNotSame(ast2, getAST(cache, fTU2));
+		} finally {
+			cache.dispose();
+		}
+	}
+
+	public void testConcurrentRequestsShareAST() throws Exception {
+		final CountingASTCache cache = new CountingASTCache();
+		try {
+			final IASTTranslationUnit[] asts = new IASTTranslationUnit[4];
+			Thread[] threads = new Thread[asts.length];
+			for (int i = 0; i < threads.length; i++) {
+				final int n = i;
+				threads[i] = new Thread(() -> asts[n] = getAST(cache, fTU2));
+				threads[i].start();
+			}
+			for (Thread thread : threads) {
+				thread.join(10000);
+			}
+			assertNotNull(asts[0]);
+			for (IASTTranslationUnit ast : asts) {
+				assertSame(asts[0], ast);
+			}
+			assertEquals(1, cache.fCount.get());
+		} finally {
+			cache.dispose();
+		}
+	}
+
+	public void testWeightBound() throws Exception {
+		CountingASTCache cache = new CountingASTCache(ASTCache.DEFAULT_MAX_ENTRIES,
+				SOURCE1.length() + SOURCE2.length());
+		try {
+			cache.setActiveElement(fTU1);
+			IASTTranslationUnit ast1 = getAST(cache, fTU1);
+			IASTTranslationUnit ast2 = getAST(cache, fTU2);
+			assertSame(ast1, getAST(cache, fTU1));
+			assertSame(ast2, getAST(cache, fTU2));
+			assertEquals(2, cache.fCount.get());
+		} finally {
+			cache.dispose();
+		}
+
+		cache = new CountingASTCache(ASTCache.DEFAULT_MAX_ENTRIES, SOURCE2.length());
+		try {
+			cache.setActiveElement(fTU1);
+			IASTTranslationUnit ast1 = getAST(cache, fTU1);
+			IASTTranslationUnit ast2 = getAST(cache, fTU2);
+			assertNotNull(ast2);
+			// The AST of the active element is kept even if it exceeds the bound by itself.
+			assertSame(ast1, getAST(cache, fTU1));
+			assertNotSame(ast2, getAST(cache, fTU2));
+			assertEquals(3, cache.fCount.get());
+		} finally {
+			cache.dispose();
+		}
+	}
+
+	public void testChangedFileDiscardsAST() throws Exception {
+		ASTCache cache = new ASTCache();
+		try {
+			cache.setActiveElement(fTU1);
+			IASTTranslationUnit ast = getAST(cache, fTU2);
+			assertSame(ast, getAST(cache, fTU2));
+			fFile2.setContents(new ByteArrayInputStream("void foo3() {}".getBytes()), true, false, null); //$NON-NLS-1$
+			ast = getAST(cache, fTU2);
+			assertEquals("void foo3() {}", ast.getDeclarations()[0].getRawSignature()); //$NON-NLS-1$
+		} finally {
+			cache.dispose();
 		}
 	}
 
+	public void testChangedWorkingCopyDiscardsAST() throws Exception {
+		ASTCache cache = new ASTCache();
+		IWorkingCopy workingCopy = fTU2.getWorkingCopy();
+		try {
+			cache.setActiveElement(fTU1);
+			IASTTranslationUnit ast = getAST(cache, workingCopy);
+			assertSame(ast, getAST(cache, workingCopy));
+			// Changing the body of a function does not change the C model.
+			workingCopy.getBuffer().setContents("void foo2() { int a; }"); //$NON-NLS-1$
+			workingCopy.reconcile();
+			ast = getAST(cache, workingCopy);
+			assertEquals("void foo2() { int a; }", ast.getDeclarations()[0].getRawSignature()); //$NON-NLS-1$
+			// Adding a function changes the children of the translation unit only.
+			workingCopy.getBuffer().setContents("void foo2() { int a; } void foo3() {}"); //$NON-NLS-1$
+			workingCopy.reconcile();
+			ast = getAST(cache, workingCopy);
+			assertEquals(2, ast.getDeclarations().length);
+		} finally {
+			workingCopy.destroy();
+			cache.dispose();
+		}
+	}
+
+	private IASTTranslationUnit getAST(ASTCache cache, ITranslationUnit tUnit) {
+		final IASTTranslationUnit[] result = new IASTTranslationUnit[1];
+		cache.runOnAST(tUnit, true, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+				result[0] = ast;
+				return Status.OK_STATUS;
+			}
+		});
+		return result[0];
+	}
+
 	private void waitForAST(ASTCache cache, ITranslationUnit tUnit, ASTRunnable runnable) {
 		if (DEBUG)
 			System.out.println("waiting for " + tUnit.getElementName());
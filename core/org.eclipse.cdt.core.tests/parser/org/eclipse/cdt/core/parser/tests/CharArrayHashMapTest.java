@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.cdt.core.parser.util.CharArrayHashMap;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for {@link CharArrayHashMap}.
+ */
+public class CharArrayHashMapTest extends TestCase {
+
+	public void testBasicUsage() {
+		char[] key1 = "first key".toCharArray();
+		char[] key2 = "second key".toCharArray();
+		char[] chars = "a first key".toCharArray();
+
+		CharArrayHashMap<Integer> map = new CharArrayHashMap<>();
+		assertTrue(map.isEmpty());
+		assertNull(map.put(key1, 1));
+		assertNull(map.put(key2, 2));
+		assertEquals(2, map.size());
+
+		assertEquals(Integer.valueOf(1), map.get(key1));
+		assertEquals(Integer.valueOf(1), map.get(chars, 2, 9));
+		assertEquals(Integer.valueOf(2), map.get("second key".toCharArray()));
+		assertNull(map.get(chars, 0, 7));
+		assertTrue(map.containsKey(chars, 2, 9));
+		assertFalse(map.containsKey(chars, 2, 5));
+
+		// Override a value using a slice.
+		assertEquals(Integer.valueOf(1), map.put(chars, 2, 9, 3));
+		assertEquals(2, map.size());
+		assertEquals(Integer.valueOf(3), map.get(key1));
+
+		assertEquals(Integer.valueOf(3), map.remove(chars, 2, 9));
+		assertNull(map.remove(key1));
+		assertEquals(1, map.size());
+		assertEquals("second key", String.valueOf(map.keys().iterator().next()));
+		assertEquals(Integer.valueOf(2), map.values().iterator().next());
+
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertNull(map.get(key2));
+	}
+
+	public void testSliceIsCopied() {
+		char[] chars = "macro".toCharArray();
+		CharArrayHashMap<Integer> map = new CharArrayHashMap<>();
+		map.put(chars, 0, 3, 1);
+		chars[0] = 'x';
+		assertEquals(Integer.valueOf(1), map.get("mac".toCharArray()));
+	}
+
+	public void testAgainstHashMap() {
+		Random random = new Random(42);
+		CharArrayHashMap<Integer> map = new CharArrayHashMap<>(0);
+		Map<String, Integer> expected = new HashMap<>();
+		for (int i = 0; i < 100000; i++) {
+			String key = "key" + random.nextInt(2000);
+			switch (random.nextInt(3)) {
+			case 0:
+				assertEquals(expected.put(key, i), map.put(key.toCharArray(), i));
+				break;
+			case 1:
+				assertEquals(expected.remove(key), map.remove(("__" + key).toCharArray(), 2, key.length()));
+				break;
+			default:
+				assertEquals(expected.get(key), map.get(key.toCharArray()));
+				break;
+			}
+			assertEquals(expected.size(), map.size());
+		}
+		Set<String> keys = new HashSet<>();
+		for (char[] key : map.keys()) {
+			keys.add(String.valueOf(key));
+		}
+		assertEquals(expected.keySet(), keys);
+	}
+
+	public void testProperFail() {
+		char[] hello = "hello".toCharArray();
+		CharArrayHashMap<Integer> map = new CharArrayHashMap<>();
+
+		try {
+			map.put(null, 1);
+			fail();
+		} catch (NullPointerException expectedException) {
+		}
+
+		try {
+			map.put(hello, -1, 5, 1);
+			fail();
+		} catch (IndexOutOfBoundsException expectedException) {
+		}
+
+		try {
+			map.get(hello, 0, 100);
+			fail();
+		} catch (IndexOutOfBoundsException expectedException) {
+		}
+
+		try {
+			map.remove(hello, 2, -1);
+			fail();
+		} catch (IndexOutOfBoundsException expectedException) {
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.cdt.core.parser.util.LongObjectMap;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for {@link LongObjectMap}.
+ */
+public class LongObjectMapTest extends TestCase {
+
+	public void testBasicUsage() {
+		LongObjectMap<String> map = new LongObjectMap<>();
+		assertTrue(map.isEmpty());
+		assertNull(map.put(8, "a"));
+		assertNull(map.put(-16, "b"));
+		assertNull(map.put(1L << 40, "c"));
+		assertEquals(3, map.size());
+
+		assertEquals("a", map.get(8));
+		assertEquals("b", map.get(-16));
+		assertEquals("c", map.get(1L << 40));
+		assertNull(map.get(0));
+		assertTrue(map.containsKey(8));
+		assertFalse(map.containsKey(16));
+
+		assertEquals("a", map.put(8, "d"));
+		assertEquals("d", map.remove(8));
+		assertNull(map.remove(8));
+		assertEquals(2, map.size());
+
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertNull(map.get(-16));
+	}
+
+	public void testNullValue() {
+		LongObjectMap<String> map = new LongObjectMap<>();
+		try {
+			map.put(1, null);
+			fail();
+		} catch (NullPointerException expectedException) {
+		}
+	}
+
+	public void testAgainstHashMap() {
+		Random random = new Random(42);
+		LongObjectMap<Integer> map = new LongObjectMap<>(0);
+		Map<Long, Integer> expected = new HashMap<>();
+		for (int i = 0; i < 100000; i++) {
+			// Record pointers are aligned.
+			long key = random.nextInt(3000) * 8L;
+			switch (random.nextInt(3)) {
+			case 0:
+				assertEquals(expected.put(key, i), map.put(key, i));
+				break;
+			case 1:
+				assertEquals(expected.remove(key), map.remove(key));
+				break;
+			default:
+				assertEquals(expected.get(key), map.get(key));
+				break;
+			}
+			assertEquals(expected.size(), map.size());
+		}
+	}
+}
@@ -36,10 +36,13 @@ import org.eclipse.cdt.core.index.IndexLocationFactory;
 import org.eclipse.cdt.core.model.CoreModel;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.IPathEntry;
+import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.testplugin.CProjectHelper;
 import org.eclipse.cdt.core.testplugin.TestScannerProvider;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask;
 import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
+import org.eclipse.cdt.internal.core.pdom.indexer.PDOMFastIndexer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspaceRunnable;
@@ -289,6 +292,52 @@ public class IndexIncludeTest extends IndexTestBase {
 		}
 	}
 
+	public void testParallelParsing() throws Exception {
+		final int sourceCount = 12;
+		IndexerPreferences.set(fProject.getProject(), IndexerPreferences.KEY_INDEXER_WORKER_THREADS, "4");
+		try {
+			IFile header = TestSourceReader.createFile(fProject.getProject(), "shared_parallel.h",
+					"int shared_parallel;\n");
+			// The sources take a while to parse, such that parses overlap.
+			StringBuilder functions = new StringBuilder();
+			for (int i = 0; i < 500; i++) {
+				functions.append("static int f" + i + "(int a) { return a + f" + Math.max(0, i - 1) + "(a); }\n");
+			}
+			ITranslationUnit[] tus = new ITranslationUnit[sourceCount];
+			for (int i = 0; i < sourceCount; i++) {
+				IFile file = TestSourceReader.createFile(fProject.getProject(), "source" + i + "_parallel.cpp",
+						"#include \"shared_parallel.h\"\nint source" + i + "_parallel;\n" + functions);
+				tus[i] = (ITranslationUnit) CoreModel.getDefault().create(file);
+			}
+			waitForIndexer();
+
+			// Index the sources again with a task of our own to look at its statistics.
+			PDOMFastIndexer indexer = new PDOMFastIndexer();
+			indexer.setProject(fProject);
+			AbstractIndexerTask task = (AbstractIndexerTask) indexer.createTask(tus, new ITranslationUnit[0],
+					new ITranslationUnit[0]);
+			task.run(npm());
+			assertTrue(task.getStatistics().fMaxConcurrentParses >= 2);
+
+			fIndex.acquireReadLock();
+			try {
+				assertEquals(1, fIndex.findBindings("shared_parallel".toCharArray(), IndexFilter.ALL, npm()).length);
+				for (int i = 0; i < sourceCount; i++) {
+					char[] name = ("source" + i + "_parallel").toCharArray();
+					assertEquals(1, fIndex.findBindings(name, IndexFilter.ALL, npm()).length);
+				}
+				IIndexFile[] indexFiles = fIndex.getFiles(ILinkage.CPP_LINKAGE_ID,
+						IndexLocationFactory.getWorkspaceIFL(header));
+				assertEquals(1, indexFiles.length);
+				assertEquals(sourceCount, fIndex.findIncludedBy(indexFiles[0]).length);
+			} finally {
+				fIndex.releaseReadLock();
+			}
+		} finally {
+			IndexerPreferences.set(fProject.getProject(), IndexerPreferences.KEY_INDEXER_WORKER_THREADS, "1");
+		}
+	}
+
 	// #define SOME_MACRO1 ok_1_220358
 	// #define SOME_MACRO2 ok_2_220358
 
@@ -151,6 +151,81 @@ public class DatabaseTest extends BaseTestCase5 {
 		assertEquals(mem2, mem1);
 	}
 
+	@Test
+	public void testMemoryMappedChunks() throws Exception {
+		final int count = 2000;
+		long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.malloc(42);
+			db.putInt(records[i], i);
+			db.putLong(records[i] + 4, i * 31L);
+			db.putRecPtr(records[i] + 12, records[i]);
+		}
+		long string = db.newString("memory mapped").getRecord();
+		db.close();
+
+		// Read and modify the content through mapped chunks.
+		Database mapped = new Database(db.getLocation(), new ChunkCache(), 0, false, true);
+		mapped.setExclusiveLock();
+		for (int i = 0; i < count; i++) {
+			assertEquals(i, mapped.getInt(records[i]));
+			assertEquals(i * 31L, mapped.getLong(records[i] + 4));
+			assertEquals(records[i], mapped.getRecPtr(records[i] + 12));
+			mapped.putInt(records[i], -i);
+		}
+		assertEquals("memory mapped", mapped.getString(string).getString());
+		long newRecord = mapped.malloc(Database.MAX_MALLOC_SIZE);
+		mapped.putInt(newRecord, 4711);
+		mapped.close();
+
+		db = new Database(db.getLocation(), new ChunkCache(), 0, false, false);
+		db.setExclusiveLock();
+		for (int i = 0; i < count; i++) {
+			assertEquals(-i, db.getInt(records[i]));
+		}
+		assertEquals(4711, db.getInt(newRecord));
+	}
+
+	@Test
+	public void testConcurrentReadersWithSmallCache() throws Exception {
+		final int count = 1000;
+		final long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.malloc(Database.MAX_MALLOC_SIZE);
+			db.putInt(records[i], i);
+		}
+		db.close();
+
+		db = new Database(db.getLocation(), new ChunkCache(Database.CHUNK_SIZE * 256), 0, false);
+		db.setLocked(true);
+		final Throwable[] failure = new Throwable[1];
+		Thread[] readers = new Thread[4];
+		for (int t = 0; t < readers.length; t++) {
+			final int offset = t * count / readers.length;
+			readers[t] = new Thread(() -> {
+				try {
+					for (int i = 0; i < count; i++) {
+						int j = (i + offset) % count;
+						assertEquals(j, db.getInt(records[j]));
+					}
+				} catch (Throwable e) {
+					failure[0] = e;
+				}
+			});
+			readers[t].start();
+		}
+		for (Thread reader : readers) {
+			reader.join();
+		}
+		if (failure[0] != null) {
+			fail(failure[0].toString());
+		}
+		assertTrue(db.getCacheMisses() >= count);
+		assertTrue(db.getCacheEvictions() > 0);
+		assertEquals(db.getCacheMisses() + db.getCacheHits(), (long) count * readers.length);
+		db.setExclusiveLock();
+	}
+
 	private static class FindVisitor implements IBTreeVisitor {
 		private Database db;
 		private String key;
@@ -39,10 +39,14 @@ import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
 import org.eclipse.cdt.internal.core.CCoreInternals;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
+import org.eclipse.cdt.internal.core.index.IWritableIndex;
 import org.eclipse.cdt.internal.core.index.IWritableIndexFragment;
+import org.eclipse.cdt.internal.core.index.IWritableIndexManager;
+import org.eclipse.cdt.internal.core.pdom.LockStatistics;
 import org.eclipse.cdt.internal.core.pdom.PDOM;
 import org.eclipse.cdt.internal.core.pdom.PDOMManager;
 import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.eclipse.cdt.internal.core.pdom.YieldableIndexLock;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
 import org.eclipse.core.resources.IFile;
@@ -217,6 +221,59 @@ public class PDOMCPPBugsTest extends BaseTestCase5 {
 		pdom.releaseWriteLock();
 	}
 
+	@Test
+	public void testLockStatistics() throws Exception {
+		final WritablePDOM pdom = (WritablePDOM) CCoreInternals.getPDOMManager().getPDOM(cproject);
+		LockStatistics stats = pdom.getLockStatistics();
+		Thread reader = new Thread() {
+			@Override
+			public void run() {
+				try {
+					pdom.acquireReadLock();
+					pdom.releaseReadLock();
+				} catch (InterruptedException e) {
+				}
+			}
+		};
+		pdom.acquireWriteLock(null);
+		try {
+			stats.reset();
+			reader.start();
+			// Hold the write lock until the reader is blocked by it.
+			while (!pdom.hasWaitingReaders()) {
+				Thread.yield();
+			}
+		} finally {
+			pdom.releaseWriteLock();
+		}
+		reader.join();
+
+		assertTrue(stats.getWriteLockHoldTimes().getCount() >= 1);
+		// The reader had to wait for the write lock to be released.
+		assertTrue(stats.getReadLockWaitTimes().getCount() >= 1);
+		pdom.acquireWriteLock(null);
+		pdom.releaseWriteLock();
+		assertTrue(stats.getWriteLockWaitTimes().getCount() >= 1);
+	}
+
+	@Test
+	public void testYieldAfterMaxHoldTime() throws Exception {
+		IWritableIndex index = ((IWritableIndexManager) CCorePlugin.getIndexManager()).getWritableIndex(cproject);
+		YieldableIndexLock lock = new YieldableIndexLock(index, false, null);
+		lock.acquire();
+		try {
+			// Unless somebody waits for a read lock, the lock is kept.
+			lock.yield();
+			assertTrue(lock.getMaxLockTime() < YieldableIndexLock.MAX_HOLD_TIME);
+			Thread.sleep(YieldableIndexLock.MAX_HOLD_TIME + 100);
+			lock.yield();
+			assertTrue(lock.getMaxLockTime() > YieldableIndexLock.MAX_HOLD_TIME);
+		} finally {
+			lock.release();
+		}
+		assertTrue(lock.getMaxLockTime() <= lock.getCumulativeLockTime());
+	}
+
 	@Test
 	public void test191679() throws Exception {
 		IProject project = cproject.getProject();
@@ -15,15 +15,38 @@
  ******************************************************************************/
 package org.eclipse.cdt.internal.core.model;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexManager;
+import org.eclipse.cdt.core.model.CModelException;
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.model.ElementChangedEvent;
+import org.eclipse.cdt.core.model.IBuffer;
+import org.eclipse.cdt.core.model.ICElement;
+import org.eclipse.cdt.core.model.ICElementDelta;
+import org.eclipse.cdt.core.model.IElementChangedListener;
 import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
 import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
@@ -31,9 +54,23 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 
 /**
- * Provides a shared AST of a single translation unit at a time.
+ * Provides shared ASTs of the recently used translation units.
+ * <p>
+ * The AST of the active translation unit, i.e. the one of the active editor,
+ * is computed by the reconciler. The ASTs of other translation units are
+ * computed on demand, and kept in a least recently used cache bounded by the
+ * number of ASTs and by their estimated size, so that switching between
+ * editors or computing hovers for a background translation unit does not
+ * parse it again. A cached AST is discarded on any write access to the index,
+ * and, unless it belongs to the active translation unit, when the contents of
+ * the translation unit change.
+ * <p>
+ * Concurrent requests for the AST of the same translation unit share a single
+ * computation.
  *
  * @since 4.0
  */
@@ -51,6 +88,16 @@ public class ASTCache {
 			| ITranslationUnit.AST_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS
 			| ITranslationUnit.AST_PARSE_INACTIVE_CODE;
 
+	/** Default maximum number of cached ASTs */
+	public static final int DEFAULT_MAX_ENTRIES = 8;
+	/**
+	 * Default maximum total size of the cached ASTs, measured in characters of
+	 * parsed code including the parsed headers.
+	 */
+	public static final long DEFAULT_MAX_WEIGHT = 8 * 1024 * 1024;
+	/** Interval at which a thread waiting for an AST checks for cancellation, in milliseconds */
+	private static final long WAIT_INTERVAL = 100;
+
 	/**
 	 * Do something with an AST.
 	 *
@@ -67,27 +114,79 @@ public class ASTCache {
 		IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException;
 	}
 
+	/**
+	 * The cached AST of a translation unit, and the computation of a new one.
+	 */
+	private static class Entry {
+		final ITranslationUnit fTU;
+		/** The cached AST if any */
+		IASTTranslationUnit fAST;
+		/** The estimated size of the AST */
+		long fWeight;
+		/**
+		 * The timestamp of the last index write access at the time
+		 * the AST got cached. A cached AST becomes invalid on any index
+		 * write access afterwards.
+		 */
+		long fLastWriteOnIndex;
+		/** The AST being computed, shared by the threads waiting for it */
+		CompletableFuture<IASTTranslationUnit> fPending;
+		/** Indicates whether the AST is being computed by the reconciler */
+		boolean fIsReconciling;
+		/** The modification stamp of the contents the cached AST has been computed from */
+		long fModificationStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		/** The modification stamp of the contents being reconciled */
+		long fReconcileStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+
+		Entry(ITranslationUnit tUnit) {
+			fTU = tUnit;
+		}
+	}
+
 	private final int fParseMode;
+	private final int fMaxEntries;
+	private final long fMaxWeight;
 	private final Object fCacheMutex = new Object();
+	private final IElementChangedListener fElementChangedListener = this::elementChanged;
 
-	/** The active translation unit for which to cache the AST */
+	/** The active translation unit for which the reconciler computes the AST */
 	private ITranslationUnit fActiveTU;
-	/** The cached AST if any */
-	private IASTTranslationUnit fAST;
-	/**
-	 * The timestamp of the last index write access at the time
-	 * the AST got cached. A cached AST becomes invalid on any index
-	 * write access afterwards.
-	 */
-	private long fLastWriteOnIndex;
-	/** Indicates whether the AST is currently being computed */
-	private boolean fIsReconciling;
+	/** The entries in least recently used order */
+	private final Map<ITranslationUnit, Entry> fEntries = new LinkedHashMap<>(16, 0.75f, true);
+	/** The total estimated size of the cached ASTs */
+	private long fWeight;
 
 	/**
 	 * Create a new AST cache.
 	 */
 	public ASTCache() {
+		this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_WEIGHT);
+	}
+
+	/**
+	 * Create a new AST cache with the given bounds. The AST of the active
+	 * translation unit is kept even if it exceeds the bounds.
+	 *
+	 * @param maxEntries  the maximum number of cached ASTs
+	 * @param maxWeight   the maximum total size of the cached ASTs, in characters of parsed code
+	 */
+	public ASTCache(int maxEntries, long maxWeight) {
 		fParseMode = PARSE_MODE;
+		fMaxEntries = maxEntries;
+		fMaxWeight = maxWeight;
+		CoreModel.getDefault().addElementChangedListener(fElementChangedListener);
+	}
+
+	/**
+	 * Discards the cached ASTs and stops listening to changes of the translation units.
+	 */
+	public void dispose() {
+		CoreModel.getDefault().removeElementChangedListener(fElementChangedListener);
+		setActiveElement(null);
+		synchronized (fCacheMutex) {
+			fEntries.clear();
+			fWeight = 0;
+		}
 	}
 
 	/**
@@ -113,60 +212,65 @@ public class ASTCache {
 			if (progressMonitor != null && progressMonitor.isCanceled())
 				return null;
 
-			final boolean isActiveElement;
+			final long modificationStamp = getCurrentModificationStamp(tUnit);
+			final CompletableFuture<IASTTranslationUnit> future;
+			final boolean isOwner;
 			synchronized (fCacheMutex) {
-				isActiveElement = tUnit.equals(fActiveTU);
-				if (isActiveElement) {
-					if (fAST != null) {
-						// AST is cached
-						if (fLastWriteOnIndex < index.getLastWriteAccess()) {
-							// AST has been invalidated by index write access
-							disposeAST();
-						} else {
-							// cached AST is valid
-							if (DEBUG)
-								System.out.println(DEBUG_PREFIX + getThreadName() + "returning cached AST:" //$NON-NLS-1$
-										+ toString(fAST) + " for: " + tUnit.getElementName()); //$NON-NLS-1$
-							return fAST;
-						}
-					}
-					// no cached AST
-					if (!wait) {
-						// no AST, no wait - we are done
+				Entry entry = fEntries.get(tUnit);
+				if (entry != null && entry.fAST != null) {
+					// AST is cached
+					if (entry.fLastWriteOnIndex < index.getLastWriteAccess()) {
+						// AST has been invalidated by index write access
+						setAST(entry, null, IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP);
+					} else if (isModified(entry.fModificationStamp, modificationStamp)) {
+						// AST has been computed from other contents
+						setAST(entry, null, IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP);
+					} else {
+						// cached AST is valid
 						if (DEBUG)
-							System.out.println(DEBUG_PREFIX + getThreadName() + "returning null (WAIT_NO) for: " //$NON-NLS-1$
-									+ tUnit.getElementName());
-						return null;
+							System.out.println(DEBUG_PREFIX + getThreadName() + "returning cached AST:" //$NON-NLS-1$
+									+ toString(entry.fAST) + " for: " + tUnit.getElementName()); //$NON-NLS-1$
+						return entry.fAST;
 					}
 				}
-				// no cached AST, but wait
-				if (isActiveElement && isReconciling(tUnit)) {
-					try {
-						// Wait for AST
+				// no cached AST
+				if (!wait) {
+					// no AST, no wait - we are done
+					if (DEBUG)
+						System.out.println(DEBUG_PREFIX + getThreadName() + "returning null (WAIT_NO) for: " //$NON-NLS-1$
+								+ tUnit.getElementName());
+					return null;
+				}
+				if (entry == null) {
+					entry = new Entry(tUnit);
+					fEntries.put(tUnit, entry);
+				}
+				isOwner = entry.fPending == null;
+				if (isOwner)
+					entry.fPending = new CompletableFuture<>();
+				future = entry.fPending;
+			}
+
+			if (!isOwner) {
+				try {
+					// Wait for the AST computed by the reconciler or by another thread
+					if (DEBUG)
+						System.out.println(
+								DEBUG_PREFIX + getThreadName() + "waiting for AST for: " + tUnit.getElementName()); //$NON-NLS-1$
+					IASTTranslationUnit ast = waitFor(future, progressMonitor);
+					if (ast != null) {
 						if (DEBUG)
 							System.out.println(
-									DEBUG_PREFIX + getThreadName() + "waiting for AST for: " + tUnit.getElementName()); //$NON-NLS-1$
-						fCacheMutex.wait();
-						// Check whether active element is still valid
-						if (fAST != null) {
-							if (DEBUG)
-								System.out.println(
-										DEBUG_PREFIX + getThreadName() + "...got AST for: " + tUnit.getElementName()); //$NON-NLS-1$
-							return fAST;
-						}
-						// try again
-						continue;
-					} catch (InterruptedException e) {
-						return null; // thread has been interrupted don't compute AST
+									DEBUG_PREFIX + getThreadName() + "...got AST for: " + tUnit.getElementName()); //$NON-NLS-1$
+						return ast;
 					}
-				} else if (!wait) {
-					return null;
+					// try again
+					continue;
+				} catch (InterruptedException e) {
+					return null; // thread has been interrupted don't compute AST
 				}
 			}
 
-			if (isActiveElement)
-				aboutToBeReconciled(tUnit);
-
 			if (DEBUG)
 				System.err.println(DEBUG_PREFIX + getThreadName() + "creating AST for " + tUnit.getElementName()); //$NON-NLS-1$
 
@@ -178,21 +282,32 @@ public class ASTCache {
 				else if (DEBUG && ast != null)
 					System.err.println(DEBUG_PREFIX + getThreadName() + "created AST for: " + tUnit.getElementName()); //$NON-NLS-1$
 			} finally {
-				if (isActiveElement) {
-					if (fAST != null) {
-						if (DEBUG)
-							System.out.println(DEBUG_PREFIX + getThreadName() + "Ignore created AST for " //$NON-NLS-1$
-									+ tUnit.getElementName() + "- AST from reconciler is newer"); //$NON-NLS-1$
-						// other reconciler was faster, still need to trigger notify
-						reconciled(fAST, tUnit);
-					} else
-						reconciled(ast, tUnit);
-				}
+				computed(ast, tUnit, future, modificationStamp);
 			}
 			return ast;
 		}
 	}
 
+	/**
+	 * Waits for an AST being computed.
+	 *
+	 * @return the AST, or <code>null</code> if the computation has been abandoned
+	 *     or the progress monitor has been canceled
+	 */
+	private static IASTTranslationUnit waitFor(CompletableFuture<IASTTranslationUnit> future,
+			IProgressMonitor progressMonitor) throws InterruptedException {
+		while (true) {
+			try {
+				return future.get(WAIT_INTERVAL, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				if (progressMonitor != null && progressMonitor.isCanceled())
+					return null;
+			} catch (ExecutionException e) {
+				return null;
+			}
+		}
+	}
+
 	/**
 	 * Executes {@link ASTRunnable#runOnAST(ILanguage, IASTTranslationUnit)} with the AST
 	 * provided by this cache for the given translation unit. Handles acquiring
@@ -292,47 +407,145 @@ public class ASTCache {
 	}
 
 	/**
-	 * Caches the given AST for the given translation unit.
+	 * Caches the AST computed by a thread that is not the reconciler, and hands
+	 * it to the threads waiting for it.
 	 *
-	 * @param ast    the AST
-	 * @param tUnit  the translation unit
+	 * @param ast     the AST, or <code>null</code> if it could not be computed
+	 * @param tUnit   the translation unit
+	 * @param future  the computation
+	 * @param modificationStamp  the modification stamp of the contents before the AST was computed
 	 */
-	private void cache(IASTTranslationUnit ast, ITranslationUnit tUnit) {
-		assert Thread.holdsLock(fCacheMutex);
-		if (fActiveTU != null && !fActiveTU.equals(tUnit)) {
-			if (DEBUG && tUnit != null) // don't report call from disposeAST()
-				System.out.println(DEBUG_PREFIX + getThreadName() + "don't cache AST for inactive: " + toString(tUnit)); //$NON-NLS-1$
-			return;
+	private void computed(IASTTranslationUnit ast, ITranslationUnit tUnit,
+			CompletableFuture<IASTTranslationUnit> future, long modificationStamp) {
+		synchronized (fCacheMutex) {
+			Entry entry = fEntries.get(tUnit);
+			if (entry != null && entry.fPending == future) {
+				entry.fPending = null;
+				if (ast != null) {
+					setAST(entry, ast, modificationStamp);
+					evict();
+				} else {
+					removeIfUnused(entry);
+				}
+			} else if (DEBUG) {
+				System.out.println(DEBUG_PREFIX + getThreadName() + "Ignore created AST for " //$NON-NLS-1$
+						+ tUnit.getElementName() + "- AST from reconciler is newer or element has changed"); //$NON-NLS-1$
+			}
 		}
+		future.complete(ast);
+	}
 
-		if (DEBUG && (tUnit != null || ast != null)) // don't report call from disposeAST()
-			System.out.println(
-					DEBUG_PREFIX + getThreadName() + "caching AST: " + toString(ast) + " for: " + toString(tUnit)); //$NON-NLS-1$ //$NON-NLS-2$
+	/**
+	 * Caches the given AST in the given entry.
+	 *
+	 * @param entry  the entry
+	 * @param ast    the AST, or <code>null</code> to discard the cached AST
+	 * @param modificationStamp  the modification stamp of the contents the AST has been computed from
+	 */
+	private void setAST(Entry entry, IASTTranslationUnit ast, long modificationStamp) {
+		assert Thread.holdsLock(fCacheMutex);
+		if (DEBUG && (ast != null || entry.fAST != null))
+			System.out.println(DEBUG_PREFIX + getThreadName() + (ast != null ? "caching AST: " : "disposing AST: ") //$NON-NLS-1$ //$NON-NLS-2$
+					+ toString(ast != null ? ast : entry.fAST) + " for: " + toString(entry.fTU)); //$NON-NLS-1$
+
+		fWeight -= entry.fWeight;
+		entry.fAST = ast;
+		entry.fWeight = ast == null ? 0 : getWeight(ast);
+		entry.fModificationStamp = ast == null ? IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP : modificationStamp;
+		IIndex index = ast == null ? null : ast.getIndex();
+		entry.fLastWriteOnIndex = index == null ? 0 : index.getLastWriteAccess();
+		fWeight += entry.fWeight;
+	}
 
-		if (fAST != null)
-			disposeAST();
+	/**
+	 * Removes the least recently used ASTs until the cache is within its bounds.
+	 * The AST of the active translation unit and the ASTs being computed are kept.
+	 */
+	private void evict() {
+		assert Thread.holdsLock(fCacheMutex);
+		for (Iterator<Entry> iterator = fEntries.values().iterator(); iterator.hasNext()
+				&& (fEntries.size() > fMaxEntries || fWeight > fMaxWeight);) {
+			Entry entry = iterator.next();
+			if (entry.fPending != null || entry.fTU.equals(fActiveTU))
+				continue;
+			if (DEBUG)
+				System.out.println(DEBUG_PREFIX + getThreadName() + "evicting AST: " + toString(entry.fAST) //$NON-NLS-1$
+						+ " for: " + toString(entry.fTU)); //$NON-NLS-1$
+			fWeight -= entry.fWeight;
+			iterator.remove();
+		}
+	}
 
-		fAST = ast;
-		fLastWriteOnIndex = fAST == null ? 0 : fAST.getIndex().getLastWriteAccess();
+	private void removeIfUnused(Entry entry) {
+		assert Thread.holdsLock(fCacheMutex);
+		if (entry.fAST == null && entry.fPending == null && !entry.fTU.equals(fActiveTU))
+			fEntries.remove(entry.fTU);
+	}
 
-		// Signal AST change
-		fCacheMutex.notifyAll();
+	/**
+	 * Returns the estimated size of an AST, i.e. the number of characters of the
+	 * code it has been created from, including the parsed headers.
+	 */
+	private static long getWeight(IASTTranslationUnit ast) {
+		IASTDeclaration[] declarations = ast.getDeclarations(true);
+		if (declarations.length == 0 || !(declarations[declarations.length - 1] instanceof ASTNode))
+			return 1;
+		ASTNode last = (ASTNode) declarations[declarations.length - 1];
+		return Math.max(1, last.getOffset() + last.getLength());
 	}
 
 	/**
-	 * Disposes the cached AST.
+	 * Disposes the cached AST of the active translation unit.
 	 */
 	public void disposeAST() {
 		synchronized (fCacheMutex) {
-			if (fAST == null)
+			Entry entry = fActiveTU == null ? null : fEntries.get(fActiveTU);
+			if (entry == null || entry.fAST == null)
 				return;
+			setAST(entry, null, IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP);
+		}
+	}
 
-			if (DEBUG)
-				System.out.println(DEBUG_PREFIX + getThreadName() + "disposing AST: " + toString(fAST) + " for: " //$NON-NLS-1$//$NON-NLS-2$
-						+ toString(fActiveTU));
+	/**
+	 * Discards the cached ASTs of translation units whose contents have changed,
+	 * or which have been removed. The AST of the active translation unit is kept
+	 * up to date by the reconciler.
+	 */
+	private void elementChanged(ElementChangedEvent event) {
+		List<IPath> changed = new ArrayList<>();
+		collectChangedElements(event.getDelta(), changed);
+		if (changed.isEmpty())
+			return;
+		synchronized (fCacheMutex) {
+			for (Iterator<Entry> iterator = fEntries.values().iterator(); iterator.hasNext();) {
+				Entry entry = iterator.next();
+				if (entry.fTU.equals(fActiveTU))
+					continue;
+				IPath path = entry.fTU.getPath();
+				for (IPath changedPath : changed) {
+					if (changedPath.isPrefixOf(path)) {
+						if (DEBUG)
+							System.out.println(DEBUG_PREFIX + getThreadName() + "element changed: " //$NON-NLS-1$
+									+ toString(entry.fTU));
+						// A computation in progress is not cached once it completes.
+						fWeight -= entry.fWeight;
+						iterator.remove();
+						break;
+					}
+				}
+			}
+		}
+	}
 
-			fAST = null;
-			cache(null, null);
+	private static void collectChangedElements(ICElementDelta delta, List<IPath> changed) {
+		ICElement element = delta.getElement();
+		if (delta.getKind() == ICElementDelta.REMOVED || (element instanceof ITranslationUnit
+				&& (delta.getFlags() & ICElementDelta.F_CONTENT) != 0)) {
+			changed.add(element.getPath());
+			return;
+		}
+		for (ICElementDelta child : delta.getAffectedChildren()) {
+			collectChangedElements(child, changed);
 		}
 	}
 
@@ -378,6 +591,7 @@ public class ASTCache {
 
 	/**
 	 * Set the given translation unit as active element to cache an AST for.
+	 * The AST of the previous active element stays in the cache.
 	 *
 	 * @param tUnit  the translation unit
 	 */
@@ -385,15 +599,88 @@ public class ASTCache {
 		if (tUnit == fActiveTU) {
 			return;
 		}
+		CompletableFuture<IASTTranslationUnit> abandoned = null;
 		synchronized (fCacheMutex) {
-			fIsReconciling = false;
+			Entry previous = fActiveTU == null ? null : fEntries.get(fActiveTU);
 			fActiveTU = tUnit;
-			cache(null, tUnit);
+			if (previous != null) {
+				if (previous.fIsReconciling) {
+					// The reconciler of an inactive element is ignored, the waiting threads compute the AST.
+					abandoned = previous.fPending;
+					previous.fPending = null;
+					previous.fIsReconciling = false;
+				}
+				removeIfUnused(previous);
+			}
+			if (tUnit != null)
+				fEntries.get(tUnit); // Mark as recently used
+			evict();
 		}
+		if (abandoned != null)
+			abandoned.complete(null);
 		if (DEBUG)
 			System.out.println(DEBUG_PREFIX + getThreadName() + "active element is: " + toString(tUnit)); //$NON-NLS-1$
 	}
 
+	/**
+	 * Returns the modification stamp of the contents the cached AST of the
+	 * given translation unit has been computed from.
+	 *
+	 * @param tUnit  the translation unit
+	 * @return the modification stamp, or {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP}
+	 *     if no AST is cached or the stamp is not known
+	 */
+	public long getModificationStamp(ITranslationUnit tUnit) {
+		synchronized (fCacheMutex) {
+			Entry entry = fEntries.get(tUnit);
+			if (entry == null || entry.fAST == null)
+				return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+			return entry.fModificationStamp;
+		}
+	}
+
+	/**
+	 * Returns the modification stamp of the current contents of a translation
+	 * unit: the stamp of the document of a working copy if it has one, a value
+	 * computed from the contents of other working copies, or the stamp of the file.
+	 */
+	private static long getCurrentModificationStamp(ITranslationUnit tUnit) {
+		try {
+			if (!tUnit.isWorkingCopy()) {
+				IResource resource = tUnit.getResource();
+				return resource != null ? resource.getModificationStamp()
+						: IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+			}
+			IBuffer buffer = tUnit.getBuffer();
+			if (buffer == null)
+				return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+			ITextFileBuffer fileBuffer = buffer instanceof IAdaptable
+					? ((IAdaptable) buffer).getAdapter(ITextFileBuffer.class)
+					: null;
+			if (fileBuffer != null) {
+				IDocument document = fileBuffer.getDocument();
+				return document instanceof IDocumentExtension4
+						? ((IDocumentExtension4) document).getModificationStamp()
+						: IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+			}
+			// A buffer without a document, e.g. of a headless working copy, has no stamp.
+			String contents = buffer.getContents();
+			return contents == null ? IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP
+					: (long) contents.length() << 32 | contents.hashCode() & 0xffffffffL;
+		} catch (CModelException e) {
+			return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		}
+	}
+
+	/**
+	 * Tells whether the contents have changed since a cached AST has been computed.
+	 * The contents are assumed to be unchanged if one of the stamps is not known.
+	 */
+	private static boolean isModified(long cachedStamp, long currentStamp) {
+		return cachedStamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP
+				&& currentStamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP && cachedStamp != currentStamp;
+	}
+
 	/**
 	 * Check whether the given translation unit is the active element of this cache.
 	 *
@@ -416,6 +703,7 @@ public class ASTCache {
 		if (tUnit == null)
 			return;
 
+		long modificationStamp = getCurrentModificationStamp(tUnit);
 		synchronized (fCacheMutex) {
 			if (fActiveTU == null || !fActiveTU.equals(tUnit)) {
 				return;
@@ -424,8 +712,14 @@ public class ASTCache {
 			if (DEBUG)
 				System.out.println(DEBUG_PREFIX + getThreadName() + "about to reconcile: " + toString(tUnit)); //$NON-NLS-1$
 
-			fIsReconciling = true;
-			cache(null, tUnit);
+			Entry entry = getEntry(tUnit);
+			setAST(entry, null, IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP);
+			entry.fReconcileStamp = modificationStamp;
+			if (!entry.fIsReconciling) {
+				// A computation by another thread may use the old contents, the waiting threads get the new AST.
+				entry.fIsReconciling = true;
+				entry.fPending = new CompletableFuture<>();
+			}
 		}
 	}
 
@@ -436,6 +730,7 @@ public class ASTCache {
 	 * @param tUnit  the translation unit
 	 */
 	public void reconciled(IASTTranslationUnit ast, ITranslationUnit tUnit) {
+		CompletableFuture<IASTTranslationUnit> future;
 		synchronized (fCacheMutex) {
 			if (tUnit == null || !tUnit.equals(fActiveTU)) {
 				if (DEBUG)
@@ -446,9 +741,16 @@ public class ASTCache {
 				System.out.println(
 						DEBUG_PREFIX + getThreadName() + "reconciled: " + toString(tUnit) + ", AST: " + toString(ast)); //$NON-NLS-1$ //$NON-NLS-2$
 
-			fIsReconciling = false;
-			cache(ast, tUnit);
+			Entry entry = getEntry(tUnit);
+			// The AST from the reconciler is newer than the one computed by any other thread.
+			future = entry.fPending;
+			entry.fPending = null;
+			entry.fIsReconciling = false;
+			setAST(entry, ast, entry.fReconcileStamp);
+			evict();
 		}
+		if (future != null)
+			future.complete(ast);
 	}
 
 	/**
@@ -460,11 +762,22 @@ public class ASTCache {
 	 */
 	public boolean isReconciling(ITranslationUnit tUnit) {
 		synchronized (fCacheMutex) {
-			if (fActiveTU == null || tUnit == null) {
+			if (fActiveTU == null || tUnit == null || !fActiveTU.equals(tUnit)) {
 				return false;
 			}
-			return fIsReconciling && (fActiveTU.equals(tUnit));
+			Entry entry = fEntries.get(tUnit);
+			return entry != null && entry.fIsReconciling;
+		}
+	}
+
+	private Entry getEntry(ITranslationUnit tUnit) {
+		assert Thread.holdsLock(fCacheMutex);
+		Entry entry = fEntries.get(tUnit);
+		if (entry == null) {
+			entry = new Entry(tUnit);
+			fEntries.put(tUnit, entry);
 		}
+		return entry;
 	}
 
 	private static String getThreadName() {
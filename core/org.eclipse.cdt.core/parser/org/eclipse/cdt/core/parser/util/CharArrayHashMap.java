@@ -0,0 +1,310 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Map with char arrays or slices of char arrays as keys, similar to {@link CharArrayMap}.
+ * <p>
+ * Unlike {@link CharArrayMap} the map does not create a wrapper object for every lookup.
+ * It uses open addressing with linear probing and caches the hash codes of the keys, such
+ * that keys are only compared when their hash codes are equal and never re-hashed when
+ * the map grows.
+ * <p>
+ * When a slice is used as key in {@link #put(char[], int, int, Object)}, a copy of the slice
+ * is stored in the map. A key passed as a whole array is stored without being copied and
+ * must not be modified afterwards.
+ *
+ * @param <V> the type of the values
+ * @since 9.0
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public final class CharArrayHashMap<V> {
+	private static final int MIN_CAPACITY = 8;
+
+	private char[][] fKeys;
+	private int[] fHashes;
+	private Object[] fValues;
+	private int fSize;
+	private int fMask;
+	private int fThreshold;
+
+	/**
+	 * Constructs an empty map with default initial capacity.
+	 */
+	public CharArrayHashMap() {
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * Constructs an empty map that can hold the given number of mappings without growing.
+	 * @throws IllegalArgumentException if the initial capacity is negative
+	 */
+	public CharArrayHashMap(int initialCapacity) {
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException("Illegal capacity: " + initialCapacity); //$NON-NLS-1$
+		allocate(tableSizeFor(initialCapacity));
+	}
+
+	private static int tableSizeFor(int capacity) {
+		// Keep the load factor at or below 2/3.
+		long size = Math.max(MIN_CAPACITY, capacity + (capacity + 1) / 2);
+		return (int) Math.min(1 << 30, Long.highestOneBit(size - 1) << 1);
+	}
+
+	private void allocate(int tableSize) {
+		fKeys = new char[tableSize][];
+		fHashes = new int[tableSize];
+		fValues = new Object[tableSize];
+		fMask = tableSize - 1;
+		fThreshold = tableSize / 3 * 2;
+	}
+
+	private static int hash(char[] chars, int start, int length) {
+		int h = CharArrayUtils.hash(chars, start, length);
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * @throws IndexOutOfBoundsException if boundaries are wrong in any way
+	 */
+	private static void checkBoundaries(char[] chars, int start, int length) {
+		if (start < 0 || length < 0 || start + length > chars.length)
+			throw new IndexOutOfBoundsException("Buffer length: " + chars.length + //$NON-NLS-1$
+					", Start index: " + start + //$NON-NLS-1$
+					", Length: " + length); //$NON-NLS-1$
+	}
+
+	private int indexOf(char[] chars, int start, int length, int hash) {
+		for (int i = hash & fMask;; i = (i + 1) & fMask) {
+			final char[] key = fKeys[i];
+			if (key == null)
+				return -1;
+			if (fHashes[i] == hash && CharArrayUtils.equals(chars, start, length, key))
+				return i;
+		}
+	}
+
+	/**
+	 * Creates a new mapping in this map, uses a copy of the given array slice as the key.
+	 * If the map previously contained a mapping for this key, the old value is replaced.
+	 * @return the previous value for the key, or {@code null}
+	 * @throws NullPointerException if chars is null
+	 * @throws IndexOutOfBoundsException if the boundaries specified by start and length are out of range
+	 */
+	public V put(char[] chars, int start, int length, V value) {
+		checkBoundaries(chars, start, length);
+		return put(chars, start, length, value, false);
+	}
+
+	/**
+	 * Creates a new mapping in this map, uses the given array as the key.
+	 * If the map previously contained a mapping for this key, the old value is replaced.
+	 * @return the previous value for the key, or {@code null}
+	 * @throws NullPointerException if chars is null
+	 */
+	public V put(char[] chars, V value) {
+		return put(chars, 0, chars.length, value, true);
+	}
+
+	@SuppressWarnings("unchecked")
+	private V put(char[] chars, int start, int length, V value, boolean useArray) {
+		final int hash = hash(chars, start, length);
+		int i = hash & fMask;
+		for (char[] key; (key = fKeys[i]) != null; i = (i + 1) & fMask) {
+			if (fHashes[i] == hash && CharArrayUtils.equals(chars, start, length, key)) {
+				V old = (V) fValues[i];
+				fValues[i] = value;
+				return old;
+			}
+		}
+		fKeys[i] = useArray ? chars : CharArrayUtils.extract(chars, start, length);
+		fHashes[i] = hash;
+		fValues[i] = value;
+		if (++fSize > fThreshold) {
+			grow();
+		}
+		return null;
+	}
+
+	private void grow() {
+		final char[][] oldKeys = fKeys;
+		final int[] oldHashes = fHashes;
+		final Object[] oldValues = fValues;
+		allocate(oldKeys.length << 1);
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldKeys[j] != null) {
+				int i = oldHashes[j] & fMask;
+				while (fKeys[i] != null) {
+					i = (i + 1) & fMask;
+				}
+				fKeys[i] = oldKeys[j];
+				fHashes[i] = oldHashes[j];
+				fValues[i] = oldValues[j];
+			}
+		}
+	}
+
+	/**
+	 * Returns the value to which the specified array slice is mapped in this map,
+	 * or null if the map contains no mapping for this key.
+	 * @throws NullPointerException if chars is null
+	 * @throws IndexOutOfBoundsException if the boundaries specified by start and length are out of range
+	 */
+	public V get(char[] chars, int start, int length) {
+		checkBoundaries(chars, start, length);
+		return valueAt(indexOf(chars, start, length, hash(chars, start, length)));
+	}
+
+	/**
+	 * Returns the value to which the specified array is mapped in this map,
+	 * or null if the map contains no mapping for this key.
+	 * @throws NullPointerException if chars is null
+	 */
+	public V get(char[] chars) {
+		return valueAt(indexOf(chars, 0, chars.length, hash(chars, 0, chars.length)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private V valueAt(int i) {
+		return i < 0 ? null : (V) fValues[i];
+	}
+
+	/**
+	 * Removes the mapping for the given array slice if present.
+	 * Returns the value object that corresponded to the key
+	 * or null if the key was not in the map.
+	 * @throws NullPointerException if chars is null
+	 * @throws IndexOutOfBoundsException if the boundaries specified by start and length are out of range
+	 */
+	public V remove(char[] chars, int start, int length) {
+		checkBoundaries(chars, start, length);
+		return removeAt(indexOf(chars, start, length, hash(chars, start, length)));
+	}
+
+	/**
+	 * Removes the mapping for the given array if present.
+	 * Returns the value object that corresponded to the key
+	 * or null if the key was not in the map.
+	 * @throws NullPointerException if chars is null
+	 */
+	public V remove(char[] chars) {
+		return removeAt(indexOf(chars, 0, chars.length, hash(chars, 0, chars.length)));
+	}
+
+	private V removeAt(int i) {
+		if (i < 0)
+			return null;
+		final V old = valueAt(i);
+		fSize--;
+		// Shift back the entries following the removed one, such that no entry becomes unreachable.
+		for (int j = (i + 1) & fMask; fKeys[j] != null; j = (j + 1) & fMask) {
+			final int ideal = fHashes[j] & fMask;
+			if (((j - ideal) & fMask) >= ((j - i) & fMask)) {
+				fKeys[i] = fKeys[j];
+				fHashes[i] = fHashes[j];
+				fValues[i] = fValues[j];
+				i = j;
+			}
+		}
+		fKeys[i] = null;
+		fValues[i] = null;
+		return old;
+	}
+
+	/**
+	 * Returns true if the given key has a value associated with it in the map.
+	 * @throws NullPointerException if chars is null
+	 * @throws IndexOutOfBoundsException if the boundaries specified by start and length are out of range
+	 */
+	public boolean containsKey(char[] chars, int start, int length) {
+		checkBoundaries(chars, start, length);
+		return indexOf(chars, start, length, hash(chars, start, length)) >= 0;
+	}
+
+	/**
+	 * Returns true if the given key has a value associated with it in the map.
+	 * @throws NullPointerException if chars is null
+	 */
+	public boolean containsKey(char[] chars) {
+		return indexOf(chars, 0, chars.length, hash(chars, 0, chars.length)) >= 0;
+	}
+
+	/**
+	 * Returns the values stored in the map. The returned collection is not backed by the map.
+	 */
+	@SuppressWarnings("unchecked")
+	public Collection<V> values() {
+		ArrayList<V> result = new ArrayList<>(fSize);
+		for (int i = 0; i < fKeys.length; i++) {
+			if (fKeys[i] != null) {
+				result.add((V) fValues[i]);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the keys stored in the map. The returned collection is not backed by the map.
+	 */
+	public Collection<char[]> keys() {
+		ArrayList<char[]> result = new ArrayList<>(fSize);
+		for (char[] key : fKeys) {
+			if (key != null) {
+				result.add(key);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Removes all mappings from the map.
+	 */
+	public void clear() {
+		Arrays.fill(fKeys, null);
+		Arrays.fill(fValues, null);
+		fSize = 0;
+	}
+
+	/**
+	 * Returns the number of mappings.
+	 */
+	public int size() {
+		return fSize;
+	}
+
+	/**
+	 * Returns true if the map is empty.
+	 */
+	public boolean isEmpty() {
+		return fSize == 0;
+	}
+
+	/**
+	 * Returns a String representation of the map.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder buf = new StringBuilder();
+		buf.append('{');
+		for (int i = 0; i < fKeys.length; i++) {
+			if (fKeys[i] != null) {
+				if (buf.length() > 1)
+					buf.append(", "); //$NON-NLS-1$
+				buf.append(fKeys[i]).append('=').append(fValues[i]);
+			}
+		}
+		return buf.append('}').toString();
+	}
+}
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.util;
+
+import java.util.Arrays;
+
+/**
+ * Map with primitive {@code long} keys, e.g. record pointers of the index. The keys are
+ * neither boxed on insertion nor on lookup. The map uses open addressing with linear probing.
+ * <p>
+ * The map does not support {@code null} values, {@link #get(long)} returning {@code null}
+ * means that there is no mapping for the key. The map is not synchronized.
+ *
+ * @param <V> the type of the values
+ * @since 9.0
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public final class LongObjectMap<V> {
+	private static final int MIN_CAPACITY = 8;
+
+	private long[] fKeys;
+	private Object[] fValues;
+	private int fSize;
+	private int fShift;
+	private int fThreshold;
+
+	/**
+	 * Constructs an empty map with default initial capacity.
+	 */
+	public LongObjectMap() {
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * Constructs an empty map that can hold the given number of mappings without growing.
+	 * @throws IllegalArgumentException if the initial capacity is negative
+	 */
+	public LongObjectMap(int initialCapacity) {
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException("Illegal capacity: " + initialCapacity); //$NON-NLS-1$
+		// Keep the load factor at or below 2/3.
+		long size = Math.max(MIN_CAPACITY, initialCapacity + (initialCapacity + 1) / 2);
+		allocate((int) Math.min(1 << 30, Long.highestOneBit(size - 1) << 1));
+	}
+
+	private void allocate(int tableSize) {
+		fKeys = new long[tableSize];
+		fValues = new Object[tableSize];
+		fShift = Long.numberOfLeadingZeros(tableSize - 1);
+		fThreshold = tableSize / 3 * 2;
+	}
+
+	private int slot(long key) {
+		// Fibonacci hashing, spreads keys that are multiples of the alignment of records.
+		return (int) ((key * 0x9E3779B97F4A7C15L) >>> fShift);
+	}
+
+	private int indexOf(long key) {
+		final int mask = fKeys.length - 1;
+		for (int i = slot(key);; i = (i + 1) & mask) {
+			if (fValues[i] == null)
+				return -1;
+			if (fKeys[i] == key)
+				return i;
+		}
+	}
+
+	/**
+	 * Returns the value for the given key, or {@code null} if there is no mapping for it.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		final int i = indexOf(key);
+		return i < 0 ? null : (V) fValues[i];
+	}
+
+	/**
+	 * Returns whether there is a mapping for the given key.
+	 */
+	public boolean containsKey(long key) {
+		return indexOf(key) >= 0;
+	}
+
+	/**
+	 * Creates a mapping for the given key, replacing a previous one.
+	 * @return the previous value for the key, or {@code null}
+	 * @throws NullPointerException if value is null
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value) {
+		if (value == null)
+			throw new NullPointerException();
+		final int mask = fKeys.length - 1;
+		int i = slot(key);
+		for (; fValues[i] != null; i = (i + 1) & mask) {
+			if (fKeys[i] == key) {
+				V old = (V) fValues[i];
+				fValues[i] = value;
+				return old;
+			}
+		}
+		fKeys[i] = key;
+		fValues[i] = value;
+		if (++fSize > fThreshold) {
+			grow();
+		}
+		return null;
+	}
+
+	private void grow() {
+		final long[] oldKeys = fKeys;
+		final Object[] oldValues = fValues;
+		allocate(oldKeys.length << 1);
+		final int mask = fKeys.length - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldValues[j] != null) {
+				int i = slot(oldKeys[j]);
+				while (fValues[i] != null) {
+					i = (i + 1) & mask;
+				}
+				fKeys[i] = oldKeys[j];
+				fValues[i] = oldValues[j];
+			}
+		}
+	}
+
+	/**
+	 * Removes the mapping for the given key.
+	 * @return the value of the removed mapping, or {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(long key) {
+		int i = indexOf(key);
+		if (i < 0)
+			return null;
+		final V old = (V) fValues[i];
+		fSize--;
+		// Shift back the entries following the removed one, such that no entry becomes unreachable.
+		final int mask = fKeys.length - 1;
+		for (int j = (i + 1) & mask; fValues[j] != null; j = (j + 1) & mask) {
+			final int ideal = slot(fKeys[j]);
+			if (((j - ideal) & mask) >= ((j - i) & mask)) {
+				fKeys[i] = fKeys[j];
+				fValues[i] = fValues[j];
+				i = j;
+			}
+		}
+		fValues[i] = null;
+		return old;
+	}
+
+	/**
+	 * Removes all mappings from the map.
+	 */
+	public void clear() {
+		Arrays.fill(fValues, null);
+		fSize = 0;
+	}
+
+	/**
+	 * Returns the number of mappings.
+	 */
+	public int size() {
+		return fSize;
+	}
+
+	/**
+	 * Returns true if the map is empty.
+	 */
+	public boolean isEmpty() {
+		return fSize == 0;
+	}
+}
@@ -56,8 +56,8 @@ import org.eclipse.cdt.core.parser.Keywords;
 import org.eclipse.cdt.core.parser.OffsetLimitReachedException;
 import org.eclipse.cdt.core.parser.ParseError;
 import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.util.CharArrayHashMap;
 import org.eclipse.cdt.core.parser.util.CharArrayIntMap;
-import org.eclipse.cdt.core.parser.util.CharArrayMap;
 import org.eclipse.cdt.core.parser.util.CharArrayObjectMap;
 import org.eclipse.cdt.core.parser.util.CharArraySet;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
@@ -287,7 +287,7 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 	private boolean fSplitShiftRightOperator = false;
 
 	// State information
-	private final CharArrayMap<PreprocessorMacro> fMacroDictionary = new CharArrayMap<>(512);
+	private final CharArrayHashMap<PreprocessorMacro> fMacroDictionary = new CharArrayHashMap<>(512);
 	private final IMacroDictionary fMacroDictionaryFacade = new MacroDictionary();
 	private final LocationMap fLocationMap;
 	private CharArraySet fPreventInclusion;
@@ -22,7 +22,7 @@ import java.util.ArrayList;
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.parser.IProblem;
 import org.eclipse.cdt.core.parser.IToken;
-import org.eclipse.cdt.core.parser.util.CharArrayMap;
+import org.eclipse.cdt.core.parser.util.CharArrayHashMap;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 
 /**
@@ -48,7 +48,7 @@ public class ExpressionEvaluator {
 	}
 
 	private Token fTokens;
-	private CharArrayMap<PreprocessorMacro> fDictionary;
+	private CharArrayHashMap<PreprocessorMacro> fDictionary;
 	private ArrayList<IASTName> fMacrosInDefinedExpressions = new ArrayList<>();
 	private LocationMap fLocationMap;
 	private CPreprocessor fPreprocessor;
@@ -57,7 +57,7 @@ public class ExpressionEvaluator {
 		fPreprocessor = preprocessor;
 	}
 
-	public boolean evaluate(TokenList condition, CharArrayMap<PreprocessorMacro> macroDictionary, LocationMap map)
+	public boolean evaluate(TokenList condition, CharArrayHashMap<PreprocessorMacro> macroDictionary, LocationMap map)
 			throws EvalException {
 		fTokens = condition.first();
 		fDictionary = macroDictionary;
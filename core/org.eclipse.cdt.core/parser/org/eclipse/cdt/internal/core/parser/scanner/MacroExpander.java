@@ -23,7 +23,7 @@ import org.eclipse.cdt.core.parser.IProblem;
 import org.eclipse.cdt.core.parser.IToken;
 import org.eclipse.cdt.core.parser.Keywords;
 import org.eclipse.cdt.core.parser.OffsetLimitReachedException;
-import org.eclipse.cdt.core.parser.util.CharArrayMap;
+import org.eclipse.cdt.core.parser.util.CharArrayHashMap;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.internal.core.parser.scanner.ImageLocationInfo.MacroImageLocationInfo;
 import org.eclipse.cdt.internal.core.parser.scanner.ImageLocationInfo.ParameterImageLocationInfo;
@@ -127,7 +127,7 @@ public class MacroExpander {
 
 	private final ILexerLog fLog;
 	private final MacroDefinitionParser fDefinitionParser;
-	private final CharArrayMap<PreprocessorMacro> fDictionary;
+	private final CharArrayHashMap<PreprocessorMacro> fDictionary;
 	private final LocationMap fLocationMap;
 	private final LexerOptions fLexOptions;
 	private ArrayList<IASTName> fImplicitMacroExpansions = new ArrayList<>();
@@ -143,7 +143,7 @@ public class MacroExpander {
 	private ScannerContext fReportMacros;
 	private boolean fReportUndefined;
 
-	public MacroExpander(ILexerLog log, CharArrayMap<PreprocessorMacro> macroDictionary, LocationMap locationMap,
+	public MacroExpander(ILexerLog log, CharArrayHashMap<PreprocessorMacro> macroDictionary, LocationMap locationMap,
 			LexerOptions lexOptions) {
 		fDictionary = macroDictionary;
 		fLocationMap = locationMap;
@@ -33,6 +33,13 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -81,6 +88,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
@@ -312,6 +320,29 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * A required source parsed by one of the parser threads, waiting to be written to the index.
+	 */
+	private static class ParsedSource {
+		final Object fTu;
+		final AbstractLanguage fLanguage;
+		final IIndexFileLocation fLocation;
+		final IScannerInfo fScannerInfo;
+		FileContent fCodeReader;
+		IASTTranslationUnit fAST;
+		long fParsingTime;
+		Throwable fError;
+		// Created by the calling thread, the parser thread only checks it for cancellation.
+		final IProgressMonitor fMonitor = new NullProgressMonitor();
+
+		ParsedSource(Object tu, AbstractLanguage language, IIndexFileLocation ifl, IScannerInfo scannerInfo) {
+			fTu = tu;
+			fLanguage = language;
+			fLocation = ifl;
+			fScannerInfo = scannerInfo;
+		}
+	}
+
 	protected enum MessageKind {
 		parsingFileTask, errorWhileParsing, tooManyIndexProblems
 	}
@@ -337,7 +368,12 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private final boolean fIsFastIndexer;
 	private long fTranslationUnitSizeLimit;
 	private long fIncludedFileSizeLimit;
-	private InternalFileContentProvider fCodeReaderFactory;
+	// Each parser thread needs a file content provider of its own.
+	private final ThreadLocal<InternalFileContentProvider> fCodeReaderFactory = new ThreadLocal<>();
+	private int fWorkerThreads = 1;
+	private ExecutorService fParserPool;
+	private final AtomicInteger fConcurrentParses = new AtomicInteger();
+	private final AtomicInteger fMaxConcurrentParses = new AtomicInteger();
 	private int fSwallowOutOfMemoryError = 5;
 	/**
 	 * A queue of urgent indexing tasks that contribute additional files to this task.
@@ -398,6 +434,15 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		fPragmaPrivatePattern = pattern;
 	}
 
+	/**
+	 * Sets the number of threads used for parsing the required sources. With more than one thread
+	 * the sources are parsed concurrently and the resulting ASTs are written to the index one by one
+	 * by the thread running the task.
+	 */
+	public final void setWorkerThreads(int threads) {
+		fWorkerThreads = Math.max(1, threads);
+	}
+
 	/**
 	 * @see IPDOMIndexerTask#acceptUrgentTask(IPDOMIndexerTask)
 	 */
@@ -547,6 +592,9 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			}
 
 			fIndex.resetCacheCounters();
+			if (fWorkerThreads > 1) {
+				fParserPool = createParserPool();
+			}
 			fIndex.acquireReadLock();
 
 			try {
@@ -575,8 +623,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 									if (task.isCompleted())
 										it.remove();
 								}
-								fIndexContentCache.clear();
-								fIndexFilesCache.clear();
+								clearCaches();
 							}
 							if (hasUrgentTasks())
 								break;
@@ -625,15 +672,39 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			} catch (CoreException e) {
 				logException(e);
 			} finally {
+				shutdownParserPool();
 				fIndex.releaseReadLock();
 			}
 		} finally {
+			fCodeReaderFactory.remove();
 			synchronized (this) {
 				fTaskCompleted = true;
 			}
 		}
 	}
 
+	private ExecutorService createParserPool() {
+		final AtomicInteger threadCount = new AtomicInteger();
+		return Executors.newFixedThreadPool(fWorkerThreads, runnable -> {
+			Thread thread = new Thread(runnable, "Indexer Parser " + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	private void shutdownParserPool() {
+		if (fParserPool == null)
+			return;
+		fParserPool.shutdownNow();
+		try {
+			// The parser threads use the read lock held by this task, wait for them to finish.
+			fParserPool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		fParserPool = null;
+	}
+
 	private void setResume(boolean value, IProgressMonitor monitor) throws InterruptedException, CoreException {
 		fIndex.acquireWriteLock(monitor);
 		try {
@@ -817,8 +888,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				locTask.fStoredAVersion = true;
 			}
 		}
-		fIndexContentCache.remove(ifile);
-		fIndexFilesCache.remove(file.fileContentKey.getLocation());
+		removeFromCaches(ifile, location);
 
 		LocationTask task = fOneLinkageTasks.remove(location);
 		if (task != null && task != locTask) {
@@ -841,13 +911,16 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			IProgressMonitor monitor) throws InterruptedException, CoreException {
 		if (!filesToRemove.isEmpty() || !indexFilesToRemove.isEmpty()) {
 			SubMonitor progress = SubMonitor.convert(monitor, 1 + filesToRemove.size() + indexFilesToRemove.size());
-			fIndex.acquireWriteLock(progress.split(1));
+			// The lock is yielded between files, such that readers are not blocked until all files are removed.
+			YieldableIndexLock lock = new YieldableIndexLock(fIndex, true, progress.split(1));
+			lock.acquire();
 			try {
 				for (Object tu : filesToRemove) {
 					progress.split(1);
 					IIndexFileLocation ifl = fResolver.resolveFile(tu);
 					if (ifl == null)
 						continue;
+					lock.yield();
 					IIndexFragmentFile[] ifiles = fIndex.getWritableFiles(ifl);
 					for (IIndexFragmentFile ifile : ifiles) {
 						fIndex.clearFile(ifile);
@@ -856,11 +929,14 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				}
 				for (IIndexFragmentFile ifile : indexFilesToRemove) {
 					progress.split(1);
+					lock.yield();
 					fIndex.clearFile(ifile);
 					incrementRequestedFilesCount(-1);
 				}
+			} catch (FailedToReAcquireLockException e) {
+				e.reThrow();
 			} finally {
-				fIndex.releaseWriteLock();
+				lock.release();
 			}
 		}
 		filesToRemove.clear();
@@ -897,17 +973,22 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				continue;
 
 			// First parse the required sources.
-			for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
-				IIndexFileLocation ifl = it.next();
-				LocationTask locTask = map.find(ifl);
-				if (locTask == null || locTask.isCompleted()) {
-					it.remove();
-				} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
-					if (hasUrgentTasks())
-						return;
-					final Object tu = locTask.fTu;
-					final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
-					parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+			if (fParserPool != null) {
+				if (!parseRequiredSourcesInParallel(linkageID, map, filesAtPriority, progress))
+					return;
+			} else {
+				for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
+					IIndexFileLocation ifl = it.next();
+					LocationTask locTask = map.find(ifl);
+					if (locTask == null || locTask.isCompleted()) {
+						it.remove();
+					} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+						if (hasUrgentTasks())
+							return;
+						final Object tu = locTask.fTu;
+						final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
+						parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+					}
 				}
 			}
 
@@ -950,7 +1031,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			}
 
 			// Delete remaining files.
-			fIndex.acquireWriteLock(progress.split(1));
+			YieldableIndexLock lock = new YieldableIndexLock(fIndex, true, progress.split(1));
+			lock.acquire();
 			try {
 				for (IIndexFileLocation ifl : filesAtPriority) {
 					LocationTask locTask = map.find(ifl);
@@ -963,16 +1045,208 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 							while (it.hasNext()) {
 								FileVersionTask v = it.next();
 								if (v.fOutdated) {
+									lock.yield();
 									fIndex.clearFile(v.fIndexFile);
 									reportFile(true, locTask.fKind);
 									locTask.removeVersionTask(it);
-									fIndexContentCache.remove(v.fIndexFile);
-									fIndexFilesCache.remove(ifl);
+									removeFromCaches(v.fIndexFile, ifl);
 								}
 							}
 						}
 					}
 				}
+			} catch (FailedToReAcquireLockException e) {
+				e.reThrow();
+			} finally {
+				lock.release();
+			}
+		}
+	}
+
+	/**
+	 * Parses the required sources on the parser threads and writes the ASTs to the index by the
+	 * calling thread. The parser threads rely on the read lock held by the task, so the index must
+	 * not be written while they parse. Every parser thread is kept busy until a batch of ASTs is
+	 * waiting to be written, then the remaining parses are completed and the batch is written.
+	 *
+	 * @return {@code false} if the processing was interrupted in favor of urgent tasks.
+	 */
+	private boolean parseRequiredSourcesInParallel(int linkageID, LinkageTask map, List<IIndexFileLocation> files,
+			SubMonitor progress) throws CoreException, InterruptedException {
+		CompletionService<ParsedSource> completionService = new ExecutorCompletionService<>(fParserPool);
+		List<ParsedSource> inFlight = new ArrayList<>(fWorkerThreads);
+		List<ParsedSource> parsed = new ArrayList<>(2 * fWorkerThreads);
+		Iterator<IIndexFileLocation> it = files.iterator();
+		try {
+			boolean submitted;
+			do {
+				submitted = submitRequiredSources(linkageID, map, it, completionService, inFlight, parsed);
+				while (!inFlight.isEmpty()) {
+					ParsedSource source = takeParsedSource(completionService);
+					inFlight.remove(source);
+					parsed.add(source);
+					submitted |= submitRequiredSources(linkageID, map, it, completionService, inFlight, parsed);
+				}
+				// No parser thread is running, the batch can be written to the index.
+				for (ParsedSource source : parsed) {
+					LocationTask locTask = map.find(source.fLocation);
+					// The source may have been written to the index while processing another source.
+					if (locTask != null && !locTask.isCompleted()) {
+						writeParsedSource(source, progress.split(1));
+					}
+				}
+				parsed.clear();
+			} while (submitted);
+		} finally {
+			fStatistics.fMaxConcurrentParses = fMaxConcurrentParses.get();
+			if (!inFlight.isEmpty()) {
+				// Wait for the parser threads before the read lock of the task may be given up.
+				for (ParsedSource source : inFlight) {
+					source.fMonitor.setCanceled(true);
+				}
+				for (int i = 0; i < inFlight.size(); i++) {
+					try {
+						completionService.take();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						break;
+					}
+				}
+			}
+		}
+		return !hasUrgentTasks();
+	}
+
+	/**
+	 * Submits required sources until every parser thread has a source to parse, unless a batch of
+	 * ASTs is waiting to be written.
+	 *
+	 * @return whether a source has been submitted.
+	 */
+	private boolean submitRequiredSources(int linkageID, LinkageTask map, Iterator<IIndexFileLocation> it,
+			CompletionService<ParsedSource> completionService, List<ParsedSource> inFlight,
+			List<ParsedSource> parsed) throws CoreException {
+		boolean submitted = false;
+		while (inFlight.size() < fWorkerThreads && parsed.size() < fWorkerThreads
+				&& submitRequiredSource(linkageID, map, it, completionService, inFlight)) {
+			submitted = true;
+		}
+		return submitted;
+	}
+
+	/**
+	 * Submits the next required source to the parser threads.
+	 *
+	 * @return {@code false} if there is no required source left or urgent tasks are waiting.
+	 */
+	private boolean submitRequiredSource(int linkageID, LinkageTask map, Iterator<IIndexFileLocation> it,
+			CompletionService<ParsedSource> completionService, List<ParsedSource> inFlight) throws CoreException {
+		while (it.hasNext()) {
+			IIndexFileLocation ifl = it.next();
+			LocationTask locTask = map.find(ifl);
+			if (locTask == null || locTask.isCompleted()) {
+				it.remove();
+			} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+				if (hasUrgentTasks())
+					return false;
+				final Object tu = locTask.fTu;
+				final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
+				final ParsedSource source = new ParsedSource(tu, getLanguage(tu, linkageID), ifl, scannerInfo);
+				inFlight.add(source);
+				completionService.submit(() -> parseSource(source));
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private ParsedSource takeParsedSource(CompletionService<ParsedSource> completionService)
+			throws CoreException, InterruptedException {
+		try {
+			return completionService.take().get();
+		} catch (ExecutionException e) {
+			throw new CoreException(createStatus(e.getMessage(), e.getCause()));
+		}
+	}
+
+	/**
+	 * Creates the AST for a source, runs on a parser thread while the index is not written to. The
+	 * progress of the source is reported by the calling thread when the AST is written to the index,
+	 * the parser thread uses the monitor of the source only to check for cancellation.
+	 */
+	private ParsedSource parseSource(ParsedSource source) {
+		int parses = fConcurrentParses.incrementAndGet();
+		fMaxConcurrentParses.accumulateAndGet(parses, Math::max);
+		try {
+			if (fShowActivity) {
+				trace("Indexer: parsing " + getLabel(source.fLocation).toOSString()); //$NON-NLS-1$
+			}
+			source.fCodeReader = fResolver.getCodeReader(source.fTu);
+			long start = System.currentTimeMillis();
+			source.fAST = createAST(source.fLanguage, source.fCodeReader, source.fScannerInfo, fASTOptions, null,
+					source.fMonitor);
+			source.fParsingTime = System.currentTimeMillis() - start;
+		} catch (Throwable e) {
+			source.fError = e;
+		} finally {
+			fConcurrentParses.decrementAndGet();
+		}
+		return source;
+	}
+
+	/**
+	 * Writes the AST created by a parser thread to the index, the counterpart of
+	 * {@link #parseFile(Object, AbstractLanguage, IIndexFileLocation, IScannerInfo, FileContext, IProgressMonitor)}
+	 * for sources parsed in parallel.
+	 */
+	private void writeParsedSource(ParsedSource source, IProgressMonitor monitor)
+			throws CoreException, InterruptedException {
+		SubMonitor progress = SubMonitor.convert(monitor, 11);
+		boolean resultCacheCleared = false;
+		IPath path = getLabel(source.fLocation);
+		progress.subTask(
+				getMessage(MessageKind.parsingFileTask, path.lastSegment(), path.removeLastSegments(1).toString()));
+		Throwable th = source.fError;
+		if (th == null) {
+			try {
+				fStatistics.fParsingTime += source.fParsingTime;
+				if (source.fAST == null) {
+					++fStatistics.fTooManyTokensCount;
+				} else {
+					long start = System.currentTimeMillis();
+					writeToIndex(source.fLanguage.getLinkageID(), source.fAST, source.fCodeReader, null,
+							progress.split(10));
+					resultCacheCleared = true; // The cache was cleared while writing to the index.
+					if (fShowActivity) {
+						long time = System.currentTimeMillis() - start + source.fParsingTime;
+						trace("Indexer: processed " + path.toOSString() + " [" + time + " ms]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					}
+				}
+			} catch (Throwable e) {
+				th = e;
+			}
+		}
+		if (th instanceof OperationCanceledException) {
+			th = null;
+		} else if (th instanceof RuntimeException && th.getCause() instanceof DependsOnOutdatedFileException) {
+			// Like in the sequential case the source is parsed again without context later on.
+			th = null;
+		} else if (th instanceof OutOfMemoryError) {
+			if (--fSwallowOutOfMemoryError < 0)
+				throw (OutOfMemoryError) th;
+		} else if (th instanceof Error && !(th instanceof StackOverflowError || th instanceof AssertionError)) {
+			throw (Error) th;
+		} else if (th instanceof InterruptedException) {
+			throw (InterruptedException) th;
+		}
+		if (th != null) {
+			swallowError(path, th);
+		}
+
+		if (!resultCacheCleared) {
+			fIndex.acquireWriteLock(progress.split(1));
+			try {
+				fIndex.clearResultCache();
 			} finally {
 				fIndex.releaseWriteLock();
 			}
@@ -1221,7 +1495,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			return null;
 		}
 		final IIndexFile[] ctx2header = ctx == null ? null : new IIndexFile[] { ctx.fContext, ctx.fOldFile };
-		if (fCodeReaderFactory == null) {
+		InternalFileContentProvider codeReaderFactory = fCodeReaderFactory.get();
+		if (codeReaderFactory == null) {
 			InternalFileContentProvider fileContentProvider = createInternalFileContentProvider();
 			if (fIsFastIndexer) {
 				IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver,
@@ -1230,18 +1505,19 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
 				ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
 				ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
-				fCodeReaderFactory = ibfcp;
+				codeReaderFactory = ibfcp;
 			} else {
-				fCodeReaderFactory = fileContentProvider;
+				codeReaderFactory = fileContentProvider;
 			}
-			fCodeReaderFactory.setIncludeResolutionHeuristics(createIncludeHeuristics());
+			codeReaderFactory.setIncludeResolutionHeuristics(createIncludeHeuristics());
+			fCodeReaderFactory.set(codeReaderFactory);
 		} else if (fIsFastIndexer) {
-			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) fCodeReaderFactory;
+			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) codeReaderFactory;
 			ibfcp.setContextToHeaderGap(ctx2header);
 			ibfcp.setLinkage(language.getLinkageID());
 		}
 
-		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, fCodeReaderFactory, fIndex,
+		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, codeReaderFactory, fIndex,
 				options, getLogService());
 		if (monitor.isCanceled()) {
 			throw new OperationCanceledException();
@@ -1444,12 +1720,15 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 					throw new DependsOnOutdatedFileException(request.fTu, task.fIndexFile);
 			}
 		}
-		IndexFileContent fc = fIndexContentCache.get(file);
-		if (fc == null) {
-			fc = new IndexFileContent(file);
-			fIndexContentCache.put(file, fc);
+		// The caches are accessed by the parser threads when sources are parsed in parallel.
+		synchronized (fIndexContentCache) {
+			IndexFileContent fc = fIndexContentCache.get(file);
+			if (fc == null) {
+				fc = new IndexFileContent(file);
+				fIndexContentCache.put(file, fc);
+			}
+			return fc;
 		}
-		return fc;
 	}
 
 	IIndexFragmentFile selectIndexFile(int linkageID, IIndexFileLocation ifl, ISignificantMacros sigMacros)
@@ -1498,7 +1777,31 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return null;
 	}
 
+	private void clearCaches() {
+		synchronized (fIndexContentCache) {
+			fIndexContentCache.clear();
+		}
+		synchronized (fIndexFilesCache) {
+			fIndexFilesCache.clear();
+		}
+	}
+
+	private void removeFromCaches(IIndexFile file, IIndexFileLocation ifl) {
+		synchronized (fIndexContentCache) {
+			fIndexContentCache.remove(file);
+		}
+		synchronized (fIndexFilesCache) {
+			fIndexFilesCache.remove(ifl);
+		}
+	}
+
 	public IIndexFragmentFile[] getAvailableIndexFiles(int linkageID, IIndexFileLocation ifl) throws CoreException {
+		synchronized (fIndexFilesCache) {
+			return doGetAvailableIndexFiles(linkageID, ifl);
+		}
+	}
+
+	private IIndexFragmentFile[] doGetAvailableIndexFiles(int linkageID, IIndexFileLocation ifl) throws CoreException {
 		IIndexFragmentFile[] files = fIndexFilesCache.get(ifl);
 		if (files == null) {
 			IIndexFragmentFile[] fragFiles = fIndex.getWritableFiles(linkageID, ifl);
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograms of the times threads wait for and hold the locks of a {@link PDOM}.
+ */
+public class LockStatistics {
+	/**
+	 * Histogram of durations with buckets of exponentially growing size. Bucket 0 counts
+	 * durations below one millisecond, bucket {@code i} durations from {@code 2^(i-1)}
+	 * up to {@code 2^i} milliseconds. The last bucket counts all longer durations.
+	 */
+	public static class Histogram {
+		public static final int BUCKET_COUNT = 16;
+
+		private final AtomicLongArray fBuckets = new AtomicLongArray(BUCKET_COUNT);
+		private final AtomicLong fTotalNanos = new AtomicLong();
+		private final AtomicLong fMaxNanos = new AtomicLong();
+
+		void record(long nanos) {
+			long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+			int bucket = millis == 0 ? 0 : Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(millis));
+			fBuckets.incrementAndGet(bucket);
+			fTotalNanos.addAndGet(nanos);
+			fMaxNanos.accumulateAndGet(nanos, Math::max);
+		}
+
+		/**
+		 * Returns the number of recorded durations.
+		 */
+		public long getCount() {
+			long count = 0;
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				count += fBuckets.get(i);
+			}
+			return count;
+		}
+
+		/**
+		 * Returns the number of recorded durations in the given bucket.
+		 */
+		public long getCount(int bucket) {
+			return fBuckets.get(bucket);
+		}
+
+		/**
+		 * Returns the exclusive upper bound of the durations counted in the given bucket in
+		 * milliseconds, or {@link Long#MAX_VALUE} for the last bucket.
+		 */
+		public static long getUpperBound(int bucket) {
+			return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << bucket;
+		}
+
+		/**
+		 * Returns the sum of the recorded durations in milliseconds.
+		 */
+		public long getTotalTime() {
+			return TimeUnit.NANOSECONDS.toMillis(fTotalNanos.get());
+		}
+
+		/**
+		 * Returns the longest recorded duration in milliseconds.
+		 */
+		public long getMaxTime() {
+			return TimeUnit.NANOSECONDS.toMillis(fMaxNanos.get());
+		}
+
+		void reset() {
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				fBuckets.set(i, 0);
+			}
+			fTotalNanos.set(0);
+			fMaxNanos.set(0);
+		}
+
+		@Override
+		@SuppressWarnings("nls")
+		public String toString() {
+			StringBuilder buf = new StringBuilder();
+			buf.append(getCount()).append(" total, ").append(getTotalTime()).append(" ms, max ").append(getMaxTime())
+					.append(" ms [");
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				if (i > 0)
+					buf.append(", ");
+				buf.append(fBuckets.get(i));
+			}
+			return buf.append(']').toString();
+		}
+	}
+
+	private final Histogram fReadLockWait = new Histogram();
+	private final Histogram fWriteLockWait = new Histogram();
+	private final Histogram fWriteLockHold = new Histogram();
+
+	/**
+	 * Returns the histogram of the times spent waiting for a read lock.
+	 */
+	public Histogram getReadLockWaitTimes() {
+		return fReadLockWait;
+	}
+
+	/**
+	 * Returns the histogram of the times spent waiting for the write lock.
+	 */
+	public Histogram getWriteLockWaitTimes() {
+		return fWriteLockWait;
+	}
+
+	/**
+	 * Returns the histogram of the times the write lock was held.
+	 */
+	public Histogram getWriteLockHoldTimes() {
+		return fWriteLockHold;
+	}
+
+	/**
+	 * Discards all recorded times.
+	 */
+	public void reset() {
+		fReadLockWait.reset();
+		fWriteLockWait.reset();
+		fWriteLockHold.reset();
+	}
+
+	@Override
+	@SuppressWarnings("nls")
+	public String toString() {
+		return "Read lock wait: " + fReadLockWait + "\nWrite lock wait: " + fWriteLockWait + "\nWrite lock hold: "
+				+ fWriteLockHold;
+	}
+}
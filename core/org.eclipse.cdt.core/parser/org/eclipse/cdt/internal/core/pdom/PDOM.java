@@ -66,6 +66,7 @@ import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+import org.eclipse.cdt.core.parser.util.LongObjectMap;
 import org.eclipse.cdt.internal.core.dom.Linkage;
 import org.eclipse.cdt.internal.core.index.IIndexCBindingConstants;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
@@ -420,7 +421,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private final IIndexLocationConverter locationConverter;
 	private final Map<String, IPDOMLinkageFactory> fPDOMLinkageFactoryCache;
 	private final HashMap<Object, Object> fResultCache = new HashMap<>();
-	private final Map<Long, WeakReference<IValue>> fVariableResultCache = new HashMap<>();
+	private final LongObjectMap<WeakReference<IValue>> fVariableResultCache = new LongObjectMap<>();
 	private List<IListener> listeners;
 	protected ChangeEvent fEvent = new ChangeEvent();
 
@@ -1008,10 +1009,12 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private long lastWriteAccess = 0;
 	private long lastReadAccess = 0;
 	private long timeWriteLockAcquired;
+	private long nanoTimeWriteLockAcquired;
+	private final LockStatistics fLockStatistics = new LockStatistics();
 
 	@Override
 	public void acquireReadLock() throws InterruptedException {
-		long t = sDEBUG_LOCKS ? System.nanoTime() : 0;
+		long t = System.nanoTime();
 		synchronized (mutex) {
 			++waitingReaders;
 			try {
@@ -1023,8 +1026,10 @@ public class PDOM extends PlatformObject implements IPDOM {
 			++lockCount;
 			db.setLocked(true);
 
+			t = System.nanoTime() - t;
+			fLockStatistics.getReadLockWaitTimes().record(t);
 			if (sDEBUG_LOCKS) {
-				t = (System.nanoTime() - t) / 1000000;
+				t = t / 1000000;
 				if (t >= LONG_READ_LOCK_WAIT_REPORT_THRESHOLD) {
 					System.out.println("Acquired index read lock after " + t + " ms wait."); //$NON-NLS-1$//$NON-NLS-2$
 				}
@@ -1073,6 +1078,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 	 */
 	public void acquireWriteLock(int giveupReadLocks, IProgressMonitor monitor) throws InterruptedException {
 		assert !isPermanentlyReadOnly();
+		final long t = System.nanoTime();
 		synchronized (mutex) {
 			if (sDEBUG_LOCKS) {
 				incWriteLock(giveupReadLocks);
@@ -1105,6 +1111,8 @@ public class PDOM extends PlatformObject implements IPDOM {
 				}
 			}
 			lockCount = -1;
+			nanoTimeWriteLockAcquired = System.nanoTime();
+			fLockStatistics.getWriteLockWaitTimes().record(nanoTimeWriteLockAcquired - t);
 			if (sDEBUG_LOCKS)
 				timeWriteLockAcquired = System.currentTimeMillis();
 			db.setExclusiveLock();
@@ -1134,6 +1142,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 		final ChangeEvent event = fEvent;
 		fEvent = new ChangeEvent();
 		synchronized (mutex) {
+			fLockStatistics.getWriteLockHoldTimes().record(System.nanoTime() - nanoTimeWriteLockAcquired);
 			if (sDEBUG_LOCKS) {
 				long timeHeld = lastWriteAccess - timeWriteLockAcquired;
 				if (timeHeld >= LONG_WRITE_LOCK_REPORT_THRESHOLD) {
@@ -1157,6 +1166,13 @@ public class PDOM extends PlatformObject implements IPDOM {
 		}
 	}
 
+	/**
+	 * Returns the histograms of the times spent waiting for and holding the locks of this PDOM.
+	 */
+	public LockStatistics getLockStatistics() {
+		return fLockStatistics;
+	}
+
 	@Override
 	public long getLastWriteAccess() {
 		return lastWriteAccess;
@@ -1578,7 +1594,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 		}
 	}
 
-	public IValue getCachedVariableResult(Long key) {
+	public IValue getCachedVariableResult(long key) {
 		synchronized (fVariableResultCache) {
 			WeakReference<IValue> variableResult = fVariableResultCache.get(key);
 			if (variableResult != null) {
@@ -1588,13 +1604,13 @@ public class PDOM extends PlatformObject implements IPDOM {
 		}
 	}
 
-	public void removeCachedVariableResult(Long key) {
+	public void removeCachedVariableResult(long key) {
 		synchronized (fVariableResultCache) {
 			fVariableResultCache.remove(key);
 		}
 	}
 
-	public void putCachedVariableResult(Long key, IValue result) {
+	public void putCachedVariableResult(long key, IValue result) {
 		synchronized (fVariableResultCache) {
 			fVariableResultCache.put(key, new WeakReference<>(result));
 		}
@@ -224,6 +224,13 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 		fResolver = resolver;
 	}
 
+	/**
+	 * Returns the statistics collected while writing to the index.
+	 */
+	public IndexerStatistics getStatistics() {
+		return fStatistics;
+	}
+
 	protected IndexerInputAdapter getInputAdapter() {
 		return fResolver;
 	}
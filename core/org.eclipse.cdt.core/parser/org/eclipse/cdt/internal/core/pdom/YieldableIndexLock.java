@@ -18,15 +18,26 @@ import org.eclipse.core.runtime.IProgressMonitor;
 
 /**
  * Write lock on the index that can be yielded temporarily to unblock threads that need
- * read access to the index.
+ * read access to the index. To bound the time the lock is held without interruption, it is
+ * also yielded when it has been held for longer than {@link #MAX_HOLD_TIME} milliseconds.
  * @since 5.2
  */
 public class YieldableIndexLock {
+	/**
+	 * Maximum time in milliseconds the lock is held before it is yielded, even if nobody is
+	 * waiting for a read lock at the time {@link #yield()} is called. Releasing the lock also
+	 * notifies the listeners of the index about the changes made so far, and lets waiting
+	 * writers in.
+	 */
+	public static final long MAX_HOLD_TIME = Long.getLong("org.eclipse.cdt.core.parser.pdom.maxWriteLockHoldTime", //$NON-NLS-1$
+			1000);
+
 	private final IWritableIndex index;
 	private final boolean flushIndex;
 	private final IProgressMonitor progressMonitor;
 	private long lastLockTime;
 	private long cumulativeLockTime;
+	private long maxLockTime;
 
 	public YieldableIndexLock(IWritableIndex index, boolean flushIndex, IProgressMonitor monitor) {
 		this.index = index;
@@ -50,20 +61,19 @@ public class YieldableIndexLock {
 	public void release() {
 		if (lastLockTime != 0) {
 			index.releaseWriteLock(flushIndex);
-			cumulativeLockTime += System.currentTimeMillis() - lastLockTime;
-			lastLockTime = 0;
+			recordLockTime();
 		}
 	}
 
 	/**
-	 * Yields the lock temporarily if somebody is waiting for a read lock.
+	 * Yields the lock temporarily if somebody is waiting for a read lock, or if the lock has been
+	 * held for longer than the maximum hold time.
 	 * @throws FailedToReAcquireLockException when lock is not reacquired.
 	 */
 	public void yield() throws FailedToReAcquireLockException {
-		if (index.hasWaitingReaders()) {
+		if (index.hasWaitingReaders() || System.currentTimeMillis() - lastLockTime > MAX_HOLD_TIME) {
 			index.releaseWriteLock(false);
-			cumulativeLockTime += System.currentTimeMillis() - lastLockTime;
-			lastLockTime = 0;
+			recordLockTime();
 			try {
 				acquire();
 			} catch (Throwable t) {
@@ -72,10 +82,24 @@ public class YieldableIndexLock {
 		}
 	}
 
+	private void recordLockTime() {
+		long lockTime = System.currentTimeMillis() - lastLockTime;
+		cumulativeLockTime += lockTime;
+		maxLockTime = Math.max(maxLockTime, lockTime);
+		lastLockTime = 0;
+	}
+
 	/**
 	 * @return Total time the lock was held in milliseconds.
 	 */
 	public long getCumulativeLockTime() {
 		return cumulativeLockTime;
 	}
+
+	/**
+	 * @return Longest time the lock was held without being yielded, in milliseconds.
+	 */
+	public long getMaxLockTime() {
+		return maxLockTime;
+	}
 }
@@ -13,12 +13,33 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom.db;
 
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache for the chunks of one or more databases.
+ * <p>
+ * The cache is divided into shards, each of which holds a part of the chunks, is protected by
+ * its own lock and evicts its chunks using the CLOCK algorithm. A chunk is assigned to a shard
+ * by its sequence number, such that the entry for a given sequence number in the chunk table of
+ * any database is always protected by the same lock. Readers accessing different chunks thus
+ * rarely contend for a lock.
+ */
 public final class ChunkCache {
+	/**
+	 * Maximum number of shards of a cache, by default the number of available processors.
+	 * The actual number is rounded down to a power of two.
+	 */
+	private static final int MAX_SHARDS = Integer.getInteger(
+			"org.eclipse.cdt.core.parser.pdom.cache.shards", Runtime.getRuntime().availableProcessors()); //$NON-NLS-1$
+	/**
+	 * Minimum number of chunks per shard, the CLOCK algorithm does not work well on very small tables.
+	 */
+	private static final int MIN_SHARD_LENGTH = 64;
+
 	private static ChunkCache sSharedInstance = new ChunkCache();
 
-	private Chunk[] fPageTable;
-	private boolean fTableIsFull;
-	private int fPointer;
+	private final Shard[] fShards;
+	private final int fShardMask;
 
 	public static ChunkCache getSharedInstance() {
 		return sSharedInstance;
@@ -29,82 +50,97 @@ public final class ChunkCache {
 	}
 
 	public ChunkCache(long maxSize) {
-		fPageTable = new Chunk[computeLength(maxSize)];
+		final int length = computeLength(maxSize);
+		final int shardCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_SHARDS, length / MIN_SHARD_LENGTH)));
+		fShards = new Shard[shardCount];
+		fShardMask = shardCount - 1;
+		for (int i = 0; i < shardCount; i++) {
+			fShards[i] = new Shard(shardLength(length, i));
+		}
 	}
 
-	public synchronized void add(Chunk chunk, boolean locked) {
-		if (locked) {
-			chunk.fLocked = true;
-		}
-		if (chunk.fCacheIndex >= 0) {
-			chunk.fCacheHitFlag = true;
-			return;
+	public void add(Chunk chunk, boolean locked) {
+		final Shard shard = getShard(chunk.fSequenceNumber);
+		shard.lock();
+		try {
+			shard.add(chunk, locked);
+		} finally {
+			shard.unlock();
 		}
-		if (fTableIsFull) {
-			evictChunk();
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-		} else {
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-
-			fPointer++;
-			if (fPointer == fPageTable.length) {
-				fPointer = 0;
-				fTableIsFull = true;
-			}
+	}
+
+	public void remove(Chunk chunk) {
+		final Shard shard = getShard(chunk.fSequenceNumber);
+		shard.lock();
+		try {
+			shard.remove(chunk);
+		} finally {
+			shard.unlock();
 		}
 	}
 
 	/**
-	 * Evicts a chunk from the page table and the chunk table.
-	 * After this method returns, {@link #fPointer}  will contain
-	 * the index of the evicted chunk within the page table.
+	 * Returns the number of shards of this cache.
 	 */
-	private void evictChunk() {
-		/*
-		 * Use the CLOCK algorithm to determine which chunk to evict.
-		 * i.e., if the chunk in the current slot of the page table has been
-		 * recently referenced (i.e. the reference flag is set), unset the
-		 * reference flag and move to the next slot.  Otherwise, evict the
-		 * chunk in the current slot.
-		 */
-		while (true) {
-			Chunk chunk = fPageTable[fPointer];
-			if (chunk.fCacheHitFlag) {
-				chunk.fCacheHitFlag = false;
-				fPointer = (fPointer + 1) % fPageTable.length;
-			} else {
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
-				fPageTable[fPointer] = null;
-				return;
-			}
+	public int getShardCount() {
+		return fShards.length;
+	}
+
+	/**
+	 * Acquires the lock protecting the chunks with the given sequence number.
+	 */
+	void lock(int sequenceNumber) {
+		getShard(sequenceNumber).lock();
+	}
+
+	void unlock(int sequenceNumber) {
+		getShard(sequenceNumber).unlock();
+	}
+
+	boolean isHeldByCurrentThread(int sequenceNumber) {
+		return getShard(sequenceNumber).isHeldByCurrentThread();
+	}
+
+	/**
+	 * Acquires the locks of all shards, always in the same order.
+	 */
+	void lockAll() {
+		for (Shard shard : fShards) {
+			shard.lock();
 		}
 	}
 
-	public synchronized void remove(Chunk chunk) {
-		final int idx = chunk.fCacheIndex;
-		if (idx >= 0) {
-			if (fTableIsFull) {
-				fPointer = fPageTable.length - 1;
-				fTableIsFull = false;
-			} else {
-				fPointer--;
-			}
-			chunk.fCacheIndex = -1;
-			final Chunk move = fPageTable[fPointer];
-			fPageTable[idx] = move;
-			move.fCacheIndex = idx;
-			fPageTable[fPointer] = null;
+	void unlockAll() {
+		for (int i = fShards.length; --i >= 0;) {
+			fShards[i].unlock();
+		}
+	}
+
+	/**
+	 * Returns whether the current thread holds the lock of any of the shards.
+	 */
+	boolean isAnyHeldByCurrentThread() {
+		for (Shard shard : fShards) {
+			if (shard.isHeldByCurrentThread())
+				return true;
 		}
+		return false;
 	}
 
 	/**
 	 * Returns the maximum size of the chunk cache in bytes.
 	 */
-	public synchronized long getMaxSize() {
-		return (long) fPageTable.length * Database.CHUNK_SIZE;
+	public long getMaxSize() {
+		long length = 0;
+		for (Shard shard : fShards) {
+			shard.lock();
+			try {
+				length += shard.fPageTable.length;
+			} finally {
+				shard.unlock();
+			}
+		}
+		return length * Database.CHUNK_SIZE;
 	}
 
 	/**
@@ -112,31 +148,134 @@ public final class ChunkCache {
 	 * maximum total memory of <code>maxSize</code>.
 	 * @param maxSize the total size of the chunks in bytes.
 	 */
-	public synchronized void setMaxSize(long maxSize) {
-		final int newLength = computeLength(maxSize);
-		final int oldLength = fTableIsFull ? fPageTable.length : fPointer;
-		if (newLength > oldLength) {
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, oldLength);
-			fTableIsFull = false;
-			fPointer = oldLength;
-			fPageTable = newTable;
-		} else {
-			for (int i = newLength; i < oldLength; i++) {
-				final Chunk chunk = fPageTable[i];
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
+	public void setMaxSize(long maxSize) {
+		final int length = computeLength(maxSize);
+		lockAll();
+		try {
+			for (int i = 0; i < fShards.length; i++) {
+				fShards[i].setLength(shardLength(length, i));
 			}
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, newLength);
-			fTableIsFull = true;
-			fPointer = 0;
-			fPageTable = newTable;
+		} finally {
+			unlockAll();
 		}
 	}
 
+	private Shard getShard(int sequenceNumber) {
+		return fShards[sequenceNumber & fShardMask];
+	}
+
+	private int shardLength(int length, int shardIndex) {
+		final int shardLength = length / fShards.length + (shardIndex < length % fShards.length ? 1 : 0);
+		return Math.max(1, shardLength);
+	}
+
 	private int computeLength(long maxSize) {
 		long maxLength = Math.min(maxSize / Database.CHUNK_SIZE, Integer.MAX_VALUE);
 		return Math.max(1, (int) maxLength);
 	}
+
+	/**
+	 * A part of the cache, all fields are protected by the lock of the shard.
+	 */
+	private static final class Shard extends ReentrantLock {
+		private static final long serialVersionUID = 1L;
+
+		Chunk[] fPageTable;
+		boolean fTableIsFull;
+		int fPointer;
+
+		Shard(int length) {
+			fPageTable = new Chunk[length];
+		}
+
+		void add(Chunk chunk, boolean locked) {
+			if (locked) {
+				chunk.fLocked = true;
+			}
+			if (chunk.fCacheIndex >= 0) {
+				chunk.fCacheHitFlag = true;
+				return;
+			}
+			if (fTableIsFull) {
+				evictChunk();
+				chunk.fCacheIndex = fPointer;
+				fPageTable[fPointer] = chunk;
+			} else {
+				chunk.fCacheIndex = fPointer;
+				fPageTable[fPointer] = chunk;
+
+				fPointer++;
+				if (fPointer == fPageTable.length) {
+					fPointer = 0;
+					fTableIsFull = true;
+				}
+			}
+		}
+
+		/**
+		 * Evicts a chunk from the page table and the chunk table.
+		 * After this method returns, {@link #fPointer}  will contain
+		 * the index of the evicted chunk within the page table.
+		 */
+		private void evictChunk() {
+			/*
+			 * Use the CLOCK algorithm to determine which chunk to evict.
+			 * i.e., if the chunk in the current slot of the page table has been
+			 * recently referenced (i.e. the reference flag is set), unset the
+			 * reference flag and move to the next slot.  Otherwise, evict the
+			 * chunk in the current slot.
+			 */
+			while (true) {
+				Chunk chunk = fPageTable[fPointer];
+				if (chunk.fCacheHitFlag) {
+					chunk.fCacheHitFlag = false;
+					fPointer = (fPointer + 1) % fPageTable.length;
+				} else {
+					chunk.fDatabase.releaseChunk(chunk);
+					chunk.fCacheIndex = -1;
+					fPageTable[fPointer] = null;
+					return;
+				}
+			}
+		}
+
+		void remove(Chunk chunk) {
+			final int idx = chunk.fCacheIndex;
+			if (idx >= 0) {
+				if (fTableIsFull) {
+					fPointer = fPageTable.length - 1;
+					fTableIsFull = false;
+				} else {
+					fPointer--;
+				}
+				chunk.fCacheIndex = -1;
+				final Chunk move = fPageTable[fPointer];
+				fPageTable[idx] = move;
+				move.fCacheIndex = idx;
+				fPageTable[fPointer] = null;
+			}
+		}
+
+		void setLength(int newLength) {
+			final int oldLength = fTableIsFull ? fPageTable.length : fPointer;
+			if (newLength > oldLength) {
+				Chunk[] newTable = new Chunk[newLength];
+				System.arraycopy(fPageTable, 0, newTable, 0, oldLength);
+				fTableIsFull = false;
+				fPointer = oldLength;
+				fPageTable = newTable;
+			} else {
+				for (int i = newLength; i < oldLength; i++) {
+					final Chunk chunk = fPageTable[i];
+					chunk.fDatabase.releaseChunk(chunk);
+					chunk.fCacheIndex = -1;
+				}
+				Chunk[] newTable = new Chunk[newLength];
+				System.arraycopy(fPageTable, 0, newTable, 0, newLength);
+				fTableIsFull = true;
+				fPointer = 0;
+				fPageTable = newTable;
+			}
+		}
+	}
 }
@@ -26,13 +26,16 @@ import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -71,6 +74,14 @@ import org.eclipse.osgi.util.NLS;
  * PREV_OFFSET      | pointer to previous block (of same size) (only in free blocks)
  * NEXT_OFFSET      | pointer to next block (of same size) (only in free blocks)
  *
+ * ===== memory mapped I/O
+ *
+ * When enabled, chunks that are present in the file are views of regions of MAPPING_SIZE bytes
+ * mapped into memory, rather than copies read into heap memory. Chunks that have not yet been
+ * written to the file are held in memory until they are flushed. Because changes to mapped chunks
+ * reach the file without an explicit flush, the file is marked incomplete as soon as a chunk is
+ * accessed under the exclusive lock. Like other dirty chunks, the dirty mapped chunks are written to
+ * the file before the header, by forcing their changes to the storage device.
  */
 public class Database {
 	// Public for tests only, you shouldn't need these.
@@ -99,9 +110,17 @@ public class Database {
 	private static final int BLOCK_PREV_OFFSET = BLOCK_HEADER_SIZE;
 	private static final int BLOCK_NEXT_OFFSET = BLOCK_HEADER_SIZE + INT_SIZE;
 
+	private static final int MAPPING_SIZE = CHUNK_SIZE * 16 * 1024;
+	private static final boolean USE_MEMORY_MAPPING = Boolean.getBoolean("org.eclipse.cdt.core.parser.pdom.mmap"); //$NON-NLS-1$
+	private static final MappedByteBuffer[] NO_MAPPINGS = {};
+
 	private final File fLocation;
 	private final boolean fReadOnly;
 	private RandomAccessFile fFile;
+	private final boolean fUseMemoryMapping;
+	private MappedByteBuffer[] fMappings = NO_MAPPINGS; // Protected by fMappingsLock.
+	private final Object fMappingsLock = new Object();
+	private volatile long fFileLength;
 	private boolean fExclusiveLock; // Necessary for any write operation.
 	private boolean fLocked; // Necessary for any operation.
 	private boolean fIsMarkedIncomplete;
@@ -115,8 +134,9 @@ public class Database {
 
 	private long malloced;
 	private long freed;
-	private long cacheHits;
-	private long cacheMisses;
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
+	private final LongAdder cacheEvictions = new LongAdder();
 
 	/** Soft reference wrapper to keep track of the record for disposed strings. */
 	private static class SoftStringRef extends SoftReference<IString> {
@@ -145,13 +165,30 @@ public class Database {
 	 * @throws CoreException
 	 */
 	public Database(File location, ChunkCache cache, int version, boolean openReadOnly) throws CoreException {
+		this(location, cache, version, openReadOnly, USE_MEMORY_MAPPING);
+	}
+
+	/**
+	 * Construct a new Database object, creating a backing file if necessary.
+	 * @param location the local file path for the database
+	 * @param cache the cache to be used optimization
+	 * @param version the version number to store in the database (only applicable for new databases)
+	 * @param openReadOnly whether this Database object will ever need writing to
+	 * @param useMemoryMapping whether the chunks present in the file are accessed through
+	 *     memory mapped regions of the file
+	 * @throws CoreException
+	 */
+	public Database(File location, ChunkCache cache, int version, boolean openReadOnly, boolean useMemoryMapping)
+			throws CoreException {
 		try {
 			fLocation = location;
 			fReadOnly = openReadOnly;
+			fUseMemoryMapping = useMemoryMapping;
 			fCache = cache;
 			openFile();
 
-			int nChunksOnDisk = (int) (fFile.length() / CHUNK_SIZE);
+			fFileLength = fFile.length();
+			int nChunksOnDisk = (int) (fFileLength / CHUNK_SIZE);
 			fHeaderChunk = new Chunk(this, 0);
 			fHeaderChunk.fLocked = true; // Never makes it into the cache, needed to satisfy assertions.
 			if (nChunksOnDisk <= 0) {
@@ -188,9 +225,12 @@ public class Database {
 
 	void write(ByteBuffer buf, long position) throws IOException {
 		int retries = 0;
+		final long end = position + buf.remaining();
 		while (true) {
 			try {
 				fFile.getChannel().write(buf, position);
+				if (end > fFileLength)
+					fFileLength = end;
 				return;
 			} catch (ClosedChannelException e) {
 				// Bug 219834 file may have be closed by interrupting a thread during an I/O operation.
@@ -250,6 +290,7 @@ public class Database {
 		try {
 			fHeaderChunk.flush(); // Zero out header chunk.
 			fFile.getChannel().truncate(CHUNK_SIZE); // Truncate database.
+			fFileLength = fFile.length();
 		} catch (IOException e) {
 			CCorePlugin.log(e);
 		}
@@ -274,7 +315,8 @@ public class Database {
 	}
 
 	private void removeChunksFromCache() {
-		synchronized (fCache) {
+		fCache.lockAll();
+		try {
 			for (int i = 1; i < fChunks.length; i++) {
 				Chunk chunk = fChunks[i];
 				if (chunk != null) {
@@ -282,6 +324,11 @@ public class Database {
 					fChunks[i] = null;
 				}
 			}
+		} finally {
+			fCache.unlockAll();
+		}
+		synchronized (fMappingsLock) {
+			fMappings = NO_MAPPINGS;
 		}
 	}
 
@@ -296,25 +343,73 @@ public class Database {
 		long long_index = offset / CHUNK_SIZE;
 		assert long_index < Integer.MAX_VALUE;
 
-		synchronized (fCache) {
+		final int index = (int) long_index;
+		// The entries of fChunks for a given index are protected by the lock of the cache shard for the index.
+		fCache.lock(index);
+		try {
 			assert fLocked;
-			final int index = (int) long_index;
 			if (index < 0 || index >= fChunks.length) {
 				databaseCorruptionDetected();
 			}
 			Chunk chunk = fChunks[index];
 			if (chunk == null) {
-				cacheMisses++;
-				chunk = new Chunk(this, index);
-				chunk.read();
+				cacheMisses.increment();
+				chunk = fUseMemoryMapping ? createMappedChunk(index) : null;
+				if (chunk == null) {
+					chunk = new Chunk(this, index);
+					chunk.read();
+				}
 				// Put the chunk in fChunks after it was read successfully.
 				fChunks[index] = chunk;
 			} else {
-				cacheHits++;
+				cacheHits.increment();
+			}
+			if (fExclusiveLock && chunk.isMapped()) {
+				// Modifications of the chunk may reach the file at any time.
+				markFileIncomplete();
 			}
 			fCache.add(chunk, fExclusiveLock);
 			return chunk;
+		} finally {
+			fCache.unlock(index);
+		}
+	}
+
+	/**
+	 * Creates a chunk that is a view of a memory mapped region of the file, or returns
+	 * {@code null} if the chunk is not yet present in the file or cannot be mapped.
+	 */
+	private Chunk createMappedChunk(int index) {
+		assert fCache.isHeldByCurrentThread(index);
+		final long offset = (long) index * CHUNK_SIZE;
+		if (offset + CHUNK_SIZE > fFileLength)
+			return null;
+
+		final int region = (int) (offset / MAPPING_SIZE);
+		final long regionStart = (long) region * MAPPING_SIZE;
+		final int offsetInRegion = (int) (offset - regionStart);
+		MappedByteBuffer mapping;
+		synchronized (fMappingsLock) {
+			mapping = region < fMappings.length ? fMappings[region] : null;
+			if (mapping == null || mapping.capacity() < offsetInRegion + CHUNK_SIZE) {
+				// The region is not mapped yet, or the file has grown since it was mapped.
+				final long size = Math.min(MAPPING_SIZE, fFileLength - regionStart);
+				try {
+					mapping = fFile.getChannel().map(fReadOnly ? MapMode.READ_ONLY : MapMode.READ_WRITE, regionStart,
+							size);
+				} catch (IOException e) {
+					// Fall back to reading the chunk into memory.
+					return null;
+				}
+				if (region >= fMappings.length) {
+					MappedByteBuffer[] newMappings = new MappedByteBuffer[region + 1];
+					System.arraycopy(fMappings, 0, newMappings, 0, fMappings.length);
+					fMappings = newMappings;
+				}
+				fMappings[region] = mapping;
+			}
 		}
+		return new Chunk(this, index, mapping.slice(offsetInRegion, CHUNK_SIZE));
 	}
 
 	private void databaseCorruptionDetected() throws CoreException {
@@ -376,7 +471,8 @@ public class Database {
 
 	private long createNewChunk() throws CoreException {
 		assert fExclusiveLock;
-		synchronized (fCache) {
+		fCache.lockAll();
+		try {
 			final int newChunkIndex = fChunksUsed; // fChunks.length;
 
 			final Chunk chunk = new Chunk(this, newChunkIndex);
@@ -409,6 +505,8 @@ public class Database {
 								NLS.bind(CCorePlugin.getResourceString("pdom.DatabaseTooLarge"), bindings), null)); //$NON-NLS-1$
 			}
 			return address;
+		} finally {
+			fCache.unlockAll();
 		}
 	}
 
@@ -417,7 +515,8 @@ public class Database {
 	 */
 	private long createNewChunks(int numChunks) throws CoreException {
 		assert fExclusiveLock;
-		synchronized (fCache) {
+		fCache.lockAll();
+		try {
 			final int oldLen = fChunks.length;
 			Chunk[] newchunks = new Chunk[oldLen + numChunks];
 			System.arraycopy(fChunks, 0, newchunks, 0, oldLen);
@@ -432,6 +531,8 @@ public class Database {
 			fChunksAllocated = oldLen + numChunks;
 			fChunksUsed = oldLen + numChunks;
 			return (long) (oldLen + numChunks - 1) * CHUNK_SIZE;
+		} finally {
+			fCache.unlockAll();
 		}
 	}
 
@@ -630,7 +731,8 @@ public class Database {
 		if (stringDisposal != null) {
 			Reference<? extends IString> disposedRef = stringDisposal.poll();
 			while (disposedRef instanceof SoftStringRef) {
-				stringCache.remove(((SoftStringRef) disposedRef).getRecord());
+				// The record may have been cached again after the string was disposed.
+				stringCache.remove(((SoftStringRef) disposedRef).getRecord(), disposedRef);
 				disposedRef = stringDisposal.poll();
 			}
 		}
@@ -690,9 +792,11 @@ public class Database {
 	}
 
 	/**
-	 * Called from any thread via the cache, protected by {@link #fCache}.
+	 * Called from any thread via the cache, protected by the lock of the shard of {@link #fCache}
+	 * the chunk belongs to.
 	 */
 	void releaseChunk(final Chunk chunk) {
+		cacheEvictions.increment();
 		if (!chunk.fLocked) {
 			fChunks[chunk.fSequenceNumber] = null;
 		}
@@ -723,7 +827,8 @@ public class Database {
 		if (fExclusiveLock) {
 			try {
 				ArrayList<Chunk> dirtyChunks = new ArrayList<>();
-				synchronized (fCache) {
+				fCache.lockAll();
+				try {
 					for (int i = 1; i < fChunksUsed; i++) {
 						Chunk chunk = fChunks[i];
 						if (chunk != null) {
@@ -749,6 +854,8 @@ public class Database {
 							}
 						}
 					}
+				} finally {
+					fCache.unlockAll();
 				}
 				// Also handles header chunk.
 				flushAndUnlockChunks(dirtyChunks, flush);
@@ -771,13 +878,16 @@ public class Database {
 
 		// Be careful as other readers may access chunks concurrently.
 		ArrayList<Chunk> dirtyChunks = new ArrayList<>();
-		synchronized (fCache) {
+		fCache.lockAll();
+		try {
 			for (int i = 1; i < fChunksUsed; i++) {
 				Chunk chunk = fChunks[i];
 				if (chunk != null && chunk.fDirty) {
 					dirtyChunks.add(chunk);
 				}
 			}
+		} finally {
+			fCache.unlockAll();
 		}
 
 		// Also handles header chunk.
@@ -794,7 +904,7 @@ public class Database {
 	}
 
 	private void flushAndUnlockChunks(final ArrayList<Chunk> dirtyChunks, boolean isComplete) throws CoreException {
-		assert !Thread.holdsLock(fCache);
+		assert !fCache.isAnyHeldByCurrentThread();
 		synchronized (fHeaderChunk) {
 			final boolean haveDirtyChunks = !dirtyChunks.isEmpty();
 			if (haveDirtyChunks || fHeaderChunk.fDirty) {
@@ -808,13 +918,16 @@ public class Database {
 				}
 
 				// Only after the chunks are flushed we may unlock and release them.
-				synchronized (fCache) {
+				fCache.lockAll();
+				try {
 					for (Chunk chunk : dirtyChunks) {
 						chunk.fLocked = false;
 						if (chunk.fCacheIndex < 0) {
 							fChunks[chunk.fSequenceNumber] = null;
 						}
 					}
+				} finally {
+					fCache.unlockAll();
 				}
 			}
 
@@ -841,15 +954,24 @@ public class Database {
 	}
 
 	public void resetCacheCounters() {
-		cacheHits = cacheMisses = 0;
+		cacheHits.reset();
+		cacheMisses.reset();
+		cacheEvictions.reset();
 	}
 
 	public long getCacheHits() {
-		return cacheHits;
+		return cacheHits.sum();
 	}
 
 	public long getCacheMisses() {
-		return cacheMisses;
+		return cacheMisses.sum();
+	}
+
+	/**
+	 * Returns the number of chunks of this database that have been evicted from the cache.
+	 */
+	public long getCacheEvictions() {
+		return cacheEvictions.sum();
 	}
 
 	public long getSizeBytes() {
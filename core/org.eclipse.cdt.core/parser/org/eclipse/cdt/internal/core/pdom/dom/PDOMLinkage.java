@@ -696,8 +696,7 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	}
 
 	public IValue loadValue(long offset) throws CoreException {
-		Long cacheKey = Long.valueOf(offset);
-		IValue value = fPDOM.getCachedVariableResult(cacheKey);
+		IValue value = fPDOM.getCachedVariableResult(offset);
 		if (value != null)
 			return value;
 		TypeMarshalBuffer buffer = loadBuffer(offset, Database.VALUE_SIZE);
@@ -705,7 +704,7 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 			return null;
 		value = buffer.unmarshalValue();
 		if (value != null)
-			fPDOM.putCachedVariableResult(cacheKey, value);
+			fPDOM.putCachedVariableResult(offset, value);
 		return value;
 	}
 
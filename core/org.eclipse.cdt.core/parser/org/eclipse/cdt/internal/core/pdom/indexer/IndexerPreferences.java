@@ -63,6 +63,7 @@ public class IndexerPreferences {
 	public static final String KEY_UPDATE_POLICY = "updatePolicy"; //$NON-NLS-1$
 	public static final String KEY_SKIP_FILES_LARGER_THAN_MB = "skipFilesLargerThanMB"; //$NON-NLS-1$
 	public static final String KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB = "skipIncludedFilesLargerThanMB"; //$NON-NLS-1$
+	public static final String KEY_INDEXER_WORKER_THREADS = "indexerWorkerThreads"; //$NON-NLS-1$
 
 	private static final String KEY_INDEXER_PREFS_SCOPE = "preferenceScope"; //$NON-NLS-1$
 	private static final String KEY_INDEX_IMPORT_LOCATION = "indexImportLocation"; //$NON-NLS-1$
@@ -76,6 +77,8 @@ public class IndexerPreferences {
 	private static final int DEFAULT_UPDATE_POLICY = 0;
 	public static final int DEFAULT_FILE_SIZE_LIMIT_MB = 8;
 	public static final int DEFAULT_INCLUDED_FILE_SIZE_LIMIT_MB = 16;
+	/** Number of parser threads, {@code 0} stands for the number of available processors. */
+	public static final int DEFAULT_INDEXER_WORKER_THREADS = 1;
 
 	private static final String QUALIFIER = CCorePlugin.PLUGIN_ID;
 	private static final String INDEXER_NODE = "indexer"; //$NON-NLS-1$
@@ -329,6 +332,7 @@ public class IndexerPreferences {
 		prefs.putBoolean(KEY_INCLUDE_HEURISTICS, true);
 		prefs.putInt(KEY_SKIP_FILES_LARGER_THAN_MB, DEFAULT_FILE_SIZE_LIMIT_MB);
 		prefs.putInt(KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB, DEFAULT_INCLUDED_FILE_SIZE_LIMIT_MB);
+		prefs.putInt(KEY_INDEXER_WORKER_THREADS, DEFAULT_INDEXER_WORKER_THREADS);
 		prefs.putBoolean(KEY_SKIP_ALL_REFERENCES, false);
 		prefs.putBoolean(KEY_SKIP_IMPLICIT_REFERENCES, false);
 		prefs.putBoolean(KEY_SKIP_TYPE_REFERENCES, false);
@@ -416,6 +420,27 @@ public class IndexerPreferences {
 		return DEFAULT_UPDATE_POLICY;
 	}
 
+	/**
+	 * Returns the number of threads the indexer uses to parse the sources of the given project.
+	 * A value of {@code 1} means that sources are parsed one at a time on the indexer job thread.
+	 */
+	public static int getIndexerWorkerThreads(IProject project) {
+		String val = get(project, KEY_INDEXER_WORKER_THREADS, null);
+		if (val != null) {
+			try {
+				int threads = Integer.parseInt(val);
+				int processors = Runtime.getRuntime().availableProcessors();
+				if (threads == 0)
+					return processors;
+				if (threads > 0)
+					return Math.min(threads, processors);
+			} catch (NumberFormatException e) {
+				CCorePlugin.log(e);
+			}
+		}
+		return DEFAULT_INDEXER_WORKER_THREADS;
+	}
+
 	public static boolean preferDefaultLanguage(IProject project) {
 		IPreferencesService prefService = Platform.getPreferencesService();
 		Preferences[] prefs = IndexerPreferences.getPreferences(project);
@@ -71,6 +71,7 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 		final long fileLimit = getIntProperty(IndexerPreferences.KEY_SKIP_FILES_LARGER_THAN_MB, 0);
 		final long includedFileLimit = getIntProperty(IndexerPreferences.KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB, 0);
 		setFileSizeLimits(fileLimit * 1024 * 1024, includedFileLimit * 1024 * 1024);
+		setWorkerThreads(IndexerPreferences.getIndexerWorkerThreads(getCProject().getProject()));
 		setIndexAllHeaderVersions(checkProperty(IndexerPreferences.KEY_INDEX_ALL_HEADER_VERSIONS));
 		setHeadersToIndexAllVersions(getStringSet(IndexerPreferences.KEY_INDEX_ALL_VERSIONS_SPECIFIC_HEADERS));
 		if (checkProperty(IndexerPreferences.KEY_SKIP_ALL_REFERENCES)) {
@@ -292,6 +293,9 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 					+ fStatistics.fParsingTime + " parser, " //$NON-NLS-1$
 					+ fStatistics.fResolutionTime + " resolution, " //$NON-NLS-1$
 					+ fStatistics.fAddToIndexTime + " index update."); //$NON-NLS-1$
+			if (fStatistics.fMaxConcurrentParses > 1)
+				System.out.println(indent + " Parsers: " //$NON-NLS-1$
+						+ fStatistics.fMaxConcurrentParses + " concurrent parses."); //$NON-NLS-1$
 			System.out.println(indent + " Errors: " //$NON-NLS-1$
 					+ fStatistics.fErrorCount + " internal, " //$NON-NLS-1$
 					+ fStatistics.fUnresolvedIncludesCount + " include, " //$NON-NLS-1$
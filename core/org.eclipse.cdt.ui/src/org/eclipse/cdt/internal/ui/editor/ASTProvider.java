@@ -246,8 +246,10 @@ public final class ASTProvider {
 
 		synchronized (this) {
 			fActiveEditor = editor;
-			fTimeStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 			fCache.setActiveElement(tu);
+			// The cache may still hold an AST of the translation unit, it is disposed
+			// on first use unless it has been computed from the current document.
+			fTimeStamp = fCache.getModificationStamp(tu);
 		}
 
 		// Increase indexing priority of the translation unit of the active editor.
@@ -305,7 +307,7 @@ public final class ASTProvider {
 			PlatformUI.getWorkbench().removeWindowListener(fActivationListener);
 			fActivationListener = null;
 		}
-		fCache.setActiveElement(null);
+		fCache.dispose();
 	}
 
 	/**
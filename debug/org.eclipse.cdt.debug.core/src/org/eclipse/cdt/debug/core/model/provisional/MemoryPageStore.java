@@ -0,0 +1,308 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.debug.core.model.provisional;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cache of target memory for memory renderings, organized in pages of a
+ * fixed number of addressable units.
+ * <p>
+ * The values and flags of the bytes of a page are kept in primitive arrays.
+ * For each level of change history, a page keeps the values the bytes had
+ * when the history was archived, and a bitmap of the bytes whose value
+ * changed since then.  Renderings only need to create objects for the bytes
+ * they are painting.
+ * <p>
+ * The least recently used pages are discarded once the store holds its
+ * maximum number of pages.  Pages can be marked stale, in which case they
+ * can still be painted until they are read again.
+ * <p>
+ * Addresses are in addressable units; values are stored as a sequential byte
+ * stream, i.e. a rendering reorders the bytes of little endian units before
+ * storing them.  The store is thread safe.
+ *
+ * @since 8.9
+ */
+public class MemoryPageStore {
+
+	/** The maximum history depth, the changes of a byte are returned as a bit mask */
+	public static final int MAX_HISTORY_DEPTH = Integer.SIZE;
+
+	private static class Page {
+		final byte[] fValues;
+		final byte[] fFlags;
+
+		/** Archived values, most recent first.  A level is null until the page is archived. */
+		byte[][] fHistory;
+
+		/** For each history level, the bytes whose value differs from the archived value */
+		long[][] fChanged;
+
+		/** The generation of the store when the page was read */
+		int fGeneration;
+
+		Page(byte[] values, byte[] flags, int historyDepth) {
+			fValues = values;
+			fFlags = flags;
+			fHistory = new byte[historyDepth][];
+			fChanged = new long[historyDepth][];
+		}
+	}
+
+	private final int fUnitSize;
+	private final int fPageUnits;
+	private final int fPageBytes;
+	private final BigInteger fBigPageUnits;
+	private final Map<BigInteger, Page> fPages;
+	private int fHistoryDepth = 0;
+
+	/** Incremented when the pages become stale */
+	private int fGeneration = 0;
+
+	/**
+	 * @param unitSize The number of bytes in an addressable unit
+	 * @param pageUnits The number of addressable units in a page
+	 * @param maxPages The maximum number of pages held by the store
+	 */
+	public MemoryPageStore(int unitSize, int pageUnits, final int maxPages) {
+		if (unitSize <= 0 || pageUnits <= 0 || maxPages <= 0) {
+			throw new IllegalArgumentException();
+		}
+		fUnitSize = unitSize;
+		fPageUnits = pageUnits;
+		fPageBytes = pageUnits * unitSize;
+		fBigPageUnits = BigInteger.valueOf(pageUnits);
+		fPages = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<BigInteger, Page> eldest) {
+				return size() > maxPages;
+			}
+		};
+	}
+
+	public int getUnitSize() {
+		return fUnitSize;
+	}
+
+	public int getPageUnits() {
+		return fPageUnits;
+	}
+
+	/**
+	 * Returns the number of bytes in a page.
+	 */
+	public int getPageSize() {
+		return fPageBytes;
+	}
+
+	/**
+	 * Returns the address of the page containing the given address.
+	 */
+	public BigInteger getPageAddress(BigInteger address) {
+		return address.subtract(address.mod(fBigPageUnits));
+	}
+
+	public synchronized int getHistoryDepth() {
+		return fHistoryDepth;
+	}
+
+	/**
+	 * Sets the number of history levels tracked for every byte.  The history
+	 * collected so far is discarded.
+	 */
+	public synchronized void setHistoryDepth(int depth) {
+		if (depth < 0 || depth > MAX_HISTORY_DEPTH) {
+			throw new IllegalArgumentException("Invalid history depth: " + depth); //$NON-NLS-1$
+		}
+		fHistoryDepth = depth;
+		for (Page page : fPages.values()) {
+			page.fHistory = new byte[depth][];
+			page.fChanged = new long[depth][];
+		}
+	}
+
+	/**
+	 * Returns the generation of the store.  It must be obtained before reading
+	 * pages from the target, and passed to {@link #putPage}.
+	 */
+	public synchronized int getGeneration() {
+		return fGeneration;
+	}
+
+	/**
+	 * Returns whether all the pages covering the given bytes are in the store,
+	 * stale or not.
+	 */
+	public synchronized boolean contains(BigInteger address, int byteCount) {
+		BigInteger end = address.add(BigInteger.valueOf((byteCount + fUnitSize - 1) / fUnitSize));
+		for (BigInteger pageAddress = getPageAddress(address); pageAddress.compareTo(end) < 0; pageAddress = pageAddress
+				.add(fBigPageUnits)) {
+			if (!fPages.containsKey(pageAddress)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns whether some of the pages covering the given bytes are stale,
+	 * i.e. they were marked stale after they were read.
+	 */
+	public synchronized boolean isStale(BigInteger address, int byteCount) {
+		BigInteger end = address.add(BigInteger.valueOf((byteCount + fUnitSize - 1) / fUnitSize));
+		for (BigInteger pageAddress = getPageAddress(address); pageAddress.compareTo(end) < 0; pageAddress = pageAddress
+				.add(fBigPageUnits)) {
+			Page page = fPages.get(pageAddress);
+			if (page != null && page.fGeneration != fGeneration) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the addresses of the pages covering the given address range
+	 * which are not in the store, or which are stale.
+	 *
+	 * @param start The first address of the range
+	 * @param end The address following the range
+	 */
+	public synchronized List<BigInteger> getPagesToRead(BigInteger start, BigInteger end) {
+		List<BigInteger> pages = new ArrayList<>();
+		for (BigInteger pageAddress = getPageAddress(start); pageAddress.compareTo(end) < 0; pageAddress = pageAddress
+				.add(fBigPageUnits)) {
+			Page page = fPages.get(pageAddress);
+			if (page == null || page.fGeneration != fGeneration) {
+				pages.add(pageAddress);
+			}
+		}
+		return pages;
+	}
+
+	/**
+	 * Stores a page read from the target, and updates its changed bitmaps
+	 * against the archived values.  The store takes ownership of the arrays.
+	 *
+	 * @param pageAddress The address of the page
+	 * @param values The values of the bytes of the page
+	 * @param flags The {@link org.eclipse.debug.core.model.MemoryByte} flags of the bytes
+	 * @param generation The generation of the store when the read was started
+	 */
+	public synchronized void putPage(BigInteger pageAddress, byte[] values, byte[] flags, int generation) {
+		if (values.length != fPageBytes || flags.length != fPageBytes) {
+			throw new IllegalArgumentException("Invalid page size: " + values.length); //$NON-NLS-1$
+		}
+		Page oldPage = fPages.get(pageAddress);
+		Page page = new Page(values, flags, fHistoryDepth);
+		page.fGeneration = generation;
+		if (oldPage != null) {
+			page.fHistory = oldPage.fHistory;
+		}
+		if (fHistoryDepth > 0 && page.fHistory[0] == null) {
+			// Nothing to compare with yet, so that edits made before the first
+			// archive are shown as changes.
+			page.fHistory[0] = values.clone();
+		}
+		for (int level = 0; level < fHistoryDepth; level++) {
+			byte[] archived = page.fHistory[level];
+			if (archived != null) {
+				long[] changed = new long[(fPageBytes + Long.SIZE - 1) / Long.SIZE];
+				for (int i = 0; i < fPageBytes; i++) {
+					if (values[i] != archived[i]) {
+						changed[i / Long.SIZE] |= 1L << (i % Long.SIZE);
+					}
+				}
+				page.fChanged[level] = changed;
+			}
+		}
+		fPages.put(pageAddress, page);
+	}
+
+	/**
+	 * Copies the given bytes from the store.
+	 *
+	 * @param address The address of the first byte
+	 * @param byteCount The number of bytes to copy
+	 * @param values Receives the values of the bytes
+	 * @param flags Receives the flags of the bytes
+	 * @param changes If not null, receives for each byte a bit mask of the
+	 * history levels at which the byte changed
+	 * @return false if some of the bytes are not in the store, in which case
+	 * the arrays are left partially filled
+	 */
+	public synchronized boolean read(BigInteger address, int byteCount, byte[] values, byte[] flags, int[] changes) {
+		BigInteger pageAddress = getPageAddress(address);
+		int offset = address.subtract(pageAddress).intValue() * fUnitSize;
+		int copied = 0;
+		while (copied < byteCount) {
+			Page page = fPages.get(pageAddress);
+			if (page == null) {
+				return false;
+			}
+			int length = Math.min(byteCount - copied, fPageBytes - offset);
+			System.arraycopy(page.fValues, offset, values, copied, length);
+			System.arraycopy(page.fFlags, offset, flags, copied, length);
+			if (changes != null) {
+				for (int i = 0; i < length; i++) {
+					int mask = 0;
+					int bit = offset + i;
+					for (int level = 0; level < page.fChanged.length; level++) {
+						long[] changed = page.fChanged[level];
+						if (changed != null && (changed[bit / Long.SIZE] & (1L << (bit % Long.SIZE))) != 0) {
+							mask |= 1 << level;
+						}
+					}
+					changes[copied + i] = mask;
+				}
+			}
+			copied += length;
+			offset = 0;
+			pageAddress = pageAddress.add(fBigPageUnits);
+		}
+		return true;
+	}
+
+	/**
+	 * Archives the current values of all pages as the most recent level of
+	 * history.  The changed bitmaps are updated when the pages are read again.
+	 */
+	public synchronized void archive() {
+		if (fHistoryDepth == 0) {
+			return;
+		}
+		for (Page page : fPages.values()) {
+			System.arraycopy(page.fHistory, 0, page.fHistory, 1, fHistoryDepth - 1);
+			page.fHistory[0] = page.fValues.clone();
+		}
+	}
+
+	/**
+	 * Marks all the pages stale.  They are kept until they are read again.
+	 */
+	public synchronized void invalidate() {
+		fGeneration++;
+	}
+
+	public synchronized boolean isEmpty() {
+		return fPages.isEmpty();
+	}
+
+	public synchronized void clear() {
+		fPages.clear();
+	}
+}
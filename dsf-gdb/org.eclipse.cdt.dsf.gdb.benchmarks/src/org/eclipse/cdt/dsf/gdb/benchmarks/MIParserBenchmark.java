@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.mi.service.command.output.MIAsyncRecord;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIConst;
+import org.eclipse.cdt.dsf.mi.service.command.output.MILazyParser;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIList;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOOBRecord;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParser;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIResult;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIResultRecord;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIStreamRecord;
+import org.eclipse.cdt.dsf.mi.service.command.output.MITuple;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@link MIParser} with {@link MILazyParser} on all lines of a transcript.
+ * With {@code access=records} only the records are created, as done by the receiver
+ * thread before the result is consumed, with {@code access=all} all values of the
+ * records are visited afterwards. Run with {@code -prof gc} to see the allocation
+ * rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MIParserBenchmark {
+	public static final String RECORDS = "records"; //$NON-NLS-1$
+	public static final String ALL = "all"; //$NON-NLS-1$
+
+	@Param({ MITranscripts.SESSION, MITranscripts.MEMORY, MITranscripts.CHILDREN })
+	public String input;
+
+	@Param({ "1000" })
+	public int scale;
+
+	@Param({ RECORDS, ALL })
+	public String access;
+
+	private String[] fLines;
+	private boolean fVisitAll;
+
+	@Setup
+	public void setup() throws IOException {
+		fLines = MITranscripts.getLines(input, scale);
+		fVisitAll = ALL.equals(access);
+	}
+
+	@Benchmark
+	public void miParser(Blackhole bh) {
+		parse(new MIParser(), bh);
+	}
+
+	@Benchmark
+	public void lazyParser(Blackhole bh) {
+		parse(new MILazyParser(), bh);
+	}
+
+	private void parse(MIParser parser, Blackhole bh) {
+		for (String line : fLines) {
+			switch (parser.getRecordType(line)) {
+			case ResultRecord:
+				MIResultRecord rr = parser.parseMIResultRecord(line);
+				bh.consume(rr);
+				if (fVisitAll) {
+					visit(rr.getMIResults(), bh);
+				}
+				break;
+			case OOBRecord:
+				MIOOBRecord oob = parser.parseMIOOBRecord(line);
+				bh.consume(oob);
+				if (fVisitAll) {
+					if (oob instanceof MIAsyncRecord) {
+						visit(((MIAsyncRecord) oob).getMIResults(), bh);
+					} else if (oob instanceof MIStreamRecord) {
+						bh.consume(((MIStreamRecord) oob).getCString());
+					}
+				}
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	private static void visit(MIResult[] results, Blackhole bh) {
+		for (MIResult result : results) {
+			bh.consume(result.getVariable());
+			visit(result.getMIValue(), bh);
+		}
+	}
+
+	private static void visit(MIValue value, Blackhole bh) {
+		if (value instanceof MIConst) {
+			bh.consume(((MIConst) value).getCString());
+		} else if (value instanceof MITuple) {
+			visit(((MITuple) value).getMIResults(), bh);
+			for (MIValue v : ((MITuple) value).getMIValues()) {
+				visit(v, bh);
+			}
+		} else if (value instanceof MIList) {
+			visit(((MIList) value).getMIResults(), bh);
+			for (MIValue v : ((MIList) value).getMIValues()) {
+				visit(v, bh);
+			}
+		}
+	}
+}
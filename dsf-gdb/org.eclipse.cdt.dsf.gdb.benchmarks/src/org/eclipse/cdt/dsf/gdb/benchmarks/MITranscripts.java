@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The GDB output parsed by the benchmarks.
+ */
+public final class MITranscripts {
+	/** The transcript of a short debug session, from launch to exit. */
+	public static final String SESSION = "session"; //$NON-NLS-1$
+	/** Results of <code>-data-read-memory-bytes</code>, <code>scale</code> * 16 bytes each. */
+	public static final String MEMORY = "memory"; //$NON-NLS-1$
+	/** Results of <code>-var-list-children</code>, <code>scale</code> children each. */
+	public static final String CHILDREN = "children"; //$NON-NLS-1$
+
+	/** The number of records of the synthetic inputs */
+	private static final int RECORDS = 20;
+
+	/** The width at which the 'gdb traces' console wraps lines, see AbstractMIControl.writeToTracingStream() */
+	private static final int TRACE_LINE_WIDTH = 100;
+	private static final Pattern TIMESTAMP = Pattern.compile("^\\d{3},\\d{3} "); //$NON-NLS-1$
+	private static final Pattern COMMAND = Pattern.compile("^\\d*-"); //$NON-NLS-1$
+
+	private MITranscripts() {
+	}
+
+	/**
+	 * Returns the lines of GDB output for the given input.
+	 *
+	 * @param input one of the constants of this class or the path of a file with the
+	 *        content of the 'gdb traces' console
+	 * @param scale the size of the synthetic inputs
+	 */
+	public static String[] getLines(String input, int scale) throws IOException {
+		switch (input) {
+		case SESSION:
+			try (InputStream in = MITranscripts.class.getResourceAsStream("session.txt")) { //$NON-NLS-1$
+				return readTrace(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+			}
+		case MEMORY:
+			return memory(scale);
+		case CHILDREN:
+			return children(scale);
+		default:
+			try (BufferedReader reader = Files.newBufferedReader(Paths.get(input), StandardCharsets.UTF_8)) {
+				return readTrace(reader);
+			}
+		}
+	}
+
+	/**
+	 * Reads the output of GDB from the content of the 'gdb traces' console: the
+	 * timestamps and the commands sent to GDB are removed and wrapped lines are
+	 * joined again.
+	 */
+	private static String[] readTrace(BufferedReader reader) throws IOException {
+		List<String> lines = new ArrayList<>();
+		StringBuilder line = new StringBuilder();
+		String chunk;
+		while ((chunk = reader.readLine()) != null) {
+			if (chunk.length() == TRACE_LINE_WIDTH + 1 && chunk.endsWith("\\")) { //$NON-NLS-1$
+				line.append(chunk, 0, TRACE_LINE_WIDTH);
+				continue;
+			}
+			line.append(chunk);
+			String output = TIMESTAMP.matcher(line).replaceFirst(""); //$NON-NLS-1$
+			if (!output.isEmpty() && !COMMAND.matcher(output).find()) {
+				lines.add(output);
+			}
+			line.setLength(0);
+		}
+		return lines.toArray(new String[lines.size()]);
+	}
+
+	private static String[] memory(int scale) {
+		String[] lines = new String[RECORDS];
+		for (int i = 0; i < RECORDS; i++) {
+			StringBuilder buf = new StringBuilder();
+			long begin = 0x7fffffffd000L + i * scale * 16L;
+			buf.append(100 + i).append("^done,memory=[{begin=\"0x").append(Long.toHexString(begin)); //$NON-NLS-1$
+			buf.append("\",offset=\"0x0\",end=\"0x").append(Long.toHexString(begin + scale * 16L)); //$NON-NLS-1$
+			buf.append("\",contents=\""); //$NON-NLS-1$
+			for (int j = 0; j < scale * 16; j++) {
+				buf.append(Character.forDigit((j >> 4) & 0xf, 16)).append(Character.forDigit(j & 0xf, 16));
+			}
+			buf.append("\"}]"); //$NON-NLS-1$
+			lines[i] = buf.toString();
+		}
+		return lines;
+	}
+
+	private static String[] children(int scale) {
+		String[] lines = new String[RECORDS];
+		for (int i = 0; i < RECORDS; i++) {
+			StringBuilder buf = new StringBuilder();
+			buf.append(100 + i).append("^done,numchild=\"").append(scale).append("\",children=["); //$NON-NLS-1$ //$NON-NLS-2$
+			for (int j = 0; j < scale; j++) {
+				if (j > 0) {
+					buf.append(',');
+				}
+				buf.append("child={name=\"var").append(i).append(".[").append(j).append("]\",exp=\"") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						.append(j).append("\",numchild=\"2\",value=\"{...}\",type=\"struct point\",") //$NON-NLS-1$
+						.append("thread-id=\"1\"}"); //$NON-NLS-1$
+			}
+			buf.append("],has_more=\"0\""); //$NON-NLS-1$
+			lines[i] = buf.toString();
+		}
+		return lines;
+	}
+}
@@ -17,9 +17,12 @@ import org.eclipse.cdt.dsf.gdb.service.GDBRegisterTest;
 import org.eclipse.cdt.dsf.gdb.service.GDBRegisterTest_NoContainerTest;
 import org.eclipse.cdt.dsf.gdb.service.GDBRegisterTest_WithAlternativeProcessIdTest;
 import org.eclipse.cdt.dsf.gdb.service.GDBRegisterTest_WithContainerDMContextTest;
+import org.eclipse.cdt.dsf.mi.service.MemoryPageTableTests;
+import org.eclipse.cdt.dsf.mi.service.command.MICommandStatisticsTests;
 import org.eclipse.cdt.dsf.mi.service.command.commands.TestMIBreakInsertCommand;
 import org.eclipse.cdt.dsf.mi.service.command.commands.TestMICommandConstructCommand;
 import org.eclipse.cdt.dsf.mi.service.command.commands.TestMIGDBSetSysroot;
+import org.eclipse.cdt.dsf.mi.service.command.output.MILazyParserTests;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIStringHandlerTests;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIThreadTests;
 import org.junit.runner.RunWith;
@@ -32,7 +35,8 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({ MIThreadTests.class, TestMIBreakInsertCommand.class, TestMICommandConstructCommand.class,
 		TestMIGDBSetSysroot.class, LaunchUtilsTest.class, MIStringHandlerTests.class, ProcStatParserTest.class,
 		FilePartsTest.class, GDBRegisterTest.class, GDBRegisterTest_NoContainerTest.class,
-		GDBRegisterTest_WithAlternativeProcessIdTest.class, GDBRegisterTest_WithContainerDMContextTest.class, })
+		GDBRegisterTest_WithAlternativeProcessIdTest.class, GDBRegisterTest_WithContainerDMContextTest.class,
+		MICommandStatisticsTests.class, MILazyParserTests.class, MemoryPageTableTests.class, })
 public class AutomatedIntegrationSuite {
 	// Often overriding BeforeClass method here
 }
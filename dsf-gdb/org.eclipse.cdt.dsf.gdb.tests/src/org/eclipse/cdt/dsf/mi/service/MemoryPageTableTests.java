@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.cdt.dsf.mi.service.MemoryPageTable.Range;
+import org.eclipse.debug.core.model.MemoryByte;
+import org.junit.Test;
+
+public class MemoryPageTableTests {
+	private static final long LAST_UNIT = -1L;
+
+	private static MemoryByte[] block(int size, int firstValue) {
+		MemoryByte[] block = new MemoryByte[size];
+		for (int i = 0; i < size; i++) {
+			block[i] = new MemoryByte((byte) (firstValue + i));
+		}
+		return block;
+	}
+
+	private static void assertRanges(List<Range> ranges, long... startsAndLengths) {
+		assertEquals(startsAndLengths.length / 2, ranges.size());
+		for (int i = 0; i < ranges.size(); i++) {
+			assertEquals(startsAndLengths[2 * i], ranges.get(i).start);
+			assertEquals(startsAndLengths[2 * i + 1], ranges.get(i).length);
+		}
+	}
+
+	@Test
+	public void testReadWrite() {
+		MemoryPageTable table = new MemoryPageTable(16, 1);
+		MemoryByte[] dest = new MemoryByte[40];
+		assertRanges(table.read(0x100, 40, dest), 0x100, 40);
+
+		// Spans three pages
+		table.write(0x108, 20, block(20, 1));
+		assertEquals(2, table.getPageCount());
+		assertRanges(table.read(0x100, 40, dest), 0x100, 8, 0x11c, 12);
+		assertNull(dest[7]);
+		assertEquals(1, dest[8].getValue());
+		assertEquals(20, dest[27].getValue());
+		assertNull(dest[28]);
+
+		table.write(0x100, 40, block(40, 0));
+		assertTrue(table.read(0x100, 40, dest).isEmpty());
+	}
+
+	@Test
+	public void testWordSize() {
+		MemoryPageTable table = new MemoryPageTable(4, 2);
+		table.write(0x3, 3, block(6, 10));
+		MemoryByte[] dest = new MemoryByte[8];
+		assertRanges(table.read(0x2, 4, dest), 0x2, 1);
+		assertNull(dest[1]);
+		assertEquals(10, dest[2].getValue());
+		assertEquals(15, dest[7].getValue());
+
+		// Write from an offset of the source
+		table.write(0x2, 1, block(4, 20), 1);
+		assertTrue(table.read(0x2, 4, dest).isEmpty());
+		assertEquals(22, dest[0].getValue());
+	}
+
+	@Test
+	public void testInvalidate() {
+		MemoryPageTable table = new MemoryPageTable(16, 1);
+		table.write(0, 64, block(64, 0));
+		assertEquals(4, table.getPageCount());
+
+		// A whole page is dropped, partial pages are kept
+		table.invalidate(10, 30);
+		assertEquals(3, table.getPageCount());
+		MemoryByte[] dest = new MemoryByte[64];
+		assertRanges(table.read(0, 64, dest), 10, 30);
+		assertNotNull(dest[9]);
+		assertNotNull(dest[40]);
+
+		// More pages covered than cached
+		table.invalidate(0, Long.MAX_VALUE);
+		assertEquals(0, table.getPageCount());
+	}
+
+	@Test
+	public void testPlanReadsAlignAndCoalesce() {
+		MemoryPageTable table = new MemoryPageTable(16, 1);
+		List<Range> missing = Arrays.asList(new Range(0x105, 2), new Range(0x125, 2), new Range(0x185, 2));
+		assertRanges(table.planReads(missing, true, 0, 16, LAST_UNIT), 0x100, 0x30, 0x180, 0x10);
+		assertRanges(table.planReads(missing, false, 0, 0, LAST_UNIT), 0x105, 2, 0x125, 2, 0x185, 2);
+	}
+
+	@Test
+	public void testPlanReadsReadAhead() {
+		MemoryPageTable table = new MemoryPageTable(16, 1);
+		table.write(0x130, 16, block(16, 0));
+		List<Range> missing = Arrays.asList(new Range(0x105, 2));
+
+		// Forward read-ahead stops at the first cached page
+		assertRanges(table.planReads(missing, true, 4, 0, LAST_UNIT), 0x100, 0x30);
+
+		// Backward read-ahead stops at address 0
+		assertRanges(table.planReads(Arrays.asList(new Range(0x15, 2)), true, -4, 0, LAST_UNIT), 0, 0x20);
+
+		// Read-ahead does not go beyond the end of the address space
+		assertRanges(table.planReads(Arrays.asList(new Range(0xffffffe0L, 2)), true, 4, 0, 0xffffffffL),
+				0xffffffe0L, 0x20);
+	}
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.cdt.dsf.mi.service.command.MICommandStatistics.Entry;
+import org.junit.Test;
+
+public class MICommandStatisticsTests {
+	@Test
+	public void testEntries() {
+		MICommandStatistics stats = new MICommandStatistics();
+		stats.commandSent("-stack-list-frames", 10, 2, 1);
+		stats.commandSent("-stack-list-frames", 30, 5, 4);
+		stats.commandSent("-var-update", 5, 0, 2);
+		stats.commandDone("-stack-list-frames", 100);
+		stats.commandDone("-stack-list-frames", 300);
+		stats.commandDone("-var-update", 1000);
+
+		assertEquals(4, stats.getMaxCommandsInFlight());
+		List<Entry> entries = stats.getEntries();
+		assertEquals(2, entries.size());
+		// Sorted by total latency
+		assertEquals("-var-update", entries.get(0).getOperation());
+
+		Entry frames = entries.get(1);
+		assertEquals("-stack-list-frames", frames.getOperation());
+		assertEquals(2, frames.getSentCount());
+		assertEquals(2, frames.getDoneCount());
+		assertEquals(400, frames.getTotalLatency());
+		assertEquals(300, frames.getMaxLatency());
+		assertEquals(40, frames.getTotalQueueTime());
+		assertEquals(30, frames.getMaxQueueTime());
+		assertEquals(5, frames.getMaxQueueDepth());
+	}
+
+	@Test
+	public void testSnapshotAndReset() {
+		MICommandStatistics stats = new MICommandStatistics();
+		stats.commandSent("-data-evaluate-expression", 10, 0, 1);
+		Entry entry = stats.getEntries().get(0);
+		stats.commandDone("-data-evaluate-expression", 100);
+		assertEquals(0, entry.getDoneCount());
+		assertTrue(stats.toString().contains("-data-evaluate-expression"));
+
+		stats.reset();
+		assertTrue(stats.getEntries().isEmpty());
+		assertEquals(0, stats.getMaxCommandsInFlight());
+	}
+}
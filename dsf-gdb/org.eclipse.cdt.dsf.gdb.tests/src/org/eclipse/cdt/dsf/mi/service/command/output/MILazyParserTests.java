@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command.output;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class MILazyParserTests {
+	private static final String[] LINES = { "^done", "12^done", "12^running", "3^error,msg=\"No symbol \\\"foo\\\".\"",
+			"^exit", "5^connected", "7^done,value=\"0x1 \\\"a\\\\b\\\"\"",
+			"8^done,stack=[frame={level=\"0\",addr=\"0x00401136\",func=\"main\",file=\"a.c\",line=\"5\"},"
+					+ "frame={level=\"1\",addr=\"0x0\",func=\"??\"}]",
+			"9^done,numchild=\"2\",children=[child={name=\"var1.a\",exp=\"a\",numchild=\"0\",value=\"{...}\","
+					+ "type=\"int [3]\",thread-id=\"1\"},child={name=\"var1.b\",exp=\"b\",numchild=\"0\","
+					+ "value=\"\\\"]}\\\"\",type=\"char *\"}],has_more=\"0\"",
+			"10^done,memory=[{begin=\"0x1000\",offset=\"0x0\",end=\"0x1010\","
+					+ "contents=\"000102030405060708090a0b0c0d0e0f\"}]",
+			"11^done,bkpt={number=\"1\",type=\"breakpoint\",locations=[]},{number=\"1.1\",enabled=\"y\"}",
+			"12^done,groups=[{id=\"i1\",cores=[\"0\",\"1\"]}],empty={},list=[\"a\",\"b\"]",
+			"*stopped,reason=\"breakpoint-hit\",bkptno=\"1\",frame={addr=\"0x1\",args=[{name=\"x\",value=\"1\"}]}",
+			"*running,thread-id=\"all\"", "*stopped", "=thread-group-added,id=\"i1\"", "+download,{section=\".text\"}",
+			"=library-loaded,id=\"/lib/x.so\",ranges=[{from=\"0x1\",to=\"0x2\"}]", "~\"Hello \\\"world\\\"\\n\"",
+			"@\"target output\\\\n\"", "&\"warning: a \\\\ b\\n\"", "~\"unterminated", "garbage line", "(gdb) ",
+			"15^done,value=\"\\\\\"", "16^done,tail=\"abc\\", "17^done,a=\"1\",b", "18^done,x={a=\"1\",b=[]}" };
+
+	private static void assertSameValue(String path, MIValue expected, MIValue actual) {
+		if (expected == null) {
+			assertNull(path, actual);
+			return;
+		}
+		assertEquals(path, expected.toString(), actual.toString());
+		if (expected instanceof MIConst) {
+			assertTrue(path, actual instanceof MIConst);
+			assertEquals(path, ((MIConst) expected).getCString(), ((MIConst) actual).getCString());
+		} else if (expected instanceof MITuple) {
+			assertTrue(path, actual instanceof MITuple);
+			assertSameResults(path, ((MITuple) expected).getMIResults(), ((MITuple) actual).getMIResults());
+			assertSameValues(path, ((MITuple) expected).getMIValues(), ((MITuple) actual).getMIValues());
+		} else if (expected instanceof MIList) {
+			assertTrue(path, actual instanceof MIList);
+			assertSameResults(path, ((MIList) expected).getMIResults(), ((MIList) actual).getMIResults());
+			assertSameValues(path, ((MIList) expected).getMIValues(), ((MIList) actual).getMIValues());
+		}
+	}
+
+	private static void assertSameValues(String path, MIValue[] expected, MIValue[] actual) {
+		assertEquals(path, expected.length, actual.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertSameValue(path + "/" + i, expected[i], actual[i]);
+		}
+	}
+
+	private static void assertSameResults(String path, MIResult[] expected, MIResult[] actual) {
+		assertEquals(path, expected.length, actual.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(path, expected[i].getVariable(), actual[i].getVariable());
+			assertSameValue(path + "/" + expected[i].getVariable(), expected[i].getMIValue(),
+					actual[i].getMIValue());
+		}
+	}
+
+	@Test
+	public void testSameRecordsAsMIParser() {
+		MIParser parser = new MIParser();
+		MILazyParser lazyParser = new MILazyParser();
+		for (String line : LINES) {
+			MIParser.RecordType type = parser.getRecordType(line);
+			assertEquals(line, type, lazyParser.getRecordType(line));
+			if (type == MIParser.RecordType.ResultRecord) {
+				MIResultRecord expected = parser.parseMIResultRecord(line);
+				MIResultRecord actual = lazyParser.parseMIResultRecord(line);
+				assertEquals(line, expected.toString(), actual.toString());
+				assertEquals(line, expected.getToken(), actual.getToken());
+				assertEquals(line, expected.getResultClass(), actual.getResultClass());
+				assertSameResults(line, expected.getMIResults(), actual.getMIResults());
+			} else if (type == MIParser.RecordType.OOBRecord) {
+				MIOOBRecord expected = parser.parseMIOOBRecord(line);
+				MIOOBRecord actual = lazyParser.parseMIOOBRecord(line);
+				assertSame(line, expected.getClass(), actual.getClass());
+				assertEquals(line, expected.toString(), actual.toString());
+				if (expected instanceof MIAsyncRecord) {
+					assertEquals(line, ((MIAsyncRecord) expected).getToken(), ((MIAsyncRecord) actual).getToken());
+					assertEquals(line, ((MIAsyncRecord) expected).getAsyncClass(),
+							((MIAsyncRecord) actual).getAsyncClass());
+					assertSameResults(line, ((MIAsyncRecord) expected).getMIResults(),
+							((MIAsyncRecord) actual).getMIResults());
+				} else {
+					assertEquals(line, ((MIStreamRecord) expected).getCString(),
+							((MIStreamRecord) actual).getCString());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testWindow() {
+		String text = "xx12^done,value=\"1\",list=[\"a\"]yy";
+		MILazyParser parser = new MILazyParser();
+		assertEquals(MIParser.RecordType.ResultRecord, parser.getRecordType(text, 2, text.length() - 2));
+		MIResultRecord rr = parser.parseMIResultRecord(new StringBuilder(text), 2, text.length() - 2);
+		assertEquals(new MIParser().parseMIResultRecord(text.substring(2, text.length() - 2)).toString(),
+				rr.toString());
+	}
+
+	@Test
+	public void testLazyMaterialization() {
+		MILazyParser parser = new MILazyParser();
+		MIResultRecord rr = parser.parseMIResultRecord(
+				"4^done,children=[child={name=\"var1.a\",value=\"1\"},child={name=\"var1.b\",value=\"2\"}]");
+		MIValue children = rr.getField("children");
+		assertTrue(MILazyParser.isLazy(children));
+
+		MIResult[] results = ((MIList) children).getMIResults();
+		assertFalse(MILazyParser.isLazy(children));
+		assertEquals(2, results.length);
+		MIValue first = results[0].getMIValue();
+		MIValue second = results[1].getMIValue();
+		assertTrue(MILazyParser.isLazy(first));
+		assertTrue(MILazyParser.isLazy(second));
+
+		assertEquals("2", ((MIConst) ((MITuple) second).getField("value")).getCString());
+		assertFalse(MILazyParser.isLazy(second));
+		assertTrue(MILazyParser.isLazy(first));
+	}
+}
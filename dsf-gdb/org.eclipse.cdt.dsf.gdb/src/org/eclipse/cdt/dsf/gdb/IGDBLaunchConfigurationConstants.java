@@ -156,6 +156,25 @@ public class IGDBLaunchConfigurationConstants {
 	 */
 	public static final String ATTR_DEBUGGER_REMOTE_TIMEOUT_VALUE = GdbPlugin.PLUGIN_ID + ".REMOTE_TIMEOUT_VALUE"; //$NON-NLS-1$
 
+	/**
+	 * Launch configuration attribute key. Boolean value to collect queue depth and
+	 * latency statistics of the runnables executed by the session executor of the
+	 * launch.
+	 *
+	 * @since 7.2
+	 */
+	public static final String ATTR_DEBUGGER_EXECUTOR_STATISTICS = GdbPlugin.PLUGIN_ID + ".EXECUTOR_STATISTICS"; //$NON-NLS-1$
+
+	/**
+	 * Launch configuration attribute key. Boolean value to let services run work
+	 * that does not use the state of the session, such as listing the processes
+	 * of the local machine, on executor lanes of their own instead of on the
+	 * session executor.
+	 *
+	 * @since 7.2
+	 */
+	public static final String ATTR_DEBUGGER_EXECUTOR_LANES = GdbPlugin.PLUGIN_ID + ".EXECUTOR_LANES"; //$NON-NLS-1$
+
 	/**
 	 * Launch configuration attribute value. The key is ATTR_DEBUG_NAME.
 	 */
@@ -297,4 +316,16 @@ public class IGDBLaunchConfigurationConstants {
 	 * @since 5.5
 	 */
 	public static final String DEBUGGER_REMOTE_TIMEOUT_VALUE_DEFAULT = ""; //$NON-NLS-1$
+
+	/**
+	 * The default value of {@link #ATTR_DEBUGGER_EXECUTOR_STATISTICS}.
+	 * @since 7.2
+	 */
+	public static final boolean DEBUGGER_EXECUTOR_STATISTICS_DEFAULT = false;
+
+	/**
+	 * The default value of {@link #ATTR_DEBUGGER_EXECUTOR_LANES}.
+	 * @since 7.2
+	 */
+	public static final boolean DEBUGGER_EXECUTOR_LANES_DEFAULT = false;
 }
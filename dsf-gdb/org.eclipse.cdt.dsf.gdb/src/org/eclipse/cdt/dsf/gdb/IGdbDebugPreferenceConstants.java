@@ -261,4 +261,121 @@ public interface IGdbDebugPreferenceConstants {
 	 * @since 6.5
 	 */
 	public static final int SUSPEND_TIMEOUT_VALUE_DEFAULT = 10;
+
+	/**
+	 * The value is a boolean specifying whether MI commands are pipelined to GDB:
+	 * queued commands are written in batches, and the number of commands waiting
+	 * for a result adapts to the latency of GDB. Only applies to GDB versions
+	 * that support concurrent commands.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_MI_COMMAND_PIPELINING = PREFIX + "miCommandPipelining"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_MI_COMMAND_PIPELINING}
+	 *
+	 * @since 7.2
+	 */
+	public static final boolean MI_COMMAND_PIPELINING_DEFAULT = false;
+
+	/**
+	 * The value is an integer specifying the number of addressable units of a page
+	 * of the memory cache. Memory is read from the target in whole pages. Must be
+	 * a power of two.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_MEMORY_CACHE_PAGE_SIZE = PREFIX + "memoryCachePageSize"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_MEMORY_CACHE_PAGE_SIZE}
+	 *
+	 * @since 7.2
+	 */
+	public static final int MEMORY_CACHE_PAGE_SIZE_DEFAULT = 256;
+
+	/**
+	 * The value is an integer specifying the number of pages the memory cache reads
+	 * ahead of a request that continues the previous one, in the direction of the
+	 * scrolling. Zero disables the read-ahead.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_MEMORY_CACHE_READ_AHEAD = PREFIX + "memoryCacheReadAhead"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_MEMORY_CACHE_READ_AHEAD}
+	 *
+	 * @since 7.2
+	 */
+	public static final int MEMORY_CACHE_READ_AHEAD_DEFAULT = 4;
+
+	/**
+	 * The value is a boolean specifying whether the variable objects of all
+	 * out-of-date expressions are updated with a single -var-update command when
+	 * the target stops, instead of one command per root expression.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_VARIABLE_BULK_UPDATE = PREFIX + "variableBulkUpdate"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_VARIABLE_BULK_UPDATE}
+	 *
+	 * @since 7.2
+	 */
+	public static final boolean VARIABLE_BULK_UPDATE_DEFAULT = false;
+
+	/**
+	 * The value is an integer specifying the maximum estimated memory cost, in
+	 * bytes, of the variable objects kept by the expression service. The least
+	 * recently used variable objects are deleted first.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_VARIABLE_CACHE_MAX_MEMORY_COST = PREFIX + "variableCacheMaxMemoryCost"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_VARIABLE_CACHE_MAX_MEMORY_COST}
+	 *
+	 * @since 7.2
+	 */
+	public static final int VARIABLE_CACHE_MAX_MEMORY_COST_DEFAULT = 1024 * 1024;
+
+	/**
+	 * The value is an integer specifying the maximum number of command results
+	 * kept by each of the command caches of the stack, register, expression and
+	 * thread services. The least recently used results are evicted first. Zero
+	 * keeps all results until the caches are reset by events.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_COMMAND_CACHE_MAX_ENTRIES = PREFIX + "commandCacheMaxEntries"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_COMMAND_CACHE_MAX_ENTRIES}
+	 *
+	 * @since 7.2
+	 */
+	public static final int COMMAND_CACHE_MAX_ENTRIES_DEFAULT = 0;
+
+	/**
+	 * The value is an integer specifying the maximum number of command results
+	 * kept for each context, e.g. a thread or a frame, by each of the command
+	 * caches of the stack, register, expression and thread services. The least
+	 * recently used results of the context are evicted first. Zero keeps all
+	 * results until the caches are reset by events.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_COMMAND_CACHE_MAX_ENTRIES_PER_CONTEXT = PREFIX
+			+ "commandCacheMaxEntriesPerContext"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_COMMAND_CACHE_MAX_ENTRIES_PER_CONTEXT}
+	 *
+	 * @since 7.2
+	 */
+	public static final int COMMAND_CACHE_MAX_ENTRIES_PER_CONTEXT_DEFAULT = 0;
 }
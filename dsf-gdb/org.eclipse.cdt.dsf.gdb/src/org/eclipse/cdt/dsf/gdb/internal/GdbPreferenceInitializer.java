@@ -73,5 +73,19 @@ public class GdbPreferenceInitializer extends AbstractPreferenceInitializer {
 				IGDBLaunchConfigurationConstants.DEBUGGER_REMOTE_TIMEOUT_VALUE_DEFAULT);
 		node.putInt(IGdbDebugPreferenceConstants.PREF_SUSPEND_TIMEOUT_VALUE,
 				IGdbDebugPreferenceConstants.SUSPEND_TIMEOUT_VALUE_DEFAULT);
+		node.putBoolean(IGdbDebugPreferenceConstants.PREF_MI_COMMAND_PIPELINING,
+				IGdbDebugPreferenceConstants.MI_COMMAND_PIPELINING_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_MEMORY_CACHE_PAGE_SIZE,
+				IGdbDebugPreferenceConstants.MEMORY_CACHE_PAGE_SIZE_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_MEMORY_CACHE_READ_AHEAD,
+				IGdbDebugPreferenceConstants.MEMORY_CACHE_READ_AHEAD_DEFAULT);
+		node.putBoolean(IGdbDebugPreferenceConstants.PREF_VARIABLE_BULK_UPDATE,
+				IGdbDebugPreferenceConstants.VARIABLE_BULK_UPDATE_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_VARIABLE_CACHE_MAX_MEMORY_COST,
+				IGdbDebugPreferenceConstants.VARIABLE_CACHE_MAX_MEMORY_COST_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_COMMAND_CACHE_MAX_ENTRIES,
+				IGdbDebugPreferenceConstants.COMMAND_CACHE_MAX_ENTRIES_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_COMMAND_CACHE_MAX_ENTRIES_PER_CONTEXT,
+				IGdbDebugPreferenceConstants.COMMAND_CACHE_MAX_ENTRIES_PER_CONTEXT_DEFAULT);
 	}
 }
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.internal.service;
+
+import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
+import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
+import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.core.runtime.Platform;
+
+/**
+ * Configures the command caches of the services from the preferences and
+ * traces their statistics.
+ */
+public class CommandCaches {
+
+	private CommandCaches() {
+	}
+
+	/**
+	 * Bounds a command cache that grows with the number of contexts, such as
+	 * threads or frames, as set in the preferences.
+	 */
+	public static void setBounds(CommandCache cache) {
+		cache.setMaxEntries(Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_COMMAND_CACHE_MAX_ENTRIES,
+				IGdbDebugPreferenceConstants.COMMAND_CACHE_MAX_ENTRIES_DEFAULT, null));
+		cache.setMaxEntriesPerContext(Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_COMMAND_CACHE_MAX_ENTRIES_PER_CONTEXT,
+				IGdbDebugPreferenceConstants.COMMAND_CACHE_MAX_ENTRIES_PER_CONTEXT_DEFAULT, null));
+	}
+
+	/**
+	 * Traces the statistics of a command cache, if tracing is on.
+	 *
+	 * @param name The name of the cache, e.g. the service and the commands it caches
+	 */
+	public static void traceStatistics(String name, CommandCache cache) {
+		if (GdbDebugOptions.DEBUG && cache != null) {
+			GdbDebugOptions.trace(String.format("%s %s cache statistics: %s\n", //$NON-NLS-1$
+					GdbPlugin.getDebugTime(), name, cache.getStatistics()));
+		}
+	}
+}
@@ -46,6 +46,7 @@ import org.eclipse.cdt.debug.internal.core.DebugStringVariableSubstitutor;
 import org.eclipse.cdt.dsf.concurrent.ConfinedToDsfExecutor;
 import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
 import org.eclipse.cdt.dsf.concurrent.DsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.DsfExecutorStatistics;
 import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
 import org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants;
 import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
@@ -62,6 +63,7 @@ import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService.ICommand
 import org.eclipse.cdt.dsf.gdb.IGDBLaunchConfigurationConstants;
 import org.eclipse.cdt.dsf.gdb.IGdbDebugConstants;
 import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
+import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.internal.memory.GdbMemoryBlockRetrievalManager;
 import org.eclipse.cdt.dsf.gdb.service.IGDBBackend;
@@ -119,6 +121,13 @@ public class GdbLaunch extends DsfLaunch implements ITracedLaunch, ITargetedLaun
 		// Create the dispatch queue to be used by debugger control and services
 		// that belong to this launch
 		final DefaultDsfExecutor dsfExecutor = new DefaultDsfExecutor(GdbLaunchDelegate.GDB_DEBUG_MODEL_ID);
+		try {
+			dsfExecutor.setStatisticsEnabled(
+					launchConfiguration.getAttribute(IGDBLaunchConfigurationConstants.ATTR_DEBUGGER_EXECUTOR_STATISTICS,
+							IGDBLaunchConfigurationConstants.DEBUGGER_EXECUTOR_STATISTICS_DEFAULT));
+		} catch (CoreException e) {
+			GdbPlugin.log(e);
+		}
 		dsfExecutor.prestartCoreThread();
 		fExecutor = dsfExecutor;
 		fSession = DsfSession.startSession(fExecutor, GdbLaunchDelegate.GDB_DEBUG_MODEL_ID);
@@ -128,6 +137,18 @@ public class GdbLaunch extends DsfLaunch implements ITracedLaunch, ITargetedLaun
 		return fExecutor;
 	}
 
+	/**
+	 * Returns the queue depth and latency statistics of the session executor,
+	 * or null if they are not collected for this launch.
+	 *
+	 * @see IGDBLaunchConfigurationConstants#ATTR_DEBUGGER_EXECUTOR_STATISTICS
+	 * @since 7.2
+	 */
+	public DsfExecutorStatistics getExecutorStatistics() {
+		DefaultDsfExecutor executor = fExecutor;
+		return executor == null ? null : executor.getStatistics();
+	}
+
 	public IDsfDebugServicesFactory getServiceFactory() {
 		return fServiceFactory;
 	}
@@ -392,6 +413,11 @@ public class GdbLaunch extends DsfLaunch implements ITracedLaunch, ITargetedLaun
 
 						DsfSession.endSession(fSession);
 
+						DsfExecutorStatistics statistics = getExecutorStatistics();
+						if (GdbDebugOptions.DEBUG && statistics != null) {
+							GdbDebugOptions.trace("Session executor statistics: " + statistics + '\n'); //$NON-NLS-1$
+						}
+
 						// 'fireTerminate()' removes this launch from the list
 						// of 'DebugEvent'
 						// listeners. The launch may not be terminated at this
@@ -42,6 +42,7 @@ import org.eclipse.cdt.core.IProcessList;
 import org.eclipse.cdt.debug.core.CDebugUtils;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.DsfExecutorLane;
 import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
 import org.eclipse.cdt.dsf.concurrent.ImmediateDataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
@@ -75,7 +76,9 @@ import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
 import org.eclipse.cdt.dsf.gdb.IGDBLaunchConfigurationConstants;
 import org.eclipse.cdt.dsf.gdb.IGdbDebugConstants;
 import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
+import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.gdb.internal.service.CommandCaches;
 import org.eclipse.cdt.dsf.gdb.launching.GDBRemoteTCPLaunchTargetProvider;
 import org.eclipse.cdt.dsf.gdb.launching.InferiorRuntimeProcess;
 import org.eclipse.cdt.dsf.gdb.service.command.IGDBControl;
@@ -90,6 +93,7 @@ import org.eclipse.cdt.dsf.mi.service.MIBreakpointsManager;
 import org.eclipse.cdt.dsf.mi.service.MIProcesses;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
 import org.eclipse.cdt.dsf.mi.service.command.MIInferiorProcess;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MIListThreadGroups;
 import org.eclipse.cdt.dsf.mi.service.command.events.MIThreadGroupCreatedEvent;
 import org.eclipse.cdt.dsf.mi.service.command.events.MIThreadGroupExitedEvent;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIConst;
@@ -644,6 +648,12 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 	// when the target can be unavailable and instead of hanging, the cache will return an error.
 	private CommandCache fListThreadGroupsAvailableCache;
 
+	/**
+	 * How long the list of the processes available on the target is kept, in
+	 * milliseconds
+	 */
+	private static final long AVAILABLE_PROCESSES_TIME_TO_LIVE = 1000;
+
 	// A map of process id to process names.  A name is fetched whenever we start
 	// debugging a process, and removed when we stop.
 	// This allows us to make sure that if a pid is re-used, we will not use an
@@ -739,6 +749,14 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 	 */
 	private boolean fInitialProcess = true;
 
+	/**
+	 * The lane listing the processes of the local machine, or null to list them on
+	 * the session executor.
+	 *
+	 * @see IGDBLaunchConfigurationConstants#ATTR_DEBUGGER_EXECUTOR_LANES
+	 */
+	private DsfExecutorLane fProcessListLane;
+
 	public GDBProcesses_7_0(DsfSession session) {
 		super(session);
 	}
@@ -787,11 +805,23 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 		fContainerCommandCache.setContextAvailable(fCommandControl.getContext(), true);
 		fThreadCommandCache = new CommandCache(getSession(), bufferedCommandControl);
 		fThreadCommandCache.setContextAvailable(fCommandControl.getContext(), true);
+		CommandCaches.setBounds(fThreadCommandCache);
 
 		// No need to use the bufferedCommandControl for the listThreadGroups cache
 		// because it is not being affected by events.
 		fListThreadGroupsAvailableCache = new CommandCache(getSession(), fCommandControl);
 		fListThreadGroupsAvailableCache.setContextAvailable(fCommandControl.getContext(), true);
+		fListThreadGroupsAvailableCache.setTimeToLive(MIListThreadGroups.class, AVAILABLE_PROCESSES_TIME_TO_LIVE);
+
+		ILaunch launch = (ILaunch) getSession().getModelAdapter(ILaunch.class);
+		try {
+			if (launch != null && launch.getLaunchConfiguration().getAttribute(
+					IGDBLaunchConfigurationConstants.ATTR_DEBUGGER_EXECUTOR_LANES,
+					IGDBLaunchConfigurationConstants.DEBUGGER_EXECUTOR_LANES_DEFAULT)) {
+				fProcessListLane = new DsfExecutorLane("Process list (" + getSession().getId() + ')'); //$NON-NLS-1$
+			}
+		} catch (CoreException e) {
+		}
 
 		getSession().addServiceEventListener(this, null);
 		fCommandControl.addEventListener(this);
@@ -815,6 +845,12 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 		unregister();
 		getSession().removeServiceEventListener(this);
 		fCommandControl.removeEventListener(this);
+		CommandCaches.traceStatistics("Containers", fContainerCommandCache); //$NON-NLS-1$
+		CommandCaches.traceStatistics("Threads", fThreadCommandCache); //$NON-NLS-1$
+		CommandCaches.traceStatistics("Available processes", fListThreadGroupsAvailableCache); //$NON-NLS-1$
+		if (GdbDebugOptions.DEBUG && fProcessListLane != null) {
+			GdbDebugOptions.trace(fProcessListLane + " statistics: " + fProcessListLane.getStatistics() + '\n'); //$NON-NLS-1$
+		}
 		super.shutdown(requestMonitor);
 	}
 
@@ -1047,11 +1083,11 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 								new DataRequestMonitor<MIListThreadGroupsInfo>(getExecutor(), null) {
 									@Override
 									protected void handleCompleted() {
-										// We cannot actually cache this command since the process
-										// list may change.  But this cache allows to avoid overlapping
-										// sending of this command and proper handling if the target is
-										// unavailable.
-										fListThreadGroupsAvailableCache.reset();
+										// The process list may change, so the result of this command
+										// is only kept for a short time.  This cache allows to avoid
+										// overlapping sending of this command, to share its result
+										// when fetching the names of several processes, and proper
+										// handling if the target is unavailable.
 
 										// Note that the output of the "-list-thread-groups --available" command
 										// still shows the pid as a groupId, even for GDB 7.2.
@@ -1634,10 +1670,9 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 					new DataRequestMonitor<MIListThreadGroupsInfo>(getExecutor(), rm) {
 						@Override
 						protected void handleCompleted() {
-							// We cannot actually cache this command since the process
-							// list may change.  But this cache allows to avoid overlapping
-							// sending of this command.
-							fListThreadGroupsAvailableCache.reset();
+							// The process list may change, so the result of this command
+							// is only kept for a short time.  This cache allows to avoid
+							// overlapping sending of this command.
 
 							if (isSuccess()) {
 								rm.setData(makeProcessDMCAndData(controlDmc, getData().getGroupList()));
@@ -1649,18 +1684,18 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 								// we're debugging remotely, the user is out
 								// of luck
 								if (fBackend.getSessionType() == SessionType.LOCAL) {
-									IProcessList list = null;
-									try {
-										list = CCorePlugin.getDefault().getProcessList();
-									} catch (CoreException e) {
-									}
-
-									if (list == null) {
-										rm.setData(new IProcessDMContext[0]);
-									} else {
-										IProcessInfo[] procInfos = list.getProcessList();
-										rm.setData(makeProcessDMCAndData(controlDmc, procInfos));
-									}
+									getLocalProcessList(new DataRequestMonitor<IProcessInfo[]>(getExecutor(), rm) {
+										@Override
+										protected void handleSuccess() {
+											if (getData() == null) {
+												rm.setData(new IProcessDMContext[0]);
+											} else {
+												rm.setData(makeProcessDMCAndData(controlDmc, getData()));
+											}
+											rm.done();
+										}
+									});
+									return;
 								} else {
 									rm.setData(new IProcessDMContext[0]);
 								}
@@ -1675,6 +1710,33 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 
 	}
 
+	/**
+	 * Lists the processes of the local machine.  Listing them reads the
+	 * operating system, which can take a while, so it is done on the lane of
+	 * this service, if there is one.  The request monitor holds null if the
+	 * processes cannot be listed.
+	 */
+	private void getLocalProcessList(final DataRequestMonitor<IProcessInfo[]> rm) {
+		Runnable listProcesses = () -> {
+			IProcessInfo[] procInfos = null;
+			try {
+				IProcessList list = CCorePlugin.getDefault().getProcessList();
+				if (list != null) {
+					procInfos = list.getProcessList();
+				}
+			} catch (CoreException e) {
+			}
+			// The request monitor completes on its own executor
+			rm.done(procInfos);
+		};
+
+		if (fProcessListLane == null) {
+			listProcesses.run();
+		} else {
+			fProcessListLane.execute(listProcesses);
+		}
+	}
+
 	/**
 	 * Create the joint process DMC and data based on IProcessInfo, which is a local listing.
 	 * @since 4.0
@@ -56,6 +56,7 @@ import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
 import org.eclipse.cdt.dsf.gdb.GDBTypeParser.GDBType;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.gdb.internal.service.CommandCaches;
 import org.eclipse.cdt.dsf.gdb.service.IGDBTraceControl.ITraceRecordSelectedChangedDMEvent;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
 import org.eclipse.cdt.dsf.mi.service.command.commands.ExprMetaGetAttributes;
@@ -1027,6 +1028,7 @@ public class MIExpressions extends AbstractDsfService implements IMIExpressions,
 		fExpressionCache = new CommandCache(getSession(), varManager);
 		ICommandControlService commandControl = getServicesTracker().getService(ICommandControlService.class);
 		fExpressionCache.setContextAvailable(commandControl.getContext(), true);
+		CommandCaches.setBounds(fExpressionCache);
 
 		fCommandFactory = getServicesTracker().getService(IMICommandControl.class).getCommandFactory();
 
@@ -1055,6 +1057,7 @@ public class MIExpressions extends AbstractDsfService implements IMIExpressions,
 		unregister();
 		varManager.dispose();
 		getSession().removeServiceEventListener(this);
+		CommandCaches.traceStatistics("Expressions", fExpressionCache); //$NON-NLS-1$
 		super.shutdown(requestMonitor);
 	}
 
@@ -1903,16 +1906,18 @@ public class MIExpressions extends AbstractDsfService implements IMIExpressions,
 	void getRealSubExpressions(final IExpressionDMContext exprCtx, int startIndex, int length,
 			final DataRequestMonitor<IExpressionDMContext[]> rm) {
 
-		ExprMetaGetChildren getChildren = (startIndex < 0 || length < 0) ? new ExprMetaGetChildren(exprCtx)
-				: new ExprMetaGetChildren(exprCtx, startIndex + length);
-		final int startIndex1 = (startIndex < 0) ? 0 : startIndex;
+		// When a window is given, only the children of the window are fetched
+		boolean window = startIndex >= 0 && length >= 0;
+		ExprMetaGetChildren getChildren = window ? new ExprMetaGetChildren(exprCtx, startIndex, startIndex + length)
+				: new ExprMetaGetChildren(exprCtx);
+		final int startIndex1 = (startIndex < 0 || window) ? 0 : startIndex;
 		final int length1 = (length < 0) ? Integer.MAX_VALUE : length;
 		fExpressionCache.execute(getChildren, new DataRequestMonitor<ExprMetaGetChildrenInfo>(getExecutor(), rm) {
 			@Override
 			protected void handleSuccess() {
 				ExpressionInfo[] childrenExpr = getData().getChildrenExpressions();
 
-				if (startIndex1 >= childrenExpr.length) {
+				if (startIndex1 >= childrenExpr.length && length1 > 0) {
 					rm.setStatus(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, REQUEST_FAILED,
 							"Invalid range for evaluating sub expressions.", null)); //$NON-NLS-1$
 					rm.done();
@@ -24,9 +24,7 @@ package org.eclipse.cdt.dsf.mi.service;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Hashtable;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 
 import org.eclipse.cdt.core.IAddress;
@@ -51,9 +49,12 @@ import org.eclipse.cdt.dsf.debug.service.IRunControl.ISuspendedDMEvent;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.StateChangeReason;
 import org.eclipse.cdt.dsf.debug.service.command.BufferedCommandControl;
 import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
+import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
+import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.service.command.IGDBControl;
 import org.eclipse.cdt.dsf.mi.service.MIExpressions.ExpressionChangedEvent;
+import org.eclipse.cdt.dsf.mi.service.MemoryPageTable.Range;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataReadMemoryBytesInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataReadMemoryInfo;
@@ -64,6 +65,7 @@ import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.cdt.utils.Addr64;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.model.MemoryByte;
 import org.osgi.framework.BundleContext;
@@ -112,6 +114,13 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 	// instead of -data-read-memory
 	private boolean fDataReadMemoryBytes;
 
+	// The number of addressable units of a page of the memory caches
+	private int fPageSize;
+	// The number of pages to read ahead of sequential requests
+	private int fReadAheadPages;
+
+	private final MIMemoryCacheStatistics fStatistics = new MIMemoryCacheStatistics();
+
 	/**
 	 *  Constructor
 	 */
@@ -158,6 +167,8 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 		register(new String[] { MIMemory.class.getName(), IMemory.class.getName() }, new Hashtable<String, String>());
 
 		fMemoryCaches = new HashMap<>();
+		fPageSize = getMemoryCachePageSize();
+		fReadAheadPages = Math.max(0, getMemoryCacheReadAheadPages());
 
 		getSession().addServiceEventListener(this, null);
 
@@ -174,6 +185,10 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 
 		getSession().removeServiceEventListener(this);
 
+		if (GdbDebugOptions.DEBUG) {
+			GdbDebugOptions.trace(fStatistics.toString() + '\n');
+		}
+
 		super.shutdown(requestMonitor);
 	}
 
@@ -531,362 +546,162 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 		return 1;
 	}
 
-	///////////////////////////////////////////////////////////////////////////
-	// SortedLinkedlist
-	///////////////////////////////////////////////////////////////////////////
-
-	// This class is really the equivalent of a C struct (old habits die hard...)
-	// For simplicity, everything is public.
-	private static class MemoryBlock {
-		public IAddress fAddress;
-		public long fLengthInAddressableUnits;
-		public long fLengthInOctets;
-		public MemoryByte[] fBlock;
-
-		public MemoryBlock(IAddress address, long lengthInOctets, long lengthInAddressableUnits, MemoryByte[] block) {
-			// A memory block is expected to be populated with the contents of a defined range of addresses
-			// therefore the number of octets shall be divisible by the number of addresses
-			assert (lengthInOctets % lengthInAddressableUnits == 0);
-			fAddress = address;
-			fLengthInAddressableUnits = lengthInAddressableUnits;
-			fLengthInOctets = lengthInOctets;
-			fBlock = block;
-		}
+	/**
+	 * The number of addressable units of a page of the memory caches, a power of two.
+	 *
+	 * @since 7.2
+	 */
+	protected int getMemoryCachePageSize() {
+		int pageSize = Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_MEMORY_CACHE_PAGE_SIZE,
+				IGdbDebugPreferenceConstants.MEMORY_CACHE_PAGE_SIZE_DEFAULT, null);
+		return pageSize > 0 ? Integer.highestOneBit(pageSize)
+				: IGdbDebugPreferenceConstants.MEMORY_CACHE_PAGE_SIZE_DEFAULT;
 	}
 
-	// Address-ordered data structure to cache the memory blocks.
-	// Contiguous blocks are merged if possible.
-	@SuppressWarnings("serial")
-	private static class SortedMemoryBlockList extends LinkedList<MemoryBlock> {
-
-		public SortedMemoryBlockList() {
-			super();
-		}
-
-		// Insert the block in the sorted linked list and merge contiguous
-		// blocks if necessary
-		@Override
-		public boolean add(MemoryBlock block) {
-
-			// If the list is empty, just store the block
-			if (isEmpty()) {
-				addFirst(block);
-				return true;
-			}
-
-			// Insert the block at the correct location and then
-			// merge the blocks if possible
-			ListIterator<MemoryBlock> it = listIterator();
-			while (it.hasNext()) {
-				int index = it.nextIndex();
-				MemoryBlock item = it.next();
-				if (block.fAddress.compareTo(item.fAddress) < 0) {
-					add(index, block);
-					compact(index);
-					return true;
-				}
-			}
-
-			// Put at the end of the list and merge if necessary
-			addLast(block);
-			compact(size() - 1);
-			return true;
-		}
-
-		// Merge this block with its contiguous neighbors (if any)
-		// Note: Merge is not performed if resulting block size would exceed MAXINT
-		private void compact(int index) {
-
-			MemoryBlock newBlock = get(index);
-
-			// Case where the block is to be merged with the previous block
-			if (index > 0) {
-				MemoryBlock prevBlock = get(index - 1);
-				IAddress endOfPreviousBlock = prevBlock.fAddress.add(prevBlock.fLengthInAddressableUnits);
-				if (endOfPreviousBlock.distanceTo(newBlock.fAddress).longValue() == 0) {
-					long newLengthInOctets = prevBlock.fLengthInOctets + newBlock.fLengthInOctets;
-					long newLengthInAddressableUnits = prevBlock.fLengthInAddressableUnits
-							+ newBlock.fLengthInAddressableUnits;
-					if (newLengthInOctets <= Integer.MAX_VALUE) {
-						MemoryByte[] block = new MemoryByte[(int) newLengthInOctets];
-						System.arraycopy(prevBlock.fBlock, 0, block, 0, (int) prevBlock.fLengthInOctets);
-						System.arraycopy(newBlock.fBlock, 0, block, (int) prevBlock.fLengthInOctets,
-								(int) newBlock.fLengthInOctets);
-						newBlock = new MemoryBlock(prevBlock.fAddress, newLengthInOctets, newLengthInAddressableUnits,
-								block);
-						remove(index);
-						index -= 1;
-						set(index, newBlock);
-					}
-				}
-			}
+	/**
+	 * The number of pages the memory caches read ahead of a request that continues
+	 * the previous one. Zero disables the read-ahead.
+	 *
+	 * @since 7.2
+	 */
+	protected int getMemoryCacheReadAheadPages() {
+		return Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_MEMORY_CACHE_READ_AHEAD,
+				IGdbDebugPreferenceConstants.MEMORY_CACHE_READ_AHEAD_DEFAULT, null);
+	}
 
-			// Case where the block is to be merged with the following block
-			int lastIndex = size() - 1;
-			if (index < lastIndex) {
-				MemoryBlock nextBlock = get(index + 1);
-				IAddress endOfNewBlock = newBlock.fAddress.add(newBlock.fLengthInAddressableUnits);
-				if (endOfNewBlock.distanceTo(nextBlock.fAddress).longValue() == 0) {
-					long newLength = newBlock.fLengthInOctets + nextBlock.fLengthInOctets;
-					long newAddressesLength = newBlock.fLengthInAddressableUnits + nextBlock.fLengthInAddressableUnits;
-					if (newLength <= Integer.MAX_VALUE) {
-						MemoryByte[] block = new MemoryByte[(int) newLength];
-						System.arraycopy(newBlock.fBlock, 0, block, 0, (int) newBlock.fLengthInOctets);
-						System.arraycopy(nextBlock.fBlock, 0, block, (int) newBlock.fLengthInOctets,
-								(int) nextBlock.fLengthInOctets);
-						newBlock = new MemoryBlock(newBlock.fAddress, newLength, newAddressesLength, block);
-						set(index, newBlock);
-						remove(index + 1);
-					}
-				}
-			}
-		}
+	/**
+	 * Returns the hit and miss statistics of the memory caches of this service.
+	 *
+	 * @since 7.2
+	 */
+	public MIMemoryCacheStatistics getMemoryCacheStatistics() {
+		return fStatistics;
 	}
 
 	///////////////////////////////////////////////////////////////////////////
 	// MIMemoryCache
 	///////////////////////////////////////////////////////////////////////////
 
-	/** @since 4.2 */
+	/**
+	 * The memory cache of a memory context.
+	 * <p>
+	 * The cached memory is kept in pages (see {@link MemoryPageTable}). The missing
+	 * parts of a request are extended to whole pages and the ones that are close to
+	 * each other are read with a single command. When a request continues the
+	 * previous one, e.g. while scrolling a memory rendering, the next pages in the
+	 * scrolling direction are read along with it.
+	 *
+	 * @since 4.2
+	 */
 	protected class MIMemoryCache {
-		// The memory cache data structure
-		private SortedMemoryBlockList fMemoryBlockList;
+		// The memory cache data structure, created for the addressable size of the requests
+		private MemoryPageTable fPageTable;
+
+		// The previous request, to detect sequential scrolling
+		private boolean fHasLastRequest;
+		private long fLastRequestStart;
+		private long fLastRequestEnd;
 
 		public MIMemoryCache() {
-			// Create the memory block cache
-			fMemoryBlockList = new SortedMemoryBlockList();
 		}
 
 		public void reset() {
 			// Clear the memory cache
-			fMemoryBlockList.clear();
+			if (fPageTable != null) {
+				fPageTable.clear();
+			}
+			fHasLastRequest = false;
 		}
 
-		/**
-		 *  This function walks the address-sorted memory block list to identify
-		 *  the 'missing' blocks (i.e. the holes) that need to be fetched on the target.
-		 *
-		 *  The idea is fairly simple but an illustration could perhaps help.
-		 *  Assume the cache holds a number of cached memory blocks with gaps i.e.
-		 *  there is un-cached memory areas between blocks A, B and C:
-		 *
-		 *        +---------+      +---------+      +---------+
-		 *        +    A    +      +    B    +      +    C    +
-		 *        +---------+      +---------+      +---------+
-		 *        :         :      :         :      :         :
-		 *   [a]  :         :  [b] :         :  [c] :         :  [d]
-		 *        :         :      :         :      :         :
-		 *   [e---+--]      :  [f--+---------+--]   :         :
-		 *   [g---+---------+------+---------+------+---------+----]
-		 *        :         :      :         :      :         :
-		 *        :   [h]   :      :   [i----+--]   :         :
-		 *
-		 *
-		 *  We have the following cases to consider.The requested block [a-i] either:
-		 *
-		 *  [1] Fits entirely before A, in one of the gaps, or after C
-		 *      with no overlap and no contiguousness (e.g. [a], [b], [c] and [d])
-		 *      -> Add the requested block to the list of blocks to fetch
-		 *
-		 *  [2] Starts before an existing block but overlaps part of it, possibly
-		 *      spilling in the gap following the cached block (e.g. [e], [f] and [g])
-		 *      -> Determine the length of the missing part (< count)
-		 *      -> Add a request to fill the gap before the existing block
-		 *      -> Update the requested block for the next iteration:
-		 *         - Start address to point just after the end of the cached block
-		 *         - Count reduced by cached block length (possibly becoming negative, e.g. [e])
-		 *      At this point, the updated requested block starts just beyond the cached block
-		 *      for the next iteration.
-		 *
-		 *  [3] Starts at or into an existing block and overlaps part of it ([h] and [i])
-		 *      -> Update the requested block for the next iteration:
-		 *         - Start address to point just after the end of the cached block
-		 *         - Count reduced by length to end of cached block (possibly becoming negative, e.g. [h])
-		 *      At this point, the updated requested block starts just beyond the cached block
-		 *      for the next iteration.
-		 *
-		 *  We iterate over the cached blocks list until there is no entry left or until
-		 *  the remaining requested block count is <= 0, meaning the result list contains
-		 *  only the sub-blocks needed to fill the gap(s), if any.
-		 *
-		 *  (As is often the case, it takes much more typing to explain it than to just do it :-)
-		 *
-		 *  What is missing is a parameter that indicates the minimal block size that is worth fetching.
-		 *  This is target-specific and straight in the realm of the coalescing function...
-		 *
-		 * @param reqBlockStart The address of the requested block
-		 * @param count Its length
-		 * @return A list of the sub-blocks to fetch in order to fill enough gaps in the memory cache
-		 * to service the request
-		 */
-		private List<MemoryBlock> getListOfMissingBlocks(IAddress reqBlockStart, int wordCount, int wordSize) {
-			int octetCount = wordCount * wordSize;
-
-			LinkedList<MemoryBlock> list = new LinkedList<>();
-			ListIterator<MemoryBlock> it = fMemoryBlockList.listIterator();
-
-			// Look for holes in the list of memory blocks
-			while (it.hasNext() && octetCount > 0) {
-				MemoryBlock cachedBlock = it.next();
-				IAddress cachedBlockStart = cachedBlock.fAddress;
-				IAddress cachedBlockEnd = cachedBlock.fAddress.add(cachedBlock.fLengthInAddressableUnits);
-
-				// Case where we miss a block before the cached block
-				if (reqBlockStart.distanceTo(cachedBlockStart).longValue() >= 0) {
-					int lengthInOctets = (int) Math
-							.min(reqBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize, octetCount);
-					// If both blocks start at the same location, no need to create a new cached block
-					if (lengthInOctets > 0) {
-						int lengthInAddressableUnits = lengthInOctets / wordSize;
-						MemoryBlock newBlock = new MemoryBlock(reqBlockStart, lengthInOctets, lengthInAddressableUnits,
-								new MemoryByte[0]);
-						list.add(newBlock);
-					}
-					// Adjust request block start and length for the next iteration
-					reqBlockStart = cachedBlockEnd;
-					octetCount -= lengthInOctets + cachedBlock.fLengthInOctets;
-				}
-
-				// Case where the requested block starts somewhere in the cached block
-				else if (cachedBlockStart.distanceTo(reqBlockStart).longValue() > 0
-						&& reqBlockStart.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					// Start of the requested block already in cache
-					// Adjust request block start and length for the next iteration
-					octetCount -= reqBlockStart.distanceTo(cachedBlockEnd).longValue() * wordSize;
-					reqBlockStart = cachedBlockEnd;
-				}
+		private MemoryPageTable getPageTable(int wordSize) {
+			if (fPageTable == null || fPageTable.getWordSize() != wordSize) {
+				fPageTable = new MemoryPageTable(fPageSize, wordSize);
 			}
+			return fPageTable;
+		}
 
-			// Case where we miss a block at the end of the cache
-			if (octetCount > 0) {
-				int addressesLength = octetCount / wordSize;
-				MemoryBlock newBlock = new MemoryBlock(reqBlockStart, octetCount, addressesLength, new MemoryByte[0]);
-				list.add(newBlock);
+		/**
+		 * Drops the given addressable units from the cache.
+		 */
+		private void invalidate(long start, long count) {
+			if (fPageTable != null) {
+				fPageTable.invalidate(start, count);
 			}
-
-			return list;
 		}
 
 		/**
-		 *  This function walks the address-sorted memory block list to get the
-		 *  cached memory bytes (possibly from multiple contiguous blocks).
-		 *  This function is called *after* the missing blocks have been read from
-		 *  the back end i.e. the requested memory is all cached.
-		 *
-		 *  Again, this is fairly simple. As we loop over the address-ordered list,
-		 *  There are really only 2 cases:
-		 *
-		 *  [1] The requested block fits entirely in the cached block ([a] or [b])
-		 *  [2] The requested block starts in a cached block and ends in the
-		 *      following (contiguous) one ([c]) in which case it is treated
-		 *      as 2 contiguous requests ([c'] and [c"])
-		 *
-		 *       +--------------+--------------+
-		 *       +       A      +      B       +
-		 *       +--------------+--------------+
-		 *       :  [a----]     :   [b-----]   :
-		 *       :              :              :
-		 *       :       [c-----+------]       :
-		 *       :       [c'---]+[c"---]       :
-		 *
-		 * @param reqBlockStart The address of the requested block
-		 * @param count Its length
-		 * @return The cached memory content
+		 * Returns the number of pages to read ahead of the given request: positive when it
+		 * continues the previous request towards higher addresses, negative when towards
+		 * lower addresses, and zero otherwise.
 		 */
-		private MemoryByte[] getMemoryBlockFromCache(IAddress reqBlockStart, int wordCount, int wordSize) {
-			int count = wordCount * wordSize;
-
-			IAddress reqBlockEnd = reqBlockStart.add(wordCount);
-			MemoryByte[] resultBlock = new MemoryByte[count];
-			ListIterator<MemoryBlock> iter = fMemoryBlockList.listIterator();
-
-			while (iter.hasNext()) {
-				MemoryBlock cachedBlock = iter.next();
-				IAddress cachedBlockStart = cachedBlock.fAddress;
-				IAddress cachedBlockEnd = cachedBlock.fAddress.add(cachedBlock.fLengthInAddressableUnits);
-
-				// Case where the cached block overlaps completely the requested memory block
-				if (cachedBlockStart.distanceTo(reqBlockStart).longValue() >= 0
-						&& reqBlockEnd.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					int pos = (int) cachedBlockStart.distanceTo(reqBlockStart).longValue() * wordSize;
-					System.arraycopy(cachedBlock.fBlock, pos, resultBlock, 0, count);
-				}
-
-				// Case where the beginning of the cached block is within the requested memory block
-				else if (reqBlockStart.distanceTo(cachedBlockStart).longValue() >= 0
-						&& cachedBlockStart.distanceTo(reqBlockEnd).longValue() > 0) {
-					int pos = (int) reqBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize;
-					int length = (int) Math.min(cachedBlock.fLengthInOctets, count - pos);
-					System.arraycopy(cachedBlock.fBlock, 0, resultBlock, pos, length);
-				}
-
-				// Case where the end of the cached block is within the requested memory block
-				else if (cachedBlockStart.distanceTo(reqBlockStart).longValue() >= 0
-						&& reqBlockStart.distanceTo(cachedBlockEnd).longValue() > 0) {
-					int pos = (int) cachedBlockStart.distanceTo(reqBlockStart).longValue() * wordSize;
-					int length = (int) Math.min(cachedBlock.fLengthInOctets - pos, count);
-					System.arraycopy(cachedBlock.fBlock, pos, resultBlock, 0, length);
+		private int getReadAheadPages(long start, int wordCount) {
+			long end = start + wordCount;
+			int pages = 0;
+			if (fHasLastRequest && fReadAheadPages > 0) {
+				if (Long.compareUnsigned(start, fLastRequestStart) > 0
+						&& Long.compareUnsigned(start, fLastRequestEnd) <= 0) {
+					pages = fReadAheadPages;
+				} else if (Long.compareUnsigned(end, fLastRequestEnd) < 0
+						&& Long.compareUnsigned(end, fLastRequestStart) >= 0) {
+					pages = -fReadAheadPages;
 				}
 			}
-			return resultBlock;
+			fHasLastRequest = true;
+			fLastRequestStart = start;
+			fLastRequestEnd = end;
+			return pages;
 		}
 
 		/**
-		 *  This function walks the address-sorted memory block list and updates
-		 *  the content with the actual memory just read from the target.
+		 * Stores a block read from the target. The units of the request are stored even
+		 * if they could not be read, so that they are not read again; the units read
+		 * along with them only if they are readable.
 		 *
-		 * @param modBlockStart
-		 * @param wordCount - Number of addressable units
-		 * @param modBlock
-		 * @param wordSize - Number of octets per addressable unit
+		 * @param read the range that was read
+		 * @param block the content of the range
+		 * @param requested the ranges of the request that were missing
 		 */
-		private void updateMemoryCache(IAddress modBlockStart, int wordCount, MemoryByte[] modBlock, int wordSize) {
-			IAddress modBlockEnd = modBlockStart.add(wordCount);
-			ListIterator<MemoryBlock> iter = fMemoryBlockList.listIterator();
-			int count = wordCount * wordSize;
-
-			while (iter.hasNext()) {
-				MemoryBlock cachedBlock = iter.next();
-				IAddress cachedBlockStart = cachedBlock.fAddress;
-				IAddress cachedBlockEnd = cachedBlock.fAddress.add(cachedBlock.fLengthInAddressableUnits);
-
-				// For now, we only bother to update bytes already cached.
-				// Note: In a better implementation (v1.1), we would augment
-				// the cache with the missing memory blocks since we went
-				// through the pains of reading them in the first place.
-				// (this is left as an exercise to the reader :-)
-
-				// Case where the modified block is completely included in the cached block
-				if (cachedBlockStart.distanceTo(modBlockStart).longValue() >= 0
-						&& modBlockEnd.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					int pos = (int) cachedBlockStart.distanceTo(modBlockStart).longValue() * wordSize;
-					System.arraycopy(modBlock, 0, cachedBlock.fBlock, pos, count);
+		private void cacheBlock(MemoryPageTable pageTable, Range read, MemoryByte[] block, List<Range> requested) {
+			int wordSize = pageTable.getWordSize();
+			int count = Math.min(read.length, block.length / wordSize);
+			int runStart = -1;
+			for (int i = 0; i <= count; i++) {
+				if (i < count && isReadable(block, i, wordSize)) {
+					if (runStart < 0) {
+						runStart = i;
+					}
+				} else if (runStart >= 0) {
+					pageTable.write(read.start + runStart, i - runStart, block, runStart);
+					runStart = -1;
 				}
-
-				// Case where the cached block is completely included in the modified block
-				else if (modBlockStart.distanceTo(cachedBlockStart).longValue() >= 0
-						&& cachedBlockEnd.distanceTo(modBlockEnd).longValue() >= 0) {
-					int pos = (int) modBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize;
-					System.arraycopy(modBlock, pos, cachedBlock.fBlock, 0, (int) cachedBlock.fLengthInOctets);
+			}
+			for (Range range : requested) {
+				long from = Math.max(0, range.start - read.start);
+				long to = Math.min(count, range.end() - read.start);
+				if (from < to && isFilled(block, (int) from, (int) to, wordSize)) {
+					pageTable.write(read.start + from, (int) (to - from), block, (int) from);
 				}
+			}
+		}
 
-				// Case where the beginning of the modified block is within the cached block
-				else if (cachedBlockStart.distanceTo(modBlockStart).longValue() >= 0
-						&& modBlockStart.distanceTo(cachedBlockEnd).longValue() > 0) {
-					int pos = (int) cachedBlockStart.distanceTo(modBlockStart).longValue() * wordSize;
-					int length = (int) modBlockStart.distanceTo(cachedBlockEnd).longValue() * wordSize;
-					System.arraycopy(modBlock, 0, cachedBlock.fBlock, pos, length);
+		private boolean isReadable(MemoryByte[] block, int unit, int wordSize) {
+			for (int i = unit * wordSize; i < (unit + 1) * wordSize; i++) {
+				if (block[i] == null || !block[i].isReadable()) {
+					return false;
 				}
+			}
+			return true;
+		}
 
-				// Case where the end of the modified block is within the cached block
-				else if (cachedBlockStart.distanceTo(modBlockEnd).longValue() > 0
-						&& modBlockEnd.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					int pos = (int) modBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize;
-					int length = (int) cachedBlockStart.distanceTo(modBlockEnd).longValue() * wordSize;
-					System.arraycopy(modBlock, pos, cachedBlock.fBlock, 0, length);
+		private boolean isFilled(MemoryByte[] block, int fromUnit, int toUnit, int wordSize) {
+			for (int i = fromUnit * wordSize; i < toUnit * wordSize; i++) {
+				if (block[i] == null) {
+					return false;
 				}
 			}
-			return;
+			return true;
 		}
 
 		/**
@@ -898,36 +713,58 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 		 */
 		public void getMemory(IMemoryDMContext memoryDMC, final IAddress address, final int wordSize,
 				final int wordCount, final DataRequestMonitor<MemoryByte[]> drm) {
-			// Determine the number of read requests to issue
-			List<MemoryBlock> missingBlocks = getListOfMissingBlocks(address, wordCount, wordSize);
-			int numberOfRequests = missingBlocks.size();
+			final MemoryPageTable pageTable = getPageTable(wordSize);
+			final long start = address.getValue().longValue();
+			final MemoryByte[] result = new MemoryByte[wordCount * wordSize];
+
+			// Copy what is cached and determine the missing ranges
+			final List<Range> missing = pageTable.read(start, wordCount, result);
+			int missingCount = 0;
+			for (Range range : missing) {
+				missingCount += range.length;
+			}
+			fStatistics.requestDone(wordCount, missingCount);
+			int readAheadPages = getReadAheadPages(start, wordCount);
+			if (missing.isEmpty()) {
+				drm.setData(result);
+				drm.done();
+				return;
+			}
 
-			// A read request will be issued for each block needed
+			// Extend the missing ranges to whole pages, add the read-ahead and merge
+			// the ranges that are close to each other
+			List<Range> reads = pageTable.planReads(missing, true, readAheadPages, fPageSize,
+					address.getMaxOffset().longValue());
+
+			// A read request will be issued for each range
 			// so we need to keep track of the count
 			final CountingRequestMonitor countingRM = new CountingRequestMonitor(getExecutor(), drm) {
 				@Override
 				protected void handleSuccess() {
-					// We received everything so read the result from the memory cache
-					drm.setData(getMemoryBlockFromCache(address, wordCount, wordSize));
+					drm.setData(result);
 					drm.done();
 				}
 			};
-			countingRM.setDoneCount(numberOfRequests);
+			countingRM.setDoneCount(reads.size());
 
 			// Issue the read requests
-			for (int i = 0; i < numberOfRequests; i++) {
-				MemoryBlock block = missingBlocks.get(i);
-				final IAddress startAddress = block.fAddress;
-				final int length = (int) block.fLengthInAddressableUnits;
-				readMemoryBlock(memoryDMC, startAddress, 0, wordSize, length,
-						new DataRequestMonitor<MemoryByte[]>(getSession().getExecutor(), drm) {
+			for (final Range read : reads) {
+				fStatistics.readSent(read.length);
+				readMemoryBlock(memoryDMC, address.add(read.start - start), 0, wordSize, read.length,
+						new DataRequestMonitor<MemoryByte[]>(getExecutor(), countingRM) {
 							@Override
 							protected void handleSuccess() {
 								MemoryByte[] block = getData();
-								int lenghtInaddressableUnits = block.length / wordSize;
-								MemoryBlock memoryBlock = new MemoryBlock(startAddress, block.length,
-										lenghtInaddressableUnits, block);
-								fMemoryBlockList.add(memoryBlock);
+								cacheBlock(pageTable, read, block, missing);
+
+								// Copy the part of the request that was read
+								long readCount = Math.min(read.length, block.length / wordSize);
+								long from = Math.max(0, read.start - start);
+								long to = Math.min(wordCount, read.start + readCount - start);
+								if (from < to) {
+									System.arraycopy(block, (int) (start + from - read.start) * wordSize, result,
+											(int) from * wordSize, (int) (to - from) * wordSize);
+								}
 								countingRM.done();
 							}
 						});
@@ -952,13 +789,18 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 							// Clear the command cache (otherwise we can't guarantee
 							// that the subsequent memory read will be correct)
 							fCommandCache.reset();
+							// Drop the written units from the memory cache, so that they are
+							// read from the target again if the re-read below fails
+							invalidate(address.add(offset).getValue().longValue(), wordCount);
+							fStatistics.invalidated();
 
 							// Re-read the modified memory block to asynchronously update of the memory cache
 							readMemoryBlock(memoryDMC, address, offset, wordSize, wordCount,
 									new DataRequestMonitor<MemoryByte[]>(getExecutor(), rm) {
 										@Override
 										protected void handleSuccess() {
-											updateMemoryCache(address.add(offset), wordCount, getData(), wordSize);
+											getPageTable(wordSize).write(address.add(offset).getValue().longValue(),
+													wordCount, getData());
 											// Send the MemoryChangedEvent
 											IAddress[] addresses = new IAddress[wordCount];
 											for (int i = 0; i < wordCount; i++) {
@@ -986,10 +828,12 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 				final int wordSize, final int wordCount, final boolean sendMemoryEvent, final RequestMonitor rm) {
 			// Check if we already cache part of this memory area (which means it
 			// is used by a memory service client that will have to be updated)
-			List<MemoryBlock> list = getListOfMissingBlocks(address, wordCount, wordSize);
+			final MemoryPageTable pageTable = getPageTable(wordSize);
+			final long start = address.add(offset).getValue().longValue();
+			final MemoryByte[] oldBlock = new MemoryByte[wordCount * wordSize];
 			int sizeToRead = 0;
-			for (MemoryBlock block : list) {
-				sizeToRead += block.fLengthInAddressableUnits;
+			for (Range range : pageTable.read(start, wordCount, oldBlock)) {
+				sizeToRead += range.length;
 			}
 
 			// If none of the requested memory is in cache, just get out
@@ -1004,17 +848,17 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 					new DataRequestMonitor<MemoryByte[]>(getExecutor(), rm) {
 						@Override
 						protected void handleSuccess() {
-							MemoryByte[] oldBlock = getMemoryBlockFromCache(address, wordCount, wordSize);
 							MemoryByte[] newBlock = getData();
 							boolean blocksDiffer = false;
 							for (int i = 0; i < oldBlock.length; i++) {
-								if (oldBlock[i].getValue() != newBlock[i].getValue()) {
+								// Only the cached part is shown by clients
+								if (oldBlock[i] != null && oldBlock[i].getValue() != newBlock[i].getValue()) {
 									blocksDiffer = true;
 									break;
 								}
 							}
 							if (blocksDiffer) {
-								updateMemoryCache(address.add(offset), wordCount, newBlock, wordSize);
+								pageTable.write(start, wordCount, newBlock);
 								if (sendMemoryEvent) {
 									// Send the MemoryChangedEvent
 									final IAddress[] addresses = new IAddress[wordCount];
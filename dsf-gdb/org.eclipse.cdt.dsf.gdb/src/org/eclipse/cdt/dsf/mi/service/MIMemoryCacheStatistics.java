@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+/**
+ * Hit and miss statistics of the memory caches of an {@link MIMemory} service.
+ * <p>
+ * A request is a hit if all of its addressable units are served from the cache,
+ * and a miss otherwise. Reads are the commands sent to GDB to fill the cache; a
+ * single read may serve several missing ranges of a request and its read-ahead.
+ *
+ * @since 7.2
+ */
+public class MIMemoryCacheStatistics {
+
+	private long fHitCount;
+	private long fMissCount;
+	private long fHitUnitCount;
+	private long fMissUnitCount;
+	private long fReadCount;
+	private long fReadUnitCount;
+	private long fInvalidationCount;
+
+	synchronized void requestDone(int unitCount, int missingUnitCount) {
+		if (missingUnitCount == 0) {
+			fHitCount++;
+		} else {
+			fMissCount++;
+		}
+		fHitUnitCount += unitCount - missingUnitCount;
+		fMissUnitCount += missingUnitCount;
+	}
+
+	synchronized void readSent(int unitCount) {
+		fReadCount++;
+		fReadUnitCount += unitCount;
+	}
+
+	synchronized void invalidated() {
+		fInvalidationCount++;
+	}
+
+	/** The number of requests that were served from the cache only. */
+	public synchronized long getHitCount() {
+		return fHitCount;
+	}
+
+	/** The number of requests that needed to read memory from the target. */
+	public synchronized long getMissCount() {
+		return fMissCount;
+	}
+
+	/** The number of requested addressable units that were found in the cache. */
+	public synchronized long getHitUnitCount() {
+		return fHitUnitCount;
+	}
+
+	/** The number of requested addressable units that were not found in the cache. */
+	public synchronized long getMissUnitCount() {
+		return fMissUnitCount;
+	}
+
+	/** The number of read commands sent to GDB. */
+	public synchronized long getReadCount() {
+		return fReadCount;
+	}
+
+	/** The number of addressable units read from the target, including the read-ahead. */
+	public synchronized long getReadUnitCount() {
+		return fReadUnitCount;
+	}
+
+	/** The number of selective invalidations of cached memory. */
+	public synchronized long getInvalidationCount() {
+		return fInvalidationCount;
+	}
+
+	/**
+	 * Discards all statistics collected so far.
+	 */
+	public synchronized void reset() {
+		fHitCount = 0;
+		fMissCount = 0;
+		fHitUnitCount = 0;
+		fMissUnitCount = 0;
+		fReadCount = 0;
+		fReadUnitCount = 0;
+		fInvalidationCount = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format(
+				"Memory cache statistics: hits=%d misses=%d units(hit/miss)=%d/%d reads=%d units read=%d invalidations=%d", //$NON-NLS-1$
+				fHitCount, fMissCount, fHitUnitCount, fMissUnitCount, fReadCount, fReadUnitCount, fInvalidationCount);
+	}
+}
@@ -45,6 +45,7 @@ import org.eclipse.cdt.dsf.debug.service.command.BufferedCommandControl;
 import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.gdb.internal.service.CommandCaches;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataListRegisterNamesInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataListRegisterValuesInfo;
@@ -294,6 +295,7 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 		// See bug 280461
 		fRegisterValueCache = new CommandCache(getSession(), bufferedCommandControl);
 		fRegisterValueCache.setContextAvailable(commandControl.getContext(), true);
+		CommandCaches.setBounds(fRegisterValueCache);
 
 		// This cache is not affected by events so does not need the bufferedCommandControl
 		fRegisterNameCache = new CommandCache(getSession(), commandControl);
@@ -319,6 +321,8 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 	public void shutdown(RequestMonitor requestMonitor) {
 		unregister();
 		getSession().removeServiceEventListener(this);
+		CommandCaches.traceStatistics("Register values", fRegisterValueCache); //$NON-NLS-1$
+		CommandCaches.traceStatistics("Register names", fRegisterNameCache); //$NON-NLS-1$
 		super.shutdown(requestMonitor);
 	}
 
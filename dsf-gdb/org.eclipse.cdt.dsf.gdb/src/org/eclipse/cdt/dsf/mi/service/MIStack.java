@@ -47,6 +47,7 @@ import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
 import org.eclipse.cdt.dsf.debug.service.command.ICommand;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.gdb.internal.service.CommandCaches;
 import org.eclipse.cdt.dsf.gdb.service.IGDBTraceControl.ITraceRecordSelectedChangedDMEvent;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
 import org.eclipse.cdt.dsf.mi.service.command.events.IMIDMEvent;
@@ -465,6 +466,7 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 		// See bug 280461
 		fMICommandCache = new CommandCache(getSession(), bufferedCommandControl);
 		fMICommandCache.setContextAvailable(commandControl.getContext(), true);
+		CommandCaches.setBounds(fMICommandCache);
 		fRunControl = getServicesTracker().getService(IRunControl.class);
 
 		fCommandFactory = getServicesTracker().getService(IMICommandControl.class).getCommandFactory();
@@ -478,6 +480,7 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 	public void shutdown(RequestMonitor rm) {
 		unregister();
 		getSession().removeServiceEventListener(this);
+		CommandCaches.traceStatistics("Stack", fMICommandCache); //$NON-NLS-1$
 		fMICommandCache.reset();
 		super.shutdown(rm);
 	}
@@ -26,12 +26,15 @@ package org.eclipse.cdt.dsf.mi.service;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
@@ -59,6 +62,7 @@ import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
 import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
 import org.eclipse.cdt.dsf.gdb.GDBTypeParser;
 import org.eclipse.cdt.dsf.gdb.GDBTypeParser.GDBType;
+import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.service.IGDBTraceControl.ITraceRecordSelectedChangedDMEvent;
 import org.eclipse.cdt.dsf.mi.service.MIExpressions.ExpressionInfo;
@@ -95,6 +99,7 @@ import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfServicesTracker;
 import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 
 /**
@@ -169,8 +174,9 @@ import org.eclipse.core.runtime.Status;
  * the array address in multiple formats.
  *
  * - we keep an LRU (Least Recently Used) structure of all variable objects.  This LRU
- * will be bounded to a maximum allowed number of variable objects.  Whenever we get an
- * object from the LRU cleanup will be done if the maximum size has been reached.
+ * will be bounded to a maximum allowed memory cost of its variable objects, estimated
+ * from their values and children.  Whenever we get an object from the LRU cleanup will
+ * be done if the maximum cost has been reached.
  * The LRU will not delete a parent varObject until all its children are deleted; this is
  * achieved by touching each of the parents of an object whenever that object is put or get
  *
@@ -321,6 +327,51 @@ public class MIVariableManager implements ICommandControl {
 		}
 	}
 
+	/**
+	 * Flattens the children of a variable object, some of which may be replaced by
+	 * the children of a fake child (public, protected, private).
+	 */
+	private static ExpressionInfo[] flatten(ExpressionInfo[][] children) {
+		int requiredSize = 0;
+
+		for (ExpressionInfo[] subArray : children) {
+			requiredSize += subArray.length;
+		}
+
+		ExpressionInfo[] plainChildren = new ExpressionInfo[requiredSize];
+
+		int i = 0;
+		for (ExpressionInfo[] subArray : children) {
+			System.arraycopy(subArray, 0, plainChildren, i, subArray.length);
+			i += subArray.length;
+		}
+		return plainChildren;
+	}
+
+	/**
+	 * Returns the children with an index in [from, to), as far as they exist.
+	 */
+	private static ExpressionInfo[] slice(ExpressionInfo[] children, int from, int to) {
+		int start = Math.min(Math.max(0, from), children.length);
+		int end = Math.min(Math.max(start, to), children.length);
+		return Arrays.copyOfRange(children, start, end);
+	}
+
+	// The estimated memory cost of a variable object without its strings and
+	// children, including the variable object in gdb, in bytes
+	private static final int VARIABLE_OBJECT_COST = 512;
+
+	// The estimated memory cost of the information about a child, in bytes
+	private static final int CHILD_COST = 96;
+
+	// The largest range of children, beyond the fetched children, that gdb is asked
+	// to update, when several windows of children are visible
+	private static final int MAX_UPDATE_RANGE_WINDOW = 1000;
+
+	private static int stringCost(String s) {
+		return s == null ? 0 : 2 * s.length();
+	}
+
 	/**
 	 * Utility class to track the progress and information of MI variable objects
 	 */
@@ -399,6 +450,15 @@ public class MIVariableManager implements ICommandControl {
 
 		private boolean fFetchingChildren = false;
 
+		// Whether the update range of this object in gdb is a window of children beyond the
+		// fetched children, rather than the fetched children, and the bounds of that window
+		private boolean fUpdateRangeIsWindow = false;
+		private int fUpdateRangeFrom = 0;
+		private int fUpdateRangeTo = 0;
+
+		// The memory cost of this object, as last accounted for by the LRU
+		private int fAccountedMemoryCost = 0;
+
 		/**
 		 * In case of base class variables that are accessed in a derived class
 		 * we cannot trust var-info-path-expression because of a bug in gdb.
@@ -565,6 +625,26 @@ public class MIVariableManager implements ICommandControl {
 			return fChildren;
 		}
 
+		/**
+		 * Returns an estimate of the memory used by this variable object and by
+		 * the variable object gdb keeps for it, in bytes.
+		 *
+		 * @since 7.2
+		 */
+		protected int getMemoryCost() {
+			int cost = VARIABLE_OBJECT_COST + stringCost(fGdbName) + stringCost(fType);
+			if (fExprInfo != null) {
+				cost += stringCost(fExprInfo.getFullExpr()) + stringCost(fExprInfo.getRelExpr());
+			}
+			for (String value : fValueMap.values()) {
+				cost += stringCost(value);
+			}
+			if (fChildren != null) {
+				cost += fChildren.length * CHILD_COST;
+			}
+			return cost;
+		}
+
 		public boolean isArray() {
 			return (getGDBType() == null) ? false : getGDBType().getType() == GDBType.ARRAY;
 		}
@@ -620,6 +700,8 @@ public class MIVariableManager implements ICommandControl {
 
 		public void setGdbName(String n) {
 			fGdbName = n;
+			// A new object in gdb has the default update range
+			fUpdateRangeIsWindow = false;
 		}
 
 		public void setCurrentFormat(String f) {
@@ -718,21 +800,7 @@ public class MIVariableManager implements ICommandControl {
 		 * @since 4.0
 		 */
 		protected void addChildren(ExpressionInfo[][] newChildren) {
-			int requiredSize = 0;
-
-			for (ExpressionInfo[] subArray : newChildren) {
-				requiredSize += subArray.length;
-			}
-
-			ExpressionInfo[] plainChildren = new ExpressionInfo[requiredSize];
-
-			int i = 0;
-			for (ExpressionInfo[] subArray : newChildren) {
-				System.arraycopy(subArray, 0, plainChildren, i, subArray.length);
-				i += subArray.length;
-			}
-
-			addChildren(plainChildren);
+			addChildren(flatten(newChildren));
 		}
 
 		/**
@@ -1347,6 +1415,123 @@ public class MIVariableManager implements ICommandControl {
 			}
 		}
 
+		/**
+		 * This method returns the children of the variable object passed as a
+		 * parameter with an index in [startIndex, endIndex).
+		 *
+		 * The children of arrays are created for the window only. For variable
+		 * objects that cannot be asked for all their children, a window that
+		 * starts beyond the children fetched so far is listed on its own, without
+		 * fetching the children before it. The children of such a window are not
+		 * stored in this variable object.
+		 *
+		 * @param exprDmc
+		 * @param startIndex
+		 *            The index of the first child
+		 * @param endIndex
+		 *            The index after the last child
+		 * @param rm
+		 *            The data request monitor that will hold the children
+		 *            returned, starting with the one at startIndex
+		 * @since 7.2
+		 */
+		protected void getChildren(final IExpressionDMContext exprDmc, final int startIndex, final int endIndex,
+				final DataRequestMonitor<ChildrenInfo> rm) {
+			ExpressionInfo[] children = getChildren();
+
+			if (isArray()) {
+				int to = Math.min(endIndex, getNumChildrenHint());
+				rm.setData(new ChildrenInfo(children != null ? slice(children, startIndex, to)
+						: createArrayChildren(exprDmc, startIndex, to), false));
+				rm.done();
+				return;
+			}
+
+			int numFetched = children == null ? 0 : children.length;
+			if (isSafeToAskForAllChildren() || startIndex <= numFetched) {
+				// The window continues the children fetched so far
+				final boolean wasWindow = fUpdateRangeIsWindow;
+				getChildren(exprDmc, endIndex, new DataRequestMonitor<ChildrenInfo>(fSession.getExecutor(), rm) {
+					@Override
+					protected void handleSuccess() {
+						ExpressionInfo[] allChildren = getData().getChildren();
+						rm.setData(new ChildrenInfo(slice(allChildren, startIndex, endIndex),
+								getData().hasMore() || allChildren.length > endIndex));
+						if (wasWindow) {
+							restoreUpdateRange(rm);
+						} else {
+							rm.done();
+						}
+					}
+				});
+				return;
+			}
+
+			if (!hasChildren()) {
+				rm.setData(new ChildrenInfo(new ExpressionInfo[0], false));
+				rm.done();
+				return;
+			}
+
+			final ICommandControlDMContext controlCtx = getRootToUpdate().getControlDMContext();
+			listChildren(exprDmc,
+					fCommandFactory.createMIVarListChildren(controlCtx, getGdbName(), startIndex, endIndex),
+					startIndex, new DataRequestMonitor<ChildrenInfo>(fSession.getExecutor(), rm) {
+						@Override
+						protected void handleSuccess() {
+							final ChildrenInfo window = getData();
+
+							// Make gdb update the children of the visible windows only. Updating
+							// all children up to the window would make gdb compute every one of
+							// them on each -var-update.
+							if (fUpdateRangeIsWindow
+									&& Math.max(fUpdateRangeTo, endIndex) - Math.min(fUpdateRangeFrom,
+											startIndex) <= MAX_UPDATE_RANGE_WINDOW) {
+								// Close enough to the previous windows, update them together
+								fUpdateRangeFrom = Math.min(fUpdateRangeFrom, startIndex);
+								fUpdateRangeTo = Math.max(fUpdateRangeTo, endIndex);
+							} else {
+								fUpdateRangeFrom = startIndex;
+								fUpdateRangeTo = endIndex;
+							}
+							fUpdateRangeIsWindow = true;
+							// Children listed before, that were outside the update range since,
+							// may have changed without gdb reporting it yet
+							markOutOfDate(getRootToUpdate());
+							fCommandControl.queueCommand(
+									fCommandFactory.createMIVarSetUpdateRange(controlCtx, getGdbName(),
+											fUpdateRangeFrom, fUpdateRangeTo),
+									new DataRequestMonitor<MIInfo>(fSession.getExecutor(), rm) {
+										@Override
+										protected void handleSuccess() {
+											rm.setData(window);
+											rm.done();
+										}
+									});
+						}
+					});
+		}
+
+		/**
+		 * Sets the update range back to the fetched children, after it was moved
+		 * to a window beyond them. While they were outside the update range, gdb
+		 * did not report the changes of these children, so the root is marked
+		 * out-of-date, and the next -var-update reports them.
+		 */
+		private void restoreUpdateRange(final RequestMonitor rm) {
+			markOutOfDate(getRootToUpdate());
+			if (!fUpdateRangeIsWindow) {
+				// The range was already restored while fetching more children
+				rm.done();
+				return;
+			}
+			fUpdateRangeIsWindow = false;
+			fCommandControl.queueCommand(
+					fCommandFactory.createMIVarSetUpdateRange(getRootToUpdate().getControlDMContext(), getGdbName(),
+							0, fExprInfo.getChildCountLimit()),
+					new DataRequestMonitor<MIInfo>(fSession.getExecutor(), rm));
+		}
+
 		/**
 		 * Fetch the out-standing children.
 		 *
@@ -1391,31 +1576,7 @@ public class MIVariableManager implements ICommandControl {
 			// never need.  Using -var-list-children will create a variable object for every child
 			// immediately, that is why we don't want to use it for arrays.
 			if (isArray()) {
-				ExpressionInfo[] childrenOfArray = new ExpressionInfo[getNumChildrenHint()];
-				String exprName = exprDmc.getExpression();
-
-				int castingIndex = 0;
-				// in case of casts, need to resolve that before dereferencing, to be safe
-				if (exprDmc instanceof ICastedExpressionDMContext) {
-					castingIndex = ((ICastedExpressionDMContext) exprDmc).getCastInfo().getArrayStartIndex();
-				}
-				if (exprDmc instanceof IIndexedPartitionDMContext) {
-					castingIndex = ((IIndexedPartitionDMContext) exprDmc).getIndex();
-				}
-				for (int i = 0; i < childrenOfArray.length; i++) {
-					String fullExpr = exprName + "[" + i + "]";//$NON-NLS-1$//$NON-NLS-2$
-
-					String relExpr;
-					if (exprDmc instanceof MIExpressionDMC) {
-						relExpr = ((MIExpressionDMC) exprDmc).getRelativeExpression();
-					} else {
-						// Unexpected, but avoid exception
-						relExpr = exprDmc.getExpression();
-					}
-					relExpr = relExpr + "[" + (castingIndex + i) + "]";//$NON-NLS-1$//$NON-NLS-2$
-
-					childrenOfArray[i] = new ExpressionInfo(fullExpr, relExpr, false, fExprInfo, i);
-				}
+				ExpressionInfo[] childrenOfArray = createArrayChildren(exprDmc, 0, getNumChildrenHint());
 
 				// First store these children, for the next time
 				setChildren(childrenOfArray);
@@ -1438,6 +1599,82 @@ public class MIVariableManager implements ICommandControl {
 					: fCommandFactory.createMIVarListChildren(getRootToUpdate().getControlDMContext(), getGdbName(),
 							from, to);
 
+			listChildren(exprDmc, varListChildren, from,
+					new DataRequestMonitor<ChildrenInfo>(fSession.getExecutor(), rm) {
+						@Override
+						protected void handleSuccess() {
+							// Store the children in our variable object cache
+							addChildren(getData().getChildren());
+							fHasMore = getData().hasMore();
+							rm.setData(new ChildrenInfo(getChildren(), fHasMore));
+
+							int updateLimit = updateLimit(to);
+
+							if (!isSafeToAskForAllChildren()) {
+								fUpdateRangeIsWindow = false;
+								// Make sure the gdb will not hang, if later
+								// the varobj is updated, but the underlying
+								// data is still uninitialized.
+								fCommandControl.queueCommand(fCommandFactory.createMIVarSetUpdateRange(
+										getRootToUpdate().getControlDMContext(), getGdbName(), 0, updateLimit),
+										new DataRequestMonitor<MIInfo>(fSession.getExecutor(), rm));
+							} else {
+								rm.done();
+							}
+						}
+					});
+		}
+
+		/**
+		 * Creates the children of an array with an index in [from, to).
+		 */
+		private ExpressionInfo[] createArrayChildren(IExpressionDMContext exprDmc, int from, int to) {
+			ExpressionInfo[] childrenOfArray = new ExpressionInfo[Math.max(0, to - from)];
+			String exprName = exprDmc.getExpression();
+
+			int castingIndex = 0;
+			// in case of casts, need to resolve that before dereferencing, to be safe
+			if (exprDmc instanceof ICastedExpressionDMContext) {
+				castingIndex = ((ICastedExpressionDMContext) exprDmc).getCastInfo().getArrayStartIndex();
+			}
+			if (exprDmc instanceof IIndexedPartitionDMContext) {
+				castingIndex = ((IIndexedPartitionDMContext) exprDmc).getIndex();
+			}
+
+			String relExprName;
+			if (exprDmc instanceof MIExpressionDMC) {
+				relExprName = ((MIExpressionDMC) exprDmc).getRelativeExpression();
+			} else {
+				// Unexpected, but avoid exception
+				relExprName = exprDmc.getExpression();
+			}
+
+			for (int i = 0; i < childrenOfArray.length; i++) {
+				int index = from + i;
+				String fullExpr = exprName + "[" + index + "]";//$NON-NLS-1$//$NON-NLS-2$
+				String relExpr = relExprName + "[" + (castingIndex + index) + "]";//$NON-NLS-1$//$NON-NLS-2$
+
+				childrenOfArray[i] = new ExpressionInfo(fullExpr, relExpr, false, fExprInfo, index);
+			}
+			return childrenOfArray;
+		}
+
+		/**
+		 * Lists children of this variable object with the given
+		 * <code>-var-list-children</code> command and creates the variable
+		 * objects of the children that are not known yet.
+		 *
+		 * @param exprDmc
+		 * @param varListChildren
+		 *            The command listing the children
+		 * @param from
+		 *            The index of the first listed child
+		 * @param rm
+		 *            The data request monitor that will hold the listed children.
+		 *            They are not stored in this variable object.
+		 */
+		private void listChildren(final IExpressionDMContext exprDmc, ICommand<MIVarListChildrenInfo> varListChildren,
+				final int from, final DataRequestMonitor<ChildrenInfo> rm) {
 			fCommandControl.queueCommand(varListChildren,
 					new DataRequestMonitor<MIVarListChildrenInfo>(fSession.getExecutor(), rm) {
 						@Override
@@ -1456,23 +1693,8 @@ public class MIVariableManager implements ICommandControl {
 									rm) {
 								@Override
 								protected void handleSuccess() {
-									// Store the children in our variable object cache
-									addChildren(realChildren);
-									fHasMore = localHasMore;
-									rm.setData(new ChildrenInfo(getChildren(), fHasMore));
-
-									int updateLimit = updateLimit(to);
-
-									if (!isSafeToAskForAllChildren()) {
-										// Make sure the gdb will not hang, if later
-										// the varobj is updated, but the underlying
-										// data is still uninitialized.
-										fCommandControl.queueCommand(fCommandFactory.createMIVarSetUpdateRange(
-												getRootToUpdate().getControlDMContext(), getGdbName(), 0, updateLimit),
-												new DataRequestMonitor<MIInfo>(fSession.getExecutor(), rm));
-									} else {
-										rm.done();
-									}
+									rm.setData(new ChildrenInfo(flatten(realChildren), localHasMore));
+									rm.done();
 								}
 							};
 
@@ -2169,6 +2391,12 @@ public class MIVariableManager implements ICommandControl {
 
 		private boolean fOutOfDate = false;
 
+		// The request monitor of an update waiting for a bulk update
+		private DataRequestMonitor<Boolean> fBulkUpdateRm = null;
+
+		// Changes reported by a bulk update that this root could not process yet
+		private final List<MIVarChange> fDeferredChanges = new ArrayList<>();
+
 		/**
 		 * A modifiable descendant is any variable object that is a descendant and
 		 * for which the value (leaf variable objects and dynamic variable objects)
@@ -2332,85 +2560,146 @@ public class MIVariableManager implements ICommandControl {
 				// The simplest way to do this is that whenever we change the format
 				// of a variable object, we immediately set it back to natural with a second
 				// var-set-format command.  This is done in the getValue() method
+				if (fBulkUpdate) {
+					// The root is updated along with all other roots
+					fBulkUpdateRm = rm;
+					fOutOfDateRoots.add(this);
+					bulkUpdate(getControlDMContext());
+					return;
+				}
+
 				fCommandControl.queueCommand(
 						fCommandFactory.createMIVarUpdate(getRootToUpdate().getControlDMContext(), getGdbName()),
 						new DataRequestMonitor<MIVarUpdateInfo>(fSession.getExecutor(), rm) {
 							@Override
 							protected void handleCompleted() {
 								if (isSuccess()) {
-									setOutOfDate(false);
+									updateDone(getData().getMIVarChanges(), rm);
+								} else {
+									updateFailed(getStatus(), rm);
+								}
+							}
+						});
+			}
+		}
 
-									MIVarChange[] changes = getData().getMIVarChanges();
-									if (changes.length > 0 && !changes[0].isInScope()) {
-										// Object is out-of-scope
-										currentState = STATE_READY;
+		/**
+		 * Processes the changes reported by -var-update for this root and its
+		 * descendants, and completes the pending updates.
+		 */
+		private void updateDone(MIVarChange[] changes, final DataRequestMonitor<Boolean> rm) {
+			setOutOfDate(false);
 
-										outOfScope = true;
+			if (changes.length > 0 && !changes[0].isInScope()) {
+				// Object is out-of-scope
+				currentState = STATE_READY;
 
-										// We can delete this root in GDB right away.  This is safe, even
-										// if the root has children, because they are also out-of-scope.
-										// We -must- also remove this entry from our LRU.  If we don't
-										// we can end-up with a race condition that create this object
-										// twice, or have an infinite loop while never re-creating the object.
-										// The can happen if we update a child first then we request
-										// the root later,
-										lruVariableList.remove(getInternalId());
+				outOfScope = true;
 
-										rm.setData(true);
-										rm.done();
+				// We can delete this root in GDB right away.  This is safe, even
+				// if the root has children, because they are also out-of-scope.
+				// We -must- also remove this entry from our LRU.  If we don't
+				// we can end-up with a race condition that create this object
+				// twice, or have an infinite loop while never re-creating the object.
+				// The can happen if we update a child first then we request
+				// the root later,
+				lruVariableList.remove(getInternalId());
 
-										while (!updatesPending.isEmpty()) {
-											DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
-											pendingRm.setData(false);
-											pendingRm.done();
-										}
-									} else {
-										// The root object is now up-to-date, we must parse the changes, if any.
-										processChanges(changes, new RequestMonitor(fSession.getExecutor(), rm) {
-											@Override
-											protected void handleCompleted() {
-												currentState = STATE_READY;
-
-												// We only mark this root as updated in our list if it is in-scope.
-												// For out-of-scope object, we don't ever need to re-update them so
-												// we don't need to add them to this list.
-												rootVariableUpdated(MIRootVariableObject.this);
-
-												if (isSuccess()) {
-													rm.setData(false);
-												} else {
-													rm.setStatus(getStatus());
-												}
-												rm.done();
+				rm.setData(true);
+				rm.done();
 
-												while (!updatesPending.isEmpty()) {
-													DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
-													if (isSuccess()) {
-														pendingRm.setData(false);
-													} else {
-														pendingRm.setStatus(getStatus());
-													}
-													pendingRm.done();
-												}
-											}
-										});
-									}
-								} else {
-									// We were not able to update for some reason
-									currentState = STATE_READY;
+				while (!updatesPending.isEmpty()) {
+					DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
+					pendingRm.setData(false);
+					pendingRm.done();
+				}
+			} else {
+				// The root object is now up-to-date, we must parse the changes, if any.
+				processChanges(changes, new RequestMonitor(fSession.getExecutor(), rm) {
+					@Override
+					protected void handleCompleted() {
+						currentState = STATE_READY;
 
-									rm.setData(false);
-									rm.done();
+						// We only mark this root as updated in our list if it is in-scope.
+						// For out-of-scope object, we don't ever need to re-update them so
+						// we don't need to add them to this list.
+						rootVariableUpdated(MIRootVariableObject.this);
 
-									while (!updatesPending.isEmpty()) {
-										DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
-										pendingRm.setStatus(getStatus());
-										pendingRm.done();
-									}
-								}
+						if (isSuccess()) {
+							rm.setData(false);
+						} else {
+							rm.setStatus(getStatus());
+						}
+						rm.done();
+
+						while (!updatesPending.isEmpty()) {
+							DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
+							if (isSuccess()) {
+								pendingRm.setData(false);
+							} else {
+								pendingRm.setStatus(getStatus());
 							}
-						});
+							pendingRm.done();
+						}
+					}
+				});
+			}
+		}
+
+		private void updateFailed(IStatus status, DataRequestMonitor<Boolean> rm) {
+			// We were not able to update for some reason
+			currentState = STATE_READY;
+
+			rm.setData(false);
+			rm.done();
+
+			while (!updatesPending.isEmpty()) {
+				DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
+				pendingRm.setStatus(status);
+				pendingRm.done();
+			}
+		}
+
+		/**
+		 * Called with the changes of this root and its descendants, once a bulk
+		 * update of all roots is done.
+		 *
+		 * @param changes
+		 *            The changes, or null if there were none
+		 */
+		private void bulkUpdateDone(List<MIVarChange> changes) {
+			DataRequestMonitor<Boolean> rm = fBulkUpdateRm != null ? fBulkUpdateRm
+					: new DataRequestMonitor<>(fSession.getExecutor(), null);
+			fBulkUpdateRm = null;
+			// Changes deferred from earlier bulk updates come first, later changes of
+			// the same object replace them
+			List<MIVarChange> allChanges = new ArrayList<>();
+			if (changes == null || changes.get(0).isInScope()) {
+				allChanges.addAll(fDeferredChanges);
 			}
+			fDeferredChanges.clear();
+			if (changes != null) {
+				allChanges.addAll(changes);
+			}
+			currentState = STATE_UPDATING;
+			updateDone(allChanges.toArray(new MIVarChange[allChanges.size()]), rm);
+		}
+
+		/**
+		 * Keeps the changes of a bulk update that this root cannot process yet,
+		 * until its next update.
+		 */
+		private void deferChanges(List<MIVarChange> changes) {
+			if (changes != null) {
+				fDeferredChanges.addAll(changes);
+			}
+			setOutOfDate(true);
+		}
+
+		private void bulkUpdateFailed(IStatus status) {
+			DataRequestMonitor<Boolean> rm = fBulkUpdateRm;
+			fBulkUpdateRm = null;
+			updateFailed(status, rm);
 		}
 
 		/**
@@ -2436,6 +2725,8 @@ public class MIVariableManager implements ICommandControl {
 			} else {
 				// Variable was never created or was already deleted, no need to do anything.
 			}
+			fOutOfDateRoots.remove(this);
+			fDeferredChanges.clear();
 
 			super.deleteInGdb();
 		}
@@ -2551,17 +2842,27 @@ public class MIVariableManager implements ICommandControl {
 	 * children are always older than their parents, to guarantee the children will
 	 * always be delete before their parents.
 	 *
+	 * The size of the LRU is bounded by the estimated memory cost of its variable
+	 * objects (see {@link MIVariableObject#getMemoryCost()}) rather than by their
+	 * number, so that a few variable objects with large values or many children
+	 * count as much as many small ones.  The cost of an object is accounted for
+	 * again whenever it is put or get.
+	 *
 	 */
 	private static class LRUVariableCache extends LinkedHashMap<VariableObjectId, MIVariableObject> {
 		public static final long serialVersionUID = 0;
 
-		// Maximum allowed concurrent variables
-		private static final int MAX_VARIABLE_LIST = 1000;
+		// Maximum allowed memory cost of the variables, in bytes
+		private final long fMaxMemoryCost;
+
+		// The sum of the accounted memory costs of the variables
+		private long fMemoryCost = 0;
 
-		public LRUVariableCache() {
+		public LRUVariableCache(long maxMemoryCost) {
 			super(0, // Initial load capacity
 					0.75f, // Load factor as defined in JAVA 1.5
 					true); // Order is dictated by access, not insertion
+			fMaxMemoryCost = maxMemoryCost;
 		}
 
 		// We never remove doing put operations.  Instead, we rely on our get() operations
@@ -2575,19 +2876,39 @@ public class MIVariableManager implements ICommandControl {
 		public MIVariableObject get(Object key) {
 			MIVariableObject varObj = super.get(key);
 			touchAncestors(varObj);
+			account(varObj);
 
-			// If we're over our max size, attempt to remove eldest entry.
-			if (size() > MAX_VARIABLE_LIST) {
+			// If we're over our max cost, attempt to remove eldest entries.
+			while (fMemoryCost > fMaxMemoryCost && !isEmpty()) {
 				Map.Entry<VariableObjectId, MIVariableObject> eldest = entrySet().iterator().next();
 				// First make sure we are not deleting ourselves!
-				if (!eldest.getValue().equals(varObj)
-						&& eldest.getValue().currentState == MIVariableObject.STATE_READY) {
-					remove(eldest.getKey());
+				if (eldest.getValue().equals(varObj)
+						|| eldest.getValue().currentState != MIVariableObject.STATE_READY) {
+					break;
 				}
+				remove(eldest.getKey());
 			}
 			return varObj;
 		}
 
+		/**
+		 * Accounts for the current memory cost of the given variable object.
+		 */
+		private void account(MIVariableObject varObj) {
+			if (varObj != null) {
+				int cost = varObj.getMemoryCost();
+				fMemoryCost += cost - varObj.fAccountedMemoryCost;
+				varObj.fAccountedMemoryCost = cost;
+			}
+		}
+
+		private void unaccount(MIVariableObject varObj) {
+			if (varObj != null) {
+				fMemoryCost -= varObj.fAccountedMemoryCost;
+				varObj.fAccountedMemoryCost = 0;
+			}
+		}
+
 		private void touchAncestors(MIVariableObject varObj) {
 			while (varObj != null) {
 				varObj = varObj.getParent();
@@ -2601,6 +2922,10 @@ public class MIVariableManager implements ICommandControl {
 		@Override
 		public MIVariableObject put(VariableObjectId key, MIVariableObject varObj) {
 			MIVariableObject retVal = super.put(key, varObj);
+			if (retVal != varObj) {
+				unaccount(retVal);
+			}
+			account(varObj);
 
 			// Touch all parents of this element so as
 			// to guarantee they are not deleted before their children.
@@ -2613,10 +2938,17 @@ public class MIVariableManager implements ICommandControl {
 		public MIVariableObject remove(Object key) {
 			MIVariableObject varObj = super.remove(key);
 			if (varObj != null) {
+				unaccount(varObj);
 				varObj.deleteInGdb();
 			}
 			return varObj;
 		}
+
+		@Override
+		public void clear() {
+			super.clear();
+			fMemoryCost = 0;
+		}
 	}
 
 	private GDBTypeParser fGDBTypeParser = null;
@@ -2642,6 +2974,18 @@ public class MIVariableManager implements ICommandControl {
 	/** The list of root variable objects that have been updated */
 	private final LinkedList<MIRootVariableObject> updatedRootList = new LinkedList<>();
 
+	/**
+	 * Whether out-of-date roots are updated together, with a single -var-update
+	 * for all variable objects
+	 */
+	private final boolean fBulkUpdate;
+
+	/** The roots that are out-of-date, when updating roots together */
+	private final Set<MIRootVariableObject> fOutOfDateRoots = new LinkedHashSet<>();
+
+	/** The control contexts for which a bulk update is in progress */
+	private final Set<ICommandControlDMContext> fBulkUpdatesInProgress = new HashSet<>();
+
 	/**
 	 * MIVariableManager constructor
 	 *
@@ -2652,11 +2996,16 @@ public class MIVariableManager implements ICommandControl {
 	 */
 	public MIVariableManager(DsfSession session, DsfServicesTracker tracker) {
 		fSession = session;
-		lruVariableList = new LRUVariableCache();
+		lruVariableList = new LRUVariableCache(Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_VARIABLE_CACHE_MAX_MEMORY_COST,
+				IGdbDebugPreferenceConstants.VARIABLE_CACHE_MAX_MEMORY_COST_DEFAULT, null));
 		fCommandControl = tracker.getService(ICommandControl.class);
 		fStackService = tracker.getService(IStack.class);
 		fExpressionService = tracker.getService(IExpressions.class);
 		fCommandFactory = tracker.getService(IMICommandControl.class).getCommandFactory();
+		fBulkUpdate = Platform.getPreferencesService().getBoolean(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_VARIABLE_BULK_UPDATE,
+				IGdbDebugPreferenceConstants.VARIABLE_BULK_UPDATE_DEFAULT, null);
 
 		// Register to receive service events for this session.
 		fSession.addServiceEventListener(this, null);
@@ -3043,15 +3392,22 @@ public class MIVariableManager implements ICommandControl {
 			getVariable(exprCtx, new DataRequestMonitor<MIVariableObject>(fSession.getExecutor(), drm) {
 				@Override
 				protected void handleSuccess() {
-					getData().getChildren(exprCtx, ((ExprMetaGetChildren) command).getNumChildLimit(),
-							new DataRequestMonitor<ChildrenInfo>(fSession.getExecutor(), drm) {
-								@Override
-								protected void handleSuccess() {
-									drm.setData(new ExprMetaGetChildrenInfo(getData().getChildren()));
-									drm.done();
-									processCommandDone(token, drm.getData());
-								}
-							});
+					ExprMetaGetChildren getChildren = (ExprMetaGetChildren) command;
+					DataRequestMonitor<ChildrenInfo> childrenRm = new DataRequestMonitor<>(fSession.getExecutor(),
+							drm) {
+						@Override
+						protected void handleSuccess() {
+							drm.setData(new ExprMetaGetChildrenInfo(getData().getChildren()));
+							drm.done();
+							processCommandDone(token, drm.getData());
+						}
+					};
+					if (getChildren.getStartIndex() >= 0) {
+						getData().getChildren(exprCtx, getChildren.getStartIndex(), getChildren.getNumChildLimit(),
+								childrenRm);
+					} else {
+						getData().getChildren(exprCtx, getChildren.getNumChildLimit(), childrenRm);
+					}
 				}
 			});
 
@@ -3149,7 +3505,85 @@ public class MIVariableManager implements ICommandControl {
 		MIRootVariableObject root;
 		while ((root = updatedRootList.poll()) != null) {
 			root.setOutOfDate(true);
+			if (fBulkUpdate) {
+				fOutOfDateRoots.add(root);
+			}
+		}
+	}
+
+	/**
+	 * Marks a root as out-of-date, such that it is updated in gdb before its
+	 * values are used again.
+	 */
+	private void markOutOfDate(MIRootVariableObject root) {
+		if (root.isOutOfScope()) {
+			return;
 		}
+		updatedRootList.remove(root);
+		root.setOutOfDate(true);
+		if (fBulkUpdate) {
+			fOutOfDateRoots.add(root);
+		}
+	}
+
+	/**
+	 * Updates all out-of-date roots of the given control context with a single
+	 * <code>-var-update 1 *</code>, instead of one -var-update per
+	 * root. The changes are distributed to the roots, including the ones that
+	 * were not asked to be updated yet, since gdb will not report their changes
+	 * again.
+	 */
+	private void bulkUpdate(final ICommandControlDMContext controlCtx) {
+		if (!fBulkUpdatesInProgress.add(controlCtx)) {
+			// The update in progress serves all out-of-date roots
+			return;
+		}
+
+		fCommandControl.queueCommand(fCommandFactory.createMIVarUpdate(controlCtx, "*"), //$NON-NLS-1$
+				new DataRequestMonitor<MIVarUpdateInfo>(fSession.getExecutor(), null) {
+					@Override
+					protected void handleCompleted() {
+						fBulkUpdatesInProgress.remove(controlCtx);
+
+						// The gdb name of a child starts with the name of its root, e.g., var1.public.x
+						Map<String, List<MIVarChange>> changesByRoot = new HashMap<>();
+						if (isSuccess()) {
+							for (MIVarChange change : getData().getMIVarChanges()) {
+								String name = change.getVarName();
+								int dot = name.indexOf('.');
+								String rootName = dot < 0 ? name : name.substring(0, dot);
+								changesByRoot.computeIfAbsent(rootName, k -> new ArrayList<>()).add(change);
+							}
+						}
+
+						for (MIRootVariableObject root : new ArrayList<>(fOutOfDateRoots)) {
+							if (!controlCtx.equals(root.getControlDMContext())) {
+								continue;
+							}
+							boolean waiting = root.fBulkUpdateRm != null;
+							if (!isSuccess()) {
+								// Roots that are not waiting stay out-of-date
+								if (waiting) {
+									fOutOfDateRoots.remove(root);
+									root.bulkUpdateFailed(getStatus());
+								}
+								continue;
+							}
+
+							List<MIVarChange> changes = changesByRoot.get(root.getGdbName());
+							if (waiting || (root.getGdbName() != null
+									&& root.currentState == MIVariableObject.STATE_READY && root.getOutOfDate())) {
+								fOutOfDateRoots.remove(root);
+								root.bulkUpdateDone(changes);
+							} else if (root.getGdbName() != null) {
+								// The root is being created or updated and cannot process the changes
+								// now. gdb will not report them again, so they are kept until the next
+								// update of the root, and the root stays out-of-date.
+								root.deferChanges(changes);
+							}
+						}
+					}
+				});
 	}
 
 	@DsfServiceEventHandler
@@ -3186,11 +3620,7 @@ public class MIVariableManager implements ICommandControl {
 		// fails miserably because all objects will have the same depth and we will confuse
 		// them.  Until we find a good solution, we have to clear our entire list of
 		// of variable objects (and delete them in GDB to avoid having too many).
-		Iterator<Map.Entry<VariableObjectId, MIVariableObject>> iterator = lruVariableList.entrySet().iterator();
-		while (iterator.hasNext()) {
-			iterator.next();
-			iterator.remove();
-		}
+		lruVariableList.clear();
 	}
 
 	/**
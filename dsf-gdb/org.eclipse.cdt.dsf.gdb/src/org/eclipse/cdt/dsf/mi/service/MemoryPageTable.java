@@ -0,0 +1,291 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.debug.core.model.MemoryByte;
+
+/**
+ * The content of the memory cache of {@link MIMemory}, kept in pages of a fixed
+ * number of addressable units, and the planning of the reads that fill it.
+ * <p>
+ * Addresses and lengths are in addressable units, addresses are unsigned. Each
+ * unit of a page is either cached, with all of its octets, or not cached, so a
+ * page may be partially filled. Lookups cost one hash lookup per page.
+ */
+final class MemoryPageTable {
+
+	/**
+	 * A range of addresses.
+	 */
+	static final class Range {
+		final long start;
+		final int length;
+
+		Range(long start, int length) {
+			this.start = start;
+			this.length = length;
+		}
+
+		long end() {
+			return start + length;
+		}
+
+		@Override
+		public String toString() {
+			return "[0x" + Long.toHexString(start) + ", +" + length + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private final int fPageSize;
+	private final int fPageShift;
+	private final long fPageMask;
+	private final int fWordSize;
+	private final Map<Long, MemoryByte[]> fPages = new HashMap<>();
+
+	/**
+	 * @param pageSize the number of addressable units of a page, a power of two
+	 * @param wordSize the number of octets of an addressable unit
+	 */
+	MemoryPageTable(int pageSize, int wordSize) {
+		assert pageSize > 0 && Integer.bitCount(pageSize) == 1;
+		fPageSize = pageSize;
+		fPageShift = Integer.numberOfTrailingZeros(pageSize);
+		fPageMask = pageSize - 1;
+		fWordSize = wordSize;
+	}
+
+	int getPageSize() {
+		return fPageSize;
+	}
+
+	int getWordSize() {
+		return fWordSize;
+	}
+
+	int getPageCount() {
+		return fPages.size();
+	}
+
+	void clear() {
+		fPages.clear();
+	}
+
+	/**
+	 * Copies the cached units of the given range into <code>dest</code> and returns
+	 * the ranges that are not cached, in ascending order.
+	 */
+	List<Range> read(long start, int count, MemoryByte[] dest) {
+		List<Range> missing = null;
+		long missingStart = 0;
+		boolean inMissing = false;
+		long unit = start;
+		int done = 0;
+		while (done < count) {
+			int offset = (int) (unit & fPageMask);
+			int n = Math.min(fPageSize - offset, count - done);
+			MemoryByte[] page = fPages.get(unit >>> fPageShift);
+			if (page == null) {
+				if (!inMissing) {
+					inMissing = true;
+					missingStart = unit;
+				}
+			} else {
+				for (int i = 0; i < n; i++) {
+					int pos = (offset + i) * fWordSize;
+					if (page[pos] == null) {
+						if (!inMissing) {
+							inMissing = true;
+							missingStart = unit + i;
+						}
+					} else {
+						if (inMissing) {
+							inMissing = false;
+							missing = add(missing, new Range(missingStart, (int) (unit + i - missingStart)));
+						}
+						System.arraycopy(page, pos, dest, (done + i) * fWordSize, fWordSize);
+					}
+				}
+			}
+			unit += n;
+			done += n;
+		}
+		if (inMissing) {
+			missing = add(missing, new Range(missingStart, (int) (unit - missingStart)));
+		}
+		return missing == null ? Collections.emptyList() : missing;
+	}
+
+	private static List<Range> add(List<Range> list, Range range) {
+		List<Range> result = list == null ? new ArrayList<>() : list;
+		result.add(range);
+		return result;
+	}
+
+	/**
+	 * Stores the given units, starting at the given address.
+	 *
+	 * @param data the octets of <code>count</code> units
+	 */
+	void write(long start, int count, MemoryByte[] data) {
+		write(start, count, data, 0);
+	}
+
+	/**
+	 * Stores the given units, starting at the given address.
+	 *
+	 * @param data the octets of the units
+	 * @param dataStart the index of the first unit to store in <code>data</code>
+	 */
+	void write(long start, int count, MemoryByte[] data, int dataStart) {
+		long unit = start;
+		int done = 0;
+		while (done < count) {
+			int offset = (int) (unit & fPageMask);
+			int n = Math.min(fPageSize - offset, count - done);
+			MemoryByte[] page = fPages.computeIfAbsent(unit >>> fPageShift, k -> new MemoryByte[fPageSize * fWordSize]);
+			System.arraycopy(data, (dataStart + done) * fWordSize, page, offset * fWordSize, n * fWordSize);
+			unit += n;
+			done += n;
+		}
+	}
+
+	/**
+	 * Drops the given units from the cache.
+	 */
+	void invalidate(long start, long count) {
+		if (count <= 0) {
+			return;
+		}
+		long firstPage = start >>> fPageShift;
+		long lastPage = (start + count - 1) >>> fPageShift;
+		if (Long.compareUnsigned(lastPage - firstPage, fPages.size()) > 0) {
+			// Fewer pages are cached than covered by the range
+			for (Iterator<Map.Entry<Long, MemoryByte[]>> it = fPages.entrySet().iterator(); it.hasNext();) {
+				Map.Entry<Long, MemoryByte[]> entry = it.next();
+				if (invalidate(entry.getKey(), entry.getValue(), start, count)) {
+					it.remove();
+				}
+			}
+		} else {
+			for (long pageIndex = firstPage;; pageIndex++) {
+				MemoryByte[] page = fPages.get(pageIndex);
+				if (page != null && invalidate(pageIndex, page, start, count)) {
+					fPages.remove(pageIndex);
+				}
+				if (pageIndex == lastPage) {
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Drops the units of the given range from the page and returns whether the
+	 * whole page is covered by the range.
+	 */
+	private boolean invalidate(long pageIndex, MemoryByte[] page, long start, long count) {
+		long pageStart = pageIndex << fPageShift;
+		long from = Math.max(0, start - pageStart);
+		long to = Math.min(fPageSize, start + count - pageStart);
+		if (Long.compareUnsigned(pageStart - start, count) >= 0
+				&& Long.compareUnsigned(start - pageStart, fPageSize) >= 0) {
+			// No overlap
+			return false;
+		}
+		if (from == 0 && to == fPageSize) {
+			return true;
+		}
+		for (long i = from; i < to; i++) {
+			for (int j = 0; j < fWordSize; j++) {
+				page[(int) i * fWordSize + j] = null;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Turns the missing ranges of a request into the ranges to read from the target.
+	 *
+	 * @param missing the ranges returned by {@link #read(long, int, MemoryByte[])}, in ascending order
+	 * @param align whether to extend the ranges to page boundaries
+	 * @param readAheadPages the number of pages to read beyond the end of the request if positive,
+	 *        or before its start if negative, as far as they are not cached yet
+	 * @param maxGap ranges that are at most this number of units apart are read at once
+	 * @param lastUnit the highest address of the address space
+	 */
+	List<Range> planReads(List<Range> missing, boolean align, int readAheadPages, int maxGap, long lastUnit) {
+		List<Range> ranges = new ArrayList<>(missing.size() + 1);
+		for (Range range : missing) {
+			ranges.add(align ? align(range, lastUnit) : range);
+		}
+		if (readAheadPages > 0) {
+			Range last = ranges.get(ranges.size() - 1);
+			long pageIndex = (last.end() + fPageMask) >>> fPageShift;
+			long start = pageIndex << fPageShift;
+			int pages = 0;
+			while (pages < readAheadPages && !fPages.containsKey(pageIndex + pages)
+					&& Long.compareUnsigned(((pageIndex + pages) << fPageShift) + fPageMask, lastUnit) <= 0
+					&& pageIndex + pages != 0) {
+				pages++;
+			}
+			if (pages > 0) {
+				ranges.add(new Range(start, pages << fPageShift));
+			}
+		} else if (readAheadPages < 0) {
+			Range first = ranges.get(0);
+			long pageIndex = first.start >>> fPageShift;
+			int pages = 0;
+			while (pages < -readAheadPages && pageIndex - pages > 0 && !fPages.containsKey(pageIndex - pages - 1)) {
+				pages++;
+			}
+			if (pages > 0) {
+				ranges.add(0, new Range((pageIndex - pages) << fPageShift, pages << fPageShift));
+			}
+		}
+
+		// Coalesce ranges that are close to each other
+		List<Range> result = new ArrayList<>(ranges.size());
+		Range current = ranges.get(0);
+		for (int i = 1; i < ranges.size(); i++) {
+			Range next = ranges.get(i);
+			long gap = next.start - current.end();
+			if (gap <= maxGap && next.end() - current.start <= Integer.MAX_VALUE) {
+				current = new Range(current.start, (int) (Math.max(next.end(), current.end()) - current.start));
+			} else {
+				result.add(current);
+				current = next;
+			}
+		}
+		result.add(current);
+		return result;
+	}
+
+	private Range align(Range range, long lastUnit) {
+		long start = range.start & ~fPageMask;
+		long last = (range.end() - 1) | fPageMask;
+		if (Long.compareUnsigned(last, lastUnit) > 0 || Long.compareUnsigned(last, range.start) < 0) {
+			// Beyond the end of the address space
+			last = range.end() - 1;
+		}
+		long length = last - start + 1;
+		if (length > Integer.MAX_VALUE) {
+			return range;
+		}
+		return new Range(start, (int) length);
+	}
+}
@@ -70,6 +70,7 @@ import org.eclipse.cdt.dsf.mi.service.command.commands.MICommand;
 import org.eclipse.cdt.dsf.mi.service.command.commands.RawCommand;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIConst;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MILazyParser;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIList;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIOOBRecord;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
@@ -98,7 +99,21 @@ import org.eclipse.osgi.util.NLS;
 public abstract class AbstractMIControl extends AbstractDsfService implements IMICommandControl {
 	private static final String MI_TRACE_IDENTIFIER = "[MI]"; //$NON-NLS-1$
 	private static final int NUMBER_CONCURRENT_COMMANDS = 3;
+	/** Upper bound of the adaptive number of commands in flight when pipelining */
+	private static final int MAX_PIPELINED_COMMANDS = 32;
+	/**
+	 * When pipelining, a command whose latency exceeds this multiple of the average
+	 * latency halves the number of commands in flight.
+	 */
+	private static final int PIPELINING_LATENCY_FACTOR = 4;
 	private static final int DEVELOPMENT_TRACE_LIMIT_CHARS = 5000;
+	/**
+	 * Whether to parse the output of GDB with {@link MILazyParser} instead of
+	 * {@link MIParser}. Off by default, enable it with the system property
+	 * {@code org.eclipse.cdt.dsf.gdb.lazyMIParser=true}.
+	 */
+	private static final boolean ENABLE_LAZY_MI_PARSER = Boolean
+			.getBoolean("org.eclipse.cdt.dsf.gdb.lazyMIParser"); //$NON-NLS-1$
 
 	/*
 	 *  Thread control variables for the transmit and receive threads.
@@ -109,6 +124,18 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 	private ErrorThread fErrorThread;
 	private final int fNumberOfConcurrentCommands;
 
+	/**
+	 * Whether commands are pipelined, see
+	 * {@link IGdbDebugPreferenceConstants#PREF_MI_COMMAND_PIPELINING}.
+	 */
+	private final boolean fPipelining;
+	// The adaptive number of commands in flight and the average command latency
+	// in nanoseconds, only used when pipelining
+	private int fMaxCommandsInFlight;
+	private long fAverageLatency;
+
+	private final MICommandStatistics fStatistics = new MICommandStatistics();
+
 	// MI did not always support the --thread/--frame options
 	// This boolean is used to know if we should use -thread-select and -stack-select-frame instead
 	private boolean fUseThreadAndFrameOptions;
@@ -200,9 +227,12 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 
 		if (isConcurrentCommandsSupported()) {
 			fNumberOfConcurrentCommands = NUMBER_CONCURRENT_COMMANDS;
+			fPipelining = isCommandPipeliningEnabled();
 		} else {
 			fNumberOfConcurrentCommands = 1;
+			fPipelining = false;
 		}
+		fMaxCommandsInFlight = fNumberOfConcurrentCommands;
 	}
 
 	/**
@@ -338,6 +368,10 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 
 		// Queue a null value to tell the send thread to shut down.
 		fTxCommands.add(fTerminatorHandle);
+
+		if (GdbDebugOptions.DEBUG) {
+			GdbDebugOptions.trace(fStatistics.toString() + '\n');
+		}
 	}
 
 	private void cancelRxCommands() {
@@ -408,62 +442,113 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 	}
 
 	private void processNextQueuedCommand() {
-		if (!fCommandQueue.isEmpty() && fRxCommands.size() < fNumberOfConcurrentCommands) {
-			final CommandHandle handle = fCommandQueue.remove(0);
-			if (handle != null) {
-				processCommandSent(handle);
-
-				// Older debuggers didn't support the --thread/--frame options
-				// Also, not all commands support those options (e.g., CLI commands)
-				if (!fUseThreadAndFrameOptions || !handle.getCommand().supportsThreadAndFrameOptions()) {
-					// Without the --thread/--frame, we need to send the proper
-					// -thread-select and -stack-frame-select before sending the command
-
-					final IDMContext targetContext = handle.fCommand.getContext();
-					final String targetThread = handle.getThreadId();
-					final int targetFrame = handle.getStackFrameId();
-
-					// The thread-select and frame-select make sense only if the thread is stopped.
-					IRunControl runControl = getServicesTracker().getService(IRunControl.class);
-					IMIExecutionDMContext execDmc = DMContexts.getAncestorOfType(targetContext,
-							IMIExecutionDMContext.class);
-					if (runControl != null && execDmc != null && runControl.isSuspended(execDmc)) {
-						// Before the command is sent, Check the Thread Id and send it to
-						// the queue only if the id has been changed. Also, don't send a threadId of 0,
-						// because that id is only used internally for single-threaded programs
-						if (targetThread != null && !targetThread.equals("0") //$NON-NLS-1$
-								&& !targetThread.equals(fCurrentThreadId)) {
-							fCurrentThreadId = targetThread;
-							resetCurrentStackLevel();
-							CommandHandle cmdHandle = new CommandHandle((MICommand<MIInfo>) getCommandFactory()
-									.createMIThreadSelect(targetContext, targetThread), null);
-							cmdHandle.generateTokenId();
-							fTxCommands.add(cmdHandle);
-						}
+		if (fPipelining) {
+			// Hand off as many commands as allowed, the transmitter writes them in one batch.
+			// Commands that have not been written yet count as being in flight.
+			while (!fCommandQueue.isEmpty() && fRxCommands.size() + fTxCommands.size() < fMaxCommandsInFlight) {
+				sendNextQueuedCommand();
+			}
+		} else if (!fCommandQueue.isEmpty() && fRxCommands.size() < fNumberOfConcurrentCommands) {
+			sendNextQueuedCommand();
+		}
+	}
 
-						// Before the command is sent, Check the Stack level and send it to
-						// the queue only if the level has been changed.
-						if (targetFrame >= 0 && targetFrame != fCurrentStackLevel) {
-							fCurrentStackLevel = targetFrame;
-							CommandHandle cmdHandle = new CommandHandle((MICommand<MIInfo>) getCommandFactory()
-									.createMIStackSelectFrame(targetContext, targetFrame), null);
-							cmdHandle.generateTokenId();
-							fTxCommands.add(cmdHandle);
-						}
+	private void sendNextQueuedCommand() {
+		final CommandHandle handle = fCommandQueue.remove(0);
+		if (handle != null) {
+			processCommandSent(handle);
+
+			// Older debuggers didn't support the --thread/--frame options
+			// Also, not all commands support those options (e.g., CLI commands)
+			if (!fUseThreadAndFrameOptions || !handle.getCommand().supportsThreadAndFrameOptions()) {
+				// Without the --thread/--frame, we need to send the proper
+				// -thread-select and -stack-frame-select before sending the command
+
+				final IDMContext targetContext = handle.fCommand.getContext();
+				final String targetThread = handle.getThreadId();
+				final int targetFrame = handle.getStackFrameId();
+
+				// The thread-select and frame-select make sense only if the thread is stopped.
+				IRunControl runControl = getServicesTracker().getService(IRunControl.class);
+				IMIExecutionDMContext execDmc = DMContexts.getAncestorOfType(targetContext,
+						IMIExecutionDMContext.class);
+				if (runControl != null && execDmc != null && runControl.isSuspended(execDmc)) {
+					// Before the command is sent, Check the Thread Id and send it to
+					// the queue only if the id has been changed. Also, don't send a threadId of 0,
+					// because that id is only used internally for single-threaded programs
+					if (targetThread != null && !targetThread.equals("0") //$NON-NLS-1$
+							&& !targetThread.equals(fCurrentThreadId)) {
+						fCurrentThreadId = targetThread;
+						resetCurrentStackLevel();
+						CommandHandle cmdHandle = new CommandHandle((MICommand<MIInfo>) getCommandFactory()
+								.createMIThreadSelect(targetContext, targetThread), null);
+						cmdHandle.generateTokenId();
+						fTxCommands.add(cmdHandle);
 					}
-				}
 
-				if (!(handle.getCommand() instanceof RawCommand)) {
-					// Only generate a token id if the command is not a RawCommand
-					// RawCommands are sent to GDB without an answer expected, so we don't
-					// need a token id.  In fact, GDB will fail if we send one in this case.
-					handle.generateTokenId();
+					// Before the command is sent, Check the Stack level and send it to
+					// the queue only if the level has been changed.
+					if (targetFrame >= 0 && targetFrame != fCurrentStackLevel) {
+						fCurrentStackLevel = targetFrame;
+						CommandHandle cmdHandle = new CommandHandle((MICommand<MIInfo>) getCommandFactory()
+								.createMIStackSelectFrame(targetContext, targetFrame), null);
+						cmdHandle.generateTokenId();
+						fTxCommands.add(cmdHandle);
+					}
 				}
-				fTxCommands.add(handle);
 			}
+
+			if (!(handle.getCommand() instanceof RawCommand)) {
+				// Only generate a token id if the command is not a RawCommand
+				// RawCommands are sent to GDB without an answer expected, so we don't
+				// need a token id.  In fact, GDB will fail if we send one in this case.
+				handle.generateTokenId();
+			}
+			handle.fSentTime = System.nanoTime();
+			fStatistics.commandSent(handle.getCommand().getOperation(), handle.fSentTime - handle.fQueuedTime,
+					fCommandQueue.size(), fRxCommands.size() + fTxCommands.size() + 1);
+			fTxCommands.add(handle);
+		}
+	}
+
+	/**
+	 * Updates the statistics for a command whose result has been received and, when
+	 * pipelining, adapts the number of commands in flight to the latency of the back
+	 * end: it grows by one while commands are waiting in the queue, and is halved when
+	 * a command takes much longer than average.
+	 */
+	@ConfinedToDsfExecutor("this.getExecutor()")
+	private void commandCompleted(CommandHandle handle) {
+		if (handle.fSentTime == 0 || handle.fDoneTime == 0) {
+			// Selection commands generated by this control
+			return;
+		}
+		final long latency = handle.fDoneTime - handle.fSentTime;
+		fStatistics.commandDone(handle.getCommand().getOperation(), latency);
+		if (!fPipelining) {
+			return;
+		}
+		if (fAverageLatency == 0) {
+			fAverageLatency = latency;
+		} else {
+			fAverageLatency += (latency - fAverageLatency) / 8;
+		}
+		if (latency > PIPELINING_LATENCY_FACTOR * fAverageLatency) {
+			fMaxCommandsInFlight = Math.max(fNumberOfConcurrentCommands, fMaxCommandsInFlight / 2);
+		} else if (!fCommandQueue.isEmpty() && fMaxCommandsInFlight < MAX_PIPELINED_COMMANDS) {
+			fMaxCommandsInFlight++;
 		}
 	}
 
+	/**
+	 * Returns the latency and queue statistics of the commands sent by this control.
+	 *
+	 * @since 7.2
+	 */
+	public MICommandStatistics getCommandStatistics() {
+		return fStatistics;
+	}
+
 	/*
 	 *   This is the command which allows the user to retract a previously issued command. The
 	 *   state of the command  is that it is in the waiting queue  and has not yet been handed
@@ -656,11 +741,17 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		private MICommand<MIInfo> fCommand;
 		private DataRequestMonitor<MIInfo> fRequestMonitor;
 		private int fTokenId;
+		// Times in nanoseconds when the command was queued, handed to the
+		// transmitter and its result was received, 0 if not applicable
+		private final long fQueuedTime;
+		private long fSentTime;
+		private long fDoneTime;
 
 		CommandHandle(MICommand<MIInfo> c, DataRequestMonitor<MIInfo> d) {
 			fCommand = c;
 			fRequestMonitor = d;
 			fTokenId = -1; // Only initialize to a real value when needed
+			fQueuedTime = System.nanoTime();
 		}
 
 		@Override
@@ -731,62 +822,76 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 
 		@Override
 		public void run() {
-			while (true) {
-				CommandHandle commandHandle = null;
+			final List<CommandHandle> batch = new ArrayList<>();
+			final StringBuilder output = new StringBuilder();
+			boolean shutdown = false;
+			while (!shutdown) {
+				batch.clear();
+				output.setLength(0);
 
 				try {
-					commandHandle = fTxCommands.take();
+					batch.add(fTxCommands.take());
 				} catch (InterruptedException e) {
 					break; // Shutting down.
 				}
-
-				if (commandHandle == fTerminatorHandle) {
-					// There is a small possibility that a new command was inserted
-					// in the fRxCommands map after we cleared that map.
-					// Just to be safe, clear it again.
-					// We do this to avoid synchronizing the handling of fRxCommands
-					// because this is more efficient, as it happens only once at shutdown.
-					cancelRxCommands();
-					break; // Null command is an indicator that we're shutting down.
+				if (fPipelining) {
+					// Write all commands that are ready in one go
+					fTxCommands.drainTo(batch);
 				}
 
-				/*
-				 *  We note that this is an outstanding request at this point.
-				 */
-				if (!(commandHandle.getCommand() instanceof RawCommand)) {
-					// RawCommands will not get an answer, so we cannot put them in the receive queue.
-					fRxCommands.put(commandHandle.getTokenId(), commandHandle);
-				}
+				for (CommandHandle commandHandle : batch) {
+					if (commandHandle == fTerminatorHandle) {
+						// There is a small possibility that a new command was inserted
+						// in the fRxCommands map after we cleared that map.
+						// Just to be safe, clear it again.
+						// We do this to avoid synchronizing the handling of fRxCommands
+						// because this is more efficient, as it happens only once at shutdown.
+						cancelRxCommands();
+						shutdown = true; // Null command is an indicator that we're shutting down.
+						break;
+					}
 
-				/*
-				 *   Construct the new command and push this command out the pipeline.
-				 */
+					/*
+					 *  We note that this is an outstanding request at this point.
+					 */
+					if (!(commandHandle.getCommand() instanceof RawCommand)) {
+						// RawCommands will not get an answer, so we cannot put them in the receive queue.
+						fRxCommands.put(commandHandle.getTokenId(), commandHandle);
+					}
 
-				final String str;
-				if (commandHandle.getCommand() instanceof RawCommand) {
-					// RawCommands CANNOT have a token id: GDB would read it as part of the RawCommand!
-					str = commandHandle.getCommand().constructCommand();
-				} else if (fUseThreadGroupOption) {
-					// Implies that fUseThreadAndFrameOptions == true
-					str = commandHandle.getTokenId() + commandHandle.getCommand().constructCommand(
-							commandHandle.getGroupId(), commandHandle.getThreadId(), commandHandle.getStackFrameId());
-				} else if (fUseThreadAndFrameOptions) {
-					str = commandHandle.getTokenId() + commandHandle.getCommand()
-							.constructCommand(commandHandle.getThreadId(), commandHandle.getStackFrameId());
-				} else {
-					str = commandHandle.getTokenId() + commandHandle.getCommand().constructCommand();
-				}
+					/*
+					 *   Construct the new command and push this command out the pipeline.
+					 */
 
-				try {
-					if (fOutputStream != null) {
+					final String str;
+					if (commandHandle.getCommand() instanceof RawCommand) {
+						// RawCommands CANNOT have a token id: GDB would read it as part of the RawCommand!
+						str = commandHandle.getCommand().constructCommand();
+					} else if (fUseThreadGroupOption) {
+						// Implies that fUseThreadAndFrameOptions == true
+						str = commandHandle.getTokenId()
+								+ commandHandle.getCommand().constructCommand(commandHandle.getGroupId(),
+										commandHandle.getThreadId(), commandHandle.getStackFrameId());
+					} else if (fUseThreadAndFrameOptions) {
+						str = commandHandle.getTokenId() + commandHandle.getCommand()
+								.constructCommand(commandHandle.getThreadId(), commandHandle.getStackFrameId());
+					} else {
+						str = commandHandle.getTokenId() + commandHandle.getCommand().constructCommand();
+					}
 
+					if (fOutputStream != null) {
 						if (GdbDebugOptions.DEBUG) {
 							GdbDebugOptions.trace(
 									String.format("%s %s  %s", GdbPlugin.getDebugTime(), MI_TRACE_IDENTIFIER, str)); //$NON-NLS-1$
 						}
 						writeToTracingStream(true, str);
+						output.append(str);
+					}
+				}
 
-						fOutputStream.write(str.getBytes());
+				try {
+					if (fOutputStream != null && output.length() > 0) {
+						fOutputStream.write(output.toString().getBytes());
 						fOutputStream.flush();
 					}
 				} catch (IOException e) {
@@ -806,7 +911,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 
 	private class RxThread extends Thread {
 		private final InputStream fInputStream;
-		private final MIParser fMiParser = new MIParser();
+		private final MIParser fMiParser = createMIParser();
 
 		/**
 		 * List of out of band records since the last result record. Out of band
@@ -998,6 +1103,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 				final CommandHandle commandHandle = fRxCommands.remove(id);
 
 				if (commandHandle != null) {
+					commandHandle.fDoneTime = System.nanoTime();
 					final MIOutput response = new MIOutput(rr,
 							fAccumulatedOOBRecords.toArray(new MIOOBRecord[fAccumulatedOOBRecords.size()]));
 					fAccumulatedOOBRecords.clear();
@@ -1033,6 +1139,8 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 						getExecutor().execute(new DsfRunnable() {
 							@Override
 							public void run() {
+								commandCompleted(commandHandle);
+
 								/*
 								 *  Complete the specific command.
 								 */
@@ -1062,6 +1170,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 						getExecutor().execute(new DsfRunnable() {
 							@Override
 							public void run() {
+								commandCompleted(commandHandle);
 								processCommandDone(commandHandle, finalResult);
 							}
 
@@ -1164,7 +1273,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 	 */
 	private class ErrorThread extends Thread {
 		private final InputStream fErrorStream;
-		private final MIParser fMiParser = new MIParser();
+		private final MIParser fMiParser = createMIParser();
 
 		public ErrorThread(InputStream errorStream) {
 			super("MI Error Thread"); //$NON-NLS-1$
@@ -1290,6 +1399,10 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		return null;
 	}
 
+	private static MIParser createMIParser() {
+		return ENABLE_LAZY_MI_PARSER ? new MILazyParser() : new MIParser();
+	}
+
 	/**
 	 * @since 6.6
 	 */
@@ -1311,4 +1424,17 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		}
 		return true;
 	}
+
+	/**
+	 * Whether commands may be pipelined, i.e. whether more than the default number of
+	 * commands may be sent to GDB before their results are received. Only used if
+	 * {@link #isConcurrentCommandsSupported()} returns <code>true</code>.
+	 *
+	 * @since 7.2
+	 */
+	protected boolean isCommandPipeliningEnabled() {
+		return Platform.getPreferencesService().getBoolean(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_MI_COMMAND_PIPELINING,
+				IGdbDebugPreferenceConstants.MI_COMMAND_PIPELINING_DEFAULT, null);
+	}
 }
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and queue statistics of the MI commands sent by an {@link AbstractMIControl},
+ * per MI operation (e.g. <code>-stack-list-frames</code>).
+ * <p>
+ * The latency of a command is the time from handing it to the transmitter until its
+ * result record is received. The queue time is the time the command waited in the
+ * command queue of the control before it was handed to the transmitter.
+ *
+ * @since 7.2
+ */
+public class MICommandStatistics {
+
+	/**
+	 * The statistics of one MI operation.
+	 */
+	public static class Entry {
+		private final String fOperation;
+		private int fSentCount;
+		private int fDoneCount;
+		private long fTotalLatency;
+		private long fMaxLatency;
+		private long fTotalQueueTime;
+		private long fMaxQueueTime;
+		private int fMaxQueueDepth;
+
+		private Entry(String operation) {
+			fOperation = operation;
+		}
+
+		private Entry(Entry other) {
+			fOperation = other.fOperation;
+			fSentCount = other.fSentCount;
+			fDoneCount = other.fDoneCount;
+			fTotalLatency = other.fTotalLatency;
+			fMaxLatency = other.fMaxLatency;
+			fTotalQueueTime = other.fTotalQueueTime;
+			fMaxQueueTime = other.fMaxQueueTime;
+			fMaxQueueDepth = other.fMaxQueueDepth;
+		}
+
+		public String getOperation() {
+			return fOperation;
+		}
+
+		/** The number of commands handed to the transmitter. */
+		public int getSentCount() {
+			return fSentCount;
+		}
+
+		/** The number of commands for which a result was received. */
+		public int getDoneCount() {
+			return fDoneCount;
+		}
+
+		/** The sum of the latencies of all completed commands, in nanoseconds. */
+		public long getTotalLatency() {
+			return fTotalLatency;
+		}
+
+		/** The largest latency of a completed command, in nanoseconds. */
+		public long getMaxLatency() {
+			return fMaxLatency;
+		}
+
+		/** The sum of the times the sent commands have waited in the queue, in nanoseconds. */
+		public long getTotalQueueTime() {
+			return fTotalQueueTime;
+		}
+
+		/** The largest time a sent command has waited in the queue, in nanoseconds. */
+		public long getMaxQueueTime() {
+			return fMaxQueueTime;
+		}
+
+		/** The largest number of commands that were still queued when a command was sent. */
+		public int getMaxQueueDepth() {
+			return fMaxQueueDepth;
+		}
+
+		@Override
+		public String toString() {
+			long avgLatency = fDoneCount == 0 ? 0 : fTotalLatency / fDoneCount;
+			long avgQueueTime = fSentCount == 0 ? 0 : fTotalQueueTime / fSentCount;
+			return String.format("%-32s sent=%d done=%d latency(avg/max)=%d/%dus queued(avg/max)=%d/%dus depth=%d", //$NON-NLS-1$
+					fOperation, fSentCount, fDoneCount, TimeUnit.NANOSECONDS.toMicros(avgLatency),
+					TimeUnit.NANOSECONDS.toMicros(fMaxLatency), TimeUnit.NANOSECONDS.toMicros(avgQueueTime),
+					TimeUnit.NANOSECONDS.toMicros(fMaxQueueTime), fMaxQueueDepth);
+		}
+	}
+
+	private final Map<String, Entry> fEntries = new HashMap<>();
+	private int fMaxCommandsInFlight;
+
+	private Entry getEntry(String operation) {
+		return fEntries.computeIfAbsent(operation, Entry::new);
+	}
+
+	synchronized void commandSent(String operation, long queueTime, int queueDepth, int commandsInFlight) {
+		Entry entry = getEntry(operation);
+		entry.fSentCount++;
+		entry.fTotalQueueTime += queueTime;
+		entry.fMaxQueueTime = Math.max(entry.fMaxQueueTime, queueTime);
+		entry.fMaxQueueDepth = Math.max(entry.fMaxQueueDepth, queueDepth);
+		fMaxCommandsInFlight = Math.max(fMaxCommandsInFlight, commandsInFlight);
+	}
+
+	synchronized void commandDone(String operation, long latency) {
+		Entry entry = getEntry(operation);
+		entry.fDoneCount++;
+		entry.fTotalLatency += latency;
+		entry.fMaxLatency = Math.max(entry.fMaxLatency, latency);
+	}
+
+	/**
+	 * Returns a snapshot of the statistics of all operations, sorted by the total latency
+	 * in descending order.
+	 */
+	public synchronized List<Entry> getEntries() {
+		List<Entry> result = new ArrayList<>(fEntries.size());
+		for (Entry entry : fEntries.values()) {
+			result.add(new Entry(entry));
+		}
+		result.sort(Comparator.comparingLong(Entry::getTotalLatency).reversed());
+		return result;
+	}
+
+	/**
+	 * Returns the largest number of commands that were in flight at the same time.
+	 */
+	public synchronized int getMaxCommandsInFlight() {
+		return fMaxCommandsInFlight;
+	}
+
+	/**
+	 * Discards all statistics collected so far.
+	 */
+	public synchronized void reset() {
+		fEntries.clear();
+		fMaxCommandsInFlight = 0;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buf = new StringBuilder();
+		buf.append("MI command statistics, max commands in flight: ").append(getMaxCommandsInFlight()); //$NON-NLS-1$
+		for (Entry entry : getEntries()) {
+			buf.append('\n').append(entry);
+		}
+		return buf.toString();
+	}
+}
@@ -21,6 +21,7 @@ import org.eclipse.cdt.dsf.mi.service.command.output.ExprMetaGetChildrenInfo;
 public class ExprMetaGetChildren extends ExprMetaCommand<ExprMetaGetChildrenInfo> {
 
 	private int numChildLimit = IMIExpressions.CHILD_COUNT_LIMIT_UNSPECIFIED;
+	private int startIndex = -1;
 
 	public ExprMetaGetChildren(IExpressionDMContext ctx) {
 		super(ctx);
@@ -37,6 +38,22 @@ public class ExprMetaGetChildren extends ExprMetaCommand<ExprMetaGetChildrenInfo
 		this.numChildLimit = numChildLimit;
 	}
 
+	/**
+	 * Asks for the children with an index in [startIndex, numChildLimit) only.
+	 * The children of the result start with the one at startIndex.
+	 *
+	 * @param ctx
+	 * @param startIndex
+	 * @param numChildLimit
+	 *
+	 * @since 7.2
+	 */
+	public ExprMetaGetChildren(IExpressionDMContext ctx, int startIndex, int numChildLimit) {
+		super(ctx);
+		this.startIndex = startIndex;
+		this.numChildLimit = numChildLimit;
+	}
+
 	/**
 	 * @since 4.0
 	 */
@@ -44,11 +61,22 @@ public class ExprMetaGetChildren extends ExprMetaCommand<ExprMetaGetChildrenInfo
 		return numChildLimit;
 	}
 
+	/**
+	 * @return The index of the first child asked for, or -1 if all children up
+	 *         to {@link #getNumChildLimit()} are asked for.
+	 *
+	 * @since 7.2
+	 */
+	public int getStartIndex() {
+		return startIndex;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result + numChildLimit;
+		result = prime * result + startIndex;
 		return result;
 	}
 
@@ -61,6 +89,8 @@ public class ExprMetaGetChildren extends ExprMetaCommand<ExprMetaGetChildrenInfo
 		ExprMetaGetChildren other = (ExprMetaGetChildren) obj;
 		if (numChildLimit != other.numChildLimit)
 			return false;
+		if (startIndex != other.startIndex)
+			return false;
 		return true;
 	}
 }
\ No newline at end of file
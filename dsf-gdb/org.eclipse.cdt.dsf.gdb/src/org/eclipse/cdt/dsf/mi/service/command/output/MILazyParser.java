@@ -0,0 +1,588 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command.output;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An {@link MIParser} that reads the records directly from a window of a
+ * {@link CharSequence}, without copying the line into intermediate buffers, and
+ * that materializes tuples and lists only when their content is first accessed.
+ * <p>
+ * The top level results of a record are parsed right away, a tuple or list
+ * value only remembers its position in the line. This way the large results of
+ * e.g. <code>-data-read-memory-bytes</code> or <code>-var-list-children</code>
+ * are only turned into objects if, and as far as, somebody looks at them. As a
+ * consequence the values of a record keep a reference to the line until they are
+ * materialized, so the text passed to the parser must not be modified afterwards.
+ * <p>
+ * For well-formed MI output the records are the same as the ones produced by
+ * {@link MIParser}. Malformed tuples and lists are bounded by their closing
+ * bracket, whereas {@link MIParser} may consume the rest of the line for them.
+ *
+ * @since 7.2
+ */
+public class MILazyParser extends MIParser {
+
+	private static final String[] RESULT_CLASSES = { MIResultRecord.DONE, MIResultRecord.ERROR,
+			MIResultRecord.EXIT, MIResultRecord.RUNNING, MIResultRecord.CONNECTED };
+
+	private static final MIResult[] NO_RESULTS = new MIResult[0];
+	private static final MIValue[] NO_VALUES = new MIValue[0];
+
+	/**
+	 * Variable names and async classes are few and repeat over and over, they are
+	 * shared through this cache. Races are benign as strings are immutable.
+	 */
+	private static final int NAME_CACHE_SIZE = 512;
+	private static final int MAX_CACHED_NAME_LENGTH = 32;
+	private static final String[] NAME_CACHE = new String[NAME_CACHE_SIZE];
+
+	/**
+	 * A window of the text of a record and the read position in it.
+	 */
+	private static final class Window {
+		final CharSequence text;
+		final int end;
+		int pos;
+
+		Window(CharSequence text, int start, int end) {
+			this.text = text;
+			this.pos = start;
+			this.end = end;
+		}
+
+		boolean atEnd() {
+			return pos >= end;
+		}
+
+		char peek() {
+			return text.charAt(pos);
+		}
+
+		boolean consume(char c) {
+			if (pos < end && text.charAt(pos) == c) {
+				pos++;
+				return true;
+			}
+			return false;
+		}
+
+		boolean startsWith(String prefix) {
+			int length = prefix.length();
+			if (end - pos < length) {
+				return false;
+			}
+			for (int i = 0; i < length; i++) {
+				if (text.charAt(pos + i) != prefix.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		int indexOf(char c) {
+			for (int i = pos; i < end; i++) {
+				if (text.charAt(i) == c) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		String substring(int from, int to) {
+			return text.subSequence(from, to).toString();
+		}
+	}
+
+	/**
+	 * A tuple that is parsed when its content is first accessed.
+	 */
+	private static final class LazyTuple extends MITuple {
+		private volatile CharSequence fText;
+		private final int fStart;
+		private final int fEnd;
+
+		LazyTuple(CharSequence text, int start, int end) {
+			fText = text;
+			fStart = start;
+			fEnd = end;
+		}
+
+		boolean isMaterialized() {
+			return fText == null;
+		}
+
+		private void materialize() {
+			if (fText != null) {
+				synchronized (this) {
+					CharSequence text = fText;
+					if (text != null) {
+						List<MIValue> values = new ArrayList<>();
+						List<MIResult> results = new ArrayList<>();
+						parseContents(new Window(text, fStart, fEnd), values, results);
+						super.setMIValues(toValueArray(values));
+						super.setMIResults(toResultArray(results));
+						fText = null;
+					}
+				}
+			}
+		}
+
+		@Override
+		public MIResult[] getMIResults() {
+			materialize();
+			return super.getMIResults();
+		}
+
+		@Override
+		public void setMIResults(MIResult[] res) {
+			materialize();
+			super.setMIResults(res);
+		}
+
+		@Override
+		public MIValue[] getMIValues() {
+			materialize();
+			return super.getMIValues();
+		}
+
+		@Override
+		public void setMIValues(MIValue[] vals) {
+			materialize();
+			super.setMIValues(vals);
+		}
+
+		@Override
+		public MIValue getField(String name) {
+			materialize();
+			return super.getField(name);
+		}
+
+		@Override
+		String toString(String start, String end) {
+			materialize();
+			return super.toString(start, end);
+		}
+	}
+
+	/**
+	 * A list that is parsed when its content is first accessed.
+	 */
+	private static final class LazyList extends MIList {
+		private volatile CharSequence fText;
+		private final int fStart;
+		private final int fEnd;
+
+		LazyList(CharSequence text, int start, int end) {
+			fText = text;
+			fStart = start;
+			fEnd = end;
+		}
+
+		boolean isMaterialized() {
+			return fText == null;
+		}
+
+		private void materialize() {
+			if (fText != null) {
+				synchronized (this) {
+					CharSequence text = fText;
+					if (text != null) {
+						List<MIValue> values = new ArrayList<>();
+						List<MIResult> results = new ArrayList<>();
+						parseContents(new Window(text, fStart, fEnd), values, results);
+						super.setMIValues(toValueArray(values));
+						super.setMIResults(toResultArray(results));
+						fText = null;
+					}
+				}
+			}
+		}
+
+		@Override
+		public MIResult[] getMIResults() {
+			materialize();
+			return super.getMIResults();
+		}
+
+		@Override
+		public void setMIResults(MIResult[] res) {
+			materialize();
+			super.setMIResults(res);
+		}
+
+		@Override
+		public MIValue[] getMIValues() {
+			materialize();
+			return super.getMIValues();
+		}
+
+		@Override
+		public void setMIValues(MIValue[] vals) {
+			materialize();
+			super.setMIValues(vals);
+		}
+
+		@Override
+		public String toString() {
+			materialize();
+			return super.toString();
+		}
+	}
+
+	@Override
+	public RecordType getRecordType(String line) {
+		return getRecordType(line, 0, line.length());
+	}
+
+	/**
+	 * Returns the type of the record in the given window of the text.
+	 */
+	public RecordType getRecordType(CharSequence text, int start, int end) {
+		int i = start;
+		while (i < end && Character.isDigit(text.charAt(i))) {
+			i++;
+		}
+		if (i < end && text.charAt(i) == '^') {
+			return RecordType.ResultRecord;
+		}
+		Window w = new Window(text, i, end);
+		if (w.startsWith(primaryPrompt)) {
+			return RecordType.PrimaryPrompt;
+		}
+		return RecordType.OOBRecord;
+	}
+
+	@Override
+	public MIResultRecord parseMIResultRecord(String line) {
+		return parseMIResultRecord(line, 0, line.length());
+	}
+
+	/**
+	 * Parses the result record in the given window of the text.
+	 */
+	public MIResultRecord parseMIResultRecord(CharSequence text, int start, int end) {
+		Window w = new Window(text, start, end);
+		int id = parseToken(w);
+		// Consume the '^'
+		w.pos++;
+
+		MIResultRecord rr = new MIResultRecord();
+		rr.setToken(id);
+		for (String resultClass : RESULT_CLASSES) {
+			if (w.startsWith(resultClass)) {
+				rr.setResultClass(resultClass);
+				w.pos += resultClass.length();
+				break;
+			}
+		}
+
+		// Results are separated by commas.
+		if (w.consume(',')) {
+			rr.setMIResults(parseResults(w));
+		}
+		return rr;
+	}
+
+	@Override
+	public MIOOBRecord parseMIOOBRecord(String line) {
+		return parseMIOOBRecord(line, 0, line.length());
+	}
+
+	/**
+	 * Parses the out of band record in the given window of the text.
+	 */
+	public MIOOBRecord parseMIOOBRecord(CharSequence text, int start, int end) {
+		Window w = new Window(text, start, end);
+		int id = parseToken(w);
+		char c = w.atEnd() ? 0 : w.peek();
+		if (c == '*' || c == '+' || c == '=') {
+			w.pos++;
+			MIAsyncRecord async;
+			if (c == '*') {
+				async = new MIExecAsyncOutput();
+			} else if (c == '+') {
+				async = new MIStatusAsyncOutput();
+			} else {
+				async = new MINotifyAsyncOutput();
+			}
+			async.setToken(id);
+			// Extract the Async-Class
+			int comma = w.indexOf(',');
+			if (comma != -1) {
+				async.setAsyncClass(name(text, w.pos, comma));
+				w.pos = comma + 1;
+			} else {
+				async.setAsyncClass(w.substring(w.pos, w.end).trim());
+				w.pos = w.end;
+			}
+			async.setMIResults(parseResults(w));
+			return async;
+		} else if (c == '~' || c == '@' || c == '&') {
+			w.pos++;
+			MIStreamRecord stream;
+			if (c == '~') {
+				stream = new MIConsoleStreamOutput();
+			} else if (c == '@') {
+				stream = new MITargetStreamOutput();
+			} else {
+				stream = new MILogStreamOutput();
+			}
+			w.consume('"');
+			// Don't parse any backslashes - backslashes within stream records
+			// aren't escaped.
+			stream.setCString(parseCString(w, false));
+			return stream;
+		} else {
+			// Badly format MI line, just pass it to the user as target stream
+			MIStreamRecord stream = new MITargetStreamOutput();
+			stream.setCString(w.substring(start, end) + "\n"); //$NON-NLS-1$
+			return stream;
+		}
+	}
+
+	private static int parseToken(Window w) {
+		if (w.atEnd() || !Character.isDigit(w.peek())) {
+			return -1;
+		}
+		long id = 0;
+		while (!w.atEnd() && Character.isDigit(w.peek())) {
+			if (id <= Integer.MAX_VALUE) {
+				id = id * 10 + Character.digit(w.peek(), 10);
+			}
+			w.pos++;
+		}
+		return id <= Integer.MAX_VALUE ? (int) id : -1;
+	}
+
+	/**
+	 * Parses the comma separated results, assuming that the leading comma was consumed.
+	 */
+	private static MIResult[] parseResults(Window w) {
+		MIResult first = parseResult(w);
+		if (!w.consume(',')) {
+			return new MIResult[] { first };
+		}
+		List<MIResult> results = new ArrayList<>();
+		results.add(first);
+		do {
+			results.add(parseResult(w));
+		} while (w.consume(','));
+		return toResultArray(results);
+	}
+
+	private static MIResult parseResult(Window w) {
+		MIResult result = new MIResult();
+		int equal;
+		if (!w.atEnd() && Character.isLetter(w.peek()) && (equal = w.indexOf('=')) != -1) {
+			// Result is a variable and value
+			result.setVariable(name(w.text, w.pos, equal));
+			w.pos = equal + 1;
+			result.setMIValue(parseValue(w));
+		} else {
+			MIValue value = parseValue(w);
+			if (value != null) {
+				// Result is a value only (bug 527419)
+				result.setMIValue(value);
+			} else {
+				result.setVariable(w.substring(w.pos, w.end));
+				result.setMIValue(new MIConst());
+				w.pos = w.end;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Parses a value, or returns <code>null</code> if there is none at the current position.
+	 * Tuples and lists are skipped and parsed on demand.
+	 */
+	private static MIValue parseValue(Window w) {
+		if (w.atEnd()) {
+			return null;
+		}
+		switch (w.peek()) {
+		case '{': {
+			int close = findClosingBracket(w);
+			MIValue tuple = new LazyTuple(w.text, w.pos + 1, close);
+			w.pos = Math.min(close + 1, w.end);
+			return tuple;
+		}
+		case '[': {
+			int close = findClosingBracket(w);
+			MIValue list = new LazyList(w.text, w.pos + 1, close);
+			w.pos = Math.min(close + 1, w.end);
+			return list;
+		}
+		case '"': {
+			w.pos++;
+			MIConst cnst = new MIConst();
+			// Parse backslashes - backslashes within result
+			// and out of band records are escaped.
+			cnst.setCString(parseCString(w, true));
+			return cnst;
+		}
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Parses the content of a tuple or list, without the enclosing brackets.
+	 */
+	private static void parseContents(Window w, List<MIValue> values, List<MIResult> results) {
+		while (!w.atEnd()) {
+			MIValue value = parseValue(w);
+			if (value != null) {
+				values.add(value);
+			} else {
+				results.add(parseResult(w));
+			}
+			w.consume(',');
+		}
+	}
+
+	/**
+	 * Returns the index of the bracket closing the one at the current position,
+	 * or the end of the window if there is none.
+	 */
+	private static int findClosingBracket(Window w) {
+		CharSequence text = w.text;
+		int depth = 0;
+		for (int i = w.pos; i < w.end; i++) {
+			char c = text.charAt(i);
+			if (c == '"') {
+				// Skip the C-string, a backslash always escapes the next character
+				for (i++; i < w.end; i++) {
+					c = text.charAt(i);
+					if (c == '\\') {
+						i++;
+					} else if (c == '"') {
+						break;
+					}
+				}
+			} else if (c == '{' || c == '[') {
+				depth++;
+			} else if ((c == '}' || c == ']') && --depth == 0) {
+				return i;
+			}
+		}
+		return w.end;
+	}
+
+	/**
+	 * Reads a C-string, assuming that the opening double quote was consumed, and
+	 * returns its content without the enclosing double quotes. See
+	 * {@link MIParser} for the handling of backslashes.
+	 */
+	private static String parseCString(Window w, boolean parseBackslashes) {
+		CharSequence text = w.text;
+		int start = w.pos;
+		int i = start;
+		// Fast path, no escaping
+		for (; i < w.end; i++) {
+			char c = text.charAt(i);
+			if (c == '"') {
+				w.pos = i + 1;
+				return w.substring(start, i);
+			}
+			if (c == '\\') {
+				break;
+			}
+		}
+		StringBuilder sb = new StringBuilder(w.end - start);
+		sb.append(text, start, i);
+		boolean escape = false;
+		for (; i < w.end; i++) {
+			char c = text.charAt(i);
+			if (c == '\\') {
+				if (escape) {
+					sb.append(c);
+					if (!parseBackslashes) {
+						sb.append(c);
+					}
+					escape = false;
+				} else {
+					escape = true;
+				}
+			} else if (c == '"') {
+				if (escape) {
+					sb.append(c);
+					escape = false;
+				} else {
+					i++;
+					break;
+				}
+			} else {
+				if (escape) {
+					sb.append('\\');
+				}
+				sb.append(c);
+				escape = false;
+			}
+		}
+		w.pos = i;
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the string of the given range of the text, shared if it is a
+	 * short one that was seen before.
+	 */
+	private static String name(CharSequence text, int start, int end) {
+		int length = end - start;
+		if (length > MAX_CACHED_NAME_LENGTH) {
+			return text.subSequence(start, end).toString();
+		}
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + text.charAt(i);
+		}
+		int slot = (hash ^ (hash >>> 16)) & (NAME_CACHE_SIZE - 1);
+		String cached = NAME_CACHE[slot];
+		if (cached != null && cached.length() == length) {
+			int i = 0;
+			while (i < length && cached.charAt(i) == text.charAt(start + i)) {
+				i++;
+			}
+			if (i == length) {
+				return cached;
+			}
+		}
+		String name = text.subSequence(start, end).toString();
+		NAME_CACHE[slot] = name;
+		return name;
+	}
+
+	private static MIResult[] toResultArray(List<MIResult> results) {
+		return results.isEmpty() ? NO_RESULTS : results.toArray(new MIResult[results.size()]);
+	}
+
+	private static MIValue[] toValueArray(List<MIValue> values) {
+		return values.isEmpty() ? NO_VALUES : values.toArray(new MIValue[values.size()]);
+	}
+
+	/**
+	 * Whether the given value is a tuple or list that has not been parsed yet.
+	 * For testing.
+	 */
+	static boolean isLazy(MIValue value) {
+		if (value instanceof LazyTuple) {
+			return !((LazyTuple) value).isMaterialized();
+		}
+		if (value instanceof LazyList) {
+			return !((LazyList) value).isMaterialized();
+		}
+		return false;
+	}
+}
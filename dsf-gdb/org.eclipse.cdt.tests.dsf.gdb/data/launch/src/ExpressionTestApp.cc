@@ -1,4 +1,5 @@
 #include <stdio.h>
+#include <vector>
 
 int gIntVar = 543;
 double gDoubleVar = 543.543;
@@ -373,6 +374,14 @@ int testArrays() {
 	return 1;
 }
 
+int testLargeVector() {
+	std::vector<int> large_vector(5000, 1);
+	/* testLargeVector_init */
+	large_vector[4001] = 2;
+	large_vector[1] = 3;
+	return large_vector[0];
+}
+
 int testCasting() {
 	int array_large[111] = {65, 0x41424344, 0x45464748}; // Decimal: 65, 1094861636, 1162233672, Char: A, ABCD, EFGH
 	int array_small[4] = {65, 0x41424344, 0x45464748}; // Decimal: 65, 1094861636, 1162233672, Char: A, ABCD, EFGH
@@ -482,6 +491,7 @@ int main() {
     testUpdateOfPointerTypedef();
     testCanWrite();
     testArrays();
+    testLargeVector();
     testRTTI();
     testCasting();
     testReturn();
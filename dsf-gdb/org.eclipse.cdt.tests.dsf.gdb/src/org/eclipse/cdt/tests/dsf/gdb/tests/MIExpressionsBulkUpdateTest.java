@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.gdb.tests;
+
+import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/**
+ * Runs the expression tests with all out-of-date variable objects updated by a
+ * single -var-update.
+ */
+@RunWith(Parameterized.class)
+public class MIExpressionsBulkUpdateTest extends MIExpressionsTest {
+
+	@Override
+	public void doBeforeTest() throws Exception {
+		// The variable manager reads the preference when the session starts
+		IEclipsePreferences node = InstanceScope.INSTANCE.getNode(GdbPlugin.PLUGIN_ID);
+		node.putBoolean(IGdbDebugPreferenceConstants.PREF_VARIABLE_BULK_UPDATE, true);
+		super.doBeforeTest();
+	}
+
+	@Override
+	public void doAfterTest() throws Exception {
+		IEclipsePreferences node = InstanceScope.INSTANCE.getNode(GdbPlugin.PLUGIN_ID);
+		node.remove(IGdbDebugPreferenceConstants.PREF_VARIABLE_BULK_UPDATE);
+		super.doAfterTest();
+	}
+}
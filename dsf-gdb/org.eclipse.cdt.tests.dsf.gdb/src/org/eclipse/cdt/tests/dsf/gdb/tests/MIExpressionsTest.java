@@ -20,6 +20,7 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -27,9 +28,11 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.cdt.core.IAddress;
 import org.eclipse.cdt.debug.core.ICDTLaunchConfigurationConstants;
+import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.ImmediateDataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.Query;
@@ -51,9 +54,14 @@ import org.eclipse.cdt.dsf.debug.service.IFormattedValues.FormattedValueDMData;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.StepType;
 import org.eclipse.cdt.dsf.debug.service.IStack.IFrameDMContext;
 import org.eclipse.cdt.dsf.debug.service.IStack.IVariableDMData;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandListener;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
 import org.eclipse.cdt.dsf.mi.service.ClassAccessor.MIExpressionDMCAccessor;
 import org.eclipse.cdt.dsf.mi.service.MIExpressions;
 import org.eclipse.cdt.dsf.mi.service.MIExpressions.MIExpressionDMC;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MIVarDelete;
 import org.eclipse.cdt.dsf.mi.service.command.events.MIStoppedEvent;
 import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfServicesTracker;
@@ -3318,6 +3326,153 @@ public class MIExpressionsTest extends BaseParametrizedTestCase {
 				new String[] { "array_double_small[3][19]", "array_double_small[3][20]" });
 	}
 
+	/**
+	 * This test verifies that the children of a window far beyond the children
+	 * fetched so far are updated, for a variable object whose children are
+	 * provided by a pretty printer, and that the children before the window are
+	 * updated again once they are displayed.
+	 */
+	@Test
+	public void testUpdateOfChildrenWindow() throws Throwable {
+		MIStoppedEvent stoppedEvent = runToTag("testLargeVector_init");
+		IFrameDMContext frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+
+		// std::vector<int> large_vector(5000, 1)
+		IExpressionDMContext vectorDmc = SyncUtil.createExpression(frameDmc, "large_vector");
+
+		// Only the pretty printer of std::vector provides the elements as children
+		IExpressionDMContext[] window = getSubExpressions(vectorDmc, 4000, 3);
+		assumeTrue("No pretty printer for std::vector", window.length == 3);
+		assertEquals("[4001]", new MIExpressionDMCAccessor(window[1]).getRelativeExpression());
+		assertEquals("1", SyncUtil.getExpressionValue(window[1], IFormattedValues.NATURAL_FORMAT));
+
+		// large_vector[4001] = 2;
+		SyncUtil.step(1, StepType.STEP_OVER);
+		assertEquals("2", SyncUtil.getExpressionValue(window[1], IFormattedValues.NATURAL_FORMAT));
+
+		// Listing the first children moves the update range back to them
+		IExpressionDMContext[] first = getChildren(vectorDmc, 0, 3, new String[] { "[0]", "[1]", "[2]" });
+		assertEquals("1", SyncUtil.getExpressionValue(first[1], IFormattedValues.NATURAL_FORMAT));
+
+		// large_vector[1] = 3;
+		SyncUtil.step(1, StepType.STEP_OVER);
+		assertEquals("3", SyncUtil.getExpressionValue(first[1], IFormattedValues.NATURAL_FORMAT));
+	}
+
+	/**
+	 * This test verifies that no change is lost when a root is updated while
+	 * another one is busy. With bulk updates, the changes of a root that cannot
+	 * process them when the update completes are kept for its next update.
+	 */
+	@Test
+	public void testConcurrentUpdateOfRoots() throws Throwable {
+		MIStoppedEvent stoppedEvent = runToTag("testUpdateChildren_init");
+		IFrameDMContext frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+
+		final IExpressionDMContext xDmc = SyncUtil.createExpression(frameDmc, "a.z.x");
+		final IExpressionDMContext yDmc = SyncUtil.createExpression(frameDmc, "a.z.y");
+		assertEquals("10", SyncUtil.getExpressionValue(xDmc, IFormattedValues.NATURAL_FORMAT));
+		assertEquals("11", SyncUtil.getExpressionValue(yDmc, IFormattedValues.NATURAL_FORMAT));
+
+		// a.z.x = val + 20; a.z.y = val + 21;
+		SyncUtil.step(2, StepType.STEP_OVER);
+
+		// Write the second root while the first one is updated
+		Query<String> query = new Query<>() {
+			@Override
+			protected void execute(final DataRequestMonitor<String> rm) {
+				final String[] value = new String[1];
+				final CountingRequestMonitor crm = new CountingRequestMonitor(fExpService.getExecutor(), rm) {
+					@Override
+					protected void handleSuccess() {
+						rm.done(value[0]);
+					}
+				};
+				crm.setDoneCount(2);
+				fExpService.getFormattedExpressionValue(
+						fExpService.getFormattedValueContext(xDmc, IFormattedValues.NATURAL_FORMAT),
+						new ImmediateDataRequestMonitor<FormattedValueDMData>(crm) {
+							@Override
+							protected void handleSuccess() {
+								value[0] = getData().getFormattedValue();
+								crm.done();
+							}
+						});
+				fExpService.writeExpression(yDmc, "5", IFormattedValues.NATURAL_FORMAT, crm);
+			}
+		};
+		fExpService.getExecutor().execute(query);
+		assertEquals("20", query.get(TestsPlugin.massageTimeout(5000), TimeUnit.MILLISECONDS));
+
+		assertEquals("0x14", SyncUtil.getExpressionValue(xDmc, IFormattedValues.HEX_FORMAT));
+		assertEquals("5", SyncUtil.getExpressionValue(yDmc, IFormattedValues.NATURAL_FORMAT));
+		assertEquals("5", SyncUtil.getExpressionValue(SyncUtil.createExpression(frameDmc, "a.z.y + 0"),
+				IFormattedValues.NATURAL_FORMAT));
+	}
+
+	/**
+	 * This test verifies that variable objects are deleted in gdb once their
+	 * estimated memory cost exceeds the bound of the cache, and that the
+	 * expressions of deleted variable objects can still be read.
+	 */
+	@Test
+	public void testVariableObjectCacheEviction() throws Throwable {
+		MIStoppedEvent stoppedEvent = runToTag("testLocals_init");
+		IFrameDMContext frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+
+		final ICommandControlService control = fExpService.getExecutor()
+				.submit(() -> fServicesTracker.getService(ICommandControlService.class)).get();
+		final AtomicInteger deleted = new AtomicInteger();
+		final ICommandListener listener = new ICommandListener() {
+			@Override
+			public void commandQueued(ICommandToken token) {
+			}
+
+			@Override
+			public void commandSent(ICommandToken token) {
+				if (token.getCommand() instanceof MIVarDelete) {
+					deleted.incrementAndGet();
+				}
+			}
+
+			@Override
+			public void commandRemoved(ICommandToken token) {
+			}
+
+			@Override
+			public void commandDone(ICommandToken token, ICommandResult result) {
+			}
+		};
+		fExpService.getExecutor().submit(() -> control.addCommandListener(listener)).get();
+		try {
+			// Each root costs more than 512 bytes, 2100 roots exceed the 1MB bound
+			for (int i = 0; i < 2100; i++) {
+				IExpressionDMContext exprDmc = SyncUtil.createExpression(frameDmc, "lIntVar + " + i);
+				assertEquals(Integer.toString(12345 + i),
+						SyncUtil.getExpressionValue(exprDmc, IFormattedValues.NATURAL_FORMAT));
+			}
+			assertTrue("No variable object was deleted", deleted.get() > 0);
+
+			// The first roots were the least recently used ones, they are created again
+			IExpressionDMContext exprDmc = SyncUtil.createExpression(frameDmc, "lIntVar + 0");
+			assertEquals("12345", SyncUtil.getExpressionValue(exprDmc, IFormattedValues.NATURAL_FORMAT));
+		} finally {
+			fExpService.getExecutor().submit(() -> control.removeCommandListener(listener)).get();
+		}
+	}
+
+	private IExpressionDMContext[] getSubExpressions(final IExpressionDMContext parentDmc, final int startIndex,
+			final int length) throws Throwable {
+		Query<IExpressionDMContext[]> query = new Query<>() {
+			@Override
+			protected void execute(DataRequestMonitor<IExpressionDMContext[]> rm) {
+				fExpService.getSubExpressions(parentDmc, startIndex, length, rm);
+			}
+		};
+		fExpService.getExecutor().execute(query);
+		return query.get(TestsPlugin.massageTimeout(5000), TimeUnit.MILLISECONDS);
+	}
+
 	/**
 	 * This test verifies that there is no RTTI support before GDB 7.5.
 	 */
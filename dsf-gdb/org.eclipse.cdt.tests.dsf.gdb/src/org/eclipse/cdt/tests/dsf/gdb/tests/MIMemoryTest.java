@@ -1251,6 +1251,44 @@ public class MIMemoryTest extends BaseParametrizedTestCase {
 		assertEquals("Incorrect count of MemoryChangedEvent", 0, getEventCount());
 	}
 
+	// ------------------------------------------------------------------------
+	// memoryCacheWriteReadBack
+	// Write into a cached block and read it back from the memory cache
+	// ------------------------------------------------------------------------
+	@Test
+	public void memoryCacheWriteReadBack() throws Throwable {
+
+		// Run to the point where the variable is initialized
+		SyncUtil.runToLocation("MemoryTestApp.cc:setBlocks");
+		MIStoppedEvent stoppedEvent = SyncUtil.step(StepType.STEP_RETURN);
+		IFrameDMContext frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+		fBaseAddress = evaluateExpression(frameDmc, "&charBlock");
+
+		// Cache the whole block
+		memoryCacheReadHelper(0, BLOCK_SIZE, fWordSize);
+
+		// Overwrite a part of it
+		int offset = 64;
+		int count = 32;
+		ByteBuffer buffer = ByteBuffer.allocate(count * fWordSize);
+		for (int i = 0; i < count; i++) {
+			buffer.put(valueToBytes(BLOCK_SIZE - 1 - i));
+		}
+		SyncUtil.writeMemory(fMemoryDmc, fBaseAddress, offset, fWordSize, count, buffer.array());
+
+		// Read the whole block back: the written units have the new values, the others are unchanged
+		MemoryByte[] block = SyncUtil.readMemory(fMemoryDmc, fBaseAddress, 0, fWordSize, BLOCK_SIZE);
+		MemoryByteBuffer memBuf = new MemoryByteBuffer(block, fByteOrder, fWordSize);
+		for (long i = 0; i < BLOCK_SIZE; i++) {
+			long expected = i >= offset && i < offset + count ? BLOCK_SIZE - 1 - (i - offset) : i;
+			assertThat("index " + i, memBuf.getNextWord(), is(expected));
+		}
+
+		// Ensure the MemoryChangedEvent was received for the written units only
+		assertEquals("Incorrect count of MemoryChangedEvent", 1, getEventCount());
+		assertEquals("Incorrect count of events for distinct addresses", count, getAddressCount());
+	}
+
 	private static class MemoryReadQuery extends Query<MemoryByte[]> {
 
 		private IMemory fMemoryService;
@@ -66,6 +66,15 @@ public interface IDsfDebugUIConstants {
 	 */
 	public static final String PREF_MIN_STEP_INTERVAL = "minStepInterval"; //$NON-NLS-1$
 
+	/**
+	 * Integer preference to control the capacity of the cache of the variables,
+	 * expressions and registers view models. Default is <code>1000</code>.
+	 * @see org.eclipse.cdt.dsf.ui.viewmodel.update.AbstractCachingVMProvider#setCacheCapacity(int)
+	 *
+	 * @since 2.8
+	 */
+	public static final String PREF_VIEW_MODEL_CACHE_CAPACITY = "viewModelCacheCapacity"; //$NON-NLS-1$
+
 	/**
 	 * @since 1.1
 	 */
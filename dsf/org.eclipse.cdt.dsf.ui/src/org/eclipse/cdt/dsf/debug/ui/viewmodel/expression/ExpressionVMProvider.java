@@ -83,6 +83,12 @@ public class ExpressionVMProvider extends AbstractElementVMProvider implements I
 			if (property.equals(IDsfDebugUIConstants.PREF_WAIT_FOR_VIEW_UPDATE_AFTER_STEP_ENABLE)) {
 				IPreferenceStore store = DsfDebugUITools.getPreferenceStore();
 				setDelayEventHandleForViewUpdate(store.getBoolean(property));
+			} else if (property.equals(IDsfDebugUIConstants.PREF_VIEW_MODEL_CACHE_CAPACITY)) {
+				IPreferenceStore store = DsfDebugUITools.getPreferenceStore();
+				final int capacity = store.getInt(property);
+				if (capacity > 0) {
+					getExecutor().execute(() -> setCacheCapacity(capacity));
+				}
 			}
 		}
 	};
@@ -103,6 +109,10 @@ public class ExpressionVMProvider extends AbstractElementVMProvider implements I
 		store.addPropertyChangeListener(fPreferencesListener);
 		setDelayEventHandleForViewUpdate(
 				store.getBoolean(IDsfDebugUIConstants.PREF_WAIT_FOR_VIEW_UPDATE_AFTER_STEP_ENABLE));
+		int cacheCapacity = store.getInt(IDsfDebugUIConstants.PREF_VIEW_MODEL_CACHE_CAPACITY);
+		if (cacheCapacity > 0) {
+			setCacheCapacity(cacheCapacity);
+		}
 
 		// The VM provider has to handle all events that result in model deltas.
 		// Add the provider as listener to expression changes events.
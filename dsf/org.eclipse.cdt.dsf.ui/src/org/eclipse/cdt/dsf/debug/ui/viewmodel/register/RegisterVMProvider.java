@@ -60,6 +60,12 @@ public class RegisterVMProvider extends AbstractElementVMProvider {
 			if (property.equals(IDsfDebugUIConstants.PREF_WAIT_FOR_VIEW_UPDATE_AFTER_STEP_ENABLE)) {
 				IPreferenceStore store = DsfDebugUITools.getPreferenceStore();
 				setDelayEventHandleForViewUpdate(store.getBoolean(property));
+			} else if (property.equals(IDsfDebugUIConstants.PREF_VIEW_MODEL_CACHE_CAPACITY)) {
+				IPreferenceStore store = DsfDebugUITools.getPreferenceStore();
+				final int capacity = store.getInt(property);
+				if (capacity > 0) {
+					getExecutor().execute(() -> setCacheCapacity(capacity));
+				}
 			}
 		}
 	};
@@ -83,6 +89,10 @@ public class RegisterVMProvider extends AbstractElementVMProvider {
 		store.addPropertyChangeListener(fPreferencesListener);
 		setDelayEventHandleForViewUpdate(
 				store.getBoolean(IDsfDebugUIConstants.PREF_WAIT_FOR_VIEW_UPDATE_AFTER_STEP_ENABLE));
+		int cacheCapacity = store.getInt(IDsfDebugUIConstants.PREF_VIEW_MODEL_CACHE_CAPACITY);
+		if (cacheCapacity > 0) {
+			setCacheCapacity(cacheCapacity);
+		}
 
 		configureLayout();
 	}
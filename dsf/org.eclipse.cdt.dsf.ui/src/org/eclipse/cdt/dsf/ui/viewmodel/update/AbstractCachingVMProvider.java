@@ -15,7 +15,6 @@ package org.eclipse.cdt.dsf.ui.viewmodel.update;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -86,7 +85,13 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 				&& Boolean.parseBoolean(Platform.getDebugOption("org.eclipse.cdt.dsf.ui/debug/vm/cache")); //$NON-NLS-1$
 	}
 
-	private static final int MAX_CACHE_SIZE = 1000;
+	/**
+	 * The default capacity of the cache.  An entry costs one unit, plus one
+	 * unit for every {@link #CHILDREN_PER_COST_UNIT} cached children.
+	 */
+	private static final int DEFAULT_CACHE_CAPACITY = 1000;
+
+	private static final int CHILDREN_PER_COST_UNIT = 16;
 
 	/**
 	 * Class representing a key to an element's data in the cache.  The main
@@ -138,7 +143,9 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 	/**
 	 * A base class for the entry in the cache.  Since the cache maintains
 	 * a double-linked list through all the entries, the linked list references
-	 * are maintained in this class.
+	 * are maintained in this class.  The entries which belong to a root element
+	 * are also linked in a second list, in the same order, so that a flush of
+	 * a root element only visits the entries of that root element.
 	 */
 	private static class Entry {
 		final Object fKey;
@@ -146,10 +153,33 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 		Entry fNext;
 		Entry fPrevious;
 
+		/** Head of the list of entries of the root element, if any. */
+		Entry fRootListHead;
+		Entry fRootNext;
+		Entry fRootPrevious;
+
+		/** Cost of this entry as last accounted in the cache. */
+		int fCost = 1;
+
 		Entry(Object key) {
 			fKey = key;
 		}
 
+		/**
+		 * Returns the root element this entry belongs to, or <code>null</code>
+		 * if the entry is not affected by the flush of a root element.
+		 */
+		Object getRootElement() {
+			if (fKey instanceof FlushMarkerKey) {
+				return ((FlushMarkerKey) fKey).fRootElement;
+			}
+			return null;
+		}
+
+		int estimateCost() {
+			return 1;
+		}
+
 		void insert(Entry nextEntry) {
 			fNext = nextEntry;
 			fPrevious = nextEntry.fPrevious;
@@ -157,9 +187,21 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 			fNext.fPrevious = this;
 		}
 
+		void insertInRootList(Entry rootListHead) {
+			fRootListHead = rootListHead;
+			fRootNext = rootListHead;
+			fRootPrevious = rootListHead.fRootPrevious;
+			fRootPrevious.fRootNext = this;
+			fRootNext.fRootPrevious = this;
+		}
+
 		void remove() {
 			fPrevious.fNext = fNext;
 			fNext.fPrevious = fPrevious;
+			if (fRootListHead != null) {
+				fRootPrevious.fRootNext = fRootNext;
+				fRootNext.fRootPrevious = fRootPrevious;
+			}
 		}
 
 		void reinsert(Entry nextEntry) {
@@ -170,6 +212,13 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 			fPrevious = nextEntry.fPrevious;
 			fPrevious.fNext = this;
 			fNext.fPrevious = this;
+
+			// Keep the list of the root element in the same order.
+			if (fRootListHead != null && fRootNext != fRootListHead) {
+				fRootPrevious.fRootNext = fRootNext;
+				fRootNext.fRootPrevious = fRootPrevious;
+				insertInRootList(fRootListHead);
+			}
 		}
 	}
 
@@ -246,6 +295,17 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 			}
 		}
 
+		@Override
+		Object getRootElement() {
+			return ((ElementDataKey) fKey).fRootElement;
+		}
+
+		@Override
+		int estimateCost() {
+			Map<Integer, Object> children = fChildren;
+			return 1 + (children != null ? children.size() / CHILDREN_PER_COST_UNIT : 0);
+		}
+
 		@Override
 		public String toString() {
 			return fKey.toString() + " = " + //$NON-NLS-1$
@@ -405,14 +465,31 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 	 * recently used entries in the cache and keep the cache from growing indefinitely.
 	 * Also, the ordering is used to optimize the flushing of the cache data (see
 	 * {@link FlushMarkerKey} for more details).
+	 * <p>
+	 * Like the linked list, the map is only accessed on the executor of the
+	 * provider, so it does not need to be synchronized.
 	 */
-	private final Map<Object, Entry> fCacheData = Collections.synchronizedMap(new HashMap<Object, Entry>(200, 0.75f));
+	private final Map<Object, Entry> fCacheData = new HashMap<>(200, 0.75f);
 
 	/**
 	 * Pointer to the first cache entry in the double-linked list of cache entries.
 	 */
 	private final Entry fCacheListHead;
 
+	/**
+	 * Heads of the lists of the entries of each root element, keyed by root element.
+	 */
+	private final Map<Object, Entry> fRootListHeads = new HashMap<>();
+
+	private int fCacheCapacity = DEFAULT_CACHE_CAPACITY;
+
+	/**
+	 * Total cost of the entries in the cache.
+	 */
+	private int fCacheCost = 0;
+
+	private final VMCacheStatistics fCacheStatistics = new VMCacheStatistics();
+
 	public AbstractCachingVMProvider(AbstractVMAdapter adapter, IPresentationContext presentationContext) {
 		super(adapter, presentationContext);
 
@@ -428,6 +505,46 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 		fAvailableUpdatePolicies = createUpdateModes();
 	}
 
+	/**
+	 * Returns the capacity of the cache of this provider.
+	 *
+	 * @see #setCacheCapacity(int)
+	 * @since 2.8
+	 */
+	public int getCacheCapacity() {
+		return fCacheCapacity;
+	}
+
+	/**
+	 * Sets the capacity of the cache of this provider.  An entry costs one
+	 * unit, plus one unit for every sixteen children cached in it.  When the
+	 * cache is over capacity, the least recently used entries are evicted.
+	 * Providers showing large numbers of elements, or showing them in several
+	 * columns, may need a larger capacity than the default of 1000.
+	 * <p>
+	 * This method must be called on the executor of this provider.
+	 *
+	 * @param capacity The new capacity, must be positive
+	 * @since 2.8
+	 */
+	public void setCacheCapacity(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Cache capacity must be positive: " + capacity); //$NON-NLS-1$
+		}
+		fCacheCapacity = capacity;
+		evictEntries(null);
+	}
+
+	/**
+	 * Returns the hit, miss and eviction statistics of the cache of this
+	 * provider.
+	 *
+	 * @since 2.8
+	 */
+	public VMCacheStatistics getCacheStatistics() {
+		return fCacheStatistics;
+	}
+
 	protected IVMUpdatePolicy[] createUpdateModes() {
 		return new IVMUpdatePolicy[] { new AutomaticUpdatePolicy() };
 	}
@@ -504,10 +621,12 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 					DsfUIPlugin.debug("cacheHitHasChildren(node = " + node + ", update = " + update + ", " //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
 							+ entry.fHasChildren + ")"); //$NON-NLS-1$
 				}
+				fCacheStatistics.hit();
 				update.setHasChilren(entry.fHasChildren.booleanValue());
 				update.done();
 			} else {
 				// Cache miss!  Save the flush counter of the entry and create a proxy update.
+				fCacheStatistics.miss();
 				final int flushCounter = entry.fFlushCounter;
 				missUpdates.add(
 						new VMHasChildrenUpdate(update, new ViewerDataRequestMonitor<Boolean>(getExecutor(), update) {
@@ -555,10 +674,12 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 				DsfUIPlugin.debug("cacheHitChildrenCount(node = " + node + ", update = " + update + ", " //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
 						+ entry.fChildrenCount + ")"); //$NON-NLS-1$
 			}
+			fCacheStatistics.hit();
 			update.setChildCount(entry.fChildrenCount.intValue());
 			update.done();
 		} else {
 			// Cache miss!  Save the flush counter of the entry and create a proxy update.
+			fCacheStatistics.miss();
 			final int flushCounter = entry.fFlushCounter;
 			IChildrenCountUpdate updateProxy = new VMChildrenCountUpdate(update,
 					new ViewerDataRequestMonitor<Integer>(getExecutor(), update) {
@@ -598,6 +719,7 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 			// Need to retrieve all the children if there is no children information yet.
 			// Or if the client requested all children (offset = -1, length -1) and all
 			// the children are not yet known.
+			fCacheStatistics.miss();
 			IChildrenUpdate updateProxy = new VMChildrenUpdate(update, update.getOffset(), update.getLength(),
 					new ViewerDataRequestMonitor<List<Object>>(getExecutor(), update) {
 						@Override
@@ -633,6 +755,9 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 									update.setChild(child, offset);
 								}
 							}
+							if (flushCounter == entry.fFlushCounter) {
+								updateCost(entry);
+							}
 							update.done();
 						}
 
@@ -661,6 +786,7 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 			assert entry.fAllChildrenKnown;
 
 			// we have all of the children in cache; return from cache
+			fCacheStatistics.hit();
 			for (int position = 0; position < entry.fChildren.size(); position++) {
 				update.setChild(entry.fChildren.get(position), position);
 			}
@@ -691,6 +817,8 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 			}
 
 			if (!childrenMissingFromCache.isEmpty()) {
+				fCacheStatistics.miss();
+
 				// Note: it is possible that entry.fAllChildrenKnown == true at this point.
 				// This can happen if the node's has children implementation returns true
 				// while the actual children update returns with no elements.  A node
@@ -735,6 +863,9 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 											}
 										}
 									}
+									if (flushCounter == entry.fFlushCounter) {
+										updateCost(entry);
+									}
 									multiRm.done();
 								}
 							}));
@@ -746,6 +877,7 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 				multiRm.setDoneCount(partialUpdates.size());
 			} else {
 				// All children were found in cache.  Complete the update.
+				fCacheStatistics.hit();
 				update.done();
 			}
 		}
@@ -766,9 +898,14 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 		}
 		// For each entry that has the given context as a parent, perform the flush.
 		// Iterate through the cache entries backwards.  This means that we will be
-		// iterating in order of most-recently-used to least-recently-used.
-		Entry entry = fCacheListHead.fPrevious;
-		while (entry != fCacheListHead) {
+		// iterating in order of most-recently-used to least-recently-used.  Only
+		// the entries of the root element being flushed can be affected, so only
+		// iterate through the list of that root element.
+		Entry rootListHead = getRootListHead(flushKey.fRootElement);
+		int visited = 0;
+		Entry entry = rootListHead.fRootPrevious;
+		while (entry != rootListHead) {
+			visited++;
 			if (entry.fKey instanceof FlushMarkerKey) {
 				FlushMarkerKey entryFlushKey = (FlushMarkerKey) entry.fKey;
 				// If the context currently being flushed includes the flush
@@ -777,8 +914,7 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 				// Use special handling for null contexts, which we treat like it's an
 				// ancestor of all other contexts.
 				if (flushKey.includes(entryFlushKey)) {
-					fCacheData.remove(entryFlushKey);
-					entry.remove();
+					removeEntry(entry);
 				}
 
 				// If the flush context in current entry includes the current context
@@ -805,8 +941,7 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 						// There is no archived data, which means that this entry is empty, so remove it from cache
 						// completely.
 						if (elementDataEntry.fArchiveProperties == null) {
-							fCacheData.remove(entry.fKey);
-							entry.remove();
+							removeEntry(entry);
 						}
 					} else {
 						// We are not changing the archived data.  If archive data exists in the entry, leave it.
@@ -814,8 +949,7 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 						if (elementDataEntry.fArchiveProperties != null) {
 							elementDataEntry.fProperties = null;
 						} else {
-							fCacheData.remove(entry.fKey);
-							entry.remove();
+							removeEntry(entry);
 						}
 					}
 					elementDataEntry.fFlushCounter++;
@@ -824,6 +958,7 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 					elementDataEntry.fChildren = null;
 					elementDataEntry.fAllChildrenKnown = false;
 					elementDataEntry.fDirty = false;
+					updateCost(elementDataEntry);
 				} else if ((updateFlags & IVMUpdatePolicy.FLUSH_ALL_PROPERTIES) != 0) {
 					elementDataEntry.fProperties = null;
 				} else if ((updateFlags & IVMUpdatePolicy.FLUSH_PARTIAL_PROPERTIES) != 0) {
@@ -839,13 +974,12 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 					}
 				}
 			}
-			entry = entry.fPrevious;
+			entry = entry.fRootPrevious;
 		}
+		fCacheStatistics.flushed(visited);
 
 		// Insert a marker for this flush operation.
-		Entry flushMarkerEntry = new Entry(flushKey);
-		fCacheData.put(flushKey, flushMarkerEntry);
-		flushMarkerEntry.insert(fCacheListHead);
+		addEntry(flushKey, new Entry(flushKey));
 	}
 
 	/**
@@ -1062,6 +1196,7 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 		if (entry != null) {
 			// Entry exists, move it to the end of the list.
 			entry.reinsert(fCacheListHead);
+			updateCost(entry);
 		} else if (create) {
 			// Create a new entry and add it to the end of the list.
 			entry = new ElementDataEntry(key);
@@ -1125,11 +1260,81 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 	private void addEntry(Object key, Entry entry) {
 		fCacheData.put(key, entry);
 		entry.insert(fCacheListHead);
-		// If we are at capacity in the cache, remove the entry from head.
-		if (fCacheData.size() > MAX_CACHE_SIZE) {
-			fCacheData.remove(fCacheListHead.fNext.fKey);
-			fCacheListHead.fNext.remove();
+		Object rootElement = entry.getRootElement();
+		if (rootElement != null) {
+			entry.insertInRootList(getRootListHead(rootElement));
+		}
+		entry.fCost = entry.estimateCost();
+		fCacheCost += entry.fCost;
+		evictEntries(entry);
+	}
+
+	/**
+	 * Removes the given entry from the cache map and from the lists it is in.
+	 */
+	private void removeEntry(Entry entry) {
+		fCacheData.remove(entry.fKey);
+		entry.remove();
+		fCacheCost -= entry.fCost;
+		Entry rootListHead = entry.fRootListHead;
+		if (rootListHead != null && rootListHead.fRootNext == rootListHead) {
+			fRootListHeads.remove(entry.getRootElement());
+		}
+	}
+
+	/**
+	 * Re-estimates the cost of the given entry after its data changed, and
+	 * evicts entries if the cache went over capacity.  Entries are never
+	 * evicted when the cost decreases, so that a flush can safely iterate
+	 * through the cache while updating the cost of the flushed entries.
+	 */
+	private void updateCost(Entry entry) {
+		// The entry may have been evicted while its data was being retrieved.
+		if (fCacheData.get(entry.fKey) != entry) {
+			return;
+		}
+		int cost = entry.estimateCost();
+		if (cost != entry.fCost) {
+			fCacheCost += cost - entry.fCost;
+			boolean increased = cost > entry.fCost;
+			entry.fCost = cost;
+			if (increased) {
+				evictEntries(entry);
+			}
+		}
+	}
+
+	/**
+	 * Removes the least recently used entries until the cache is within its
+	 * capacity.  The given entry, which is being used, is not evicted.
+	 */
+	private void evictEntries(Entry entryInUse) {
+		while (fCacheCost > fCacheCapacity && fCacheListHead.fNext != fCacheListHead
+				&& fCacheListHead.fNext != entryInUse) {
+			Entry eldest = fCacheListHead.fNext;
+			if (DEBUG_CACHE && (DEBUG_PRESENTATION_ID == null
+					|| getPresentationContext().getId().equals(DEBUG_PRESENTATION_ID))) {
+				DsfUIPlugin.debug("cacheEvicted(" + eldest + ")"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			removeEntry(eldest);
+			fCacheStatistics.evicted();
+		}
+	}
+
+	private Entry getRootListHead(Object rootElement) {
+		Entry rootListHead = fRootListHeads.get(rootElement);
+		if (rootListHead == null) {
+			rootListHead = new Entry(null) {
+				@Override
+				public String toString() {
+					return "ROOT HEAD"; //$NON-NLS-1$
+				}
+			};
+			rootListHead.fRootNext = rootListHead;
+			rootListHead.fRootPrevious = rootListHead;
+			fRootListHeads.put(rootElement, rootListHead);
 		}
+		return rootListHead;
 	}
 
 	/**
@@ -1224,11 +1429,13 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 				if (entry.fProperties.containsKey(PROP_UPDATE_POLICY_ID)) {
 					entry.fProperties.put(PROP_UPDATE_POLICY_ID, getActiveUpdatePolicy().getID());
 				}
+				fCacheStatistics.hit();
 				update.setAllProperties(entry.fProperties);
 				update.setStatus((IStatus) entry.fProperties.get(PROP_UPDATE_STATUS));
 				update.done();
 			} else {
 				// Cache miss!  Check if already cached properties can be re-used.
+				fCacheStatistics.miss();
 				Set<String> missingProperties = null;
 				if (entry.fProperties != null) {
 					missingProperties = new HashSet<>(update.getProperties().size() * 4 / 3);
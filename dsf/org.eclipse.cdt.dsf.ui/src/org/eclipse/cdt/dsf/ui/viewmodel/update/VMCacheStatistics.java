@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.ui.viewmodel.update;
+
+import org.eclipse.cdt.dsf.concurrent.ThreadSafe;
+
+/**
+ * Hit, miss and eviction statistics of the cache of an
+ * {@link AbstractCachingVMProvider}.
+ * <p>
+ * An update is a hit if it is completed from the cache alone, and a miss if
+ * the node has to be asked for any of the requested data.
+ *
+ * @since 2.8
+ */
+@ThreadSafe
+public class VMCacheStatistics {
+
+	private long fHitCount;
+	private long fMissCount;
+	private long fEvictionCount;
+	private long fFlushCount;
+	private long fFlushVisitCount;
+
+	synchronized void hit() {
+		fHitCount++;
+	}
+
+	synchronized void miss() {
+		fMissCount++;
+	}
+
+	synchronized void evicted() {
+		fEvictionCount++;
+	}
+
+	synchronized void flushed(int visitedEntries) {
+		fFlushCount++;
+		fFlushVisitCount += visitedEntries;
+	}
+
+	/** The number of updates completed from the cache. */
+	public synchronized long getHitCount() {
+		return fHitCount;
+	}
+
+	/** The number of updates for which the node was asked for data. */
+	public synchronized long getMissCount() {
+		return fMissCount;
+	}
+
+	/** The number of entries evicted to keep the cache within its capacity. */
+	public synchronized long getEvictionCount() {
+		return fEvictionCount;
+	}
+
+	/** The number of flush operations performed on the cache. */
+	public synchronized long getFlushCount() {
+		return fFlushCount;
+	}
+
+	/** The average number of entries visited by a flush operation. */
+	public synchronized double getAverageFlushVisitCount() {
+		return fFlushCount == 0 ? 0 : (double) fFlushVisitCount / fFlushCount;
+	}
+
+	/** The ratio of the updates completed from the cache. */
+	public synchronized double getHitRatio() {
+		long total = fHitCount + fMissCount;
+		return total == 0 ? 0 : (double) fHitCount / total;
+	}
+
+	/**
+	 * Discards all statistics collected so far.
+	 */
+	public synchronized void reset() {
+		fHitCount = 0;
+		fMissCount = 0;
+		fEvictionCount = 0;
+		fFlushCount = 0;
+		fFlushVisitCount = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format("hits=%d misses=%d evictions=%d flushes=%d visited per flush=%.1f hit ratio=%.2f", //$NON-NLS-1$
+				fHitCount, fMissCount, fEvictionCount, fFlushCount, getAverageFlushVisitCount(), getHitRatio());
+	}
+}
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -107,6 +108,79 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 		return fName;
 	}
 
+	/**
+	 * Statistics of the executed runnables, or null if they are not collected.
+	 */
+	private volatile DsfExecutorStatistics fStatistics;
+
+	/**
+	 * Start time of the runnable being executed, used for statistics.
+	 * Only accessed in the executor thread.
+	 */
+	private long fRunStartTime;
+
+	/**
+	 * Latency of the runnable being executed, used for statistics.
+	 * Only accessed in the executor thread.
+	 */
+	private long fQueueLatency;
+
+	/**
+	 * Queue depth when the runnable being executed started, used for statistics.
+	 * Only accessed in the executor thread.
+	 */
+	private int fQueueDepth;
+
+	/**
+	 * Enables or disables the collection of queue depth and latency statistics
+	 * of the runnables executed by this executor. Disabling discards the
+	 * statistics collected so far.
+	 *
+	 * @since 2.13
+	 */
+	public void setStatisticsEnabled(boolean enabled) {
+		if (enabled) {
+			if (fStatistics == null) {
+				fStatistics = new DsfExecutorStatistics();
+			}
+		} else {
+			fStatistics = null;
+		}
+	}
+
+	/**
+	 * Returns the statistics of the runnables executed by this executor, or
+	 * null if they are not collected.
+	 *
+	 * @see #setStatisticsEnabled(boolean)
+	 * @since 2.13
+	 */
+	public DsfExecutorStatistics getStatistics() {
+		return fStatistics;
+	}
+
+	@Override
+	protected void beforeExecute(Thread t, Runnable r) {
+		super.beforeExecute(t, r);
+		if (fStatistics != null) {
+			fRunStartTime = System.nanoTime();
+			// The tasks of a scheduled executor know when they were due; a
+			// negative delay is the time they have been waiting in the queue.
+			fQueueLatency = r instanceof Delayed ? Math.max(0, -((Delayed) r).getDelay(TimeUnit.NANOSECONDS)) : 0;
+			fQueueDepth = getQueue().size();
+		}
+	}
+
+	@Override
+	protected void afterExecute(Runnable r, Throwable t) {
+		DsfExecutorStatistics statistics = fStatistics;
+		if (statistics != null && fRunStartTime != 0) {
+			statistics.executed(fQueueLatency, System.nanoTime() - fRunStartTime, fQueueDepth);
+		}
+		fRunStartTime = 0;
+		super.afterExecute(r, t);
+	}
+
 	static void logException(Throwable t) {
 		DsfPlugin plugin = DsfPlugin.getDefault();
 		if (plugin == null)
@@ -520,6 +594,12 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 
 	@Override
 	protected void terminated() {
+		DsfExecutorStatistics statistics = fStatistics;
+		if (DEBUG_EXECUTOR && statistics != null
+				&& ("".equals(DEBUG_EXECUTOR_NAME) || fName.equals(DEBUG_EXECUTOR_NAME))) { //$NON-NLS-1$
+			DsfPlugin.debug(DsfPlugin.getDebugTime() + " Executor (" //$NON-NLS-1$
+					+ ((DsfThreadFactory) getThreadFactory()).fThreadName + ") statistics: " + statistics); //$NON-NLS-1$
+		}
 		fThreadToExecutorMap.remove(((DsfThreadFactory) getThreadFactory()).fThread);
 		super.terminated();
 	}
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A serial lane of execution on a pool of threads shared with other lanes.
+ * <p>
+ * Runnables submitted to a lane are executed one at a time, in the order they
+ * were submitted, and each one sees the effects of the ones before it, just
+ * like on a single threaded executor.  Runnables of different lanes run
+ * concurrently.  A lane is meant for work that a service can do without
+ * accessing the state confined to its session executor, such as converting or
+ * formatting large results, so that independent services do not wait for each
+ * other on the session executor.  The results must be handed back to the
+ * session executor to be used by the service.
+ * <p>
+ * A lane does not own a thread: it borrows a thread of its pool while it has
+ * runnables to execute.  To keep lanes fair, a lane gives its thread back
+ * after a batch of runnables.
+ *
+ * @since 2.13
+ */
+@ThreadSafe
+public class DsfExecutorLane implements Executor {
+
+	/** The number of runnables executed before the thread is given back to the pool */
+	private static final int BATCH_SIZE = 32;
+
+	private static Executor fgSharedPool;
+
+	/**
+	 * Returns the pool shared by the lanes that are not given a pool of their
+	 * own.  It has one thread per available processor; idle threads are
+	 * discarded.
+	 */
+	public static synchronized Executor getSharedPool() {
+		if (fgSharedPool == null) {
+			int threads = Runtime.getRuntime().availableProcessors();
+			ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+						private final AtomicInteger fCounter = new AtomicInteger();
+
+						@Override
+						public Thread newThread(Runnable r) {
+							Thread thread = new Thread(r, "DSF Executor Lane - " + fCounter.getAndIncrement()); //$NON-NLS-1$
+							thread.setDaemon(true);
+							return thread;
+						}
+					});
+			pool.allowCoreThreadTimeOut(true);
+			fgSharedPool = pool;
+		}
+		return fgSharedPool;
+	}
+
+	/** A queued runnable and the time it was submitted */
+	private static class QueuedRunnable {
+		final Runnable fRunnable;
+		final long fSubmitTime;
+
+		QueuedRunnable(Runnable runnable, long submitTime) {
+			fRunnable = runnable;
+			fSubmitTime = submitTime;
+		}
+	}
+
+	private final String fName;
+	private final Executor fPool;
+	private final DsfExecutorStatistics fStatistics = new DsfExecutorStatistics();
+
+	/** The queued runnables.  Guarded by itself. */
+	private final ArrayDeque<QueuedRunnable> fQueue = new ArrayDeque<>();
+
+	/** Whether the lane is running or about to run on the pool.  Guarded by fQueue. */
+	private boolean fScheduled = false;
+
+	/** The thread running the lane, if any */
+	private volatile Thread fThread;
+
+	/**
+	 * Creates a lane on the shared pool.
+	 * @param name The name of the lane, e.g. the name of the service using it
+	 */
+	public DsfExecutorLane(String name) {
+		this(name, getSharedPool());
+	}
+
+	/**
+	 * Creates a lane on the given pool.
+	 * @param name The name of the lane, e.g. the name of the service using it
+	 * @param pool The pool running the lane
+	 */
+	public DsfExecutorLane(String name, Executor pool) {
+		fName = name;
+		fPool = pool;
+	}
+
+	public String getName() {
+		return fName;
+	}
+
+	/**
+	 * Returns whether the calling thread is currently running this lane.
+	 */
+	public boolean isInLane() {
+		return Thread.currentThread() == fThread;
+	}
+
+	/**
+	 * Returns the statistics of the runnables executed by this lane.
+	 */
+	public DsfExecutorStatistics getStatistics() {
+		return fStatistics;
+	}
+
+	@Override
+	public void execute(Runnable runnable) {
+		if (runnable == null)
+			throw new NullPointerException();
+
+		synchronized (fQueue) {
+			fQueue.add(new QueuedRunnable(runnable, System.nanoTime()));
+			if (fScheduled) {
+				return;
+			}
+			fScheduled = true;
+		}
+		schedule();
+	}
+
+	private void schedule() {
+		try {
+			fPool.execute(this::drain);
+		} catch (RuntimeException e) {
+			// The pool rejected the lane, the queued runnables will never run
+			synchronized (fQueue) {
+				fQueue.clear();
+				fScheduled = false;
+			}
+			throw e;
+		}
+	}
+
+	private void drain() {
+		fThread = Thread.currentThread();
+		try {
+			for (int i = 0; i < BATCH_SIZE; i++) {
+				QueuedRunnable next;
+				int queueDepth;
+				synchronized (fQueue) {
+					next = fQueue.poll();
+					if (next == null) {
+						break;
+					}
+					queueDepth = fQueue.size();
+				}
+
+				long start = System.nanoTime();
+				try {
+					next.fRunnable.run();
+				} catch (RuntimeException e) {
+					// There is no one else to catch it, it is a programming error.
+					DefaultDsfExecutor.logException(e);
+				} catch (Error e) {
+					DefaultDsfExecutor.logException(e);
+					throw e;
+				} finally {
+					fStatistics.executed(start - next.fSubmitTime, System.nanoTime() - start, queueDepth);
+				}
+			}
+		} finally {
+			// Give the thread back to the pool and continue later, if needed.  The
+			// queue is checked and fScheduled reset under the lock that execute()
+			// holds while queueing, so a runnable queued meanwhile is either seen
+			// here or schedules a new drain, and never two drains run at once.
+			boolean more;
+			synchronized (fQueue) {
+				fThread = null;
+				more = !fQueue.isEmpty();
+				fScheduled = more;
+			}
+			if (more) {
+				schedule();
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "DSF executor lane (" + fName + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue depth and latency statistics of the runnables executed by a
+ * {@link DefaultDsfExecutor} or a {@link DsfExecutorLane}.
+ * <p>
+ * The queue latency of a runnable is the time between the moment it could run
+ * (when it was submitted, or when its delay expired) and the moment it started
+ * to run. The queue depth is the number of runnables still queued when a
+ * runnable starts to run.
+ *
+ * @since 2.13
+ */
+@ThreadSafe
+public class DsfExecutorStatistics {
+
+	private long fExecutedCount;
+	private long fTotalQueueLatency;
+	private long fMaxQueueLatency;
+	private long fTotalRunTime;
+	private long fMaxRunTime;
+	private long fTotalQueueDepth;
+	private int fMaxQueueDepth;
+
+	synchronized void executed(long queueLatencyNanos, long runNanos, int queueDepth) {
+		fExecutedCount++;
+		fTotalQueueLatency += queueLatencyNanos;
+		fMaxQueueLatency = Math.max(fMaxQueueLatency, queueLatencyNanos);
+		fTotalRunTime += runNanos;
+		fMaxRunTime = Math.max(fMaxRunTime, runNanos);
+		fTotalQueueDepth += queueDepth;
+		fMaxQueueDepth = Math.max(fMaxQueueDepth, queueDepth);
+	}
+
+	/** The number of runnables executed. */
+	public synchronized long getExecutedCount() {
+		return fExecutedCount;
+	}
+
+	/** The average queue latency of the runnables, in microseconds. */
+	public synchronized long getAverageQueueLatency() {
+		return fExecutedCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(fTotalQueueLatency / fExecutedCount);
+	}
+
+	/** The largest queue latency of a runnable, in microseconds. */
+	public synchronized long getMaxQueueLatency() {
+		return TimeUnit.NANOSECONDS.toMicros(fMaxQueueLatency);
+	}
+
+	/** The average run time of the runnables, in microseconds. */
+	public synchronized long getAverageRunTime() {
+		return fExecutedCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(fTotalRunTime / fExecutedCount);
+	}
+
+	/** The longest run time of a runnable, in microseconds. */
+	public synchronized long getMaxRunTime() {
+		return TimeUnit.NANOSECONDS.toMicros(fMaxRunTime);
+	}
+
+	/** The total run time of the runnables, in milliseconds. */
+	public synchronized long getTotalRunTime() {
+		return TimeUnit.NANOSECONDS.toMillis(fTotalRunTime);
+	}
+
+	/** The average queue depth seen by the runnables when they started to run. */
+	public synchronized double getAverageQueueDepth() {
+		return fExecutedCount == 0 ? 0 : (double) fTotalQueueDepth / fExecutedCount;
+	}
+
+	/** The largest queue depth seen by a runnable when it started to run. */
+	public synchronized int getMaxQueueDepth() {
+		return fMaxQueueDepth;
+	}
+
+	/**
+	 * Discards all statistics collected so far.
+	 */
+	public synchronized void reset() {
+		fExecutedCount = 0;
+		fTotalQueueLatency = 0;
+		fMaxQueueLatency = 0;
+		fTotalRunTime = 0;
+		fMaxRunTime = 0;
+		fTotalQueueDepth = 0;
+		fMaxQueueDepth = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format(
+				"executed=%d queue latency(avg/max)=%d/%dus run time(avg/max/total)=%dus/%dus/%dms queue depth(avg/max)=%.1f/%d", //$NON-NLS-1$
+				getExecutedCount(), getAverageQueueLatency(), getMaxQueueLatency(), getAverageRunTime(),
+				getMaxRunTime(), getTotalRunTime(), getAverageQueueDepth(), getMaxQueueDepth());
+	}
+}
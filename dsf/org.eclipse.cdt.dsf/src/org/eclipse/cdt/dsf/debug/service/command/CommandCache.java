@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +50,12 @@ import org.eclipse.core.runtime.Status;
  * did before the event. A reset can be done on the entire cache or on a per
  * context basis.
  *
+ * By default the cache keeps all results until it is reset. It can be bounded
+ * with {@link #setMaxEntries(int)} and {@link #setMaxEntriesPerContext(int)},
+ * in which case the least recently used results are evicted first. The results
+ * of commands that are known to stay valid for a while, but not until the next
+ * reset, can be given a time to live with {@link #setTimeToLive(Class, long)}.
+ *
  * @since 1.0
  */
 
@@ -127,10 +134,12 @@ public class CommandCache implements ICommandListener {
 	class CommandResultInfo {
 		private final ICommandResult fData;
 		private final IStatus fStatus;
+		private final long fTime;
 
 		public CommandResultInfo(ICommandResult data, IStatus status) {
 			fData = data;
 			fStatus = status;
+			fTime = System.nanoTime();
 		}
 
 		public ICommandResult getData() {
@@ -188,7 +197,26 @@ public class CommandCache implements ICommandListener {
 	 */
 	private Set<IDMContext> fAvailableContexts = new HashSet<>();
 
-	private Map<IDMContext, HashMap<CommandInfo, CommandResultInfo>> fCachedContexts = new HashMap<>();
+	/**
+	 * The cached results of each context.  Both the contexts and their results
+	 * are in access order, the least recently used first.
+	 */
+	private Map<IDMContext, LinkedHashMap<CommandInfo, CommandResultInfo>> fCachedContexts = new LinkedHashMap<>(16,
+			0.75f, true);
+
+	/** The number of cached results, over all contexts */
+	private int fCachedResultCount = 0;
+
+	/** The maximum number of cached results, or 0 if unbounded */
+	private int fMaxEntries = 0;
+
+	/** The maximum number of cached results of a context, or 0 if unbounded */
+	private int fMaxEntriesPerContext = 0;
+
+	/** The time to live of the results of the given command classes, in nanoseconds */
+	private Map<Class<?>, Long> fTimeToLive = new HashMap<>();
+
+	private final CommandCacheStatistics fStatistics = new CommandCacheStatistics();
 
 	private ArrayList<CommandInfo> fPendingQCommandsSent = new ArrayList<>();
 
@@ -341,8 +369,9 @@ public class CommandCache implements ICommandListener {
 		/*
 		 * If command is already cached, just return the cached data.
 		 */
-		if (fCachedContexts.get(context) != null && fCachedContexts.get(context).containsKey(cachedCmd)) {
-			CommandResultInfo result = fCachedContexts.get(context).get(cachedCmd);
+		CommandResultInfo result = getCachedResult(context, cachedCmd);
+		if (result != null) {
+			fStatistics.hit();
 			debug(command.toString().trim());
 			if (result.getStatus().getSeverity() <= IStatus.INFO) {
 				@SuppressWarnings("unchecked")
@@ -376,6 +405,7 @@ public class CommandCache implements ICommandListener {
 		for (CommandInfo sentCommand : fPendingQCommandsSent) {
 			if (sentCommand.equals(cachedCmd)) {
 				sentCommand.getRequestMonitorList().add(genericDone);
+				fStatistics.inFlightDuplicate();
 				debug(command.toString().trim(), "[SNT]"); //$NON-NLS-1$
 				return;
 			}
@@ -383,6 +413,7 @@ public class CommandCache implements ICommandListener {
 		for (CommandInfo notYetSentCommand : fPendingQCommandsNotYetSent) {
 			if (notYetSentCommand.equals(cachedCmd)) {
 				notYetSentCommand.getRequestMonitorList().add(genericDone);
+				fStatistics.inFlightDuplicate();
 				debug(command.toString().trim(), "[SND]"); //$NON-NLS-1$
 				return;
 			}
@@ -394,9 +425,11 @@ public class CommandCache implements ICommandListener {
 		 *  this command is being coalesced with.
 		 */
 
+		fStatistics.miss();
 		CommandInfo coalescedCmd = getCoalescedCommand(cachedCmd);
 
 		if (coalescedCmd != null) {
+			fStatistics.coalesced();
 			/*
 			 *  The original command we were handed needs to go into the waiting QUEUE.
 			 *  We also need to point it it to the coalesced command.
@@ -482,13 +515,7 @@ public class CommandCache implements ICommandListener {
 									V subResult = (V) result.getSubsetResult(waitingEntry.getCommand());
 									CommandResultInfo subResultInfo = new CommandResultInfo(subResult, status);
 
-									if (fCachedContexts.get(context) != null) {
-										fCachedContexts.get(context).put(waitingEntry, subResultInfo);
-									} else {
-										HashMap<CommandInfo, CommandResultInfo> map = new HashMap<>();
-										map.put(waitingEntry, subResultInfo);
-										fCachedContexts.put(context, map);
-									}
+									cacheResult(context, waitingEntry, subResultInfo);
 
 									if (!isSuccess()) {
 
@@ -522,15 +549,7 @@ public class CommandCache implements ICommandListener {
 							// Save the command result in cache, but only if the command's context
 							// is still available.  Otherwise an error may get cached incorrectly.
 							if (isTargetAvailable(context)) {
-								CommandResultInfo resultInfo = new CommandResultInfo(result, status);
-
-								if (fCachedContexts.get(context) != null) {
-									fCachedContexts.get(context).put(finalCachedCmd, resultInfo);
-								} else {
-									HashMap<CommandInfo, CommandResultInfo> map = new HashMap<>();
-									map.put(finalCachedCmd, resultInfo);
-									fCachedContexts.put(context, map);
-								}
+								cacheResult(context, finalCachedCmd, new CommandResultInfo(result, status));
 							}
 							// This is an original request which completed. Indicate success or
 							// failure to the original requesters.
@@ -563,6 +582,126 @@ public class CommandCache implements ICommandListener {
 				});
 	}
 
+	/**
+	 * Returns the cached result of the given command, or null if there is none
+	 * or its time to live has elapsed.
+	 */
+	private CommandResultInfo getCachedResult(IDMContext context, CommandInfo cmd) {
+		LinkedHashMap<CommandInfo, CommandResultInfo> contextResults = fCachedContexts.get(context);
+		if (contextResults == null) {
+			return null;
+		}
+		CommandResultInfo result = contextResults.get(cmd);
+		if (result != null) {
+			Long timeToLive = fTimeToLive.get(cmd.getCommand().getClass());
+			if (timeToLive != null && System.nanoTime() - result.fTime > timeToLive) {
+				removeResult(context, contextResults, cmd);
+				fStatistics.expired();
+				debug(cmd.getCommand().toString().trim(), "[EXP]"); //$NON-NLS-1$
+				return null;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Stores the result of a command and evicts the least recently used results
+	 * if the cache is over one of its bounds.
+	 */
+	private void cacheResult(IDMContext context, CommandInfo cmd, CommandResultInfo result) {
+		LinkedHashMap<CommandInfo, CommandResultInfo> contextResults = fCachedContexts.get(context);
+		if (contextResults == null) {
+			contextResults = new LinkedHashMap<>(16, 0.75f, true);
+			fCachedContexts.put(context, contextResults);
+		}
+		if (contextResults.put(cmd, result) == null) {
+			fCachedResultCount++;
+		}
+
+		if (fMaxEntriesPerContext > 0) {
+			while (contextResults.size() > fMaxEntriesPerContext) {
+				evictEldest(context, contextResults);
+			}
+		}
+		if (fMaxEntries > 0) {
+			while (fCachedResultCount > fMaxEntries && !fCachedContexts.isEmpty()) {
+				// The least recently used context comes first
+				Map.Entry<IDMContext, LinkedHashMap<CommandInfo, CommandResultInfo>> eldestContext = fCachedContexts
+						.entrySet().iterator().next();
+				evictEldest(eldestContext.getKey(), eldestContext.getValue());
+			}
+		}
+	}
+
+	private void evictEldest(IDMContext context, LinkedHashMap<CommandInfo, CommandResultInfo> contextResults) {
+		CommandInfo eldest = contextResults.keySet().iterator().next();
+		removeResult(context, contextResults, eldest);
+		fStatistics.evicted();
+		debug(eldest.getCommand().toString().trim(), "[EVI]"); //$NON-NLS-1$
+	}
+
+	private void removeResult(IDMContext context, LinkedHashMap<CommandInfo, CommandResultInfo> contextResults,
+			CommandInfo cmd) {
+		if (contextResults.remove(cmd) != null) {
+			fCachedResultCount--;
+		}
+		if (contextResults.isEmpty()) {
+			fCachedContexts.remove(context);
+		}
+	}
+
+	/**
+	 * Bounds the number of results kept by this cache, over all contexts. When
+	 * the bound is reached, the least recently used result of the least recently
+	 * used context is evicted.
+	 *
+	 * @param maxEntries The maximum number of results, or 0 for no bound
+	 * @since 2.13
+	 */
+	public void setMaxEntries(int maxEntries) {
+		fMaxEntries = Math.max(0, maxEntries);
+	}
+
+	/**
+	 * Bounds the number of results kept by this cache for each context. When the
+	 * bound is reached, the least recently used result of the context is evicted.
+	 *
+	 * @param maxEntries The maximum number of results of a context, or 0 for no bound
+	 * @since 2.13
+	 */
+	public void setMaxEntriesPerContext(int maxEntries) {
+		fMaxEntriesPerContext = Math.max(0, maxEntries);
+	}
+
+	/**
+	 * Sets how long the results of the commands of the given class stay in the
+	 * cache.  This is meant for commands whose results are known to stay valid
+	 * for a while even though no event resets them, such as the list of
+	 * processes available on the target.  The results are still discarded by a
+	 * reset.
+	 *
+	 * @param commandClass The class of the commands
+	 * @param timeToLiveMillis The time to live, in milliseconds, or a negative
+	 *        value to keep the results until a reset
+	 * @since 2.13
+	 */
+	public void setTimeToLive(Class<?> commandClass, long timeToLiveMillis) {
+		if (timeToLiveMillis < 0) {
+			fTimeToLive.remove(commandClass);
+		} else {
+			fTimeToLive.put(commandClass, timeToLiveMillis * 1000000);
+		}
+	}
+
+	/**
+	 * Returns the hit, miss and eviction statistics of this cache.
+	 *
+	 * @since 2.13
+	 */
+	public CommandCacheStatistics getStatistics() {
+		return fStatistics;
+	}
+
 	/**
 	 * TODO
 	 */
@@ -597,6 +736,7 @@ public class CommandCache implements ICommandListener {
 	 */
 	public void reset() {
 		fCachedContexts.clear();
+		fCachedResultCount = 0;
 	}
 
 	@Override
@@ -662,12 +802,15 @@ public class CommandCache implements ICommandListener {
 	 */
 	public void reset(IDMContext dmc) {
 		if (dmc == null) {
-			fCachedContexts.clear();
+			reset();
 			return;
 		}
-		for (Iterator<IDMContext> itr = fCachedContexts.keySet().iterator(); itr.hasNext();) {
-			IDMContext keyDmc = itr.next();
+		for (Iterator<Map.Entry<IDMContext, LinkedHashMap<CommandInfo, CommandResultInfo>>> itr = fCachedContexts
+				.entrySet().iterator(); itr.hasNext();) {
+			Map.Entry<IDMContext, LinkedHashMap<CommandInfo, CommandResultInfo>> entry = itr.next();
+			IDMContext keyDmc = entry.getKey();
 			if (keyDmc != null && (dmc.equals(keyDmc) || DMContexts.isAncestorOf(keyDmc, dmc))) {
+				fCachedResultCount -= entry.getValue().size();
 				itr.remove();
 			}
 		}
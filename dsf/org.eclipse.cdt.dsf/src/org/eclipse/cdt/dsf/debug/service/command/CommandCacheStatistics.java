@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.debug.service.command;
+
+import org.eclipse.cdt.dsf.concurrent.ThreadSafe;
+
+/**
+ * Hit, miss and eviction statistics of a {@link CommandCache}.
+ * <p>
+ * A request is a hit if it is served from the cached results, and a miss if a
+ * command has to be sent for it.  A request that finds an identical command
+ * already in flight waits for its result instead; it is counted as an in-flight
+ * duplicate and not as a miss.
+ *
+ * @since 2.13
+ */
+@ThreadSafe
+public class CommandCacheStatistics {
+
+	private long fHitCount;
+	private long fMissCount;
+	private long fInFlightDuplicateCount;
+	private long fCoalescedCount;
+	private long fEvictionCount;
+	private long fExpirationCount;
+
+	synchronized void hit() {
+		fHitCount++;
+	}
+
+	synchronized void miss() {
+		fMissCount++;
+	}
+
+	synchronized void inFlightDuplicate() {
+		fInFlightDuplicateCount++;
+	}
+
+	synchronized void coalesced() {
+		fCoalescedCount++;
+	}
+
+	synchronized void evicted() {
+		fEvictionCount++;
+	}
+
+	synchronized void expired() {
+		fExpirationCount++;
+	}
+
+	/** The number of requests served from the cached results. */
+	public synchronized long getHitCount() {
+		return fHitCount;
+	}
+
+	/** The number of requests for which a command was sent. */
+	public synchronized long getMissCount() {
+		return fMissCount;
+	}
+
+	/** The number of requests that waited for an identical command already in flight. */
+	public synchronized long getInFlightDuplicateCount() {
+		return fInFlightDuplicateCount;
+	}
+
+	/** The number of requests whose command was coalesced with a command not sent yet. */
+	public synchronized long getCoalescedCount() {
+		return fCoalescedCount;
+	}
+
+	/** The number of results evicted to keep the cache within its bounds. */
+	public synchronized long getEvictionCount() {
+		return fEvictionCount;
+	}
+
+	/** The number of results dropped because their time to live had elapsed. */
+	public synchronized long getExpirationCount() {
+		return fExpirationCount;
+	}
+
+	/**
+	 * The ratio of the requests served without sending a command, either from
+	 * the cached results or by an identical command in flight.
+	 */
+	public synchronized double getHitRatio() {
+		long total = fHitCount + fInFlightDuplicateCount + fMissCount;
+		return total == 0 ? 0 : (double) (fHitCount + fInFlightDuplicateCount) / total;
+	}
+
+	/**
+	 * Discards all statistics collected so far.
+	 */
+	public synchronized void reset() {
+		fHitCount = 0;
+		fMissCount = 0;
+		fInFlightDuplicateCount = 0;
+		fCoalescedCount = 0;
+		fEvictionCount = 0;
+		fExpirationCount = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format(
+				"hits=%d misses=%d in-flight duplicates=%d coalesced=%d evictions=%d expirations=%d hit ratio=%.2f", //$NON-NLS-1$
+				fHitCount, fMissCount, fInFlightDuplicateCount, fCoalescedCount, fEvictionCount, fExpirationCount,
+				getHitRatio());
+	}
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.cdt.dsf.concurrent.DsfExecutorLane;
+import org.eclipse.cdt.tests.dsf.TestDsfExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that exercise the DsfExecutorLane and the executor statistics.
+ */
+public class DsfExecutorLaneTests {
+	ExecutorService fPool;
+
+	@Before
+	public void startPool() {
+		fPool = Executors.newFixedThreadPool(4);
+	}
+
+	@After
+	public void shutdownPool() throws InterruptedException {
+		fPool.shutdown();
+		assertTrue(fPool.awaitTermination(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testSerialOrder() throws InterruptedException {
+		final DsfExecutorLane lane = new DsfExecutorLane("test", fPool); //$NON-NLS-1$
+		final List<Integer> order = new ArrayList<>();
+		final AtomicBoolean running = new AtomicBoolean();
+		final AtomicBoolean overlapped = new AtomicBoolean();
+		final CountDownLatch done = new CountDownLatch(1);
+		final int count = 200;
+
+		for (int i = 0; i < count; i++) {
+			final int index = i;
+			lane.execute(() -> {
+				if (!running.compareAndSet(false, true) || !lane.isInLane()) {
+					overlapped.set(true);
+				}
+				order.add(index);
+				running.set(false);
+				if (index == count - 1) {
+					done.countDown();
+				}
+			});
+		}
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertFalse(overlapped.get());
+		assertFalse(lane.isInLane());
+		assertEquals(count, order.size());
+		for (int i = 0; i < count; i++) {
+			assertEquals(i, order.get(i).intValue());
+		}
+		// The statistics of the last runnable may not be recorded yet
+		assertTrue(lane.getStatistics().getExecutedCount() >= count - 1);
+	}
+
+	@Test
+	public void testMultipleProducers() throws InterruptedException {
+		final DsfExecutorLane lane = new DsfExecutorLane("test", fPool); //$NON-NLS-1$
+		final int producers = 4;
+		final int count = 20000;
+		final AtomicBoolean running = new AtomicBoolean();
+		final AtomicBoolean overlapped = new AtomicBoolean();
+		final AtomicBoolean outOfOrder = new AtomicBoolean();
+		final int[] lastIndex = new int[producers];
+		final CountDownLatch done = new CountDownLatch(producers * count);
+
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			final int producer = p;
+			lastIndex[producer] = -1;
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < count; i++) {
+					final int index = i;
+					lane.execute(() -> {
+						if (!running.compareAndSet(false, true) || !lane.isInLane()) {
+							overlapped.set(true);
+						}
+						if (lastIndex[producer] != index - 1) {
+							outOfOrder.set(true);
+						}
+						lastIndex[producer] = index;
+						running.set(false);
+						done.countDown();
+					});
+					// Let the lane run dry now and then, so that it is rescheduled often
+					if (i % 16 == 0) {
+						Thread.yield();
+					}
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertTrue(done.await(30, TimeUnit.SECONDS));
+		assertFalse(overlapped.get());
+		assertFalse(outOfOrder.get());
+	}
+
+	@Test
+	public void testLanesRunConcurrently() throws InterruptedException {
+		DsfExecutorLane lane1 = new DsfExecutorLane("lane1", fPool); //$NON-NLS-1$
+		DsfExecutorLane lane2 = new DsfExecutorLane("lane2", fPool); //$NON-NLS-1$
+		final CountDownLatch bothStarted = new CountDownLatch(2);
+		final CountDownLatch done = new CountDownLatch(2);
+
+		Runnable waitForOther = () -> {
+			bothStarted.countDown();
+			try {
+				if (bothStarted.await(10, TimeUnit.SECONDS)) {
+					done.countDown();
+				}
+			} catch (InterruptedException e) {
+			}
+		};
+		lane1.execute(waitForOther);
+		lane2.execute(waitForOther);
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testExceptionDoesNotStopLane() throws InterruptedException {
+		DsfExecutorLane lane = new DsfExecutorLane("test", fPool); //$NON-NLS-1$
+		final CountDownLatch done = new CountDownLatch(1);
+		lane.execute(() -> {
+			throw new IllegalStateException("expected"); //$NON-NLS-1$
+		});
+		lane.execute(done::countDown);
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testExecutorStatistics() throws Exception {
+		TestDsfExecutor executor = new TestDsfExecutor();
+		try {
+			assertNull(executor.getStatistics());
+			executor.setStatisticsEnabled(true);
+			assertNotNull(executor.getStatistics());
+
+			for (int i = 0; i < 10; i++) {
+				executor.execute(() -> {
+				});
+			}
+			executor.schedule(() -> {
+			}, 10, TimeUnit.MILLISECONDS).get();
+			// The statistics of the last runnable may not be recorded yet
+			assertTrue(executor.getStatistics().getExecutedCount() >= 10);
+
+			executor.setStatisticsEnabled(false);
+			assertNull(executor.getStatistics());
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
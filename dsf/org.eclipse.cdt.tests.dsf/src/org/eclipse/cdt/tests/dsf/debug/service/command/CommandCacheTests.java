@@ -0,0 +1,280 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.debug.service.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
+import org.eclipse.cdt.dsf.datamodel.AbstractDMContext;
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
+import org.eclipse.cdt.dsf.debug.service.command.CommandCacheStatistics;
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandListener;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
+import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.cdt.tests.dsf.TestDsfExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the bounds, the time to live and the statistics of the CommandCache.
+ */
+public class CommandCacheTests {
+
+	private static class TestContext extends AbstractDMContext {
+		private final String fName;
+
+		TestContext(DsfSession session, String name) {
+			super(session, new IDMContext[0]);
+			fName = name;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return baseEquals(obj) && ((TestContext) obj).fName.equals(fName);
+		}
+
+		@Override
+		public int hashCode() {
+			return baseHashCode() ^ fName.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return fName;
+		}
+	}
+
+	private static class TestResult implements ICommandResult {
+		final TestCommand fCommand;
+
+		TestResult(TestCommand command) {
+			fCommand = command;
+		}
+
+		@Override
+		public <V extends ICommandResult> V getSubsetResult(ICommand<V> command) {
+			return null;
+		}
+	}
+
+	private static class TestCommand implements ICommand<TestResult> {
+		private final IDMContext fContext;
+		private final String fName;
+
+		TestCommand(IDMContext context, String name) {
+			fContext = context;
+			fName = name;
+		}
+
+		@Override
+		public ICommand<? extends ICommandResult> coalesceWith(ICommand<? extends ICommandResult> command) {
+			return null;
+		}
+
+		@Override
+		public IDMContext getContext() {
+			return fContext;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof TestCommand && ((TestCommand) obj).fContext.equals(fContext)
+					&& ((TestCommand) obj).fName.equals(fName);
+		}
+
+		@Override
+		public int hashCode() {
+			return fContext.hashCode() ^ fName.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return fContext + ":" + fName; //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Completes the commands right away and records them.
+	 */
+	private static class TestCommandControl implements ICommandControl {
+		final List<ICommand<?>> fSentCommands = new ArrayList<>();
+
+		@Override
+		public <V extends ICommandResult> ICommandToken queueCommand(final ICommand<V> command,
+				DataRequestMonitor<V> rm) {
+			fSentCommands.add(command);
+			@SuppressWarnings("unchecked")
+			V result = (V) new TestResult((TestCommand) command);
+			rm.done(result);
+			return () -> command;
+		}
+
+		@Override
+		public void removeCommand(ICommandToken token) {
+		}
+
+		@Override
+		public void addCommandListener(ICommandListener listener) {
+		}
+
+		@Override
+		public void removeCommandListener(ICommandListener listener) {
+		}
+
+		@Override
+		public void addEventListener(IEventListener listener) {
+		}
+
+		@Override
+		public void removeEventListener(IEventListener listener) {
+		}
+	}
+
+	private TestDsfExecutor fExecutor;
+	private DsfSession fSession;
+	private TestCommandControl fControl;
+	private CommandCache fCache;
+	private TestContext fContext1;
+	private TestContext fContext2;
+
+	@Before
+	public void startSession() throws ExecutionException, InterruptedException {
+		fExecutor = new TestDsfExecutor();
+		fExecutor.submit(() -> {
+			fSession = DsfSession.startSession(fExecutor, "org.eclipse.cdt.dsf.tests"); //$NON-NLS-1$
+			fControl = new TestCommandControl();
+			fCache = new CommandCache(fSession, fControl);
+			fContext1 = new TestContext(fSession, "context1"); //$NON-NLS-1$
+			fContext2 = new TestContext(fSession, "context2"); //$NON-NLS-1$
+			fCache.setContextAvailable(fContext1, true);
+			fCache.setContextAvailable(fContext2, true);
+		}).get();
+	}
+
+	@After
+	public void endSession() throws ExecutionException, InterruptedException {
+		fExecutor.submit(() -> {
+			DsfSession.endSession(fSession);
+			fExecutor.shutdown();
+		}).get();
+		if (fExecutor.exceptionsCaught()) {
+			Throwable[] exceptions = fExecutor.getExceptions();
+			throw new ExecutionException(exceptions[0]);
+		}
+	}
+
+	/**
+	 * Executes the command with the cache and returns whether a command had to
+	 * be sent for it.
+	 */
+	private boolean execute(IDMContext context, String name) throws ExecutionException, InterruptedException {
+		final TestCommand command = new TestCommand(context, name);
+		return fExecutor.submit(() -> {
+			int sent = fControl.fSentCommands.size();
+			DataRequestMonitor<TestResult> rm = new DataRequestMonitor<>(ImmediateExecutor.getInstance(), null);
+			fCache.execute(command, rm);
+			assertTrue(rm.isSuccess());
+			assertEquals(command, rm.getData().fCommand);
+			return fControl.fSentCommands.size() > sent;
+		}).get();
+	}
+
+	@Test
+	public void testUnbounded() throws Exception {
+		assertTrue(execute(fContext1, "a")); //$NON-NLS-1$
+		assertTrue(execute(fContext1, "b")); //$NON-NLS-1$
+		assertTrue(execute(fContext2, "a")); //$NON-NLS-1$
+		assertEquals(false, execute(fContext1, "a")); //$NON-NLS-1$
+		assertEquals(false, execute(fContext1, "b")); //$NON-NLS-1$
+		assertEquals(false, execute(fContext2, "a")); //$NON-NLS-1$
+
+		CommandCacheStatistics statistics = fCache.getStatistics();
+		assertEquals(3, statistics.getHitCount());
+		assertEquals(3, statistics.getMissCount());
+		assertEquals(0, statistics.getEvictionCount());
+		assertEquals(0.5, statistics.getHitRatio(), 0);
+	}
+
+	@Test
+	public void testMaxEntriesPerContext() throws Exception {
+		fCache.setMaxEntriesPerContext(2);
+		assertTrue(execute(fContext1, "a")); //$NON-NLS-1$
+		assertTrue(execute(fContext1, "b")); //$NON-NLS-1$
+		assertTrue(execute(fContext2, "c")); //$NON-NLS-1$
+		// "a" becomes the most recently used result of the context
+		assertEquals(false, execute(fContext1, "a")); //$NON-NLS-1$
+		// "b" is evicted, the other context is not affected
+		assertTrue(execute(fContext1, "d")); //$NON-NLS-1$
+		assertEquals(false, execute(fContext1, "a")); //$NON-NLS-1$
+		assertEquals(false, execute(fContext2, "c")); //$NON-NLS-1$
+		assertTrue(execute(fContext1, "b")); //$NON-NLS-1$
+
+		assertEquals(2, fCache.getStatistics().getEvictionCount());
+	}
+
+	@Test
+	public void testMaxEntries() throws Exception {
+		fCache.setMaxEntries(2);
+		assertTrue(execute(fContext1, "a")); //$NON-NLS-1$
+		assertTrue(execute(fContext2, "a")); //$NON-NLS-1$
+		// The first context is used again, the second one is now the least recently used
+		assertEquals(false, execute(fContext1, "a")); //$NON-NLS-1$
+		assertTrue(execute(fContext1, "b")); //$NON-NLS-1$
+		assertEquals(1, fCache.getStatistics().getEvictionCount());
+
+		assertEquals(false, execute(fContext1, "a")); //$NON-NLS-1$
+		assertEquals(false, execute(fContext1, "b")); //$NON-NLS-1$
+		assertTrue(execute(fContext2, "a")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testTimeToLive() throws Exception {
+		fCache.setTimeToLive(TestCommand.class, 10);
+		assertTrue(execute(fContext1, "a")); //$NON-NLS-1$
+		Thread.sleep(50);
+		assertTrue(execute(fContext1, "a")); //$NON-NLS-1$
+		assertEquals(1, fCache.getStatistics().getExpirationCount());
+
+		// Without a time to live, results are kept until a reset
+		fCache.setTimeToLive(TestCommand.class, -1);
+		Thread.sleep(50);
+		assertEquals(false, execute(fContext1, "a")); //$NON-NLS-1$
+		assertEquals(1, fCache.getStatistics().getExpirationCount());
+
+		fExecutor.submit(() -> fCache.reset()).get();
+		assertTrue(execute(fContext1, "a")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testStatisticsReset() throws Exception {
+		execute(fContext1, "a"); //$NON-NLS-1$
+		execute(fContext1, "a"); //$NON-NLS-1$
+		CommandCacheStatistics statistics = fCache.getStatistics();
+		assertSame(statistics, fCache.getStatistics());
+		statistics.reset();
+		assertEquals(0, statistics.getHitCount());
+		assertEquals(0, statistics.getMissCount());
+		assertEquals(0, statistics.getHitRatio(), 0);
+	}
+}
@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.vm;
+
+import java.util.List;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
+import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
+import org.eclipse.cdt.dsf.ui.viewmodel.AbstractVMAdapter;
+import org.eclipse.cdt.dsf.ui.viewmodel.AbstractVMNode;
+import org.eclipse.cdt.dsf.ui.viewmodel.DefaultVMModelProxyStrategy;
+import org.eclipse.cdt.dsf.ui.viewmodel.IVMProvider;
+import org.eclipse.cdt.dsf.ui.viewmodel.VMChildrenCountUpdate;
+import org.eclipse.cdt.dsf.ui.viewmodel.VMChildrenUpdate;
+import org.eclipse.cdt.dsf.ui.viewmodel.VMDelta;
+import org.eclipse.cdt.dsf.ui.viewmodel.update.AbstractCachingVMProvider;
+import org.eclipse.cdt.dsf.ui.viewmodel.update.VMCacheStatistics;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IChildrenCountUpdate;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IChildrenUpdate;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IHasChildrenUpdate;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IPresentationContext;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.PresentationContext;
+import org.eclipse.jface.viewers.TreePath;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.PlatformUI;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the capacity, the eviction and the flushing of the cache of the
+ * AbstractCachingVMProvider.
+ */
+public class VMCacheTests extends TestCase {
+
+	private static class TestVMProvider extends AbstractCachingVMProvider {
+		TestVMProvider(AbstractVMAdapter adapter, IPresentationContext context) {
+			super(adapter, context);
+		}
+
+		/**
+		 * Flushes the cache of the given root element, the way an event does.
+		 */
+		void flush(Object rootElement) {
+			DefaultVMModelProxyStrategy proxy = new DefaultVMModelProxyStrategy(this, rootElement);
+			// A disposed proxy does not generate a delta for the event.
+			proxy.dispose();
+			handleEvent(proxy, new Object(), new RequestMonitor(ImmediateExecutor.getInstance(), null));
+		}
+	}
+
+	/**
+	 * Returns the same children for every element, and counts how often it is
+	 * asked for them.
+	 */
+	private static class CountingVMNode extends AbstractVMNode {
+		int fUpdateCount;
+		int fChildCount = 1;
+
+		CountingVMNode(IVMProvider provider) {
+			super(provider);
+		}
+
+		@Override
+		public void update(IHasChildrenUpdate[] updates) {
+			for (IHasChildrenUpdate update : updates) {
+				fUpdateCount++;
+				update.setHasChilren(fChildCount != 0);
+				update.done();
+			}
+		}
+
+		@Override
+		public void update(IChildrenCountUpdate[] updates) {
+			for (IChildrenCountUpdate update : updates) {
+				fUpdateCount++;
+				update.setChildCount(fChildCount);
+				update.done();
+			}
+		}
+
+		@Override
+		public void update(IChildrenUpdate[] updates) {
+			for (IChildrenUpdate update : updates) {
+				fUpdateCount++;
+				for (int i = 0; i < fChildCount; i++) {
+					update.setChild("child" + i, i);
+				}
+				update.done();
+			}
+		}
+
+		@Override
+		public int getDeltaFlags(Object event) {
+			return 0;
+		}
+
+		@Override
+		public void buildDelta(Object event, VMDelta parent, int nodeOffset, RequestMonitor requestMonitor) {
+			requestMonitor.done();
+		}
+	}
+
+	Display fDisplay;
+	IPresentationContext fContext;
+	AbstractVMAdapter fVMAdapter;
+	TestVMProvider fVMProvider;
+	CountingVMNode fNode;
+
+	public VMCacheTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		fDisplay = PlatformUI.getWorkbench().getDisplay();
+		fContext = new PresentationContext("VMCacheTests");
+		fVMAdapter = new AbstractVMAdapter() {
+			@Override
+			protected IVMProvider createViewModelProvider(IPresentationContext context) {
+				return fVMProvider;
+			}
+		};
+		fVMProvider = new TestVMProvider(fVMAdapter, fContext);
+		fNode = new CountingVMNode(fVMProvider);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fVMProvider.dispose();
+		fVMAdapter.dispose();
+		fContext.dispose();
+	}
+
+	private void waitFor(boolean[] done) {
+		while (!done[0]) {
+			if (!fDisplay.readAndDispatch()) {
+				fDisplay.sleep();
+			}
+		}
+	}
+
+	/**
+	 * Requests the child count of the given element and returns whether the
+	 * node had to be asked for it.
+	 */
+	private boolean updateChildCount(Object rootElement, String element) {
+		int updateCount = fNode.fUpdateCount;
+		final boolean[] done = new boolean[1];
+		fVMProvider.updateNode(fNode, new VMChildrenCountUpdate(new TreePath(new Object[] { element }), rootElement,
+				fContext, new DataRequestMonitor<Integer>(ImmediateExecutor.getInstance(), null) {
+					@Override
+					protected void handleCompleted() {
+						assertTrue(isSuccess());
+						assertEquals(fNode.fChildCount, getData().intValue());
+						done[0] = true;
+					}
+				}));
+		waitFor(done);
+		return fNode.fUpdateCount > updateCount;
+	}
+
+	/**
+	 * Requests all children of the given element and returns whether the node
+	 * had to be asked for them.
+	 */
+	private boolean updateChildren(Object rootElement, String element) {
+		int updateCount = fNode.fUpdateCount;
+		final boolean[] done = new boolean[1];
+		fVMProvider.updateNode(fNode, new VMChildrenUpdate(new TreePath(new Object[] { element }), rootElement,
+				fContext, -1, -1, new DataRequestMonitor<List<Object>>(ImmediateExecutor.getInstance(), null) {
+					@Override
+					protected void handleCompleted() {
+						assertTrue(isSuccess());
+						assertEquals(fNode.fChildCount, getData().size());
+						done[0] = true;
+					}
+				}));
+		waitFor(done);
+		return fNode.fUpdateCount > updateCount;
+	}
+
+	public void testLeastRecentlyUsedEvicted() {
+		fVMProvider.setCacheCapacity(10);
+		for (int i = 0; i < 20; i++) {
+			assertTrue(updateChildCount("root", "element" + i));
+		}
+		// Twenty elements and the marker of the root element were added, ten fit.
+		VMCacheStatistics statistics = fVMProvider.getCacheStatistics();
+		assertEquals(11, statistics.getEvictionCount());
+		assertEquals(20, statistics.getMissCount());
+
+		assertFalse(updateChildCount("root", "element19"));
+		assertFalse(updateChildCount("root", "element11"));
+		assertTrue(updateChildCount("root", "element0"));
+		assertEquals(2, statistics.getHitCount());
+	}
+
+	public void testCapacityDecreased() {
+		for (int i = 0; i < 20; i++) {
+			updateChildCount("root", "element" + i);
+		}
+		assertEquals(0, fVMProvider.getCacheStatistics().getEvictionCount());
+
+		fVMProvider.setCacheCapacity(5);
+		assertEquals(16, fVMProvider.getCacheStatistics().getEvictionCount());
+		assertFalse(updateChildCount("root", "element19"));
+		assertTrue(updateChildCount("root", "element15"));
+	}
+
+	public void testChildrenCost() {
+		fVMProvider.setCacheCapacity(10);
+		for (int i = 0; i < 4; i++) {
+			updateChildCount("root", "element" + i);
+		}
+		assertEquals(0, fVMProvider.getCacheStatistics().getEvictionCount());
+
+		// Eighty children cost five more units, which puts the cache one unit
+		// over capacity.
+		fNode.fChildCount = 80;
+		assertTrue(updateChildren("root", "parent"));
+		assertEquals(1, fVMProvider.getCacheStatistics().getEvictionCount());
+		assertFalse(updateChildren("root", "parent"));
+
+		fNode.fChildCount = 1;
+		assertFalse(updateChildCount("root", "element1"));
+		assertTrue(updateChildCount("root", "element0"));
+	}
+
+	public void testFlushVisitsOnlyItsRootElement() {
+		for (int i = 0; i < 5; i++) {
+			updateChildCount("root1", "element" + i);
+		}
+		for (int i = 0; i < 50; i++) {
+			updateChildCount("root2", "element" + i);
+		}
+
+		VMCacheStatistics statistics = fVMProvider.getCacheStatistics();
+		fVMProvider.flush("root1");
+		assertEquals(1, statistics.getFlushCount());
+		assertEquals(5.0, statistics.getAverageFlushVisitCount(), 0);
+
+		// The elements of the flushed root element are retrieved again, the
+		// other root element keeps its elements.
+		assertTrue(updateChildCount("root1", "element0"));
+		assertFalse(updateChildCount("root2", "element0"));
+		assertFalse(updateChildCount("root2", "element49"));
+
+		fVMProvider.flush("root2");
+		assertEquals(2, statistics.getFlushCount());
+		assertEquals((5.0 + 50.0) / 2, statistics.getAverageFlushVisitCount(), 0);
+		assertTrue(updateChildCount("root2", "element0"));
+	}
+}
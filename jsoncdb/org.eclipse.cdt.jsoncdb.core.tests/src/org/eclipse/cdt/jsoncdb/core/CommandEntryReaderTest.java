@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.jsoncdb.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import com.google.gson.JsonSyntaxException;
+
+public class CommandEntryReaderTest {
+
+	@Test
+	public void testEntries() throws IOException {
+		String json = "[\n" //
+				+ "{ \"directory\": \"/build\", \"command\": \"/usr/bin/c++ -DA -c /src/a.cpp\","
+				+ " \"file\": \"/src/a.cpp\" },\n"
+				+ "{ \"directory\": \"/build\", \"arguments\": [\"cc\", \"-c\", \"b.c\"], \"file\": \"b.c\","
+				+ " \"output\": \"b.o\" }\n" //
+				+ "]";
+		try (CommandEntryReader reader = new CommandEntryReader(new StringReader(json))) {
+			assertFalse(reader.isEmpty());
+			CommandEntry entry = reader.next();
+			assertEquals("/build", entry.getDirectory());
+			assertEquals("/usr/bin/c++ -DA -c /src/a.cpp", entry.getCommand());
+			assertEquals("/src/a.cpp", entry.getFile());
+			entry = reader.next();
+			assertNull(entry.getCommand());
+			assertArrayEquals(new String[] { "cc", "-c", "b.c" }, entry.getArguments());
+			assertEquals("b.c", entry.getFile());
+			assertNull(reader.next());
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	public void testEmpty() throws IOException {
+		for (String json : new String[] { "", "  ", "null" }) {
+			try (CommandEntryReader reader = new CommandEntryReader(new StringReader(json))) {
+				assertTrue(reader.isEmpty());
+				assertNull(reader.next());
+			}
+		}
+		try (CommandEntryReader reader = new CommandEntryReader(new StringReader("[]"))) {
+			assertFalse(reader.isEmpty());
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	public void testNotJson() throws IOException {
+		for (String json : new String[] { "{}", "[ { \"file\": \"a.c\" }", "[ {} ] ]", "[ 42 ]", "[ null ]" }) {
+			try (CommandEntryReader reader = new CommandEntryReader(new StringReader(json))) {
+				while (reader.next() != null) {
+				}
+				fail("not detected as syntax error: " + json);
+			} catch (JsonSyntaxException expected) {
+			}
+		}
+	}
+}
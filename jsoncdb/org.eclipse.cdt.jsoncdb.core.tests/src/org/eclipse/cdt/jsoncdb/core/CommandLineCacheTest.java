@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.jsoncdb.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+
+import org.junit.Test;
+
+public class CommandLineCacheTest {
+	private static final String PREFS = "false:-?\\d+(\\.\\d+)*";
+
+	/** Counts the parsed command-lines. */
+	private final List<String> parsed = new ArrayList<>();
+	private final BiFunction<String, String, CompletableFuture<String>> parser = (cwd, cmdLine) -> {
+		parsed.add(cmdLine);
+		return CompletableFuture.completedFuture(cwd + ':' + cmdLine);
+	};
+
+	private static CommandLineCache.Snapshot<String> read(CommandLineCache<String> cache, String[][] entries,
+			BiFunction<String, String, CompletableFuture<String>> parser) {
+		for (String[] entry : entries) {
+			cache.get(entry[0], entry[1], entry[2], parser);
+		}
+		return cache.snapshot();
+	}
+
+	@Test
+	public void testIdenticalCommandLinesParsedOnce() {
+		CommandLineCache<String> cache = new CommandLineCache<>(PREFS, null);
+		CompletableFuture<String> a = cache.get("/src/a.c", "/build", "cc -DX -c", parser);
+		CompletableFuture<String> b = cache.get("/src/b.c", "/build", "cc -DX -c", parser);
+		assertSame(a, b);
+		assertEquals(1, parsed.size());
+
+		// a different working directory is a different command-line
+		CompletableFuture<String> c = cache.get("/src/c.c", "/other", "cc -DX -c", parser);
+		assertEquals("/other:cc -DX -c", c.join());
+		assertEquals(2, parsed.size());
+		assertEquals(2, cache.getCommandCount());
+		assertEquals(0, cache.getReusedCount());
+		assertFalse(cache.isUnchanged());
+	}
+
+	@Test
+	public void testPreviousCommandLinesReused() {
+		String[][] entries = { { "/src/a.c", "/build", "cc -DA -c" }, { "/src/b.c", "/build", "cc -DB -c" } };
+		CommandLineCache.Snapshot<String> snapshot = read(new CommandLineCache<>(PREFS, null), entries, parser);
+		assertEquals(2, parsed.size());
+
+		// one entry changed, only its command-line is parsed
+		String[][] changed = { { "/src/a.c", "/build", "cc -DA -c" }, { "/src/b.c", "/build", "cc -DC -c" } };
+		CommandLineCache<String> cache = new CommandLineCache<>(PREFS, snapshot);
+		read(cache, changed, parser);
+		assertEquals(3, parsed.size());
+		assertEquals("cc -DC -c", parsed.get(2));
+		assertEquals(1, cache.getReusedCount());
+		assertFalse(cache.isUnchanged());
+	}
+
+	@Test
+	public void testUnchangedFileSkipped() {
+		String[][] entries = { { "/src/a.c", "/build", "cc -DA -c" }, { "/src/b.c", "/build", "cc -DA -c" } };
+		CommandLineCache.Snapshot<String> snapshot = read(new CommandLineCache<>(PREFS, null), entries, parser);
+
+		CommandLineCache<String> cache = new CommandLineCache<>(PREFS, snapshot);
+		for (String[] entry : entries) {
+			cache.get(entry[0], entry[1], entry[2], parser);
+		}
+		assertTrue(cache.isUnchanged());
+		assertEquals(1, parsed.size());
+
+		// an entry moved to another source file changes the digest
+		String[][] renamed = { { "/src/a.c", "/build", "cc -DA -c" }, { "/src/c.c", "/build", "cc -DA -c" } };
+		cache = new CommandLineCache<>(PREFS, snapshot);
+		read(cache, renamed, parser);
+		assertFalse(cache.isUnchanged());
+		assertEquals(1, parsed.size());
+	}
+
+	@Test
+	public void testSnapshotOfUnchangedFileReplacesPrevious() {
+		String[][] entries = { { "/src/a.c", "/build", "cc -DA -c" } };
+		CommandLineCache.Snapshot<String> snapshot = read(new CommandLineCache<>(PREFS, null), entries, parser);
+
+		// the parser takes the previous snapshot over and stores a new one
+		CommandLineCache<String> cache = new CommandLineCache<>(PREFS, snapshot);
+		snapshot = read(cache, entries, parser);
+		assertTrue(cache.isUnchanged());
+
+		cache = new CommandLineCache<>(PREFS, snapshot);
+		read(cache, entries, parser);
+		assertTrue(cache.isUnchanged());
+		assertEquals(1, parsed.size());
+	}
+
+	@Test
+	public void testPreferencesChangeDiscardsPrevious() {
+		String[][] entries = { { "/src/a.c", "/build", "cc -DA -c" } };
+		CommandLineCache.Snapshot<String> snapshot = read(new CommandLineCache<>(PREFS, null), entries, parser);
+
+		CommandLineCache<String> cache = new CommandLineCache<>("true:" + PREFS, snapshot);
+		read(cache, entries, parser);
+		assertFalse(cache.isUnchanged());
+		assertEquals(2, parsed.size());
+	}
+
+	@Test
+	public void testParserExceptionRethrown() {
+		CommandLineCache<String> cache = new CommandLineCache<>(PREFS, null);
+		CompletableFuture<String> command = cache.get("/src/a.c", "/build", "cc -c",
+				(cwd, cmdLine) -> CompletableFuture.supplyAsync(() -> {
+					throw new IllegalArgumentException(cmdLine);
+				}));
+		try {
+			CommandLineCache.join(command);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("cc -c", e.getMessage());
+		}
+	}
+}
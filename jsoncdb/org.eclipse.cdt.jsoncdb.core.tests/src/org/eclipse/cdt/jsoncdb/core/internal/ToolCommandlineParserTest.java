@@ -9,6 +9,7 @@
 package org.eclipse.cdt.jsoncdb.core.internal;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.PrintWriter;
@@ -29,6 +30,18 @@ import org.junit.Test;
  */
 public class ToolCommandlineParserTest {
 
+	@Test
+	public final void testIsThreadSafe() throws Exception {
+		DefaultToolCommandlineParser testee = new DefaultToolCommandlineParser(new ResponseFileArglets.At(), null,
+				new Arglets.IncludePath_C_POSIX(), new Arglets.MacroDefine_C_POSIX());
+		assertTrue(testee.isThreadSafe());
+
+		// subclasses have to opt in
+		testee = new DefaultToolCommandlineParser(null, null, new Arglets.IncludePath_C_POSIX()) {
+		};
+		assertFalse(testee.isThreadSafe());
+	}
+
 	@Test
 	public final void testResponseFileArgumentParser_At() throws Exception {
 
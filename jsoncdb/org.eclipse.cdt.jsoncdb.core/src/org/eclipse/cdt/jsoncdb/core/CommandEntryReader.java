@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.cdt.jsoncdb.core;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+/**
+ * Reads the command entries of a compile_commands.json file one at a time, so
+ * that the entries of huge compilation databases are never held in memory all
+ * at once.
+ */
+class CommandEntryReader implements Closeable {
+	private final JsonReader reader;
+	private final TypeAdapter<CommandEntry> adapter;
+	private boolean atEnd;
+	private final boolean empty;
+
+	/**
+	 * @param in the reader to read the JSON from, it is closed by {@link #close()}
+	 *
+	 * @throws JsonSyntaxException if the file does not start with a JSON array
+	 * @throws IOException         if reading fails
+	 */
+	@SuppressWarnings("deprecation")
+	CommandEntryReader(Reader in) throws IOException {
+		reader = new JsonReader(in);
+		// be as tolerant as Gson.fromJson()
+		reader.setLenient(true);
+		adapter = new Gson().getAdapter(CommandEntry.class);
+		boolean isEmpty = false;
+		try {
+			if (reader.peek() == JsonToken.NULL) {
+				isEmpty = true;
+			} else {
+				reader.beginArray();
+			}
+		} catch (EOFException e) {
+			// no content at all
+			isEmpty = true;
+		} catch (MalformedJsonException | IllegalStateException e) {
+			throw new JsonSyntaxException(e);
+		}
+		empty = isEmpty;
+		atEnd = isEmpty;
+	}
+
+	/**
+	 * Gets whether the file has no content or has {@code null} as its content.
+	 */
+	boolean isEmpty() {
+		return empty;
+	}
+
+	/**
+	 * Reads the next command entry.
+	 *
+	 * @return the next entry or {@code null} if all entries have been read
+	 *
+	 * @throws JsonSyntaxException if the file is not a JSON array of objects
+	 * @throws IOException         if reading fails
+	 */
+	CommandEntry next() throws IOException {
+		if (atEnd) {
+			return null;
+		}
+		try {
+			if (reader.hasNext()) {
+				CommandEntry entry = adapter.read(reader);
+				if (entry == null) {
+					throw new JsonSyntaxException("null entry at " + reader.getPath()); //$NON-NLS-1$
+				}
+				return entry;
+			}
+			reader.endArray();
+			atEnd = true;
+			if (reader.peek() != JsonToken.END_DOCUMENT) {
+				throw new JsonSyntaxException("JSON document was not fully consumed."); //$NON-NLS-1$
+			}
+			return null;
+		} catch (MalformedJsonException | IllegalStateException e) {
+			throw new JsonSyntaxException(e);
+		} catch (EOFException e) {
+			// truncated file
+			throw new JsonSyntaxException(e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
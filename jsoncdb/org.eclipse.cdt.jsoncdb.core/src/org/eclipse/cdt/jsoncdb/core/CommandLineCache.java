@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.jsoncdb.core;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+
+/**
+ * Keeps track of the command-lines of the entries of a {@code compile_commands.json} file while
+ * it is read. Each entry is keyed by a SHA-256 digest of its working directory and command-line:
+ * <ul>
+ * <li>identical command-lines are parsed only once,</li>
+ * <li>command-lines that were parsed by the previous parse of the file are not parsed again,</li>
+ * <li>a digest over all entries tells whether a rewritten file has changed at all.</li>
+ * </ul>
+ *
+ * @param <T> the type of a parsed command-line
+ */
+final class CommandLineCache<T> {
+	/**
+	 * The parsed command-lines of a file, kept until the file is parsed again.
+	 */
+	static final class Snapshot<T> {
+		/** the preferences that affect parsing the command-lines */
+		final String preferences;
+		final ByteBuffer fileDigest;
+		final Map<ByteBuffer, T> commands;
+
+		Snapshot(String preferences, ByteBuffer fileDigest, Map<ByteBuffer, T> commands) {
+			this.preferences = preferences;
+			this.fileDigest = fileDigest;
+			this.commands = commands;
+		}
+	}
+
+	private final String preferences;
+	/** the snapshot of the previous parse or {@code null} */
+	private Snapshot<T> previous;
+	/** the distinct command-lines of the file (command-line digest -> parsed command) */
+	private final Map<ByteBuffer, CompletableFuture<T>> commands = new HashMap<>();
+	private final MessageDigest fileDigest = newDigest();
+	private ByteBuffer digest;
+
+	/**
+	 * @param preferences the preferences that affect parsing the command-lines
+	 * @param previous    the snapshot of the previous parse of the file or
+	 *                    {@code null}. It is ignored if it was taken with other
+	 *                    preferences.
+	 */
+	CommandLineCache(String preferences, Snapshot<T> previous) {
+		this.preferences = preferences;
+		if (previous != null && previous.preferences.equals(preferences)) {
+			this.previous = previous;
+		}
+		fileDigest.update(preferences.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Gets the parsed command-line of an entry of the file.
+	 *
+	 * @param file    the source file of the entry
+	 * @param cwd     the working directory of the entry or {@code null}
+	 * @param cmdLine the command-line of the entry
+	 * @param parser  parses a command-line that was not parsed before, given the
+	 *                working directory and the command-line
+	 */
+	CompletableFuture<T> get(String file, String cwd, String cmdLine,
+			BiFunction<String, String, CompletableFuture<T>> parser) {
+		final ByteBuffer key = digest(cwd, cmdLine);
+		fileDigest.update(file.getBytes(StandardCharsets.UTF_8));
+		fileDigest.update(key.array());
+
+		CompletableFuture<T> command = commands.get(key);
+		if (command == null) {
+			T parsed = previous == null ? null : previous.commands.get(key);
+			command = parsed != null ? CompletableFuture.completedFuture(parsed) : parser.apply(cwd, cmdLine);
+			commands.put(key, command);
+		}
+		return command;
+	}
+
+	/**
+	 * Returns whether all entries of the file are the same as in the previous
+	 * parse. May only be called after all entries have been passed to
+	 * {@link #get(String, String, String, BiFunction)}.
+	 */
+	boolean isUnchanged() {
+		return previous != null && previous.fileDigest.equals(getDigest());
+	}
+
+	/**
+	 * Returns the number of distinct command-lines of the file.
+	 */
+	int getCommandCount() {
+		return commands.size();
+	}
+
+	/**
+	 * Returns the number of distinct command-lines that were taken from the
+	 * previous parse of the file.
+	 */
+	long getReusedCount() {
+		return previous == null ? 0 : commands.keySet().stream().filter(previous.commands::containsKey).count();
+	}
+
+	/**
+	 * Waits for all command-lines to be parsed and releases the snapshot of the
+	 * previous parse.
+	 *
+	 * @return the snapshot to pass to the next parse of the file
+	 */
+	Snapshot<T> snapshot() {
+		Map<ByteBuffer, T> parsedCommands = new HashMap<>();
+		for (Entry<ByteBuffer, CompletableFuture<T>> entry : commands.entrySet()) {
+			parsedCommands.put(entry.getKey(), join(entry.getValue()));
+		}
+		previous = null;
+		return new Snapshot<>(preferences, getDigest(), parsedCommands);
+	}
+
+	private ByteBuffer getDigest() {
+		if (digest == null) {
+			digest = ByteBuffer.wrap(fileDigest.digest());
+		}
+		return digest;
+	}
+
+	/**
+	 * Waits for a command-line to be parsed and re-throws the exception of the
+	 * command-line parser, if any.
+	 */
+	static <T> T join(CompletableFuture<T> command) {
+		try {
+			return command.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Computes the digest of a command-line and the working directory it is
+	 * executed in.
+	 */
+	private static ByteBuffer digest(String cwd, String cmdLine) {
+		final MessageDigest md = newDigest();
+		if (cwd != null) {
+			md.update(cwd.getBytes(StandardCharsets.UTF_8));
+		}
+		md.update((byte) 0);
+		md.update(cmdLine.getBytes(StandardCharsets.UTF_8));
+		return ByteBuffer.wrap(md.digest());
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+}
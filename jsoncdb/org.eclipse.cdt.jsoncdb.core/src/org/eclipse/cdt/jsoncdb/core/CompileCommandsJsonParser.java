@@ -11,8 +11,9 @@ package org.eclipse.cdt.jsoncdb.core;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.Reader;
+import java.lang.ref.SoftReference;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -21,7 +22,14 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -51,7 +59,6 @@ import org.eclipse.core.runtime.QualifiedName;
 import org.eclipse.e4.core.contexts.EclipseContextFactory;
 import org.osgi.framework.FrameworkUtil;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
 
@@ -74,11 +81,21 @@ public class CompileCommandsJsonParser {
 	 */
 	private static final QualifiedName TIMESTAMP_COMPILE_COMMANDS_PROPERTY = new QualifiedName(null,
 			"timestamp:compile_commands.json"); //$NON-NLS-1$
+	/**
+	 * property to store the {@link CommandLineCache.Snapshot} of the last parsed
+	 * "compile_commands.json" file. It is held softly and removed when the next
+	 * parse of the file takes it over.
+	 */
+	private static final QualifiedName PARSED_COMMANDS_PROPERTY = new QualifiedName(null,
+			"commands:compile_commands.json"); //$NON-NLS-1$
 
 	private static final String WORKBENCH_WILL_NOT_KNOW_ALL_MSG = Messages.CompileCommandsJsonParser_MSG_WORKBENCH_WILL_NOT_KNOW;
 
 	private static final String MARKER_ID = Plugin.PLUGIN_ID + ".CompileCommandsJsonParserMarker"; //$NON-NLS-1$
 
+	/** the maximum number of threads parsing command-lines concurrently */
+	private static final int MAX_PARSER_THREADS = 4;
+
 	private ParseRequest parseRequest;
 
 	private final IParserPreferencesAccess prefsAccess;
@@ -114,6 +131,45 @@ public class CompileCommandsJsonParser {
 	 */
 	private Map<String, String> fileToBuiltinDetectorLinks;
 
+	/**
+	 * the distinct command-lines of the json file being parsed, each parsed only
+	 * once
+	 */
+	private CommandLineCache<ParsedCommand> commands;
+
+	/**
+	 * the executor that parses the command-lines with parsers that support
+	 * concurrent invocations, {@code null} until needed
+	 */
+	private ExecutorService parserExecutor;
+
+	/**
+	 * the source files of the processed entries in the order of the json file,
+	 * together with their parsed command-lines in {@link #entryCommands}
+	 */
+	private List<String> entryFiles;
+	private List<CompletableFuture<ParsedCommand>> entryCommands;
+
+	/**
+	 * The outcome of parsing a command-line. Shared by all entries with the same
+	 * command-line and working directory.
+	 */
+	private static class ParsedCommand {
+		/** marks a command-line for which no parser is known */
+		static final ParsedCommand UNSUPPORTED = new ParsedCommand(null, null, null);
+
+		final IResult result;
+		/** {@code null} if the compiler does not support built-in detection */
+		final IBuiltinsDetectionBehavior builtinsDetection;
+		final String compilerCommand;
+
+		ParsedCommand(IResult result, IBuiltinsDetectionBehavior builtinsDetection, String compilerCommand) {
+			this.result = result;
+			this.builtinsDetection = builtinsDetection;
+			this.compilerCommand = compilerCommand;
+		}
+	}
+
 	/**
 	 * Creates a new object that will try to parse the {@code compile_commands.json}
 	 * file in the build directory specified in the {@code ParseRequest#getBuildConfiguration()}.
@@ -164,18 +220,19 @@ public class CompileCommandsJsonParser {
 			// must parse json file...
 			monitor.setTaskName(Messages.CompileCommandsJsonParser_msg_processing);
 
-			try (Reader in = new FileReader(jsonDiskFile.toFile())) {
-				// parse file...
-				Gson gson = new Gson();
-				CommandEntry[] sourceFileInfos = gson.fromJson(in, CommandEntry[].class);
-				if (sourceFileInfos == null) {
+			commands = new CommandLineCache<>(getDetectionPreferences(), takeParsedCommands(buildRootFolder));
+
+			// read the entries one by one, the distinct command-lines of parsers that
+			// support it are parsed in parallel while reading
+			try (CommandEntryReader in = new CommandEntryReader(new FileReader(jsonDiskFile.toFile()))) {
+				if (in.isEmpty()) {
 					final String msg = String.format(Messages.CompileCommandsJsonParser_errmsg_empty_json, jsonDiskFile,
 							WORKBENCH_WILL_NOT_KNOW_ALL_MSG);
 					createMarker(jsonFile, msg);
 					return false;
 				}
-				for (CommandEntry sourceFileInfo : sourceFileInfos) {
-					processCommandEntry(sourceFileInfo, jsonFile);
+				for (CommandEntry entry; (entry = in.next()) != null;) {
+					processCommandEntry(entry, jsonFile);
 				}
 			} catch (JsonSyntaxException | JsonIOException ex) {
 				// file format error
@@ -190,14 +247,50 @@ public class CompileCommandsJsonParser {
 				return false;
 			}
 
+			if (commands.isUnchanged()) {
+				// the file was re-written, but no entry has changed
+				buildRootFolder.setSessionProperty(TIMESTAMP_COMPILE_COMMANDS_PROPERTY, tsJsonModified);
+				setParsedCommands(buildRootFolder, commands.snapshot());
+				return false;
+			}
+			collectParsedCommands();
+			if (DEBUG_TIME) {
+				System.out.printf("  %d entries, %d distinct command-lines, %d unchanged%n", //$NON-NLS-1$
+						entryFiles.size(), commands.getCommandCount(), commands.getReusedCount());
+			}
+			// release the commands of the previous run before running the built-ins
+			// detection
+			final CommandLineCache.Snapshot<ParsedCommand> parsedCommands = commands.snapshot();
+
 			detectBuiltins(monitor);
-			// store time-stamp
+			// store time-stamp and parsed commands
 			buildRootFolder.setSessionProperty(TIMESTAMP_COMPILE_COMMANDS_PROPERTY, tsJsonModified);
+			setParsedCommands(buildRootFolder, parsedCommands);
 			return true;
 		}
 		return false;
 	}
 
+	/**
+	 * Removes the snapshot of the previous parse from the build root folder, so
+	 * that it is not kept once the current parse has taken it over.
+	 *
+	 * @return the snapshot or {@code null} if there was none or if it was
+	 *         reclaimed by the garbage collector
+	 */
+	@SuppressWarnings("unchecked")
+	private static CommandLineCache.Snapshot<ParsedCommand> takeParsedCommands(IContainer buildRootFolder)
+			throws CoreException {
+		final Object ref = buildRootFolder.getSessionProperty(PARSED_COMMANDS_PROPERTY);
+		buildRootFolder.setSessionProperty(PARSED_COMMANDS_PROPERTY, null);
+		return ref == null ? null : ((SoftReference<CommandLineCache.Snapshot<ParsedCommand>>) ref).get();
+	}
+
+	private static void setParsedCommands(IContainer buildRootFolder,
+			CommandLineCache.Snapshot<ParsedCommand> parsedCommands) throws CoreException {
+		buildRootFolder.setSessionProperty(PARSED_COMMANDS_PROPERTY, new SoftReference<>(parsedCommands));
+	}
+
 	/**
 	 * Processes an entry from a {@code compile_commands.json} file and remembers a
 	 * {@link IRawSourceFileInfo} for the given sourceFileInfo.
@@ -216,25 +309,11 @@ public class CompileCommandsJsonParser {
 			cmdLine = String.join(" ", sourceFileInfo.getArguments()); //$NON-NLS-1$
 		}
 		if (file != null && !file.isEmpty() && cmdLine != null && !cmdLine.isEmpty()) {
-			ParserDetection.ParserDetectionResult pdr = fastDetermineDetector(cmdLine);
-			if (pdr != null) {
-				// found a matching command-line parser
-				final IToolCommandlineParser parser = pdr.getDetectorWithMethod().getToolDetectionParticipant()
-						.getParser();
-				// cwdStr is the absolute working directory of the compiler in
-				// CMake-notation (fileSep are forward slashes)
-				final String cwdStr = sourceFileInfo.getDirectory();
-				IPath cwd = cwdStr != null ? Path.fromOSString(cwdStr) : new Path(""); //$NON-NLS-1$
-				IResult result = parser.processArgs(cwd, pdr.getReducedCommandLine().stripLeading());
-				// remember result together with file name
-				rememberFileResult(file, result);
-
-				final Optional<IBuiltinsDetectionBehavior> builtinDetection = parser.getIBuiltinsDetectionBehavior();
-				if (builtinDetection.isPresent()) {
-					rememberBuiltinsDetection(file, builtinDetection.get(), pdr.getCommandLine().getCommand(),
-							result.getBuiltinDetectionArgs());
-				}
-			} else {
+			// cwdStr is the absolute working directory of the compiler in
+			// CMake-notation (fileSep are forward slashes)
+			final String cwdStr = sourceFileInfo.getDirectory();
+			final CompletableFuture<ParsedCommand> command = commands.get(file, cwdStr, cmdLine, this::parseCommand);
+			if (command.getNow(null) == ParsedCommand.UNSUPPORTED) {
 				// no matching parser found
 
 				// complain only once if no cmdline parser for the tool is known (fortran,
@@ -250,7 +329,11 @@ public class CompileCommandsJsonParser {
 				final String msg = String.format(Messages.CompileCommandsJsonParser_errmsg_no_parser_for_commandline,
 						cmdLine, WORKBENCH_WILL_NOT_KNOW_ALL_MSG);
 				createMarker(jsonFile, msg);
+				return;
 			}
+			// remember the command together with file name
+			entryFiles.add(file);
+			entryCommands.add(command);
 			return;
 		}
 		// unrecognized entry, skipping
@@ -259,6 +342,78 @@ public class CompileCommandsJsonParser {
 		createMarker(jsonFile, msg);
 	}
 
+	/**
+	 * Detects the command-line parser for the specified command-line and parses
+	 * it. Parsers that support concurrent invocations parse on the parser
+	 * executor while the json file is still being read, others parse right away.
+	 * Detection is done synchronously since it remembers the last working
+	 * detector.
+	 *
+	 * @return the parsed command or {@link ParsedCommand#UNSUPPORTED}, if no
+	 *         parser matches the command-line
+	 */
+	private CompletableFuture<ParsedCommand> parseCommand(String cwdStr, String cmdLine) {
+		ParserDetection.ParserDetectionResult pdr = fastDetermineDetector(cmdLine);
+		if (pdr == null) {
+			return CompletableFuture.completedFuture(ParsedCommand.UNSUPPORTED);
+		}
+		// found a matching command-line parser
+		final IToolCommandlineParser parser = pdr.getDetectorWithMethod().getToolDetectionParticipant().getParser();
+		final IPath cwd = cwdStr != null ? Path.fromOSString(cwdStr) : new Path(""); //$NON-NLS-1$
+		final String args = pdr.getReducedCommandLine().stripLeading();
+		final String compilerCommand = pdr.getCommandLine().getCommand();
+		final Supplier<ParsedCommand> parse = () -> new ParsedCommand(parser.processArgs(cwd, args),
+				parser.getIBuiltinsDetectionBehavior().orElse(null), compilerCommand);
+		if (!parser.isThreadSafe()) {
+			return CompletableFuture.completedFuture(parse.get());
+		}
+		if (parserExecutor == null) {
+			parserExecutor = createParserExecutor();
+		}
+		return CompletableFuture.supplyAsync(parse, parserExecutor);
+	}
+
+	/**
+	 * Creates the executor for parsing command-lines. Its queue is bounded, when
+	 * it is full the thread reading the json file parses the command-line itself.
+	 */
+	private static ExecutorService createParserExecutor() {
+		final int threads = Math.max(1, Math.min(MAX_PARSER_THREADS, Runtime.getRuntime().availableProcessors()));
+		final AtomicInteger threadCount = new AtomicInteger();
+		return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(threads * 16), runnable -> {
+					Thread thread = new Thread(runnable, "compile_commands.json parser " //$NON-NLS-1$
+							+ threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	/**
+	 * Waits for the command-lines to be parsed and remembers the results for each
+	 * source file in the order of the json file.
+	 */
+	private void collectParsedCommands() {
+		for (int i = 0; i < entryFiles.size(); i++) {
+			final String file = entryFiles.get(i);
+			final ParsedCommand command = CommandLineCache.join(entryCommands.get(i));
+			rememberFileResult(file, command.result);
+			if (command.builtinsDetection != null) {
+				rememberBuiltinsDetection(file, command.builtinsDetection, command.compilerCommand,
+						command.result.getBuiltinDetectionArgs());
+			}
+		}
+	}
+
+	/**
+	 * Gets the workspace preferences that affect the detection of command-line
+	 * parsers as a String.
+	 */
+	private String getDetectionPreferences() {
+		final IParserPreferences prefs = prefsAccess.getWorkspacePreferences();
+		return prefs.getTryVersionSuffix() + ":" + prefs.getVersionSuffixPattern(); //$NON-NLS-1$
+	}
+
 	/** Runs detection of compiler built-ins if supported and notifies the
 	 * {@code ISourceFileInfoConsumer} that was specified in the constructor for each source file.
 	 *
@@ -445,6 +600,8 @@ public class CompileCommandsJsonParser {
 		fileResults = new HashMap<>();
 		builtinDetectorsToRun = new HashMap<>();
 		fileToBuiltinDetectorLinks = new HashMap<>();
+		entryFiles = new ArrayList<>();
+		entryCommands = new ArrayList<>();
 
 		try {
 			if (DEBUG_TIME) {
@@ -464,6 +621,13 @@ public class CompileCommandsJsonParser {
 			builtinDetectorsToRun = null;
 			fileResults = null;
 			fileToBuiltinDetectorLinks = null;
+			if (parserExecutor != null) {
+				parserExecutor.shutdownNow();
+				parserExecutor = null;
+			}
+			commands = null;
+			entryFiles = null;
+			entryCommands = null;
 		}
 	}
 
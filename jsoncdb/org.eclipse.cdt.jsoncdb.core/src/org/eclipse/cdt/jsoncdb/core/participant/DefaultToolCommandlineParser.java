@@ -73,6 +73,31 @@ public class DefaultToolCommandlineParser implements IToolCommandlineParser {
 		return Optional.ofNullable(builtinsDetection);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This class creates the state of each invocation of
+	 * {@link #processArgs(IPath, String)} anew, and the arglets of this bundle are
+	 * stateless. Returns {@code true} only if this class is not subclassed and
+	 * all arglets are provided by this bundle. Subclasses have to override this
+	 * method to opt in.
+	 *
+	 * @since 1.5
+	 */
+	@Override
+	public boolean isThreadSafe() {
+		if (getClass() != DefaultToolCommandlineParser.class)
+			return false;
+		final ClassLoader loader = DefaultToolCommandlineParser.class.getClassLoader();
+		if (responseFileArglet != null && responseFileArglet.getClass().getClassLoader() != loader)
+			return false;
+		for (IArglet arglet : argumentParsers) {
+			if (arglet.getClass().getClassLoader() != loader)
+				return false;
+		}
+		return true;
+	}
+
 	@SuppressWarnings("nls")
 	@Override
 	public String toString() {
@@ -22,7 +22,9 @@ import org.eclipse.core.runtime.IPath;
  */
 public interface IToolCommandlineParser {
 	/**
-	 * Parses all arguments given to the tool.
+	 * Parses all arguments given to the tool.<br>
+	 * This method is invoked concurrently from multiple threads, each with
+	 * different arguments, only if {@link #isThreadSafe()} returns {@code true}.
 	 *
 	 * @param cwd  the current working directory of the compiler at the time of its
 	 *             invocation
@@ -42,6 +44,18 @@ public interface IToolCommandlineParser {
 	 */
 	public Optional<IBuiltinsDetectionBehavior> getIBuiltinsDetectionBehavior();
 
+	/**
+	 * Returns whether {@link #processArgs(IPath, String)} may be invoked
+	 * concurrently from multiple threads. Parsers that return {@code true} let
+	 * the command-lines of a large compilation database be parsed in parallel.
+	 *
+	 * @return {@code false} by default
+	 * @since 1.5
+	 */
+	default boolean isThreadSafe() {
+		return false;
+	}
+
 	/**
 	 * The result of processing a compiler command-line.
 	 *
@@ -19,7 +19,8 @@ import org.junit.runners.Suite;
 import junit.framework.TestSuite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ PlainTextTransportTest.class, RAWBinaryTransportTest.class, SRecordTransportTest.class })
+@Suite.SuiteClasses({ PlainTextTransportTest.class, RAWBinaryTransportTest.class, SRecordTransportTest.class,
+		MemorySearchTest.class, MemoryPageStoreTest.class })
 public class AutomatedIntegrationSuite extends TestSuite {
 
 }
@@ -14,8 +14,8 @@
 package org.eclipse.cdt.debug.core.memory.tests;
 
 import java.math.BigInteger;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.eclipse.cdt.debug.core.memory.transport.IReadMemory;
 import org.eclipse.cdt.debug.core.memory.transport.WriteMemory;
@@ -33,36 +33,30 @@ final class EmulateMemory implements WriteMemory, IReadMemory {
 
 	private final BigInteger addressable;
 	private final BigInteger base;
-	//FIXME: needs improvements, assumes identical pattern during write and read
-	private final Map<BigInteger, byte[]> storage;
+	// the written blocks by address, the reads may start and end anywhere in a block
+	private final TreeMap<BigInteger, byte[]> storage;
 
 	EmulateMemory(BigInteger addressable, BigInteger base) {
 		this.addressable = addressable;
 		this.base = base;
-		this.storage = new LinkedHashMap<>();
+		this.storage = new TreeMap<>();
 	}
 
 	@Override
 	public MemoryByte[] from(BigInteger offset, long units) throws DebugException {
 		int length = (int) (units * addressable.longValue());
 		MemoryByte[] result = new MemoryByte[length];
-		int i = 0;
-		while (i < length) {
-			byte[] raw = storage.getOrDefault(offset.add(BigInteger.valueOf(i)), new byte[0]);
-			int obtained = raw.length;
-			if (obtained > 0) {
-				for (int j = 0; j < obtained; j++) {
-					result[i + j] = new MemoryByte(raw[j]);
-				}
-				i = i + obtained;
+		for (int i = 0; i < length; i++) {
+			BigInteger address = offset.add(BigInteger.valueOf(i));
+			Map.Entry<BigInteger, byte[]> block = storage.floorEntry(address);
+			int index = block == null ? -1 : address.subtract(block.getKey()).intValue();
+			if (index >= 0 && index < block.getValue().length) {
+				result[i] = new MemoryByte(block.getValue()[index]);
 			} else {
 				//unreachable with current test data
 				MemoryByte unavailable = new MemoryByte();
 				unavailable.setReadable(false);
-				for (int j = i; j < length; j++) {
-					result[i + j] = unavailable;
-				}
-				i = length;
+				result[i] = unavailable;
 			}
 		}
 		return result;
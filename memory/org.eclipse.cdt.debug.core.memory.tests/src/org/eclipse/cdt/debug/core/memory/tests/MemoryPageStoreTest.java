@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.debug.core.memory.tests;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.cdt.debug.core.model.provisional.MemoryPageStore;
+import org.eclipse.debug.core.model.MemoryByte;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class MemoryPageStoreTest {
+
+	private static final int PAGE_UNITS = 8;
+
+	private static byte[] page(int first) {
+		byte[] values = new byte[PAGE_UNITS];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = (byte) (first + i);
+		}
+		return values;
+	}
+
+	private static byte[] flags(int size) {
+		byte[] flags = new byte[size];
+		Arrays.fill(flags, (byte) (MemoryByte.READABLE | MemoryByte.WRITABLE));
+		return flags;
+	}
+
+	private static BigInteger address(long address) {
+		return BigInteger.valueOf(address);
+	}
+
+	private static int[] changes(MemoryPageStore store, long address, int byteCount) {
+		int[] changes = new int[byteCount];
+		Assert.assertTrue(store.read(address(address), byteCount, new byte[byteCount], new byte[byteCount], changes));
+		return changes;
+	}
+
+	@Test
+	public void readAcrossPages() {
+		MemoryPageStore store = new MemoryPageStore(1, PAGE_UNITS, 4);
+		Assert.assertTrue(store.isEmpty());
+		Assert.assertFalse(store.contains(address(0), 1));
+		Assert.assertFalse(store.read(address(0), 1, new byte[1], new byte[1], null));
+
+		store.putPage(address(0), page(0), flags(PAGE_UNITS), store.getGeneration());
+		store.putPage(address(8), page(8), flags(PAGE_UNITS), store.getGeneration());
+		Assert.assertTrue(store.contains(address(4), 12));
+		Assert.assertFalse(store.contains(address(4), 13));
+
+		byte[] values = new byte[10];
+		byte[] flags = new byte[10];
+		Assert.assertTrue(store.read(address(5), 10, values, flags, null));
+		for (int i = 0; i < values.length; i++) {
+			Assert.assertEquals(5 + i, values[i]);
+		}
+		Assert.assertArrayEquals(flags(10), flags);
+		Assert.assertFalse(store.read(address(5), 12, new byte[12], new byte[12], null));
+	}
+
+	@Test
+	public void unitAddresses() {
+		// two bytes per unit, addresses count units
+		MemoryPageStore store = new MemoryPageStore(2, PAGE_UNITS, 4);
+		Assert.assertEquals(2 * PAGE_UNITS, store.getPageSize());
+		Assert.assertEquals(address(8), store.getPageAddress(address(11)));
+
+		byte[] values = new byte[store.getPageSize()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = (byte) i;
+		}
+		store.putPage(address(8), values, flags(values.length), store.getGeneration());
+		byte[] read = new byte[4];
+		Assert.assertTrue(store.read(address(11), 4, read, new byte[4], null));
+		Assert.assertArrayEquals(new byte[] { 6, 7, 8, 9 }, read);
+		Assert.assertEquals(Collections.singletonList(address(16)), store.getPagesToRead(address(11), address(17)));
+	}
+
+	@Test
+	public void historyBitmaps() {
+		MemoryPageStore store = new MemoryPageStore(1, PAGE_UNITS, 4);
+		store.setHistoryDepth(2);
+
+		byte[] first = page(0);
+		store.putPage(address(0), first.clone(), flags(PAGE_UNITS), store.getGeneration());
+		Assert.assertArrayEquals(new int[PAGE_UNITS], changes(store, 0, PAGE_UNITS));
+
+		// a change before the first archive is shown at the most recent level
+		byte[] second = first.clone();
+		second[3] = 42;
+		store.putPage(address(0), second.clone(), flags(PAGE_UNITS), store.getGeneration());
+		Assert.assertArrayEquals(new int[] { 0, 0, 0, 1, 0, 0, 0, 0 }, changes(store, 0, PAGE_UNITS));
+
+		// after an archive, the older change moves to the next level
+		store.archive();
+		byte[] third = second.clone();
+		third[5] = 99;
+		store.putPage(address(0), third.clone(), flags(PAGE_UNITS), store.getGeneration());
+		Assert.assertArrayEquals(new int[] { 0, 0, 0, 2, 0, 3, 0, 0 }, changes(store, 0, PAGE_UNITS));
+		Assert.assertArrayEquals(new int[] { 2, 0, 3 }, changes(store, 3, 3));
+
+		// changing the depth discards the history
+		store.setHistoryDepth(1);
+		Assert.assertArrayEquals(new int[PAGE_UNITS], changes(store, 0, PAGE_UNITS));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidHistoryDepth() {
+		new MemoryPageStore(1, PAGE_UNITS, 4).setHistoryDepth(MemoryPageStore.MAX_HISTORY_DEPTH + 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidPageSize() {
+		MemoryPageStore store = new MemoryPageStore(1, PAGE_UNITS, 4);
+		store.putPage(address(0), new byte[PAGE_UNITS - 1], new byte[PAGE_UNITS - 1], store.getGeneration());
+	}
+
+	@Test
+	public void stalePages() {
+		MemoryPageStore store = new MemoryPageStore(1, PAGE_UNITS, 4);
+		store.putPage(address(0), page(0), flags(PAGE_UNITS), store.getGeneration());
+		store.putPage(address(8), page(8), flags(PAGE_UNITS), store.getGeneration());
+		Assert.assertFalse(store.isStale(address(0), 16));
+		Assert.assertEquals(Collections.emptyList(), store.getPagesToRead(address(0), address(16)));
+
+		// a page being read while the store is invalidated stays stale
+		int generation = store.getGeneration();
+		store.invalidate();
+		Assert.assertTrue(store.isStale(address(0), 1));
+		store.putPage(address(0), page(10), flags(PAGE_UNITS), generation);
+		Assert.assertTrue(store.isStale(address(0), 1));
+		Assert.assertEquals(Arrays.asList(address(0), address(8)), store.getPagesToRead(address(0), address(16)));
+
+		// stale values can still be painted
+		byte[] values = new byte[1];
+		Assert.assertTrue(store.read(address(8), 1, values, new byte[1], null));
+		Assert.assertEquals(8, values[0]);
+
+		store.putPage(address(0), page(20), flags(PAGE_UNITS), store.getGeneration());
+		Assert.assertFalse(store.isStale(address(0), PAGE_UNITS));
+		Assert.assertTrue(store.isStale(address(0), PAGE_UNITS + 1));
+		Assert.assertEquals(Collections.singletonList(address(8)), store.getPagesToRead(address(0), address(16)));
+	}
+
+	@Test
+	public void leastRecentlyUsedPageEvicted() {
+		MemoryPageStore store = new MemoryPageStore(1, PAGE_UNITS, 2);
+		store.putPage(address(0), page(0), flags(PAGE_UNITS), store.getGeneration());
+		store.putPage(address(8), page(8), flags(PAGE_UNITS), store.getGeneration());
+
+		// reading the first page makes the second one the least recently used
+		Assert.assertTrue(store.read(address(0), 1, new byte[1], new byte[1], null));
+		store.putPage(address(16), page(16), flags(PAGE_UNITS), store.getGeneration());
+		Assert.assertTrue(store.contains(address(0), 1));
+		Assert.assertFalse(store.contains(address(8), 1));
+		Assert.assertTrue(store.contains(address(16), 1));
+
+		store.clear();
+		Assert.assertTrue(store.isEmpty());
+	}
+}
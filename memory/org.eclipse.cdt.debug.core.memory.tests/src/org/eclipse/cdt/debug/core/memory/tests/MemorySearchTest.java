@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.debug.core.memory.tests;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.cdt.debug.core.memory.search.MemoryReplacements;
+import org.eclipse.cdt.debug.core.memory.search.MemorySearch;
+import org.eclipse.cdt.debug.core.memory.search.MemorySearchPattern;
+import org.eclipse.cdt.debug.core.memory.search.MemorySearchRequest;
+import org.eclipse.cdt.debug.core.memory.transport.IReadMemory;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.debug.core.model.MemoryByte;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class MemorySearchTest {
+
+	private final BigInteger start;
+	private final byte[] data;
+	private final EmulateMemory memory;
+
+	public MemorySearchTest() throws CoreException {
+		start = new BigInteger("1000", 16); //$NON-NLS-1$
+		// few distinct values, so that the patterns occur often and overlap
+		data = new byte[5000];
+		Random random = new Random(42);
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) "abAB".charAt(random.nextInt(4)); //$NON-NLS-1$
+		}
+		memory = new EmulateMemory(BigInteger.ONE, start);
+		memory.to(BigInteger.ZERO, data);
+	}
+
+	@Test
+	public void forward() throws CoreException {
+		MemorySearchPattern pattern = MemorySearchPattern.bytes(bytes("abba")); //$NON-NLS-1$
+		Assert.assertEquals(expected("abba", false, false), search(Arrays.asList(pattern), true, 7)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void backward() throws CoreException {
+		MemorySearchPattern pattern = MemorySearchPattern.bytes(bytes("abba")); //$NON-NLS-1$
+		Assert.assertEquals(expected("abba", false, true), search(Arrays.asList(pattern), false, 7)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void wildcard() throws CoreException {
+		MemorySearchPattern pattern = MemorySearchPattern.masked(bytes("a?B"), new byte[] { -1, 0, -1 }); //$NON-NLS-1$
+		Assert.assertEquals(expected("a?B", false, false), search(Arrays.asList(pattern), true, 64)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void caseInsensitive() throws CoreException {
+		MemorySearchPattern pattern = MemorySearchPattern.text("aBa", StandardCharsets.US_ASCII, true); //$NON-NLS-1$
+		Assert.assertEquals(expected("aBa", true, false), search(Arrays.asList(pattern), true, 1000)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void patterns() throws CoreException {
+		MemorySearchPattern first = MemorySearchPattern.bytes(bytes("AAb")); //$NON-NLS-1$
+		MemorySearchPattern second = MemorySearchPattern.bytes(bytes("bAbbA")); //$NON-NLS-1$
+		List<BigInteger> expected = new ArrayList<>(expected("AAb", false, false)); //$NON-NLS-1$
+		expected.addAll(expected("bAbbA", false, false)); //$NON-NLS-1$
+		Collections.sort(expected);
+		Assert.assertEquals(expected, search(Arrays.asList(first, second), true, 100));
+	}
+
+	@Test
+	public void stop() throws CoreException {
+		MemorySearchPattern pattern = MemorySearchPattern.bytes(bytes("abba")); //$NON-NLS-1$
+		BigInteger from = start.add(BigInteger.valueOf(100));
+		List<BigInteger> found = new ArrayList<>();
+		MemorySearchRequest request = new MemorySearchRequest(from, start.add(BigInteger.valueOf(data.length)),
+				Arrays.asList(pattern), true, memory, 16, 2);
+		new MemorySearch(request, match -> !found.add(match.address())).run(new NullProgressMonitor());
+		for (BigInteger address : expected("abba", false, false)) { //$NON-NLS-1$
+			if (address.compareTo(from) >= 0) {
+				Assert.assertEquals(Arrays.asList(address), found);
+				return;
+			}
+		}
+		Assert.fail();
+	}
+
+	@Test
+	public void addressable2() throws CoreException {
+		// "ab" at the byte offsets 2, 7 and 10, only 2 and 10 are at the start of a 2 byte unit
+		byte[] units = bytes("xxabxxxabxab"); //$NON-NLS-1$
+		IReadMemory read = (address, count) -> {
+			MemoryByte[] result = new MemoryByte[(int) count * 2];
+			int offset = address.subtract(start).intValue() * 2;
+			for (int i = 0; i < result.length; i++) {
+				if (offset + i < units.length) {
+					result[i] = new MemoryByte(units[offset + i]);
+				} else {
+					result[i] = new MemoryByte();
+					result[i].setReadable(false);
+				}
+			}
+			return result;
+		};
+		List<BigInteger> found = new ArrayList<>();
+		MemorySearchRequest request = new MemorySearchRequest(start, start.add(BigInteger.valueOf(units.length / 2)),
+				BigInteger.TWO, Arrays.asList(MemorySearchPattern.bytes(bytes("ab"))), true, read, 4, 2, true); //$NON-NLS-1$
+		new MemorySearch(request, match -> found.add(match.address())).run(new NullProgressMonitor());
+		Assert.assertEquals(Arrays.asList(start.add(BigInteger.ONE), start.add(BigInteger.valueOf(5))), found);
+	}
+
+	@Test
+	public void replaceOverlapping() throws CoreException {
+		Assert.assertEquals("bba", replace("aaa", "aa", "bb", MemorySearchRequest.DEFAULT_BLOCK_SIZE)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		// the next block is read after the replacement that spans it
+		Assert.assertEquals("bbbbbba", replace("aaaaaaa", "aa", "bb", 2)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	/**
+	 * Replaces all occurrences of the pattern the way the find/replace dialog does
+	 */
+	private String replace(String content, String pattern, String replacement, int blockSize) throws CoreException {
+		byte[] memory = bytes(content);
+		IReadMemory read = (address, count) -> {
+			MemoryByte[] result = new MemoryByte[(int) count];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = new MemoryByte(memory[address.subtract(start).intValue() + i]);
+			}
+			return result;
+		};
+		MemorySearchRequest request = new MemorySearchRequest(start, start.add(BigInteger.valueOf(memory.length)),
+				BigInteger.ONE, Arrays.asList(MemorySearchPattern.bytes(bytes(pattern))), true, read, blockSize, 1,
+				false);
+		MemoryReplacements replacements = new MemoryReplacements(BigInteger.ONE);
+		new MemorySearch(request, match -> {
+			if (!replacements.overlaps(match)) {
+				byte[] data = bytes(replacement);
+				System.arraycopy(data, 0, memory, match.address().subtract(start).intValue(), data.length);
+				replacements.replaced(match, data.length);
+			}
+			return true;
+		}).run(new NullProgressMonitor());
+		return new String(memory, StandardCharsets.US_ASCII);
+	}
+
+	private List<BigInteger> search(List<MemorySearchPattern> patterns, boolean forward, int blockSize)
+			throws CoreException {
+		List<BigInteger> found = new ArrayList<>();
+		MemorySearchRequest request = new MemorySearchRequest(start, start.add(BigInteger.valueOf(data.length)),
+				patterns, forward, memory, blockSize, 3);
+		new MemorySearch(request, match -> found.add(match.address())).run(new NullProgressMonitor());
+		return found;
+	}
+
+	/**
+	 * Searches the data byte by byte, "?" matches any byte
+	 */
+	private List<BigInteger> expected(String pattern, boolean caseInsensitive, boolean backward) {
+		List<BigInteger> expected = new ArrayList<>();
+		for (int i = 0; i + pattern.length() <= data.length; i++) {
+			boolean matches = true;
+			for (int j = 0; j < pattern.length() && matches; j++) {
+				char expectedChar = pattern.charAt(j);
+				char actualChar = (char) data[i + j];
+				matches = expectedChar == '?' || expectedChar == actualChar
+						|| caseInsensitive && Character.toUpperCase(expectedChar) == Character.toUpperCase(actualChar);
+			}
+			if (matches) {
+				expected.add(start.add(BigInteger.valueOf(i)));
+			}
+		}
+		if (backward) {
+			Collections.reverse(expected);
+		}
+		return expected;
+	}
+
+	private byte[] bytes(String text) {
+		return text.getBytes(StandardCharsets.US_ASCII);
+	}
+}
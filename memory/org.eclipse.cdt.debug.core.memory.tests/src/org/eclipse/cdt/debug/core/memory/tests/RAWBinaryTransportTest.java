@@ -21,11 +21,13 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 
 import org.eclipse.cdt.debug.core.memory.transport.ExportRequest;
+import org.eclipse.cdt.debug.core.memory.transport.IReadMemory;
 import org.eclipse.cdt.debug.core.memory.transport.ImportRequest;
 import org.eclipse.cdt.debug.internal.core.memory.transport.RAWBinaryExport;
 import org.eclipse.cdt.debug.internal.core.memory.transport.RAWBinaryImport;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.debug.core.model.MemoryByte;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -57,6 +59,27 @@ public final class RAWBinaryTransportTest {
 		transport("memory_10001.bin", end); //$NON-NLS-1$
 	}
 
+	@Test
+	public void exportAddressable2() throws CoreException, IOException {
+		BigInteger end = start.add(BigInteger.valueOf(0x801));
+		// the addresses are in units of 2 bytes, byte i of unit a is 2a + i
+		IReadMemory memory = (address, units) -> {
+			MemoryByte[] bytes = new MemoryByte[(int) units * 2];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = new MemoryByte((byte) (address.intValue() * 2 + i));
+			}
+			return bytes;
+		};
+		File output = new OutputFile("memory_addressable2.bin").get(); //$NON-NLS-1$
+		new RAWBinaryExport(output, new ExportRequest(start, end, BigInteger.TWO, memory))//
+				.run(new NullProgressMonitor());
+		byte[] data = read(output);
+		Assert.assertEquals(0x1002, data.length);
+		for (int i = 0; i < data.length; i++) {
+			Assert.assertEquals((byte) (start.intValue() * 2 + i), data[i]);
+		}
+	}
+
 	private void transport(String name, BigInteger end) throws CoreException, IOException {
 		EmulateMemory memory = new EmulateMemory(BigInteger.valueOf(1), base);
 		CollectScrolls scroll = new CollectScrolls();
@@ -22,11 +22,13 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.cdt.debug.core.memory.transport.ExportRequest;
+import org.eclipse.cdt.debug.core.memory.transport.IReadMemory;
 import org.eclipse.cdt.debug.core.memory.transport.ImportRequest;
 import org.eclipse.cdt.debug.internal.core.memory.transport.SRecordExport;
 import org.eclipse.cdt.debug.internal.core.memory.transport.SRecordImport;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.debug.core.model.MemoryByte;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -58,6 +60,51 @@ public final class SRecordTransportTest {
 		transport("memory_10001.srec", end); //$NON-NLS-1$
 	}
 
+	@Test
+	public void transportChunked() throws CoreException, IOException {
+		BigInteger end = start.add(new BigInteger("10001", 16)); //$NON-NLS-1$
+		EmulateMemory memory = new EmulateMemory(BigInteger.valueOf(1), base);
+		File input = new InputFile("memory_10001.srec").get(); //$NON-NLS-1$
+		File output = new OutputFile("memory_10001_chunked.srec").get(); //$NON-NLS-1$
+		// neither size is a multiple of the 16 bytes of a record
+		SRecordImport memoryImport = new SRecordImport(input, new ImportRequest(base, start, memory, 100),
+				new CollectScrolls(), true);
+		memoryImport.run(new NullProgressMonitor());
+		SRecordExport memoryExport = new SRecordExport(output,
+				new ExportRequest(start, end, BigInteger.ONE, memory, 1000));
+		memoryExport.run(new NullProgressMonitor());
+		Assert.assertArrayEquals(read(input), read(output));
+		Assert.assertEquals(0x10001L, memoryImport.statistics().bytes());
+		Assert.assertEquals(0x10001L, memoryExport.statistics().bytes());
+	}
+
+	@Test
+	public void exportAddressable2() throws CoreException, IOException {
+		BigInteger end = start.add(BigInteger.valueOf(0x20));
+		// the addresses are in units of 2 bytes, byte i of unit a is 2a + i
+		IReadMemory memory = (address, units) -> {
+			MemoryByte[] bytes = new MemoryByte[(int) units * 2];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = new MemoryByte((byte) (address.intValue() * 2 + i));
+			}
+			return bytes;
+		};
+		File output = new OutputFile("memory_addressable2.srec").get(); //$NON-NLS-1$
+		new SRecordExport(output, new ExportRequest(start, end, BigInteger.TWO, memory))//
+				.run(new NullProgressMonitor());
+		// records of 16 bytes, i.e. 8 units
+		String[] lines = read(output);
+		Assert.assertEquals(4, lines.length);
+		for (int k = 0; k < lines.length; k++) {
+			int address = start.intValue() + 8 * k;
+			StringBuilder data = new StringBuilder();
+			for (int i = 0; i < 16; i++) {
+				data.append(String.format("%02X", (address * 2 + i) & 0xFF)); //$NON-NLS-1$
+			}
+			Assert.assertEquals("S315" + String.format("%08X", address) + data, lines[k].substring(0, 44)); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
 	private void transport(String name, BigInteger end) throws CoreException, IOException {
 		EmulateMemory memory = new EmulateMemory(BigInteger.valueOf(1), base);
 		CollectScrolls scroll = new CollectScrolls();
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.debug.core.memory.search;
+
+/**
+ * Receives the matches of a {@link MemorySearch}, in the order of the search
+ *
+ * @since 0.3
+ */
+@FunctionalInterface
+public interface IMemoryMatchCollector {
+
+	/**
+	 *
+	 * @param match the next match
+	 * @return <code>true</code> to continue the search, <code>false</code> to stop it
+	 */
+	boolean accept(MemorySearchMatch match);
+
+}
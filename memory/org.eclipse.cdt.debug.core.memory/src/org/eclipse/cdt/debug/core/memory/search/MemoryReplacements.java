@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.debug.core.memory.search;
+
+import java.math.BigInteger;
+
+/**
+ * Keeps track of the memory replaced by a collector of a {@link MemorySearch}
+ * <p>
+ * The matches of a block are found in the memory as it was before the matches
+ * were replaced, so a match that overlaps the previous replacement may no longer
+ * be there and is to be skipped. As the matches are accepted in the order of the
+ * search, only the last replacement needs to be checked.
+ *
+ * @since 0.3
+ */
+public final class MemoryReplacements {
+
+	private final BigInteger addressable;
+	private BigInteger replacedStart;
+	private BigInteger replacedEnd;
+
+	/**
+	 *
+	 * @param addressable the number of bytes in an addressable unit
+	 */
+	public MemoryReplacements(BigInteger addressable) {
+		this.addressable = addressable;
+	}
+
+	/**
+	 *
+	 * @param match a match of the search
+	 * @return whether the match overlaps the last replacement
+	 */
+	public boolean overlaps(MemorySearchMatch match) {
+		if (replacedStart == null) {
+			return false;
+		}
+		BigInteger matchEnd = match.address().add(units(match.length()));
+		return match.address().compareTo(replacedEnd) < 0 && matchEnd.compareTo(replacedStart) > 0;
+	}
+
+	/**
+	 * Records that the given match was replaced
+	 *
+	 * @param match the replaced match
+	 * @param length the number of bytes written at the address of the match
+	 */
+	public void replaced(MemorySearchMatch match, int length) {
+		replacedStart = match.address();
+		replacedEnd = match.address().add(units(Math.max(length, match.length())));
+	}
+
+	private BigInteger units(int bytes) {
+		return BigInteger.valueOf(bytes).add(addressable).subtract(BigInteger.ONE).divide(addressable);
+	}
+}
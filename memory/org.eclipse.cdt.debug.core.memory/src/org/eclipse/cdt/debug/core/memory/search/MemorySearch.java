@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.debug.core.memory.search;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.debug.core.memory.transport.IReadMemory;
+import org.eclipse.cdt.debug.internal.core.memory.transport.Messages;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.ICoreRunnable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.model.MemoryByte;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * Searches memory for a set of patterns
+ * <p>
+ * The range is split in blocks which are read and searched on a pool of
+ * threads, several blocks ahead of the one whose matches are being reported.
+ * The matches are reported in the order of the search, as soon as the blocks
+ * before them have been searched. Without read-ahead, a block is only read once
+ * the matches of the previous block have been accepted, so that the collector
+ * may write to the memory; the matches of a block are still found in the memory
+ * as it was before they were accepted.
+ * <p>
+ * Matches are reported at addressable unit boundaries only.
+ *
+ * @since 0.3
+ */
+public final class MemorySearch implements ICoreRunnable {
+
+	private static final AtomicInteger THREADS = new AtomicInteger();
+
+	private final BigInteger start;
+	private final BigInteger end;
+	private final int addressable;
+	private final List<MemorySearchPattern> patterns;
+	private final boolean forward;
+	private final IReadMemory read;
+	private final int blockSize;
+	private final int parallelism;
+	private final boolean readAhead;
+	private final IMemoryMatchCollector collector;
+
+	public MemorySearch(MemorySearchRequest request, IMemoryMatchCollector collector) {
+		this.start = request.start();
+		this.end = request.end();
+		this.addressable = request.addressable().intValue();
+		this.patterns = request.patterns();
+		this.forward = request.forward();
+		this.read = request.read();
+		// whole addressable units
+		this.blockSize = Math.max(addressable, request.blockSize() / addressable * addressable);
+		this.parallelism = request.parallelism();
+		this.readAhead = request.readAhead();
+		this.collector = collector;
+	}
+
+	@Override
+	public void run(IProgressMonitor monitor) throws CoreException {
+		BigInteger range = end.subtract(start);
+		if (range.signum() <= 0) {
+			monitor.done();
+			return;
+		}
+		BigInteger block = BigInteger.valueOf(blockSize / addressable);
+		long blocks = range.add(block).subtract(BigInteger.ONE).divide(block).longValue();
+		ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+			Thread thread = new Thread(r, "Memory Search " + THREADS.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			monitor.beginTask(Messages.MemorySearch_task_searching, (int) Math.min(blocks, Integer.MAX_VALUE));
+			PatternMatcher matcher = new PatternMatcher(byteOrder());
+			Deque<Future<List<MemorySearchMatch>>> pending = new ArrayDeque<>();
+			long submitted = 0;
+			boolean searching = true;
+			int depth = readAhead ? parallelism * 2 : 1;
+			while (searching && !monitor.isCanceled()) {
+				while (submitted < blocks && pending.size() < depth) {
+					long index = forward ? submitted : blocks - submitted - 1;
+					BigInteger address = start.add(block.multiply(BigInteger.valueOf(index)));
+					pending.add(pool.submit(() -> search(matcher, address)));
+					submitted++;
+				}
+				Future<List<MemorySearchMatch>> next = pending.poll();
+				if (next == null) {
+					break;
+				}
+				for (MemorySearchMatch match : next.get()) {
+					if (!collector.accept(match)) {
+						searching = false;
+						break;
+					}
+				}
+				monitor.worked(1);
+			}
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof DebugException) {
+				requestFailed(Messages.MemorySearch_e_read_target, ex.getCause());
+			}
+			internalError(Messages.MemorySearch_e_search_memory, ex.getCause());
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			internalError(Messages.MemorySearch_e_search_memory, ex);
+		} catch (DebugException ex) {
+			requestFailed(Messages.MemorySearch_e_read_target, ex);
+		} finally {
+			pool.shutdownNow();
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Reverses the integer patterns on little endian targets
+	 */
+	private List<MemorySearchPattern> byteOrder() throws DebugException {
+		boolean reverse = false;
+		for (MemorySearchPattern pattern : patterns) {
+			if (pattern.isInteger()) {
+				MemoryByte[] first = read.from(start, 1);
+				reverse = first.length > 0 && first[0].isEndianessKnown() && !first[0].isBigEndian();
+				break;
+			}
+		}
+		if (!reverse) {
+			return patterns;
+		}
+		List<MemorySearchPattern> ordered = new ArrayList<>(patterns.size());
+		for (MemorySearchPattern pattern : patterns) {
+			ordered.add(pattern.isInteger() ? pattern.reverse() : pattern);
+		}
+		return ordered;
+	}
+
+	/**
+	 * Reads and searches the block at the given address, including the bytes
+	 * of the following block that matches starting in this block may span.
+	 */
+	private List<MemorySearchMatch> search(PatternMatcher matcher, BigInteger address) throws DebugException {
+		BigInteger remaining = end.subtract(address).multiply(BigInteger.valueOf(addressable));
+		int starts = remaining.min(BigInteger.valueOf(blockSize)).intValue();
+		int length = remaining.min(BigInteger.valueOf((long) starts + matcher.longest() - 1)).intValue();
+		MemoryByte[] memory = read.from(address, (length + addressable - 1) / addressable);
+		length = Math.min(length, memory.length);
+		byte[] bytes = new byte[length];
+		boolean[] unreadable = null;
+		for (int i = 0; i < length; i++) {
+			bytes[i] = memory[i].getValue();
+			if (!memory[i].isReadable()) {
+				if (unreadable == null) {
+					unreadable = new boolean[length];
+				}
+				unreadable[i] = true;
+			}
+		}
+		List<MemorySearchMatch> matches = new ArrayList<>();
+		matcher.find(bytes, length, unreadable, starts, (offset, pattern) -> {
+			// the byte offset of the match in addressable units
+			if (offset % addressable == 0) {
+				matches.add(new MemorySearchMatch(address.add(BigInteger.valueOf(offset / addressable)),
+						patterns.get(pattern).length(), pattern));
+			}
+		});
+		if (!forward) {
+			Collections.reverse(matches);
+		}
+		return matches;
+	}
+
+	private void requestFailed(String message, Throwable exception) throws DebugException {
+		failed(DebugException.REQUEST_FAILED, message, exception);
+	}
+
+	private void internalError(String message, Throwable exception) throws DebugException {
+		failed(DebugException.INTERNAL_ERROR, message, exception);
+	}
+
+	private void failed(int code, String message, Throwable exception) throws DebugException {
+		Status status = new Status(//
+				IStatus.ERROR, //
+				getClass(), //
+				code, //
+				message, //
+				exception);
+		DebugException failure = new DebugException(status);
+		if (Platform.isRunning()) {
+			Platform.getLog(FrameworkUtil.getBundle(getClass())).log(failure.getStatus());
+		}
+		throw failure;
+	}
+}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.debug.core.memory.search;
+
+import java.math.BigInteger;
+
+/**
+ * An occurrence of a {@link MemorySearchPattern} in memory
+ *
+ * @since 0.3
+ */
+public final class MemorySearchMatch {
+
+	private final BigInteger address;
+	private final int length;
+	private final int pattern;
+
+	MemorySearchMatch(BigInteger address, int length, int pattern) {
+		this.address = address;
+		this.length = length;
+		this.pattern = pattern;
+	}
+
+	/**
+	 *
+	 * @return the address of the first byte of the match
+	 */
+	public BigInteger address() {
+		return address;
+	}
+
+	/**
+	 *
+	 * @return the number of bytes matched
+	 */
+	public int length() {
+		return length;
+	}
+
+	/**
+	 *
+	 * @return the index of the matching pattern in {@link MemorySearchRequest#patterns()}
+	 */
+	public int pattern() {
+		return pattern;
+	}
+
+	@Override
+	public String toString() {
+		return "0x" + address.toString(16) + " (" + length + ")"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
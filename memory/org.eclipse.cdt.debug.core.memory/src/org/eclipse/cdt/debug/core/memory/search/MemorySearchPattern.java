@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.debug.core.memory.search;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * A sequence of bytes to search for in memory
+ * <p>
+ * Each byte of the pattern has a mask, only the bits set in the mask are
+ * compared, so that a byte with an empty mask matches any byte.
+ *
+ * @since 0.3
+ */
+public final class MemorySearchPattern {
+
+	private final byte[] values;
+	private final byte[] masks;
+	private final boolean caseInsensitive;
+	private final boolean integer;
+
+	private MemorySearchPattern(byte[] values, byte[] masks, boolean caseInsensitive, boolean integer) {
+		if (values.length == 0 || values.length != masks.length) {
+			throw new IllegalArgumentException("Invalid pattern length: " + values.length); //$NON-NLS-1$
+		}
+		this.values = values.clone();
+		this.masks = masks.clone();
+		this.caseInsensitive = caseInsensitive;
+		this.integer = integer;
+		for (int i = 0; i < this.values.length; i++) {
+			this.values[i] = (byte) (fold(this.values[i]) & this.masks[i]);
+		}
+	}
+
+	/**
+	 *
+	 * @param bytes the bytes to search for
+	 * @return a pattern matching exactly the given bytes
+	 */
+	public static MemorySearchPattern bytes(byte[] bytes) {
+		byte[] masks = new byte[bytes.length];
+		Arrays.fill(masks, (byte) 0xFF);
+		return new MemorySearchPattern(bytes, masks, false, false);
+	}
+
+	/**
+	 *
+	 * @param bytes the bytes to search for
+	 * @param masks the bits compared for each byte, 0 for a wildcard
+	 * @return a pattern matching the given bytes
+	 */
+	public static MemorySearchPattern masked(byte[] bytes, byte[] masks) {
+		return new MemorySearchPattern(bytes, masks, false, false);
+	}
+
+	/**
+	 *
+	 * @param text the text to search for
+	 * @param charset the encoding of the text in memory
+	 * @param caseInsensitive whether the case of ASCII letters is ignored
+	 * @return a pattern matching the given text
+	 */
+	public static MemorySearchPattern text(String text, Charset charset, boolean caseInsensitive) {
+		byte[] bytes = text.getBytes(charset);
+		byte[] masks = new byte[bytes.length];
+		Arrays.fill(masks, (byte) 0xFF);
+		return new MemorySearchPattern(bytes, masks, caseInsensitive, false);
+	}
+
+	/**
+	 *
+	 * @param bigEndian the bytes of the integer, most significant first
+	 * @return a pattern matching the integer in the byte order of the target
+	 */
+	public static MemorySearchPattern integer(byte[] bigEndian) {
+		byte[] masks = new byte[bigEndian.length];
+		Arrays.fill(masks, (byte) 0xFF);
+		return new MemorySearchPattern(bigEndian, masks, false, true);
+	}
+
+	/**
+	 *
+	 * @return the number of bytes matched by the pattern
+	 */
+	public int length() {
+		return values.length;
+	}
+
+	/**
+	 *
+	 * @return whether the pattern is an integer, to be reversed on little endian targets
+	 */
+	public boolean isInteger() {
+		return integer;
+	}
+
+	/**
+	 *
+	 * @return the pattern with its bytes in the reverse order
+	 */
+	public MemorySearchPattern reverse() {
+		byte[] reversedValues = new byte[values.length];
+		byte[] reversedMasks = new byte[masks.length];
+		for (int i = 0; i < values.length; i++) {
+			reversedValues[i] = values[values.length - i - 1];
+			reversedMasks[i] = masks[masks.length - i - 1];
+		}
+		return new MemorySearchPattern(reversedValues, reversedMasks, caseInsensitive, integer);
+	}
+
+	/**
+	 *
+	 * @param b a byte of memory
+	 * @return the byte as compared with the pattern
+	 */
+	int fold(byte b) {
+		if (caseInsensitive && b >= 'a' && b <= 'z') {
+			return b - ('a' - 'A');
+		}
+		return b;
+	}
+
+	boolean matches(int index, byte b) {
+		return (byte) (fold(b) & masks[index]) == values[index];
+	}
+
+	boolean isExact(int index) {
+		return masks[index] == (byte) 0xFF && !caseInsensitive;
+	}
+
+	byte value(int index) {
+		return values[index];
+	}
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.debug.core.memory.search;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.cdt.debug.core.memory.transport.IReadMemory;
+
+/**
+ *
+ * Aggregates memory search configuration
+ *
+ * @since 0.3
+ *
+ */
+public final class MemorySearchRequest {
+
+	/**
+	 * The default number of bytes searched by a single read
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 0x10000;
+
+	/**
+	 * The default number of reads in flight
+	 */
+	public static final int DEFAULT_PARALLELISM = 4;
+
+	private final BigInteger start;
+	private final BigInteger end;
+	private final BigInteger addressable;
+	private final List<MemorySearchPattern> patterns;
+	private final boolean forward;
+	private final IReadMemory read;
+	private final int blockSize;
+	private final int parallelism;
+	private final boolean readAhead;
+
+	public MemorySearchRequest(BigInteger start, BigInteger end, List<MemorySearchPattern> patterns, boolean forward,
+			IReadMemory read) {
+		this(start, end, patterns, forward, read, DEFAULT_BLOCK_SIZE, DEFAULT_PARALLELISM);
+	}
+
+	/**
+	 *
+	 * @param start the address of the first byte to search
+	 * @param end the address following the last byte to search
+	 * @param patterns the patterns to search for
+	 * @param forward whether the matches are reported from the lowest address
+	 * @param read the byte addressable memory to search
+	 * @param blockSize the number of bytes searched by a single read
+	 * @param parallelism the number of reads in flight
+	 */
+	public MemorySearchRequest(BigInteger start, BigInteger end, List<MemorySearchPattern> patterns, boolean forward,
+			IReadMemory read, int blockSize, int parallelism) {
+		this(start, end, BigInteger.ONE, patterns, forward, read, blockSize, parallelism, true);
+	}
+
+	/**
+	 *
+	 * @param start the address of the first addressable unit to search
+	 * @param end the address following the last addressable unit to search
+	 * @param addressable the number of bytes in an addressable unit
+	 * @param patterns the patterns to search for
+	 * @param forward whether the matches are reported from the lowest address
+	 * @param read the memory to search
+	 * @param blockSize the number of bytes searched by a single read, rounded down to whole addressable units
+	 * @param parallelism the number of reads in flight
+	 * @param readAhead whether blocks are read before the matches of the previous blocks have been accepted,
+	 *                  must be <code>false</code> if the collector writes to the searched memory
+	 */
+	public MemorySearchRequest(BigInteger start, BigInteger end, BigInteger addressable,
+			List<MemorySearchPattern> patterns, boolean forward, IReadMemory read, int blockSize, int parallelism,
+			boolean readAhead) {
+		if (patterns.isEmpty()) {
+			throw new IllegalArgumentException("No pattern to search for"); //$NON-NLS-1$
+		}
+		if (blockSize <= 0 || parallelism <= 0) {
+			throw new IllegalArgumentException("Invalid block size or parallelism: " + blockSize + ", " + parallelism); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if (addressable.signum() <= 0) {
+			throw new IllegalArgumentException("Invalid addressable size: " + addressable); //$NON-NLS-1$
+		}
+		this.start = start;
+		this.end = end;
+		this.addressable = addressable;
+		this.patterns = Collections.unmodifiableList(Arrays.asList(patterns.toArray(new MemorySearchPattern[0])));
+		this.forward = forward;
+		this.read = read;
+		this.blockSize = blockSize;
+		this.parallelism = parallelism;
+		this.readAhead = readAhead;
+	}
+
+	/**
+	 *
+	 * @return the address of the first byte to search
+	 */
+	public BigInteger start() {
+		return start;
+	}
+
+	/**
+	 *
+	 * @return the address following the last byte to search
+	 */
+	public BigInteger end() {
+		return end;
+	}
+
+	/**
+	 *
+	 * @return the number of bytes in an addressable unit
+	 */
+	public BigInteger addressable() {
+		return addressable;
+	}
+
+	/**
+	 *
+	 * @return the patterns to search for
+	 */
+	public List<MemorySearchPattern> patterns() {
+		return patterns;
+	}
+
+	/**
+	 *
+	 * @return whether the matches are reported from the lowest address
+	 */
+	public boolean forward() {
+		return forward;
+	}
+
+	/**
+	 *
+	 * @return reader
+	 */
+	public IReadMemory read() {
+		return read;
+	}
+
+	/**
+	 *
+	 * @return the number of bytes searched by a single read
+	 */
+	public int blockSize() {
+		return blockSize;
+	}
+
+	/**
+	 *
+	 * @return the number of reads in flight
+	 */
+	public int parallelism() {
+		return parallelism;
+	}
+
+	/**
+	 *
+	 * @return whether blocks are read before the matches of the previous blocks have been accepted
+	 */
+	public boolean readAhead() {
+		return readAhead;
+	}
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.debug.core.memory.search;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds several patterns at once in a buffer, with the Horspool algorithm
+ * extended to sets of patterns.
+ * <p>
+ * The window compared with the patterns is as long as the shortest pattern.
+ * The window is shifted by the distance between its last byte and the last
+ * occurrence of this byte in the first bytes of the patterns, which never
+ * skips a match.  Wildcards and case insensitive letters occur for all the
+ * bytes they match, so they limit the shift.
+ *
+ */
+final class PatternMatcher {
+
+	/**
+	 * Receives the matches found in a buffer
+	 */
+	interface Matches {
+		void match(int offset, int pattern);
+	}
+
+	private final MemorySearchPattern[] patterns;
+	private final int window;
+	private final int longest;
+	private final int[] shift = new int[256];
+
+	PatternMatcher(List<MemorySearchPattern> patterns) {
+		this.patterns = patterns.toArray(new MemorySearchPattern[patterns.size()]);
+		int shortest = Integer.MAX_VALUE;
+		int max = 0;
+		for (MemorySearchPattern pattern : this.patterns) {
+			shortest = Math.min(shortest, pattern.length());
+			max = Math.max(max, pattern.length());
+		}
+		this.window = shortest;
+		this.longest = max;
+		Arrays.fill(shift, window);
+		for (MemorySearchPattern pattern : this.patterns) {
+			for (int j = 0; j < window - 1; j++) {
+				int distance = window - 1 - j;
+				if (pattern.isExact(j)) {
+					int b = pattern.value(j) & 0xFF;
+					shift[b] = Math.min(shift[b], distance);
+				} else {
+					for (int b = 0; b < 256; b++) {
+						if (pattern.matches(j, (byte) b)) {
+							shift[b] = Math.min(shift[b], distance);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @return the length of the longest pattern
+	 */
+	int longest() {
+		return longest;
+	}
+
+	/**
+	 * Finds the patterns in the given bytes, in increasing offset order
+	 *
+	 * @param bytes the bytes to search
+	 * @param length the number of bytes to search
+	 * @param unreadable the bytes that could not be read, or <code>null</code>
+	 * @param starts the number of offsets at which a match may start
+	 * @param matches receives the matches
+	 */
+	void find(byte[] bytes, int length, boolean[] unreadable, int starts, Matches matches) {
+		int last = Math.min(starts, length - window + 1);
+		int offset = 0;
+		while (offset < last) {
+			for (int p = 0; p < patterns.length; p++) {
+				if (matches(patterns[p], bytes, length, unreadable, offset)) {
+					matches.match(offset, p);
+				}
+			}
+			offset += shift[bytes[offset + window - 1] & 0xFF];
+		}
+	}
+
+	private boolean matches(MemorySearchPattern pattern, byte[] bytes, int length, boolean[] unreadable, int offset) {
+		int patternLength = pattern.length();
+		if (offset + patternLength > length) {
+			return false;
+		}
+		for (int i = patternLength - 1; i >= 0; i--) {
+			if (!pattern.matches(i, bytes[offset + i]) || (unreadable != null && unreadable[offset + i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -24,16 +24,37 @@ import java.math.BigInteger;
  */
 public final class ExportRequest {
 
+	/**
+	 * The default number of addressable units read from the target at once
+	 *
+	 * @since 0.3
+	 */
+	public static final int DEFAULT_READ_SIZE = 0x10000;
+
 	private final BigInteger start;
 	private final BigInteger end;
 	private final BigInteger addressable;
 	private final IReadMemory read;
+	private final int readSize;
 
 	public ExportRequest(BigInteger start, BigInteger end, BigInteger addressable, IReadMemory read) {
+		this(start, end, addressable, read, DEFAULT_READ_SIZE);
+	}
+
+	/**
+	 *
+	 * @param readSize the number of addressable units read from the target at once
+	 * @since 0.3
+	 */
+	public ExportRequest(BigInteger start, BigInteger end, BigInteger addressable, IReadMemory read, int readSize) {
+		if (readSize <= 0) {
+			throw new IllegalArgumentException("Invalid read size: " + readSize); //$NON-NLS-1$
+		}
 		this.start = start;
 		this.end = end;
 		this.addressable = addressable;
 		this.read = read;
+		this.readSize = readSize;
 	}
 
 	/**
@@ -67,4 +88,13 @@ public final class ExportRequest {
 	public IReadMemory read() {
 		return read;
 	}
+
+	/**
+	 *
+	 * @return the number of addressable units read from the target at once
+	 * @since 0.3
+	 */
+	public int readSize() {
+		return readSize;
+	}
 }
@@ -15,10 +15,10 @@ package org.eclipse.cdt.debug.core.memory.transport;
 
 import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.file.Files;
 
 import org.eclipse.cdt.debug.internal.core.memory.transport.Messages;
 import org.eclipse.core.runtime.CoreException;
@@ -32,17 +32,28 @@ import org.osgi.framework.FrameworkUtil;
 
 /**
  * Exports memory information to a given file
+ * <p>
+ * The memory is read in large chunks on a background thread, so that the next
+ * chunk is read from the target while the current one is encoded and written to
+ * the file.
  *
  * @since 0.1
  */
 public abstract class FileExport implements ICoreRunnable {
 
+	/**
+	 * The size of the buffer of the output file
+	 */
+	private static final int OUTPUT_BUFFER_SIZE = 0x40000;
+
 	protected final BigInteger start;
 	protected final BigInteger end;
 	protected final BigInteger addressable;
 	protected final IReadMemory read;
 
 	private final File file;
+	private final int readSize;
+	private final TransportStatistics statistics;
 
 	protected FileExport(File input, ExportRequest request) {
 		this.file = input;
@@ -50,6 +61,8 @@ public abstract class FileExport implements ICoreRunnable {
 		this.end = request.end();
 		this.addressable = request.addressable();
 		this.read = request.read();
+		this.readSize = request.readSize();
+		this.statistics = new TransportStatistics();
 	}
 
 	@Override
@@ -62,8 +75,14 @@ public abstract class FileExport implements ICoreRunnable {
 				jobs = jobs.divide(factor);
 			}
 			monitor.beginTask(Messages.FileExport_task_transferring, jobs.intValue());
+			statistics.started();
 			transfer(output, factor, monitor);
 			output.flush();
+			statistics.finished();
+			monitor.subTask(String.format(Messages.FileExport_sub_transferred, statistics));
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			internalError(Messages.FileExport_e_export_memory, ex);
 		} catch (IOException ex) {
 			requestFailed(Messages.FileExport_e_write_file, ex);
 		} catch (DebugException ex) {
@@ -84,7 +103,7 @@ public abstract class FileExport implements ICoreRunnable {
 	 */
 	protected OutputStream output(File file) throws IOException {
 		file.getParentFile().mkdirs();
-		return new BufferedOutputStream(new FileOutputStream(file));
+		return new BufferedOutputStream(Files.newOutputStream(file.toPath()), OUTPUT_BUFFER_SIZE);
 	}
 
 	/**
@@ -94,8 +113,51 @@ public abstract class FileExport implements ICoreRunnable {
 	 */
 	protected abstract BigInteger chunkSize();
 
-	protected abstract void transfer(OutputStream output, BigInteger factor, IProgressMonitor monitor)
-			throws IOException, DebugException;
+	/**
+	 * Encodes the given memory to the output
+	 *
+	 * @param output the stream to write to
+	 * @param address the address of the first addressable unit of the data
+	 * @param data the memory read from the target, <code>addressable</code> bytes per addressable unit, a
+	 *             multiple of {@link #chunkSize()} units unless it is the last data of the range. The bytes that
+	 *             could not be read are zero.
+	 * @throws IOException
+	 * @since 0.3
+	 */
+	protected abstract void encode(OutputStream output, BigInteger address, byte[] data) throws IOException;
+
+	/**
+	 * Reads the memory ahead of the encoding and passes it to {@link #encode(OutputStream, BigInteger, byte[])}
+	 *
+	 * @since 0.3
+	 */
+	protected void transfer(OutputStream output, BigInteger factor, IProgressMonitor monitor)
+			throws IOException, DebugException, InterruptedException {
+		long chunk = chunkSize().longValue();
+		// keep the read aligned with the records of the output
+		long units = Math.max(chunk, readSize / chunk * chunk);
+		long jobs = 0;
+		long done = 0;
+		try (ReadAhead reader = new ReadAhead(read, start, end, units, addressable.longValue(), statistics)) {
+			for (ReadAhead.Chunk next = reader.next(); next != null && !monitor.isCanceled(); next = reader.next()) {
+				monitor.subTask(transferring(BigInteger.valueOf(next.units), next.address));
+				encode(output, next.address, next.data);
+				jobs += next.units / chunk;
+				long worked = jobs / factor.longValue();
+				monitor.worked((int) (worked - done));
+				done = worked;
+			}
+		}
+	}
+
+	/**
+	 *
+	 * @return the throughput of the last run
+	 * @since 0.3
+	 */
+	public TransportStatistics statistics() {
+		return statistics;
+	}
 
 	protected String transferring(BigInteger length, BigInteger address) {
 		return String.format(Messages.FileExport_sub_transferring, length.toString(10), address.toString(16));
@@ -30,6 +30,10 @@ import org.osgi.framework.FrameworkUtil;
 
 /**
  * Imports memory information from a given file
+ * <p>
+ * Contiguous writes are collected into batches of up to
+ * {@link ImportRequest#writeSize()} bytes, and written to the target on a
+ * background thread while the file is parsed.
  *
  * @since 0.1
  */
@@ -41,18 +45,22 @@ public abstract class FileImport<I extends AutoCloseable> implements ICoreRunnab
 	protected final IScrollMemory scroll;
 
 	private final File file;
+	private final TransportStatistics statistics;
+	private final WriteBehind writer;
 
 	protected FileImport(File input, ImportRequest request, IScrollMemory scroll) {
 		this.file = input;
 		this.base = request.base();
 		this.start = request.start();
-		this.write = request.write();
+		this.statistics = new TransportStatistics();
+		this.writer = new WriteBehind(request.write(), request.writeSize(), statistics);
+		this.write = writer;
 		this.scroll = scroll;
 	}
 
 	@Override
 	public void run(IProgressMonitor monitor) throws CoreException {
-		try (I reader = input(file)) {
+		try (writer; I reader = input(file)) {
 			BigInteger jobs = BigInteger.valueOf(file.length());
 			BigInteger factor = BigInteger.ONE;
 			if (jobs.compareTo(BigInteger.valueOf(0x7FFFFFFF)) > 0) {
@@ -60,9 +68,12 @@ public abstract class FileImport<I extends AutoCloseable> implements ICoreRunnab
 				jobs = jobs.divide(factor);
 			}
 			monitor.beginTask(Messages.FileImport_task_transferring, jobs.intValue());
+			statistics.started();
 			transfer(reader, factor, monitor);
 			if (!monitor.isCanceled()) {
 				write.flush();
+				statistics.finished();
+				monitor.subTask(String.format(Messages.FileImport_sub_transferred, statistics));
 			}
 		} catch (IOException ex) {
 			requestFailed(Messages.FileImport_e_read_file, ex);
@@ -87,6 +98,15 @@ public abstract class FileImport<I extends AutoCloseable> implements ICoreRunnab
 	protected abstract void transfer(I input, BigInteger factor, IProgressMonitor monitor)
 			throws IOException, DebugException;
 
+	/**
+	 *
+	 * @return the throughput of the last run
+	 * @since 0.3
+	 */
+	public TransportStatistics statistics() {
+		return statistics;
+	}
+
 	protected void requestFailed(String message, Throwable exception) throws DebugException {
 		failed(DebugException.REQUEST_FAILED, message, exception);
 	}
@@ -24,14 +24,35 @@ import java.math.BigInteger;
  */
 public final class ImportRequest {
 
+	/**
+	 * The default number of bytes written to the target at once
+	 *
+	 * @since 0.3
+	 */
+	public static final int DEFAULT_WRITE_SIZE = 0x10000;
+
 	private final BigInteger base;
 	private final BigInteger start;
 	private final WriteMemory write;
+	private final int writeSize;
 
 	public ImportRequest(BigInteger base, BigInteger start, WriteMemory write) {
+		this(base, start, write, DEFAULT_WRITE_SIZE);
+	}
+
+	/**
+	 *
+	 * @param writeSize the maximum number of contiguous bytes collected before they are written to the target
+	 * @since 0.3
+	 */
+	public ImportRequest(BigInteger base, BigInteger start, WriteMemory write, int writeSize) {
+		if (writeSize <= 0) {
+			throw new IllegalArgumentException("Invalid write size: " + writeSize); //$NON-NLS-1$
+		}
 		this.base = base;
 		this.start = start;
 		this.write = write;
+		this.writeSize = writeSize;
 	}
 
 	/**
@@ -57,4 +78,13 @@ public final class ImportRequest {
 	public WriteMemory write() {
 		return write;
 	}
+
+	/**
+	 *
+	 * @return the maximum number of contiguous bytes written to the target at once
+	 * @since 0.3
+	 */
+	public int writeSize() {
+		return writeSize;
+	}
 }
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.debug.core.memory.transport;
+
+import java.math.BigInteger;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.model.MemoryByte;
+
+/**
+ * Reads memory on a background thread, a few chunks ahead of the consumer
+ * <p>
+ * Addresses are in addressable units, as for {@link IReadMemory}: a chunk of
+ * <code>units</code> addressable units holds <code>units * addressable</code>
+ * bytes, and the next chunk starts <code>units</code> addresses further. The
+ * bytes that could not be read are exported as zero.
+ *
+ */
+final class ReadAhead implements AutoCloseable {
+
+	/**
+	 * A chunk of memory read from the target
+	 */
+	static final class Chunk {
+
+		/** the address of the first addressable unit of the data */
+		final BigInteger address;
+		/** the number of addressable units of the data */
+		final long units;
+		final byte[] data;
+		final DebugException failure;
+
+		Chunk(BigInteger address, long units, byte[] data) {
+			this.address = address;
+			this.units = units;
+			this.data = data;
+			this.failure = null;
+		}
+
+		Chunk(DebugException failure) {
+			this.address = null;
+			this.units = 0;
+			this.data = null;
+			this.failure = failure;
+		}
+	}
+
+	private static final Chunk END = new Chunk(null, 0, null);
+
+	/** The number of chunks read before the consumer takes them */
+	private static final int DEPTH = 2;
+
+	private final IReadMemory read;
+	private final BigInteger start;
+	private final BigInteger end;
+	private final long chunk;
+	private final long addressable;
+	private final TransportStatistics statistics;
+	private final BlockingQueue<Chunk> chunks;
+	private final Thread thread;
+	private volatile boolean closed;
+
+	/**
+	 *
+	 * @param read the memory to read from
+	 * @param start the first address to read
+	 * @param end the address following the last address to read
+	 * @param chunk the number of addressable units read at once
+	 * @param addressable the number of bytes in an addressable unit
+	 * @param statistics receives the time spent reading
+	 */
+	ReadAhead(IReadMemory read, BigInteger start, BigInteger end, long chunk, long addressable,
+			TransportStatistics statistics) {
+		this.read = read;
+		this.start = start;
+		this.end = end;
+		this.chunk = chunk;
+		this.addressable = addressable;
+		this.statistics = statistics;
+		this.chunks = new ArrayBlockingQueue<>(DEPTH);
+		this.thread = new Thread(this::readAll, "Memory Export Read Ahead"); //$NON-NLS-1$
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	private void readAll() {
+		try {
+			BigInteger address = start;
+			while (address.compareTo(end) < 0 && !closed) {
+				long units = Math.min(chunk, end.subtract(address).longValue());
+				long begin = System.nanoTime();
+				MemoryByte[] bytes = read.from(address, units);
+				byte[] data = new byte[(int) (units * addressable)];
+				for (int i = 0; i < data.length && i < bytes.length; i++) {
+					// the value of a byte that could not be read is undefined
+					if (bytes[i].isReadable()) {
+						data[i] = bytes[i].getValue();
+					}
+				}
+				statistics.transferred(data.length, System.nanoTime() - begin);
+				chunks.put(new Chunk(address, units, data));
+				address = address.add(BigInteger.valueOf(units));
+			}
+			chunks.put(END);
+		} catch (DebugException e) {
+			offer(new Chunk(e));
+		} catch (RuntimeException e) {
+			offer(new Chunk(new DebugException(
+					new Status(IStatus.ERROR, getClass(), DebugException.INTERNAL_ERROR, e.getMessage(), e))));
+		} catch (InterruptedException e) {
+			// closed by the consumer
+		}
+	}
+
+	private void offer(Chunk failure) {
+		try {
+			chunks.put(failure);
+		} catch (InterruptedException e) {
+			// closed by the consumer
+		}
+	}
+
+	/**
+	 * Waits for the next chunk
+	 *
+	 * @return the next chunk, or <code>null</code> if the whole range was read
+	 * @throws DebugException if the target could not be read
+	 */
+	Chunk next() throws DebugException, InterruptedException {
+		long begin = System.nanoTime();
+		Chunk next = chunks.take();
+		statistics.waited(System.nanoTime() - begin);
+		if (next.failure != null) {
+			throw next.failure;
+		}
+		if (next == END) {
+			chunks.put(END);
+			return null;
+		}
+		return next;
+	}
+
+	@Override
+	public void close() throws InterruptedException {
+		closed = true;
+		thread.interrupt();
+		// the target may swallow the interrupt, make room for the reader to finish
+		chunks.clear();
+		thread.join();
+	}
+}
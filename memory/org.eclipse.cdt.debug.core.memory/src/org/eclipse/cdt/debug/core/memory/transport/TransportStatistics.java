@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.debug.core.memory.transport;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a memory transfer between a file and the target.
+ * <p>
+ * The target is accessed on a background thread while the file is read or
+ * written, so the time spent accessing the target and the time spent waiting
+ * for it tell which side limits the transfer.
+ *
+ * @since 0.3
+ */
+public final class TransportStatistics {
+
+	private long bytes;
+	private long started;
+	private long elapsed;
+	private long targetTime;
+	private long waitTime;
+
+	synchronized void started() {
+		bytes = 0;
+		targetTime = 0;
+		waitTime = 0;
+		elapsed = 0;
+		started = System.nanoTime();
+	}
+
+	synchronized void finished() {
+		elapsed = System.nanoTime() - started;
+	}
+
+	synchronized void transferred(long length, long nanos) {
+		bytes += length;
+		targetTime += nanos;
+	}
+
+	synchronized void waited(long nanos) {
+		waitTime += nanos;
+	}
+
+	/**
+	 *
+	 * @return the number of bytes transferred
+	 */
+	public synchronized long bytes() {
+		return bytes;
+	}
+
+	/**
+	 *
+	 * @return the duration of the transfer, in milliseconds
+	 */
+	public synchronized long elapsed() {
+		return TimeUnit.NANOSECONDS.toMillis(elapsed);
+	}
+
+	/**
+	 *
+	 * @return the time spent accessing the target, in milliseconds
+	 */
+	public synchronized long targetTime() {
+		return TimeUnit.NANOSECONDS.toMillis(targetTime);
+	}
+
+	/**
+	 *
+	 * @return the time the file side waited for the target, in milliseconds
+	 */
+	public synchronized long waitTime() {
+		return TimeUnit.NANOSECONDS.toMillis(waitTime);
+	}
+
+	/**
+	 *
+	 * @return the number of bytes transferred per second
+	 */
+	public synchronized long throughput() {
+		return elapsed == 0 ? 0 : bytes * TimeUnit.SECONDS.toNanos(1) / elapsed;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format("%d bytes in %d ms (%d KiB/s), target access %d ms, waiting for target %d ms", //$NON-NLS-1$
+				bytes(), elapsed(), throughput() / 1024, targetTime(), waitTime());
+	}
+}
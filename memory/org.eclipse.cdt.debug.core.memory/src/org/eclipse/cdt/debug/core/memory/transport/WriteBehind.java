@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.debug.core.memory.transport;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.debug.core.DebugException;
+
+/**
+ * Collects contiguous writes into batches and writes them to the target on a
+ * background thread, while the file is parsed
+ *
+ */
+final class WriteBehind implements WriteMemory, AutoCloseable {
+
+	/**
+	 * Contiguous bytes to write to the target
+	 */
+	private static final class Batch {
+
+		final BigInteger offset;
+		final byte[] data;
+
+		Batch(BigInteger offset, byte[] data) {
+			this.offset = offset;
+			this.data = data;
+		}
+	}
+
+	/** The number of batches waiting to be written before the parsing is blocked */
+	private static final int DEPTH = 2;
+
+	private final WriteMemory target;
+	private final int size;
+	private final TransportStatistics statistics;
+	private final BlockingQueue<Batch> batches;
+
+	/** The batch being collected, confined to the parsing thread */
+	private BigInteger offset;
+	private byte[] batch;
+	private int length;
+
+	private Thread thread;
+	/** The number of batches submitted and not written yet, guarded by this */
+	private int pending;
+	private volatile DebugException failure;
+
+	/**
+	 *
+	 * @param target the memory to write to
+	 * @param size the maximum number of bytes in a batch
+	 * @param statistics receives the time spent writing
+	 */
+	WriteBehind(WriteMemory target, int size, TransportStatistics statistics) {
+		this.target = target;
+		this.size = size;
+		this.statistics = statistics;
+		this.batches = new ArrayBlockingQueue<>(DEPTH);
+	}
+
+	@Override
+	public void to(BigInteger offset, byte[] data) throws DebugException {
+		check();
+		if (batch != null && length + data.length <= batch.length
+				&& this.offset.add(BigInteger.valueOf(length)).equals(offset)) {
+			System.arraycopy(data, 0, batch, length, data.length);
+			length += data.length;
+			return;
+		}
+		submit();
+		this.offset = offset;
+		this.batch = new byte[Math.max(size, data.length)];
+		System.arraycopy(data, 0, batch, 0, data.length);
+		this.length = data.length;
+	}
+
+	@Override
+	public void flush() throws DebugException {
+		submit();
+		try {
+			synchronized (this) {
+				while (pending > 0) {
+					wait();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw interrupted(e);
+		}
+		check();
+		target.flush();
+	}
+
+	private void submit() throws DebugException {
+		if (batch == null) {
+			return;
+		}
+		Batch next = new Batch(offset, length == batch.length ? batch : Arrays.copyOf(batch, length));
+		batch = null;
+		if (thread == null) {
+			thread = new Thread(this::writeAll, "Memory Import Write Behind"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			thread.start();
+		}
+		synchronized (this) {
+			pending++;
+		}
+		long begin = System.nanoTime();
+		try {
+			batches.put(next);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw interrupted(e);
+		}
+		statistics.waited(System.nanoTime() - begin);
+	}
+
+	private void writeAll() {
+		try {
+			while (true) {
+				Batch next = batches.take();
+				try {
+					if (failure == null) {
+						long begin = System.nanoTime();
+						target.to(next.offset, next.data);
+						statistics.transferred(next.data.length, System.nanoTime() - begin);
+					}
+				} catch (DebugException e) {
+					failure = e;
+				} catch (RuntimeException e) {
+					failure = new DebugException(
+							new Status(IStatus.ERROR, getClass(), DebugException.INTERNAL_ERROR, e.getMessage(), e));
+				} finally {
+					synchronized (this) {
+						pending--;
+						notifyAll();
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			// closed
+		}
+	}
+
+	private void check() throws DebugException {
+		DebugException e = failure;
+		if (e != null) {
+			throw e;
+		}
+	}
+
+	private DebugException interrupted(InterruptedException e) {
+		return new DebugException(
+				new Status(IStatus.ERROR, getClass(), DebugException.INTERNAL_ERROR, e.getMessage(), e));
+	}
+
+	/**
+	 * Stops the background thread, the batches not written yet are discarded
+	 */
+	@Override
+	public void close() throws InterruptedException {
+		if (thread != null) {
+			thread.interrupt();
+			thread.join();
+			thread = null;
+		}
+		batches.clear();
+		batch = null;
+		failure = null;
+		synchronized (this) {
+			pending = 0;
+		}
+	}
+}
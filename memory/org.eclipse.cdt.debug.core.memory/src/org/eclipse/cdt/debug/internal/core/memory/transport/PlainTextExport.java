@@ -18,15 +18,15 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 
 import org.eclipse.cdt.debug.core.memory.transport.ExportRequest;
 import org.eclipse.cdt.debug.core.memory.transport.FileExport;
-import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.debug.core.DebugException;
-import org.eclipse.debug.core.model.MemoryByte;
 
 public final class PlainTextExport extends FileExport {
 
+	private static final byte[] DIGITS = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+
 	public PlainTextExport(File output, ExportRequest request) {
 		super(output, request);
 	}
@@ -44,44 +44,23 @@ public final class PlainTextExport extends FileExport {
 	}
 
 	@Override
-	protected void transfer(OutputStream output, BigInteger factor, IProgressMonitor monitor)
-			throws IOException, DebugException {
-		// These variables control how the output will be formatted
+	protected void encode(OutputStream output, BigInteger address, byte[] data) throws IOException {
 		// The output data is split by chunks of 1 addressable unit size.
-		final BigInteger dataCellSize = BigInteger.valueOf(1);
-		BigInteger transferAddress = start;
-		BigInteger jobCount = BigInteger.ZERO;
-		BigInteger dataCellsPerLine = chunkSize();
-		while (transferAddress.compareTo(end) < 0 && !monitor.isCanceled()) {
-			BigInteger length = dataCellsPerLine;
-			if (end.subtract(transferAddress).compareTo(length) < 0) {
-				length = end.subtract(transferAddress);
-			}
-			monitor.subTask(transferring(length, transferAddress));
-			StringBuilder buf = new StringBuilder();
-			for (int i = 0; i < length.divide(dataCellSize).intValue(); i++) {
-				if (i != 0) {
-					buf.append(" "); //$NON-NLS-1$
+		int dataCellSize = addressable.intValue();
+		int bytesPerLine = chunkSize().intValue() * dataCellSize;
+		byte[] line = new byte[bytesPerLine * 3 + 1];
+		for (int offset = 0; offset < data.length; offset += bytesPerLine) {
+			int end = Math.min(offset + bytesPerLine, data.length);
+			int position = 0;
+			for (int i = offset; i < end; i++) {
+				if (i != offset && (i - offset) % dataCellSize == 0) {
+					line[position++] = ' ';
 				}
-				BigInteger from = transferAddress.add(dataCellSize.multiply(BigInteger.valueOf(i)));
-				MemoryByte[] bytes = read.from(from, dataCellSize.longValue());
-				for (int byteIndex = 0; byteIndex < bytes.length; byteIndex++) {
-					//FIXME: check MemoryByte#isReadable
-					String bString = BigInteger.valueOf(0xFF & bytes[byteIndex].getValue()).toString(16);
-					if (bString.length() == 1) {
-						buf.append("0"); //$NON-NLS-1$
-					}
-					buf.append(bString);
-				}
-			}
-			output.write(buf.toString().toUpperCase().getBytes());
-			output.write("\n".getBytes()); //$NON-NLS-1$
-			transferAddress = transferAddress.add(length);
-			jobCount = jobCount.add(BigInteger.ONE);
-			if (jobCount.compareTo(factor) == 0) {
-				jobCount = BigInteger.ZERO;
-				monitor.worked(1);
+				line[position++] = DIGITS[(data[i] >> 4) & 0xF];
+				line[position++] = DIGITS[data[i] & 0xF];
 			}
+			line[position++] = '\n';
+			output.write(line, 0, position);
 		}
 	}
 
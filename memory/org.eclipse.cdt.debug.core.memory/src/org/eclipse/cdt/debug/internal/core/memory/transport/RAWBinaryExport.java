@@ -21,9 +21,6 @@ import java.math.BigInteger;
 
 import org.eclipse.cdt.debug.core.memory.transport.ExportRequest;
 import org.eclipse.cdt.debug.core.memory.transport.FileExport;
-import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.debug.core.DebugException;
-import org.eclipse.debug.core.model.MemoryByte;
 
 public final class RAWBinaryExport extends FileExport {
 
@@ -37,29 +34,8 @@ public final class RAWBinaryExport extends FileExport {
 	}
 
 	@Override
-	protected void transfer(OutputStream output, BigInteger factor, IProgressMonitor monitor)
-			throws IOException, DebugException {
-		BigInteger transferAddress = start;
-		BigInteger jobCount = BigInteger.ZERO;
-		BigInteger chunkSize = chunkSize();
-		while (transferAddress.compareTo(end) < 0 && !monitor.isCanceled()) {
-			BigInteger length = chunkSize;
-			if (end.subtract(transferAddress).compareTo(length) < 0) {
-				length = end.subtract(transferAddress);
-			}
-			monitor.subTask(transferring(length, transferAddress));
-			MemoryByte[] byteValues = read.from(transferAddress, length.longValue() / addressable.longValue());
-			for (MemoryByte memoryByte : byteValues) {
-				//FIXME: check MemoryByte#isReadable
-				output.write(memoryByte.getValue());
-			}
-			transferAddress = transferAddress.add(length);
-			jobCount = jobCount.add(BigInteger.ONE);
-			if (jobCount.compareTo(factor) == 0) {
-				jobCount = BigInteger.ZERO;
-				monitor.worked(1);
-			}
-		}
+	protected void encode(OutputStream output, BigInteger address, byte[] data) throws IOException {
+		output.write(data);
 	}
 
 }
\ No newline at end of file
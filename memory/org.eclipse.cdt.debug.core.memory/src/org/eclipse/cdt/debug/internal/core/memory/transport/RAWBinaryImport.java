@@ -19,6 +19,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.Arrays;
 
 import org.eclipse.cdt.debug.core.memory.transport.FileImport;
 import org.eclipse.cdt.debug.core.memory.transport.IScrollMemory;
@@ -40,14 +41,11 @@ public final class RAWBinaryImport extends FileImport<FileInputStream> {
 	@Override
 	protected void transfer(FileInputStream input, BigInteger factor, IProgressMonitor monitor)
 			throws IOException, DebugException {
-		byte[] byteValues = new byte[1024];
+		byte[] byteValues = new byte[0x10000];
 		int actualByteCount = input.read(byteValues);
 		BigInteger recordAddress = start;
 		while (actualByteCount != -1 && !monitor.isCanceled()) {
-			byte data[] = new byte[actualByteCount];
-			for (int i = 0; i < data.length; i++) {
-				data[i] = byteValues[i];
-			}
+			byte data[] = Arrays.copyOf(byteValues, actualByteCount);
 			write.to(recordAddress.subtract(base), data);
 			BigInteger jobCount = BigInteger.valueOf(actualByteCount).divide(factor);
 			monitor.worked(jobCount.intValue());
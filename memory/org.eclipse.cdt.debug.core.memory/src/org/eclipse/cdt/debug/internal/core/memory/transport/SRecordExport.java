@@ -18,15 +18,20 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 
 import org.eclipse.cdt.debug.core.memory.transport.ExportRequest;
 import org.eclipse.cdt.debug.core.memory.transport.FileExport;
-import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.debug.core.DebugException;
-import org.eclipse.debug.core.model.MemoryByte;
 
 public final class SRecordExport extends FileExport {
 
+	private static final byte[] DIGITS = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+
+	/**
+	 * The number of data bytes of a record, whatever the addressable size
+	 */
+	private static final int DATA_PER_RECORD = 16;
+
 	public SRecordExport(File input, ExportRequest request) {
 		super(input, request);
 	}
@@ -38,78 +43,48 @@ public final class SRecordExport extends FileExport {
 	}
 
 	@Override
-	protected void transfer(OutputStream output, BigInteger factor, IProgressMonitor monitor)
-			throws IOException, DebugException {
-		final BigInteger DATA_PER_RECORD = chunkSize();
-		final BigInteger DATA_PER_TRANSFER = BigInteger.valueOf(4096).multiply(DATA_PER_RECORD);
-		BigInteger jobCount = BigInteger.ZERO;
-		BigInteger transferAddress = start;
-		while (transferAddress.compareTo(end) < 0 && !monitor.isCanceled()) {
-			BigInteger length = DATA_PER_TRANSFER;
-			if (end.subtract(transferAddress).compareTo(length) < 0) {
-				length = end.subtract(transferAddress);
+	protected void encode(OutputStream output, BigInteger address, byte[] data) throws IOException {
+		final int unit = addressable.intValue();
+		// whole addressable units, as the record address is in addressable units
+		final int dataPerRecord = Math.max(unit, DATA_PER_RECORD / unit * unit);
+		long sRecordAddress = address.longValue();
+		byte[] line = new byte[2 + 2 + 16 + dataPerRecord * 2 + 2 + 1];
+		for (int offset = 0; offset < data.length; offset += dataPerRecord) {
+			int sRecordDataLength = Math.min(dataPerRecord, data.length - offset);
+			int position = 0;
+			line[position++] = 'S';
+			line[position++] = '3'; // FIXME 4 byte address
+			/*
+			 * The least significant byte of the one's complement of the sum of the values
+			 * represented by the pairs of characters making up the records length, address,
+			 * and the code/data fields.
+			 */
+			int checksum = 0;
+			// address size + data + checksum
+			int sRecordLength = 4 + sRecordDataLength + 1;
+			position = hex(line, position, sRecordLength);
+			checksum += sRecordLength;
+			int addressSize = Math.max(4, (Long.SIZE - Long.numberOfLeadingZeros(sRecordAddress) + 7) / 8);
+			for (int i = addressSize - 1; i >= 0; i--) {
+				int value = (int) (sRecordAddress >>> (8 * i));
+				position = hex(line, position, value);
+				checksum += value;
 			}
-			monitor.subTask(transferring(length, transferAddress));
-			MemoryByte[] bytes = read.from(transferAddress, length.longValue() / addressable.longValue());
-			BigInteger sRecordAddress = transferAddress;
-			BigInteger sRecordEndAddress = transferAddress.add(length);
-			while (sRecordAddress.compareTo(sRecordEndAddress) < 0 && !monitor.isCanceled()) {
-				BigInteger sRecordDataLength = DATA_PER_RECORD;
-				if (sRecordEndAddress.subtract(sRecordAddress).compareTo(sRecordDataLength) < 0) {
-					sRecordDataLength = end.subtract(sRecordAddress);
-				}
-				output.write("S3".getBytes()); // FIXME 4 byte address //$NON-NLS-1$
-
-				StringBuilder buf = new StringBuilder();
-				BigInteger sRecordLength = BigInteger.valueOf(4); // address size
-				sRecordLength = sRecordLength.add(sRecordDataLength);
-				sRecordLength = sRecordLength.add(BigInteger.ONE); // checksum
-				String transferAddressString = sRecordAddress.toString(16);
-				String lengthString = sRecordLength.toString(16);
-				if (lengthString.length() == 1) {
-					buf.append("0"); //$NON-NLS-1$
-				}
-				buf.append(lengthString);
-				for (int i = 0; i < 8 - transferAddressString.length(); i++) {
-					buf.append("0"); //$NON-NLS-1$
-				}
-				buf.append(transferAddressString);
-				final int byteOffset = sRecordAddress.subtract(transferAddress).intValue();
-				final int byteLength = byteOffset + sRecordDataLength.intValue();
-				for (int byteIndex = byteOffset; byteIndex < byteLength; byteIndex++) {
-					//FIXME: check MemoryByte#isReadable
-					String bString = BigInteger.valueOf(0xFF & bytes[byteIndex].getValue()).toString(16);
-					if (bString.length() == 1) {
-						buf.append("0"); //$NON-NLS-1$
-					}
-					buf.append(bString);
-				}
-				/*
-				 * The least significant byte of the one's complement of the sum of the values
-				 * represented by the pairs of characters making up the records length, address,
-				 * and the code/data fields.
-				 */
-				byte checksum = 0;
-				for (int i = 0; i < buf.length(); i += 2) {
-					BigInteger value = new BigInteger(buf.substring(i, i + 2), 16);
-					checksum += value.byteValue();
-				}
-				String bString = BigInteger.valueOf(0xFF - checksum).and(BigInteger.valueOf(0xFF)).toString(16);
-				if (bString.length() == 1) {
-					buf.append("0"); //$NON-NLS-1$
-				}
-				buf.append(bString);
-				output.write(buf.toString().toUpperCase().getBytes());
-				output.write("\n".getBytes()); //$NON-NLS-1$
-				sRecordAddress = sRecordAddress.add(sRecordDataLength);
-				jobCount = jobCount.add(BigInteger.ONE);
-				if (jobCount.compareTo(factor) == 0) {
-					jobCount = BigInteger.ZERO;
-					monitor.worked(1);
-				}
+			for (int i = offset; i < offset + sRecordDataLength; i++) {
+				position = hex(line, position, data[i]);
+				checksum += data[i];
 			}
-			transferAddress = transferAddress.add(length);
+			position = hex(line, position, 0xFF - checksum);
+			line[position++] = '\n';
+			output.write(line, 0, position);
+			sRecordAddress += sRecordDataLength / unit;
 		}
 	}
 
+	private int hex(byte[] line, int position, int value) {
+		line[position++] = DIGITS[(value >> 4) & 0xF];
+		line[position++] = DIGITS[value & 0xF];
+		return position;
+	}
+
 }
\ No newline at end of file
@@ -479,6 +479,7 @@ public class FPRendering extends AbstractMemoryRendering implements IRepositiona
 		if (fRendering != null && !fRendering.isDisposed()) {
 			IPreferenceStore store = FPRenderingPlugin.getDefault().getPreferenceStore();
 			fRendering.setHistoryDepth(store.getInt(FPRenderingPreferenceConstants.MEM_HISTORY_TRAILS_COUNT));
+			fRendering.setPrefetchPages(store.getInt(FPRenderingPreferenceConstants.MEM_PREFETCH_PAGES));
 			fRendering.setBackground(getColorBackground());
 
 			FPAbstractPane panes[] = fRendering.getRenderingPanes();
@@ -32,4 +32,6 @@ public class FPRenderingPreferenceConstants {
 	public static final String MEM_EDIT_BUFFER_SAVE_ON_ENTER_ONLY = "saveOnEnterCancelOnFocusLost"; //$NON-NLS-1$
 	public static final String MEM_EDIT_BUFFER_SAVE_ON_ENTER_OR_FOCUS_LOST = "saveOnEnterOrFocusLost"; //$NON-NLS-1$
 	public static final String MEM_HISTORY_TRAILS_COUNT = "memoryHistoryTrailsCount"; //$NON-NLS-1$
+	/** @since 1.3 */
+	public static final String MEM_PREFETCH_PAGES = "memoryPrefetchPages"; //$NON-NLS-1$
 }
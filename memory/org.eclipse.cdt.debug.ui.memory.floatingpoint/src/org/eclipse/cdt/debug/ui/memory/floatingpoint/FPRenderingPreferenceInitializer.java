@@ -57,5 +57,6 @@ public class FPRenderingPreferenceInitializer extends AbstractPreferenceInitiali
 				FPRenderingPreferenceConstants.MEM_EDIT_BUFFER_SAVE_ON_ENTER_ONLY);
 
 		store.setDefault(FPRenderingPreferenceConstants.MEM_HISTORY_TRAILS_COUNT, "1"); //$NON-NLS-1$
+		store.setDefault(FPRenderingPreferenceConstants.MEM_PREFETCH_PAGES, 1);
 	}
 }
@@ -81,6 +81,8 @@ public class FPRenderingPreferencePage extends FieldEditorPreferencePage impleme
 				getFieldEditorParent()));
 		addField(new ScaleFieldEditor(FPRenderingPreferenceConstants.MEM_HISTORY_TRAILS_COUNT, "History &Trail Levels", //$NON-NLS-1$
 				getFieldEditorParent(), 1, 10, 1, 1));
+		addField(new ScaleFieldEditor(FPRenderingPreferenceConstants.MEM_PREFETCH_PAGES, "&Pages Read Ahead", //$NON-NLS-1$
+				getFieldEditorParent(), 0, 8, 1, 1));
 	}
 
 	@Override
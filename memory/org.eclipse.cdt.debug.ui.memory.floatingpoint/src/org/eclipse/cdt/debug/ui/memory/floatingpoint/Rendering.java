@@ -22,9 +22,11 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.Vector;
 
+import org.eclipse.cdt.debug.core.model.provisional.MemoryPageStore;
 import org.eclipse.cdt.debug.ui.memory.floatingpoint.FPutilities.FPDataType;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -483,6 +485,14 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 		fViewportCache.setHistoryDepth(depth);
 	}
 
+	protected int getPrefetchPages() {
+		return fViewportCache.getPrefetchPages();
+	}
+
+	protected void setPrefetchPages(int pages) {
+		fViewportCache.setPrefetchPages(pages);
+	}
+
 	public void logError(String message, Exception e) {
 		Status status = new Status(IStatus.ERROR, fParent.getRenderingId(), DebugException.INTERNAL_ERROR, message, e);
 		FPRenderingPlugin.getDefault().getLog().log(status);
@@ -604,6 +614,18 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 		return getViewportCache().getBytes(address, bytes);
 	}
 
+	// Number of addressable units in a page of the viewport cache
+
+	private static final int PAGE_UNITS = 1024;
+
+	// Maximum number of pages held by the viewport cache
+
+	private static final int MAX_PAGES = 256;
+
+	// Maximum number of pages read ahead on each side of the viewport
+
+	private static final int MAX_PREFETCH_PAGES = 16;
+
 	// Default visibility for performance
 
 	ViewportCache fViewportCache = new ViewportCache();
@@ -643,28 +665,13 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 
 		}
 
-		class MemoryUnit implements Cloneable {
-			BigInteger start;
-
-			BigInteger end;
-
-			FPMemoryByte[] bytes;
-
-			@Override
-			public MemoryUnit clone() {
-				MemoryUnit b = new MemoryUnit();
-
-				b.start = this.start;
-				b.end = this.end;
-				b.bytes = new FPMemoryByte[this.bytes.length];
-				for (int index = 0; index < this.bytes.length; index++)
-					b.bytes[index] = new FPMemoryByte(this.bytes[index].getValue());
-
-				return b;
-			}
+		class Prefetch implements Request {
+			BigInteger startAddress;
+			BigInteger endAddress;
 
-			public boolean isValid() {
-				return this.start != null && this.end != null && this.bytes != null;
+			public Prefetch(BigInteger start, BigInteger end) {
+				startAddress = start;
+				endAddress = end;
 			}
 		}
 
@@ -673,8 +680,14 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 		private boolean fDisposed = false;
 		private Object fLastQueued = null;
 		private Vector<Object> fQueue = new Vector<>();
-		protected MemoryUnit fCache = null;
-		protected MemoryUnit fHistoryCache[] = new MemoryUnit[0];
+		private MemoryPageStore fStore = null; // Created once the addressable size is known
+		private Prefetch fPrefetch = null; // Neighbouring pages to read once the viewport is cached
+		private volatile int fPrefetchPages = 1; // Pages read ahead on each side of the viewport
+		private AddressPair fRequestedViewport = null; // Last viewport requested
+		private int fRequestedGeneration = 0; // Generation of the store the viewport was requested for
+		private byte fValues[] = new byte[0]; // Buffers reused by getBytes() for all the cells of the viewport
+		private byte fFlags[] = new byte[0];
+		private int fChanges[] = new int[0];
 		protected int fHistoryDepth = 0;
 
 		public ViewportCache() {
@@ -695,7 +708,26 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 
 		public void setHistoryDepth(int depth) {
 			fHistoryDepth = depth;
-			fHistoryCache = new MemoryUnit[fHistoryDepth];
+			synchronized (this) {
+				if (fStore != null)
+					fStore.setHistoryDepth(depth);
+			}
+		}
+
+		public int getPrefetchPages() {
+			return fPrefetchPages;
+		}
+
+		public void setPrefetchPages(int pages) {
+			fPrefetchPages = Math.max(0, Math.min(pages, MAX_PREFETCH_PAGES));
+		}
+
+		private synchronized MemoryPageStore getStore() {
+			if (fStore == null) {
+				fStore = new MemoryPageStore(getAddressableSize(), PAGE_UNITS, MAX_PAGES);
+				fStore.setHistoryDepth(fHistoryDepth);
+			}
+			return fStore;
 		}
 
 		@Override
@@ -703,8 +735,11 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 			assert Thread.currentThread().equals(Display.getDefault().getThread())
 					: FPRenderingMessages.getString("CALLED_ON_NON_DISPATCH_THREAD"); //$NON-NLS-1$
 
-			if (fCache != null) {
-				queueRequest(fViewportAddress, getViewportEndAddress());
+			if (!getStore().isEmpty()) {
+				// Keep painting the old values until the new ones are read
+
+				getStore().invalidate();
+				requestViewport();
 			}
 		}
 
@@ -713,14 +748,23 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 			assert Thread.currentThread().equals(Display.getDefault().getThread())
 					: FPRenderingMessages.getString("CALLED_ON_NON_DISPATCH_THREAD"); //$NON-NLS-1$
 
-			if (fCache != null) {
+			if (!getStore().isEmpty()) {
 				queueRequestArchiveDeltas();
 			}
 		}
 
-		private void queueRequest(BigInteger startAddress, BigInteger endAddress) {
-			AddressPair pair = new AddressPair(startAddress, endAddress);
-			queue(pair);
+		// Request the viewport once for each viewport and generation of the store, rather than
+		// for each painted cell which is missing or stale
+
+		private void requestViewport() {
+			AddressPair viewport = new AddressPair(fViewportAddress, getViewportEndAddress());
+			int generation = getStore().getGeneration();
+
+			if (!viewport.equals(fRequestedViewport) || generation != fRequestedGeneration) {
+				fRequestedViewport = viewport;
+				fRequestedGeneration = generation;
+				queue(viewport);
+			}
 		}
 
 		private void queueRequestArchiveDeltas() {
@@ -761,293 +805,141 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 				}
 
 				if (archiveDeltas) {
-					for (int i = fViewportCache.getHistoryDepth() - 1; i > 0; i--)
-						fHistoryCache[i] = fHistoryCache[i - 1];
-
-					fHistoryCache[0] = fCache.clone();
+					getStore().archive();
 				} else if (pair != null) {
 					populateCache(pair.startAddress, pair.endAddress);
 				} else {
+					Prefetch prefetch = null;
 					synchronized (fQueue) {
 						try {
 							if (fQueue.isEmpty()) {
-								fQueue.wait();
+								if (fPrefetch != null) {
+									prefetch = fPrefetch;
+									fPrefetch = null;
+								} else {
+									fQueue.wait();
+								}
 							}
 						} catch (Exception e) {
 							// do nothing
 						}
 					}
+
+					// The viewport has priority, neighbouring pages are read only when idle
+
+					if (prefetch != null)
+						prefetchCache(prefetch.startAddress, prefetch.endAddress);
 				}
 			}
 		}
 
-		// Cache memory necessary to paint viewport
-		// TODO: user setting to buffer +/- x lines
-		// TODO: reuse existing cache? probably only a minor performance gain
+		// Cache memory necessary to paint viewport, then prefetch the neighbouring pages
 
 		private void populateCache(final BigInteger startAddress, final BigInteger endAddress) {
 			try {
-				IMemoryBlockExtension memoryBlock = getMemoryBlock();
-
-				BigInteger lengthInBytes = endAddress.subtract(startAddress);
-				BigInteger addressableSize = BigInteger.valueOf(getAddressableSize());
-
-				long units = lengthInBytes.divide(addressableSize)
-						.add(lengthInBytes.mod(addressableSize).compareTo(BigInteger.ZERO) > 0 ? BigInteger.ONE
-								: BigInteger.ZERO)
-						.longValue();
-
-				// CDT (and maybe other backends) will call setValue() on these MemoryBlock objects.  We
-				// don't want this to happen, because it interferes with this rendering's own change history.
-				// Ideally, we should strictly use the back end change notification and history, but it is
-				// only guaranteed to work for bytes within the address range of the MemoryBlock.
+				MemoryPageStore store = getStore();
+				readPages(store, store.getPagesToRead(startAddress, endAddress));
 
-				MemoryByte readBytes[] = memoryBlock.getBytesFromAddress(startAddress, units);
-				FPMemoryByte cachedBytes[] = new FPMemoryByte[readBytes.length];
+				int prefetchPages = fPrefetchPages;
 
-				for (int index = 0; index < readBytes.length; index++)
-					cachedBytes[index] = new FPMemoryByte(readBytes[index].getValue(), readBytes[index].getFlags());
+				if (prefetchPages > 0) {
+					BigInteger prefetchUnits = BigInteger.valueOf((long) store.getPageUnits() * prefetchPages);
+					BigInteger prefetchStart = store.getPageAddress(startAddress).subtract(prefetchUnits)
+							.max(store.getPageAddress(getMemoryBlockStartAddress()));
+					BigInteger prefetchEnd = endAddress.add(prefetchUnits)
+							.min(getMemoryBlockEndAddress().add(BigInteger.ONE));
 
-				// Derive the target endian from the read MemoryBytes.
-
-				if (cachedBytes.length > 0)
-					if (cachedBytes[0].isEndianessKnown())
-						setTargetLittleEndian(!cachedBytes[0].isBigEndian());
-
-				// The first time we execute this method, set the display endianness to the target endianness.
-
-				if (!initialDisplayModeSet) {
-					setDisplayLittleEndian(isTargetLittleEndian());
-					initialDisplayModeSet = true;
-				}
-
-				// Re-order bytes within unit to be a sequential byte stream if the endian is already little
-
-				if (isTargetLittleEndian()) {
-					// There isn't an order when the unit size is one, so skip for performance
-
-					if (addressableSize.compareTo(BigInteger.ONE) != 0) {
-						int unitSize = addressableSize.intValue();
-						FPMemoryByte cachedBytesAsByteSequence[] = new FPMemoryByte[cachedBytes.length];
-						for (int unit = 0; unit < units; unit++) {
-							for (int unitbyte = 0; unitbyte < unitSize; unitbyte++) {
-								cachedBytesAsByteSequence[unit * unitSize + unitbyte] = cachedBytes[unit * unitSize
-										+ unitSize - unitbyte];
-							}
-						}
-						cachedBytes = cachedBytesAsByteSequence;
+					synchronized (fQueue) {
+						fPrefetch = new Prefetch(prefetchStart, prefetchEnd);
 					}
 				}
 
-				final FPMemoryByte[] cachedBytesFinal = cachedBytes;
-
-				fCache = new MemoryUnit();
-				fCache.start = startAddress;
-				fCache.end = endAddress;
-				fCache.bytes = cachedBytesFinal;
-
-				Display.getDefault().asyncExec(() -> {
-					// Generate deltas
-
-					for (int historyIndex = 0; historyIndex < getHistoryDepth(); historyIndex++) {
-						if (fHistoryCache[historyIndex] != null && fHistoryCache[historyIndex].isValid()) {
-							BigInteger maxStart = startAddress.max(fHistoryCache[historyIndex].start);
-							BigInteger minEnd = endAddress.min(fHistoryCache[historyIndex].end)
-									.subtract(BigInteger.ONE);
-
-							BigInteger overlapLength = minEnd.subtract(maxStart);
-							if (overlapLength.compareTo(BigInteger.valueOf(0)) > 0) {
-								// there is overlap
-
-								int offsetIntoOld = maxStart.subtract(fHistoryCache[historyIndex].start).intValue();
-								int offsetIntoNew = maxStart.subtract(startAddress).intValue();
-
-								for (int i = overlapLength.intValue(); i >= 0; i--) {
-									cachedBytesFinal[offsetIntoNew + i].setChanged(historyIndex,
-											cachedBytesFinal[offsetIntoNew + i]
-													.getValue() != fHistoryCache[historyIndex].bytes[offsetIntoOld + i]
-															.getValue());
-								}
-
-								// There are several scenarios where the history cache must be updated from the data cache, so that when a
-								// cell is edited the font color changes appropriately. The following code deals with the different cases.
-
-								if (historyIndex != 0)
-									continue;
-
-								int dataStart = fCache.start.intValue();
-								int dataEnd = fCache.end.intValue();
-								int dataLength = fCache.bytes.length;
-
-								int historyStart = fHistoryCache[0].start.intValue();
-								int historyEnd = fHistoryCache[0].end.intValue();
-								int historyLength = fHistoryCache[0].bytes.length;
-
-								// Case 1: The data cache is smaller than the history cache; the data cache's
-								//         address range is fully covered by the history cache.  Do nothing.
-
-								if ((dataStart >= historyStart) && (dataEnd <= historyEnd))
-									continue;
-
-								// Case 2: The data and history cache's do not overlap at all
-
-								if (((dataStart < historyStart) && (dataEnd < historyStart))
-										|| (dataStart > historyEnd)) {
-									// Create a new history cache: Copy the data cache bytes to the history cache
-
-									MemoryUnit newHistoryCache1 = new MemoryUnit();
-
-									newHistoryCache1.start = fCache.start;
-									newHistoryCache1.end = fCache.end;
-									int newHistoryCacheSize1 = fCache.bytes.length;
-									newHistoryCache1.bytes = new FPMemoryByte[newHistoryCacheSize1];
-
-									for (int index1 = 0; index1 < newHistoryCacheSize1; index1++)
-										newHistoryCache1.bytes[index1] = new FPMemoryByte(
-												fCache.bytes[index1].getValue());
-
-									fHistoryCache[0] = newHistoryCache1;
-
-									continue;
-								}
-
-								// Case 3: The data cache starts at a lower address than the history cache, but overlaps the history cache
-
-								if ((dataStart < historyStart)
-										&& ((dataEnd >= historyStart) && (dataEnd <= historyEnd))) {
-									// Create a new history cache with the missing data from the main cache and append the old history to it.
-
-									int missingDataByteCount1 = historyStart - dataStart;
-									int historyCacheSize1 = historyLength;
-									int newHistoryCacheSize2 = missingDataByteCount1 + historyLength;
-
-									if (missingDataByteCount1 <= 0 && historyCacheSize1 <= 0)
-										break;
-
-									MemoryUnit newHistoryCache2 = new MemoryUnit();
-
-									newHistoryCache2.start = fCache.start;
-									newHistoryCache2.end = fHistoryCache[0].end;
-									newHistoryCache2.bytes = new FPMemoryByte[newHistoryCacheSize2];
-
-									// Copy the missing bytes from the beginning of the main cache to the history cache.
-
-									for (int index2 = 0; index2 < missingDataByteCount1; index2++)
-										newHistoryCache2.bytes[index2] = new FPMemoryByte(
-												fCache.bytes[index2].getValue());
-
-									// Copy the remaining bytes from the old history cache to the new history cache
-
-									for (int index3 = 0; index3 < historyCacheSize1; index3++)
-										newHistoryCache2.bytes[index3 + missingDataByteCount1] = new FPMemoryByte(
-												fHistoryCache[0].bytes[index3].getValue());
-
-									fHistoryCache[0] = newHistoryCache2;
-
-									continue;
-								}
-
-								// Case 4: The data cache starts at a higher address than the history cache
-
-								if (((dataStart >= historyStart) && (dataStart <= historyEnd))
-										&& (dataEnd > historyEnd)) {
-									// Append the missing main cache bytes to the history cache.
-
-									int missingDataByteCount2 = dataEnd - historyEnd;
-									int historyCacheSize2 = historyEnd - historyStart;
-									int newHistoryCacheSize3 = missingDataByteCount2 + historyLength;
-
-									if (missingDataByteCount2 > 0 && historyCacheSize2 > 0) {
-										MemoryUnit newHistoryCache3 = new MemoryUnit();
-
-										newHistoryCache3.start = fHistoryCache[0].start;
-										newHistoryCache3.end = fCache.end;
-										newHistoryCache3.bytes = new FPMemoryByte[newHistoryCacheSize3];
-
-										// Copy the old history bytes to the new history cache
-
-										System.arraycopy(fHistoryCache[0].bytes, 0, newHistoryCache3.bytes, 0,
-												historyLength);
-
-										// Copy the bytes from the main cache that are not in the history cache to the end of the new history cache.
-
-										for (int index4 = 0; index4 < missingDataByteCount2; index4++) {
-											int srcIndex = dataLength - missingDataByteCount2 + index4;
-											int dstIndex = historyLength + index4;
-											newHistoryCache3.bytes[dstIndex] = new FPMemoryByte(
-													fCache.bytes[srcIndex].getValue());
-										}
-
-										fHistoryCache[0] = newHistoryCache3;
-
-										continue;
-									}
-								}
+				Display.getDefault().asyncExec(() -> Rendering.this.redrawPanes());
+			} catch (Exception e) {
+				// User can scroll to any memory, whether it's valid on the target or not.  It doesn't make
+				// much sense to fill up the Eclipse error log with such "failures."  So, comment out for now.
+				// logError(FPRenderingMessages.getString("FAILURE_READ_MEMORY"), e); //$NON-NLS-1$
+			}
+		}
 
-								// Case 5 - The data cache is greater than the history cache and fully covers it
+		private void prefetchCache(BigInteger startAddress, BigInteger endAddress) {
+			try {
+				MemoryPageStore store = getStore();
+				readPages(store, store.getPagesToRead(startAddress, endAddress));
+			} catch (Exception e) {
+				// The pages will be read again when they are scrolled to
+			}
+		}
 
-								if (dataStart < historyStart && dataEnd > historyEnd) {
-									int start = 0;
-									int end = 0;
+		// Read the given pages, with one request for each run of consecutive pages
 
-									// Create a new history cache to reflect the entire data cache
+		private void readPages(MemoryPageStore store, List<BigInteger> pages) throws DebugException {
+			int generation = store.getGeneration();
+			BigInteger pageUnits = BigInteger.valueOf(store.getPageUnits());
+			int first = 0;
 
-									MemoryUnit newHistoryCache4 = new MemoryUnit();
+			while (first < pages.size()) {
+				int count = 1;
+				while (first + count < pages.size()
+						&& pages.get(first + count).equals(pages.get(first + count - 1).add(pageUnits)))
+					count++;
+				readPages(store, pages.get(first), count, generation);
+				first += count;
+			}
+		}
 
-									newHistoryCache4.start = fCache.start;
-									newHistoryCache4.end = fCache.end;
-									int newHistoryCacheSize4 = fCache.bytes.length;
-									newHistoryCache4.bytes = new FPMemoryByte[newHistoryCacheSize4];
+		private void readPages(MemoryPageStore store, BigInteger startAddress, int pageCount, int generation)
+				throws DebugException {
+			IMemoryBlockExtension memoryBlock = getMemoryBlock();
+			int unitSize = store.getUnitSize();
+			int pageSize = store.getPageSize();
 
-									int topByteCount = historyStart - dataStart;
-									int bottomByteCount = dataEnd - historyEnd;
+			// CDT (and maybe other backends) will call setValue() on these MemoryBlock objects.  We
+			// don't want this to happen, because it interferes with this rendering's own change history.
+			// Ideally, we should strictly use the back end change notification and history, but it is
+			// only guaranteed to work for bytes within the address range of the MemoryBlock.
 
-									// Copy the bytes from the beginning of the data cache to the new history cache
+			MemoryByte readBytes[] = memoryBlock.getBytesFromAddress(startAddress,
+					(long) store.getPageUnits() * pageCount);
 
-									for (int index5 = 0; index5 < topByteCount; index5++)
-										newHistoryCache4.bytes[index5] = new FPMemoryByte(
-												fCache.bytes[index5].getValue());
+			// Derive the target endian from the read MemoryBytes.
 
-									// Copy the old history cache bytes to the new history cache
+			if (readBytes.length > 0)
+				if (readBytes[0].isEndianessKnown())
+					setTargetLittleEndian(!readBytes[0].isBigEndian());
 
-									start = topByteCount;
-									end = topByteCount + historyLength;
+			// The first time we execute this method, set the display endianness to the target endianness.
 
-									for (int index6 = start; index6 < end; index6++)
-										newHistoryCache4.bytes[index6] = new FPMemoryByte(
-												fCache.bytes[index6].getValue());
+			if (!initialDisplayModeSet) {
+				setDisplayLittleEndian(isTargetLittleEndian());
+				initialDisplayModeSet = true;
+			}
 
-									// Copy the bytes from the end of the data cache to the new history cache
+			// Re-order bytes within unit to be a sequential byte stream if the endian is already little.
+			// There isn't an order when the unit size is one, so skip for performance.
 
-									start = topByteCount + historyLength;
-									end = topByteCount + historyLength + bottomByteCount;
+			boolean reorder = isTargetLittleEndian() && unitSize != 1;
 
-									for (int index7 = start; index7 < end; index7++)
-										newHistoryCache4.bytes[index7] = new FPMemoryByte(
-												fCache.bytes[index7].getValue());
+			for (int page = 0; page < pageCount; page++) {
+				// Bytes missing from the result are left unreadable
 
-									fHistoryCache[0] = newHistoryCache4;
+				byte values[] = new byte[pageSize];
+				byte flags[] = new byte[pageSize];
 
-									continue;
-								}
-							}
-						}
+				for (int index = 0; index < pageSize; index++) {
+					int readIndex = page * pageSize + index;
+					if (reorder) {
+						int unitbyte = index % unitSize;
+						readIndex = readIndex - unitbyte + unitSize - unitbyte - 1;
 					}
+					if (readIndex < readBytes.length) {
+						values[index] = readBytes[readIndex].getValue();
+						flags[index] = readBytes[readIndex].getFlags();
+					}
+				}
 
-					// If the history does not exist, populate the history with the just populated
-					// cache.  This solves the use case of (1) connect to target; (2) edit memory
-					// before the first suspend debug event; (3) paint differences in changed color.
-
-					if (fHistoryCache[0] == null)
-						fHistoryCache[0] = fCache.clone();
-
-					Rendering.this.redrawPanes();
-				});
-
-			} catch (Exception e) {
-				// User can scroll to any memory, whether it's valid on the target or not.  It doesn't make
-				// much sense to fill up the Eclipse error log with such "failures."  So, comment out for now.
-				// logError(FPRenderingMessages.getString("FAILURE_READ_MEMORY"), e); //$NON-NLS-1$
+				store.putPage(startAddress.add(BigInteger.valueOf((long) page * store.getPageUnits())), values,
+						flags, generation);
 			}
 		}
 
@@ -1061,23 +953,28 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 			if (containsEditedCell(address)) // Cell size cannot be switched during an edit
 				return getEditedMemory(address);
 
-			boolean contains = false;
-			if (fCache != null && fCache.start != null) {
-				// See if all of the data requested is in the cache
+			// Create objects only for the bytes being painted
 
-				BigInteger dataEnd = address.add(BigInteger.valueOf(bytesRequested));
-
-				if (fCache.start.compareTo(address) <= 0 && fCache.end.compareTo(dataEnd) >= 0
-						&& fCache.bytes.length > 0)
-					contains = true;
+			if (fValues.length < bytesRequested) {
+				fValues = new byte[bytesRequested];
+				fFlags = new byte[bytesRequested];
+				fChanges = new int[bytesRequested];
 			}
 
-			if (contains) {
-				int offset = address.subtract(fCache.start).intValue();
+			if (getStore().read(address, bytesRequested, fValues, fFlags, fChanges)) {
+				// Paint the stale values until the new ones are read
+
+				if (getStore().isStale(address, bytesRequested))
+					requestViewport();
+
+				int historyDepth = getHistoryDepth();
 				FPMemoryByte bytes[] = new FPMemoryByte[bytesRequested];
 
-				for (int index = 0; index < bytes.length; index++)
-					bytes[index] = fCache.bytes[offset + index];
+				for (int index = 0; index < bytes.length; index++) {
+					bytes[index] = new FPMemoryByte(fValues[index], fFlags[index]);
+					for (int historyIndex = 0; historyIndex < historyDepth; historyIndex++)
+						bytes[index].setChanged(historyIndex, (fChanges[index] & (1 << historyIndex)) != 0);
+				}
 
 				return bytes;
 			}
@@ -1089,7 +986,7 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 				bytes[index].setReadable(false);
 			}
 
-			fViewportCache.queueRequest(fViewportAddress, getViewportEndAddress());
+			requestViewport();
 
 			return bytes;
 		}
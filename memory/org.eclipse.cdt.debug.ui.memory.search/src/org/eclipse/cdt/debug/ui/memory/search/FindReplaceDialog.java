@@ -16,10 +16,22 @@ package org.eclipse.cdt.debug.ui.memory.search;
 
 import java.lang.reflect.Method;
 import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 import java.util.StringTokenizer;
 import java.util.Vector;
 
+import org.eclipse.cdt.debug.core.memory.search.IMemoryMatchCollector;
+import org.eclipse.cdt.debug.core.memory.search.MemoryReplacements;
+import org.eclipse.cdt.debug.core.memory.search.MemorySearch;
+import org.eclipse.cdt.debug.core.memory.search.MemorySearchMatch;
+import org.eclipse.cdt.debug.core.memory.search.MemorySearchPattern;
+import org.eclipse.cdt.debug.core.memory.search.MemorySearchRequest;
+import org.eclipse.cdt.debug.core.memory.transport.IReadMemory;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
@@ -63,8 +75,6 @@ public class FindReplaceDialog extends SelectionDialog {
 
 	private IMemoryBlockExtension fMemoryBlock;
 
-	final static int preFetchSize = 20 * 1024;
-
 	private Text fFindText;
 	private Text fReplaceText;
 
@@ -181,7 +191,9 @@ public class FindReplaceDialog extends SelectionDialog {
 			String element = ((String) st.nextElement()).trim();
 			if (element.length() > 0) {
 				BigInteger value;
-				if (element.toUpperCase().startsWith("0X")) //$NON-NLS-1$
+				if (isWildcard(element))
+					value = BigInteger.ZERO;
+				else if (element.toUpperCase().startsWith("0X")) //$NON-NLS-1$
 					value = new BigInteger(element.substring(2), 16);
 				else if (element.toUpperCase().startsWith("0B")) //$NON-NLS-1$
 					value = new BigInteger(element.substring(2), 2);
@@ -204,6 +216,28 @@ public class FindReplaceDialog extends SelectionDialog {
 		return bytes;
 	}
 
+	/**
+	 * Returns the masks of the bytes of the given sequence, 0 for the "?" wildcards
+	 * and 0xFF for the other bytes.
+	 */
+	protected byte[] parseByteSequenceMask(String s) {
+		Vector<Byte> masks = new Vector<>();
+		StringTokenizer st = new StringTokenizer(s, " "); //$NON-NLS-1$
+		while (st.hasMoreElements()) {
+			String element = ((String) st.nextElement()).trim();
+			if (element.length() > 0)
+				masks.addElement(isWildcard(element) ? (byte) 0 : (byte) 0xFF);
+		}
+		byte[] bytes = new byte[masks.size()];
+		for (int i = 0; i < bytes.length; i++)
+			bytes[i] = masks.elementAt(i).byteValue();
+		return bytes;
+	}
+
+	private boolean isWildcard(String element) {
+		return element.equals("?") || element.equals("??"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
 	private byte[] getReplaceData() {
 		if (fFormatAsciiButton.getSelection())
 			return fReplaceText.getText().getBytes();
@@ -764,217 +798,6 @@ public class FindReplaceDialog extends SelectionDialog {
 		return composite;
 	}
 
-	class FindReplaceMemoryCache {
-		BigInteger memoryCacheStartAddress = BigInteger.ZERO;
-		MemoryByte memoryCacheData[] = new MemoryByte[0];
-	}
-
-	/**
-	 * Function : getSearchableBytes
-	 *
-	 * This function returns to the user an array of memory
-	 * @param start Address ( inclusive ) of the beginning byte of the memory region to be searched
-	 * @param end Address ( inclusive ) of the ending
-	 * @param forwardSearch direction of the search ( true == searching forward , false = searching backwards
-	 * @param address Address ( inclusive ) of the byte set being requested/returned
-	 * @param length Number of bytes of data to be returned
-	 * @param cache Cached memory byte data ( this routine fetches additional bytes of memory to try and reduce interaction with the debug engine )
-	 * @return MemoryByte[] array which contains the requested bytes
-	 * @throws DebugException
-	 */
-	private MemoryByte[] getSearchableBytes(BigInteger start, BigInteger end, boolean forwardSearch, BigInteger address,
-			int length, FindReplaceMemoryCache cache) throws DebugException {
-		BigInteger endCacheAddress = cache.memoryCacheStartAddress
-				.add(BigInteger.valueOf(cache.memoryCacheData.length));
-
-		/*
-		 * Determine if the requested data is already within the cache.
-		 */
-
-		if (!((address.compareTo(cache.memoryCacheStartAddress) >= 0)
-				&& (address.add(BigInteger.valueOf(length)).compareTo(endCacheAddress) < 0))) {
-			BigInteger prefetchSize = BigInteger.valueOf(preFetchSize);
-			BigInteger len = BigInteger.valueOf(length);
-			BigInteger fetchAddress = address;
-			BigInteger fetchSize;
-
-			/*
-			 *  Determine which way we are searching. Whichever way we are searching we need to make sure
-			 *  we capture the minimum requested amount of data in the forward direction.
-			 */
-
-			if (forwardSearch) {
-				/*
-				 *  Legend : "#" == minimum requested data , "*" == additional data we want to prefetch/cache
-				 *
-				 *  This is the best case where everything cleanly fits within the starting/ending ranges
-				 *  to be searched.  What we cannot do is to fetch data outside of these ranges. The user
-				 *  has specified them, if they are in error that is OK, but we must respect the boundaries
-				 *  they specified.
-				 *
-				 *  +-- address
-				 *  |
-				 *  +--length--+--prefetch--+------------------------------------+
-				 *  |##########|************|                                    |
-				 *  |##########|************|                                    |
-				 *  |##########|************|                                    |
-				 *  +----------+------------+------------------------------------+
-				 *  |                                                            |
-				 *  +-- start                                              end --+
-				 *
-				 *  This is the worst case scenario. We cannot even get the requested minimum ( no matter
-				 *  the desired prefetch ) before we run out of the specified range.
-				 *
-				 *                                                       +-- address
-				 *                                                       |
-				 *  +----------------------------------------------------+--length--+--prefetch--+
-				 *  |                                                    |##########|************|
-				 *  |                                                    |##########|************|
-				 *  |                                                    |##########|************|
-				 *  +----------------------------------------------------+-------+--+------------+
-				 *  |                                                            |
-				 *  +-- start                                              end --+
-				 *
-				 *  See if the desired size ( minimum length + desired prefetch ) fits in to the current range.
-				 *  If so there is nothing to adjust.
-				 */
-
-				if (prefetchSize.compareTo(len) >= 0) {
-					fetchSize = prefetchSize;
-				} else {
-					fetchSize = len;
-				}
-
-				if (address.add(fetchSize).compareTo(end) > 0) {
-					/*
-					 *  It does not all fit. Get as much as we can ( end - current ) + 1.
-					 */
-					fetchSize = end.subtract(address).add(BigInteger.ONE);
-
-					/*
-					 *  If the amount of data we can get does not even meet the minimum request. In this case
-					 *  we have to readjust how much we copy to match what we can actually read. If we do not
-					 *  do this then we will run past the actual data fetched and generate an exception.
-					 */
-					if (fetchSize.compareTo(len) < 0) {
-						length = fetchSize.intValue();
-					}
-				}
-
-				/*
-				 *  The fetch address just starts at the current requested location since we are searching in
-				 *  the forward direction and thus prefetching in the forward direction.
-				 */
-				fetchAddress = address;
-			} else {
-
-				/*
-				 *  Legend : "#" == minimum requested data , "*" == additional data we want to prefetch/cache
-				 *
-				 *  This is the best case where everything cleanly fits within the starting/ending ranges
-				 *  to be searched.  What we cannot do is to fetch data outside of these ranges. The user
-				 *  has specified them, if they are in error that is OK, but we must respect the boundaries
-				 *  they specified.
-				 *
-				 *               +-- address
-				 *               |
-				 *  +--prefetch--+--length--+------------------------------------+
-				 *  |************|##########|                                    |
-				 *  |************|##########|                                    |
-				 *  |************|##########|                                    |
-				 *  +------------+----------+------------------------------------+
-				 *  |                                                            |
-				 *  +-- start                                              end --+
-				 *
-				 *  This is the second worst case scenario. We cannot even get the requested minimum ( no matter
-				 *  the desired prefetch ) before we run out of the specified range.
-				 *
-				 *                                                            +-- address
-				 *                                                            |
-				 *  +--------------------------------------------+--prefetch--+--length--+
-				 *  |                                            |************|##########|
-				 *  |                                            |************|##########|
-				 *  |                                            |************|##########|
-				 *  +--------------------------------------------+------------+--+-------+
-				 *  |                                                            |
-				 *  +-- start                                              end --+
-				 *
-				 *  This is the worst case scenario. The minimum length moves us off the end of the high range
-				 *  end and the prefetch before this minimum data request ( remember we are fetching backwards
-				 *  since we are searching backwards ) runs us off the start of the data.
-				 *
-				 *                                                                +-- address
-				 *                                                                |
-				 *  +---+-----------------------------------------------prefetch--+--length--+
-				 *  |*************************************************************|##########|
-				 *  |*************************************************************|##########|
-				 *  |*************************************************************|##########|
-				 *  +---+---------------------------------------------------------+--+-------+
-				 *      |                                                            |
-				 *      +-- start                                              end --+
-				 *
-				 *  See if the desired size ( minimum length + desired prefetch ) fits in to the current range.
-				 *  Without running off the end.
-				 */
-				if (address.add(len).compareTo(end) > 0) {
-					/*
-					 *  We need to reduce the amount we can ask for to whats left. Also make sure to reduce the
-					 *  amount to copy, otherwise we will overrun the buffer and generate an exception.
-					 */
-					len = end.subtract(address).add(BigInteger.ONE);
-					length = len.intValue();
-				}
-
-				/*
-				 *  Now determine  if the prefetch is going to run backwards past the "start" of where we are allowed
-				 *  to access the memory. We will normalize the prefetch size so it takes in to account the amount of
-				 *  data being gathered as part of the length requested portion.  This should insure that  in the end
-				 *  we will request the prefetch amount of data unless there is not enough to service this request.
-				 */
-				if (len.compareTo(prefetchSize) > 0) {
-					prefetchSize = BigInteger.ZERO;
-				} else {
-					prefetchSize = prefetchSize.subtract(len);
-				}
-
-				if (address.subtract(prefetchSize).compareTo(start) < 0) {
-					/*
-					 *  Just get what we can from the beginning up to the current required address.
-					 */
-					prefetchSize = address.subtract(start);
-					fetchAddress = start;
-				} else {
-					/*
-					 *  It fits so just start reading from the calculated position prior to the requested point.
-					 */
-					fetchAddress = address.subtract(prefetchSize);
-				}
-
-				fetchSize = len.add(prefetchSize);
-			}
-
-			/*
-			 *  OK, we have determined where to start reading the data and how much. Just get the data
-			 *  and store it in the cache.
-			 */
-			MemoryByte bytes[] = fMemoryBlock.getBytesFromAddress(fetchAddress, fetchSize.longValue());
-
-			cache.memoryCacheStartAddress = fetchAddress;
-			cache.memoryCacheData = bytes;
-		}
-
-		/*
-		 * Either it was already cached or just has been, either way we have the data so copy what we can
-		 * back to the user buffer.
-		 */
-
-		MemoryByte bytes[] = new MemoryByte[length];
-		System.arraycopy(cache.memoryCacheData, address.subtract(cache.memoryCacheStartAddress).intValue(), bytes, 0,
-				length);
-
-		return bytes;
-	}
-
 	private BigInteger parseHexBigInteger(String s) {
 		if (s.toUpperCase().startsWith("0X")) //$NON-NLS-1$
 			return new BigInteger(s.substring(2), 16);
@@ -1051,137 +874,125 @@ public class FindReplaceDialog extends SelectionDialog {
 
 				final BigInteger searchPhraseLength = BigInteger.valueOf(searchPhrase.getByteLength());
 				BigInteger range = end.subtract(start).add(BigInteger.ONE);
-				BigInteger currentPosition = searchForward ? start : end.subtract(searchPhraseLength);
 
-				if (searchPhraseLength.compareTo(range) >= 0) {
+				if (searchPhraseLength.signum() == 0 || searchPhraseLength.compareTo(range) >= 0) {
 					return Status.OK_STATUS;
 				}
 
-				boolean isReplace = replaceData != null;
-
-				BigInteger jobs = range;
-				BigInteger factor = BigInteger.ONE;
-				if (jobs.compareTo(BigInteger.valueOf(0x07FFFFFF)) > 0) {
-					factor = jobs.divide(BigInteger.valueOf(0x07FFFFFF));
-					jobs = jobs.divide(factor);
+				final BigInteger addressable;
+				try {
+					addressable = BigInteger.valueOf(fMemoryBlock.getAddressableSize());
+				} catch (DebugException e) {
+					MemorySearchPlugin.logError(Messages.getString("FindReplaceDialog.MemorySearchFailure"), e); //$NON-NLS-1$
+					return Status.CANCEL_STATUS;
 				}
-
-				BigInteger jobCount = BigInteger.ZERO;
-
-				BigInteger replaceCount = BigInteger.ZERO;
-
-				FindReplaceMemoryCache cache = new FindReplaceMemoryCache();
-
-				monitor.beginTask(Messages.getString("FindReplaceDialog.SearchingMemoryFor") + searchPhrase, //$NON-NLS-1$
-						jobs.intValue());
-
-				boolean matched = false;
-				while (((searchForward && currentPosition.compareTo(end.subtract(searchPhraseLength)) < 0)
-						|| (!searchForward && currentPosition.compareTo(start) > 0)) && !monitor.isCanceled()) {
-					try {
-						MemoryByte bytes[] = getSearchableBytes(start, end, searchForward, currentPosition,
-								searchPhraseLength.intValue(), cache);
-						matched = searchPhrase.isMatch(bytes);
-						if (matched) {
-							if (all && !isReplace)
-								((MemorySearchResult) getSearchResult())
-										.addMatch(new MemoryMatch(currentPosition, searchPhraseLength));
-
-							if (isReplace) {
-								try {
-									if ((searchPhrase instanceof BigIntegerSearchPhrase) && (bytes.length > 0)
-											&& bytes[0].isEndianessKnown() && !bytes[0].isBigEndian()) {
+				IReadMemory read = fMemoryBlock::getBytesFromAddress;
+				// a replacement must be written before the memory after it is read
+				boolean replacing = replaceData != null;
+				MemorySearchRequest request = new MemorySearchRequest(start, end.add(BigInteger.ONE), addressable,
+						searchPhrase.getPatterns(), searchForward, read, MemorySearchRequest.DEFAULT_BLOCK_SIZE,
+						replacing ? 1 : MemorySearchRequest.DEFAULT_PARALLELISM, !replacing);
+
+				IMemoryMatchCollector collector = new IMemoryMatchCollector() {
+					private boolean isReplace = replaceData != null;
+					private byte[] replacement = replaceData;
+					private BigInteger replaceCount = BigInteger.ZERO;
+					private final MemoryReplacements replacements = new MemoryReplacements(addressable);
+
+					@Override
+					public boolean accept(MemorySearchMatch match) {
+						if (replacements.overlaps(match)) {
+							// found before the replacement, the memory has changed since
+							return true;
+						}
+						BigInteger currentPosition = match.address();
+						BigInteger matchLength = BigInteger.valueOf(match.length());
+						boolean matched = true;
+						if (all && !isReplace)
+							((MemorySearchResult) getSearchResult())
+									.addMatch(new MemoryMatch(currentPosition, matchLength));
+
+						if (isReplace) {
+							try {
+								if (replaceCount.signum() == 0 && searchPhrase instanceof BigIntegerSearchPhrase) {
+									MemoryByte bytes[] = fMemoryBlock.getBytesFromAddress(currentPosition, 1);
+									if (bytes.length > 0 && bytes[0].isEndianessKnown() && !bytes[0].isBigEndian()) {
 										// swap the bytes when replacing an integer on little-endian targets
-										fMemoryBlock.setValue(
-												currentPosition.subtract(fMemoryBlock.getBigBaseAddress()),
-												swapBytes(replaceData));
-									} else {
-										fMemoryBlock.setValue(
-												currentPosition.subtract(fMemoryBlock.getBigBaseAddress()),
-												replaceData);
+										replacement = swapBytes(replaceData);
 									}
-								} catch (DebugException de) {
-									MemorySearchPlugin
-											.logError(Messages.getString("FindReplaceDialog.MemoryReadFailed"), de); //$NON-NLS-1$
 								}
-
-								replaceCount = replaceCount.add(BigInteger.ONE);
+								fMemoryBlock.setValue(currentPosition.subtract(fMemoryBlock.getBigBaseAddress()),
+										replacement);
+								replacements.replaced(match, replacement.length);
+							} catch (DebugException de) {
+								MemorySearchPlugin.logError(Messages.getString("FindReplaceDialog.MemoryReadFailed"), de); //$NON-NLS-1$
 							}
 
-							if (isReplace && replaceThenFind && replaceCount.compareTo(BigInteger.ONE) == 0) {
-								isReplace = false;
-								matched = false;
-							}
+							replaceCount = replaceCount.add(BigInteger.ONE);
+						}
 
-							if (matched && !all) {
-								final BigInteger finalCurrentPosition = currentPosition;
-								final BigInteger finalStart = start;
-								final BigInteger finalEnd = end;
-								Display.getDefault().asyncExec(() -> {
-									IMemoryRenderingContainer containers[] = getMemoryView()
-											.getMemoryRenderingContainers();
-									for (int i = 0; i < containers.length; i++) {
-										IMemoryRendering rendering = containers[i].getActiveRendering();
-										if (rendering instanceof IRepositionableMemoryRendering) {
-											try {
-												((IRepositionableMemoryRendering) rendering)
-														.goToAddress(finalCurrentPosition);
-											} catch (DebugException e1) {
-												MemorySearchPlugin.logError(
-														Messages.getString(
-																"FindReplaceDialog.RepositioningMemoryViewFailed"), //$NON-NLS-1$
-														e1);
-											}
+						if (isReplace && replaceThenFind && replaceCount.compareTo(BigInteger.ONE) == 0) {
+							isReplace = false;
+							matched = false;
+						}
+
+						if (matched && !all) {
+							final BigInteger finalCurrentPosition = currentPosition;
+							final BigInteger finalStart = start;
+							final BigInteger finalEnd = end;
+							Display.getDefault().asyncExec(() -> {
+								IMemoryRenderingContainer containers[] = getMemoryView().getMemoryRenderingContainers();
+								for (int i = 0; i < containers.length; i++) {
+									IMemoryRendering rendering = containers[i].getActiveRendering();
+									if (rendering instanceof IRepositionableMemoryRendering) {
+										try {
+											((IRepositionableMemoryRendering) rendering)
+													.goToAddress(finalCurrentPosition);
+										} catch (DebugException e1) {
+											MemorySearchPlugin.logError(
+													Messages.getString("FindReplaceDialog.RepositioningMemoryViewFailed"), //$NON-NLS-1$
+													e1);
 										}
-										if (rendering != null) {
-											// Temporary, until platform accepts/adds new interface for setting the selection
-											try {
-												Method m = rendering.getClass().getMethod("setSelection", //$NON-NLS-1$
-														new Class[] { BigInteger.class, BigInteger.class });
-												if (m != null)
-													m.invoke(rendering, finalCurrentPosition,
-															finalCurrentPosition.add(searchPhraseLength));
-											} catch (Exception e2) {
-												// do nothing
-											}
+									}
+									if (rendering != null) {
+										// Temporary, until platform accepts/adds new interface for setting the selection
+										try {
+											Method m = rendering.getClass().getMethod("setSelection", //$NON-NLS-1$
+													new Class[] { BigInteger.class, BigInteger.class });
+											if (m != null)
+												m.invoke(rendering, finalCurrentPosition,
+														finalCurrentPosition.add(matchLength));
+										} catch (Exception e2) {
+											// do nothing
 										}
 									}
-								});
-
-								fProperties.setProperty(SEARCH_ENABLE_FIND_NEXT, Boolean.TRUE.toString());
-								if (searchForward) {
-									BigInteger newFinalStart = finalCurrentPosition.add(BigInteger.ONE);
-									fProperties.setProperty(SEARCH_LAST_START, "0x" + newFinalStart.toString(16)); //$NON-NLS-1$
-									fProperties.setProperty(SEARCH_LAST_END, "0x" + finalEnd.toString(16)); //$NON-NLS-1$
-								} else {
-									BigInteger newFinalEnd = finalCurrentPosition.subtract(BigInteger.ONE);
-									fProperties.setProperty(SEARCH_LAST_START, "0x" + finalStart.toString(16)); //$NON-NLS-1$
-									fProperties.setProperty(SEARCH_LAST_END, "0x" + newFinalEnd.toString(16)); //$NON-NLS-1$
 								}
-								if (fFindAction != null) {
-									fFindAction.setEnabled(true);
-								}
-								return Status.OK_STATUS;
+							});
+
+							fProperties.setProperty(SEARCH_ENABLE_FIND_NEXT, Boolean.TRUE.toString());
+							if (searchForward) {
+								BigInteger newFinalStart = finalCurrentPosition.add(BigInteger.ONE);
+								fProperties.setProperty(SEARCH_LAST_START, "0x" + newFinalStart.toString(16)); //$NON-NLS-1$
+								fProperties.setProperty(SEARCH_LAST_END, "0x" + finalEnd.toString(16)); //$NON-NLS-1$
+							} else {
+								BigInteger newFinalEnd = finalCurrentPosition.subtract(BigInteger.ONE);
+								fProperties.setProperty(SEARCH_LAST_START, "0x" + finalStart.toString(16)); //$NON-NLS-1$
+								fProperties.setProperty(SEARCH_LAST_END, "0x" + newFinalEnd.toString(16)); //$NON-NLS-1$
+							}
+							if (fFindAction != null) {
+								fFindAction.setEnabled(true);
 							}
+							return false;
 						}
-
-						matched = false;
-
-						if (searchForward)
-							currentPosition = currentPosition.add(BigInteger.ONE);
-						else
-							currentPosition = currentPosition.subtract(BigInteger.ONE);
-
-					} catch (DebugException e) {
-						MemorySearchPlugin.logError(Messages.getString("FindReplaceDialog.MemorySearchFailure"), e); //$NON-NLS-1$
-						return Status.CANCEL_STATUS;
+						return true;
 					}
+				};
 
-					jobCount = jobCount.add(BigInteger.ONE);
-					if (jobCount.compareTo(factor) == 0) {
-						jobCount = BigInteger.ZERO;
-						monitor.worked(1);
-					}
+				try {
+					new MemorySearch(request, collector).run(monitor);
+				} catch (CoreException e) {
+					MemorySearchPlugin.logError(Messages.getString("FindReplaceDialog.MemorySearchFailure"), e); //$NON-NLS-1$
+					return Status.CANCEL_STATUS;
 				}
 
 				if (monitor.isCanceled())
@@ -1214,7 +1025,7 @@ public class FindReplaceDialog extends SelectionDialog {
 	}
 
 	interface SearchPhrase {
-		boolean isMatch(MemoryByte[] bytes);
+		List<MemorySearchPattern> getPatterns();
 
 		int getByteLength();
 
@@ -1242,57 +1053,58 @@ public class FindReplaceDialog extends SelectionDialog {
 		}
 
 		@Override
-		public boolean isMatch(MemoryByte[] bytes) {
-			byte[] targetBytes = new byte[bytes.length];
-			for (int i = 0; i < bytes.length; i++)
-				targetBytes[i] = bytes[i].getValue();
-
-			String searchString = fPhrase;
-			String targetString = new String(targetBytes);
-
-			if (fIsCaseInsensitive) {
-				searchString = searchString.toUpperCase();
-				targetString = targetString.toUpperCase();
-			}
-
-			return searchString.equals(targetString);
+		public List<MemorySearchPattern> getPatterns() {
+			return Collections
+					.singletonList(MemorySearchPattern.text(fPhrase, Charset.defaultCharset(), fIsCaseInsensitive));
 		}
 	}
 
+	/**
+	 * A sequence of bytes, "?" matches any byte.  Alternative sequences are
+	 * separated by "|".
+	 */
 	class ByteSequenceSearchPhrase implements SearchPhrase {
-		private byte[] fBytes = null;
+		private List<byte[]> fBytes = new ArrayList<>();
+		private List<byte[]> fMasks = new ArrayList<>();
+		private String fPhrase;
 
 		public ByteSequenceSearchPhrase(String phrase) {
-			fBytes = parseByteSequence(phrase);
+			fPhrase = phrase;
+			StringTokenizer st = new StringTokenizer(phrase, "|"); //$NON-NLS-1$
+			while (st.hasMoreTokens()) {
+				String sequence = st.nextToken();
+				byte[] bytes = parseByteSequence(sequence);
+				if (bytes == null || bytes.length == 0) {
+					fBytes.clear();
+					fMasks.clear();
+					return;
+				}
+				fBytes.add(bytes);
+				fMasks.add(parseByteSequenceMask(sequence));
+			}
 		}
 
 		@Override
 		public int getByteLength() {
-			if (fBytes != null) {
-				return fBytes.length;
-			} else {
-				return 0;
+			int length = 0;
+			for (byte[] bytes : fBytes) {
+				if (length == 0 || bytes.length < length)
+					length = bytes.length;
 			}
+			return length;
 		}
 
 		@Override
 		public String toString() {
-			if (fBytes == null)
-				return ""; //$NON-NLS-1$
-			StringBuilder buf = new StringBuilder();
-			for (int i = 0; i < fBytes.length; i++)
-				buf.append(BigInteger.valueOf(fBytes[i]).toString(16)).append(' ');
-			return buf.toString();
+			return fPhrase;
 		}
 
 		@Override
-		public boolean isMatch(MemoryByte[] bytes) {
-			if (fBytes == null)
-				return false;
-			for (int i = 0; i < bytes.length; i++)
-				if (bytes[i].getValue() != fBytes[i])
-					return false;
-			return true;
+		public List<MemorySearchPattern> getPatterns() {
+			List<MemorySearchPattern> patterns = new ArrayList<>();
+			for (int i = 0; i < fBytes.size(); i++)
+				patterns.add(MemorySearchPattern.masked(fBytes.get(i), fMasks.get(i)));
+			return patterns;
 		}
 	}
 
@@ -1316,21 +1128,9 @@ public class FindReplaceDialog extends SelectionDialog {
 		}
 
 		@Override
-		public boolean isMatch(MemoryByte[] bytes) {
-			byte[] targetBytes = new byte[bytes.length + 1];
-			targetBytes[0] = 0;
-			for (int i = 0; i < bytes.length; i++) {
-				if (bytes[i].isEndianessKnown() && !bytes[i].isBigEndian()) {
-					// swap the bytes when matching an integer on little-endian targets
-					targetBytes[i + 1] = bytes[bytes.length - i - 1].getValue();
-				} else {
-					targetBytes[i + 1] = bytes[i].getValue();
-				}
-			}
-
-			BigInteger targetBigInteger = new BigInteger(targetBytes);
-
-			return fPhrase.equals(targetBigInteger);
+		public List<MemorySearchPattern> getPatterns() {
+			// matched in the byte order of the target
+			return Collections.singletonList(MemorySearchPattern.integer(removeZeroPrefixByte(fPhrase.toByteArray())));
 		}
 	}
 
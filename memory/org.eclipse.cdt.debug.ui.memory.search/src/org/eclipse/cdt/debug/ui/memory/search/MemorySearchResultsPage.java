@@ -16,6 +16,7 @@ package org.eclipse.cdt.debug.ui.memory.search;
 
 import java.lang.reflect.Method;
 import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.cdt.debug.ui.memory.search.FindReplaceDialog.IMemorySearchQuery;
 import org.eclipse.debug.core.DebugException;
@@ -60,6 +61,8 @@ public class MemorySearchResultsPage extends Page implements ISearchResultPage,
 
 	private ISearchResultViewPart fPart;
 
+	private final AtomicBoolean fRefreshPending = new AtomicBoolean();
+
 	@Override
 	public void queryAdded(ISearchQuery query) {
 	}
@@ -114,7 +117,14 @@ public class MemorySearchResultsPage extends Page implements ISearchResultPage,
 			result.addListener(new ISearchResultListener() {
 				@Override
 				public void searchResultChanged(SearchResultEvent e) {
-					Display.getDefault().asyncExec(() -> fTreeViewer.refresh());
+					// the matches are streamed while the search runs, refresh once for all the matches added meanwhile
+					if (fRefreshPending.compareAndSet(false, true)) {
+						Display.getDefault().asyncExec(() -> {
+							fRefreshPending.set(false);
+							if (!fTreeViewer.getControl().isDisposed())
+								fTreeViewer.refresh();
+						});
+					}
 				}
 			});
 		}
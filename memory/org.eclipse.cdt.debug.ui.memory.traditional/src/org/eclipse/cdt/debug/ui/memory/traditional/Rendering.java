@@ -30,6 +30,7 @@ import java.util.Set;
 import java.util.Vector;
 
 import org.eclipse.cdt.debug.core.model.IMemoryBlockAddressInfoRetrieval.IMemoryBlockAddressInfoItem;
+import org.eclipse.cdt.debug.core.model.provisional.MemoryPageStore;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.DebugEvent;
@@ -493,6 +494,14 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 		fViewportCache.setHistoryDepth(depth);
 	}
 
+	protected int getPrefetchPages() {
+		return fViewportCache.getPrefetchPages();
+	}
+
+	protected void setPrefetchPages(int pages) {
+		fViewportCache.setPrefetchPages(pages);
+	}
+
 	public void logError(String message, Exception e) {
 		Status status = new Status(IStatus.ERROR, fParent.getRenderingId(), DebugException.INTERNAL_ERROR, message, e);
 
@@ -616,6 +625,15 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 		return getViewportCache().getBytes(address, bytes);
 	}
 
+	// number of addressable units in a page of the viewport cache
+	private static final int PAGE_UNITS = 1024;
+
+	// maximum number of pages held by the viewport cache
+	private static final int MAX_PAGES = 256;
+
+	// maximum number of pages read ahead on each side of the viewport
+	private static final int MAX_PREFETCH_PAGES = 16;
+
 	// default visibility for performance
 	ViewportCache fViewportCache = new ViewportCache();
 
@@ -653,28 +671,14 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 
 		}
 
-		class MemoryUnit {
-			BigInteger start;
-
-			BigInteger end;
-
-			TraditionalMemoryByte[] bytes;
-
-			@Override
-			public MemoryUnit clone() {
-				MemoryUnit b = new MemoryUnit();
-
-				b.start = this.start;
-				b.end = this.end;
-				b.bytes = new TraditionalMemoryByte[this.bytes.length];
-				for (int i = 0; i < this.bytes.length; i++)
-					b.bytes[i] = new TraditionalMemoryByte(this.bytes[i].getValue());
+		class Prefetch implements Request {
+			BigInteger startAddress;
 
-				return b;
-			}
+			BigInteger endAddress;
 
-			public boolean isValid() {
-				return this.start != null && this.end != null && this.bytes != null;
+			public Prefetch(BigInteger start, BigInteger end) {
+				startAddress = start;
+				endAddress = end;
 			}
 		}
 
@@ -686,9 +690,23 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 
 		private Vector<Object> fQueue = new Vector<>();
 
-		protected MemoryUnit fCache = null;
+		// the memory read so far, created once the addressable size is known
+		private MemoryPageStore fStore = null;
 
-		protected MemoryUnit fHistoryCache[] = new MemoryUnit[0];
+		// the neighbouring pages to read once the viewport is cached
+		private Prefetch fPrefetch = null;
+
+		// the number of pages read ahead on each side of the viewport
+		private volatile int fPrefetchPages = 1;
+
+		// the last viewport requested, and the generation of the store it was requested for
+		private AddressPair fRequestedViewport = null;
+		private int fRequestedGeneration = 0;
+
+		// buffers reused by getBytes() for all the cells of the viewport
+		private byte fValues[] = new byte[0];
+		private byte fFlags[] = new byte[0];
+		private int fChanges[] = new int[0];
 
 		protected int fHistoryDepth = 0;
 
@@ -710,7 +728,26 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 
 		public void setHistoryDepth(int depth) {
 			fHistoryDepth = depth;
-			fHistoryCache = new MemoryUnit[fHistoryDepth];
+			synchronized (this) {
+				if (fStore != null)
+					fStore.setHistoryDepth(depth);
+			}
+		}
+
+		public int getPrefetchPages() {
+			return fPrefetchPages;
+		}
+
+		public void setPrefetchPages(int pages) {
+			fPrefetchPages = Math.max(0, Math.min(pages, MAX_PREFETCH_PAGES));
+		}
+
+		private synchronized MemoryPageStore getStore() {
+			if (fStore == null) {
+				fStore = new MemoryPageStore(getAddressableSize(), PAGE_UNITS, MAX_PAGES);
+				fStore.setHistoryDepth(fHistoryDepth);
+			}
+			return fStore;
 		}
 
 		@Override
@@ -718,8 +755,10 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 			assert Thread.currentThread().equals(Display.getDefault().getThread())
 					: TraditionalRenderingMessages.getString("TraditionalRendering.CALLED_ON_NON_DISPATCH_THREAD"); //$NON-NLS-1$
 
-			if (fCache != null) {
-				queueRequest(fViewportAddress, getViewportEndAddress());
+			if (!getStore().isEmpty()) {
+				// keep painting the old values until the new ones are read
+				getStore().invalidate();
+				requestViewport();
 			}
 		}
 
@@ -728,14 +767,21 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 			assert Thread.currentThread().equals(Display.getDefault().getThread())
 					: TraditionalRenderingMessages.getString("TraditionalRendering.CALLED_ON_NON_DISPATCH_THREAD"); //$NON-NLS-1$
 
-			if (fCache != null) {
+			if (!getStore().isEmpty()) {
 				queueRequestArchiveDeltas();
 			}
 		}
 
-		private void queueRequest(BigInteger startAddress, BigInteger endAddress) {
-			AddressPair pair = new AddressPair(startAddress, endAddress);
-			queue(pair);
+		// request the viewport once for each viewport and generation of the store, rather than
+		// for each painted cell which is missing or stale
+		private void requestViewport() {
+			AddressPair viewport = new AddressPair(fViewportAddress, getViewportEndAddress());
+			int generation = getStore().getGeneration();
+			if (!viewport.equals(fRequestedViewport) || generation != fRequestedGeneration) {
+				fRequestedViewport = viewport;
+				fRequestedGeneration = generation;
+				queue(viewport);
+			}
 		}
 
 		private void queueRequestArchiveDeltas() {
@@ -775,118 +821,52 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 					}
 				}
 				if (archiveDeltas) {
-					for (int i = fViewportCache.getHistoryDepth() - 1; i > 0; i--)
-						fHistoryCache[i] = fHistoryCache[i - 1];
-
-					fHistoryCache[0] = fCache.clone();
+					getStore().archive();
 				} else if (pair != null) {
 					populateCache(pair.startAddress, pair.endAddress);
 				} else {
+					Prefetch prefetch = null;
 					synchronized (fQueue) {
 						try {
 							if (fQueue.isEmpty()) {
-								fQueue.wait();
+								if (fPrefetch != null) {
+									prefetch = fPrefetch;
+									fPrefetch = null;
+								} else {
+									fQueue.wait();
+								}
 							}
 						} catch (Exception e) {
 							// do nothing
 						}
 					}
+					// the viewport has priority, neighbouring pages are read only when idle
+					if (prefetch != null) {
+						prefetchCache(prefetch.startAddress, prefetch.endAddress);
+					}
 				}
 			}
 		}
 
-		// cache memory necessary to paint viewport
-		// TODO: user setting to buffer +/- x lines
-		// TODO: reuse existing cache? probably only a minor performance gain
+		// cache memory necessary to paint viewport, then prefetch the neighbouring pages
 		private void populateCache(final BigInteger startAddress, final BigInteger endAddress) {
 			try {
-				IMemoryBlockExtension memoryBlock = getMemoryBlock();
-
-				final BigInteger addressableSize = BigInteger.valueOf(getAddressableSize());
-				BigInteger lengthInBytes = endAddress.subtract(startAddress).multiply(addressableSize);
-
-				long units = lengthInBytes.divide(addressableSize)
-						.add(lengthInBytes.mod(addressableSize).compareTo(BigInteger.ZERO) > 0 ? BigInteger.ONE
-								: BigInteger.ZERO)
-						.longValue();
-
-				// CDT (and maybe other backends) will call setValue() on these MemoryBlock objects.
-				// We don't want this to happen, because it interferes with this rendering's own
-				// change history. Ideally, we should strictly use the back end change notification
-				// and history, but it is only guaranteed to work for bytes within the address range
-				// of the MemoryBlock.
-				MemoryByte readBytes[] = memoryBlock.getBytesFromAddress(startAddress, units);
-
-				TraditionalMemoryByte cachedBytes[] = new TraditionalMemoryByte[readBytes.length];
-				for (int i = 0; i < readBytes.length; i++)
-					cachedBytes[i] = new TraditionalMemoryByte(readBytes[i].getValue(), readBytes[i].getFlags());
-
-				// derive the target endian from the read MemoryBytes.
-				if (cachedBytes.length > 0) {
-					if (cachedBytes[0].isEndianessKnown()) {
-						setTargetLittleEndian(!cachedBytes[0].isBigEndian());
-					}
-				}
-
-				// reorder bytes within unit to be a sequential byte stream if the endian is already little
-				if (isTargetLittleEndian()) {
-					// there isn't an order when the unit size is one, so skip for performance
-					if (addressableSize.compareTo(BigInteger.ONE) != 0) {
-						int unitSize = addressableSize.intValue();
-						TraditionalMemoryByte cachedBytesAsByteSequence[] = new TraditionalMemoryByte[cachedBytes.length];
-						for (int unit = 0; unit < units; unit++) {
-							for (int unitbyte = 0; unitbyte < unitSize; unitbyte++) {
-								cachedBytesAsByteSequence[unit * unitSize + unitbyte] = cachedBytes[unit * unitSize
-										+ unitSize - unitbyte - 1];
-							}
-						}
-						cachedBytes = cachedBytesAsByteSequence;
+				MemoryPageStore store = getStore();
+				readPages(store, store.getPagesToRead(startAddress, endAddress));
+
+				int prefetchPages = fPrefetchPages;
+				if (prefetchPages > 0) {
+					BigInteger prefetchUnits = BigInteger.valueOf((long) store.getPageUnits() * prefetchPages);
+					BigInteger prefetchStart = store.getPageAddress(startAddress).subtract(prefetchUnits)
+							.max(store.getPageAddress(getMemoryBlockStartAddress()));
+					BigInteger prefetchEnd = endAddress.add(prefetchUnits)
+							.min(getMemoryBlockEndAddress().add(BigInteger.ONE));
+					synchronized (fQueue) {
+						fPrefetch = new Prefetch(prefetchStart, prefetchEnd);
 					}
 				}
 
-				final TraditionalMemoryByte[] cachedBytesFinal = cachedBytes;
-
-				fCache = new MemoryUnit();
-				fCache.start = startAddress;
-				fCache.end = endAddress;
-				fCache.bytes = cachedBytesFinal;
-
-				Display.getDefault().asyncExec(() -> {
-					// generate deltas
-					for (int historyIndex = 0; historyIndex < getHistoryDepth(); historyIndex++) {
-						if (fHistoryCache[historyIndex] != null && fHistoryCache[historyIndex].isValid()) {
-							BigInteger maxStart = startAddress.max(fHistoryCache[historyIndex].start);
-							BigInteger minEnd = endAddress.min(fHistoryCache[historyIndex].end)
-									.subtract(BigInteger.valueOf(1));
-
-							BigInteger overlapLength = minEnd.subtract(maxStart).multiply(addressableSize);
-							if (overlapLength.compareTo(BigInteger.valueOf(0)) > 0) {
-								// there is overlap
-
-								int offsetIntoOld = (maxStart.subtract(fHistoryCache[historyIndex].start)
-										.multiply(addressableSize)).intValue();
-								int offsetIntoNew = maxStart.subtract(startAddress).multiply(addressableSize)
-										.intValue();
-
-								for (int i = overlapLength.intValue(); i >= 0; i--) {
-									cachedBytesFinal[offsetIntoNew + i].setChanged(historyIndex,
-											cachedBytesFinal[offsetIntoNew + i]
-													.getValue() != fHistoryCache[historyIndex].bytes[offsetIntoOld + i]
-															.getValue());
-								}
-							}
-						}
-					}
-
-					// If the history does not exist, populate the history with the just populated cache. This solves the
-					// use case of 1) connect to target; 2) edit memory before the first suspend debug event; 3) paint
-					// differences in changed color.
-					if (fHistoryCache[0] == null)
-						fHistoryCache[0] = fCache.clone();
-
-					Rendering.this.redrawPanes();
-				});
-
+				Display.getDefault().asyncExec(() -> Rendering.this.redrawPanes());
 			} catch (Exception e) {
 				// User can scroll to any memory, whether it's valid on the
 				// target or not. Doesn't make much sense to fill up the Eclipse
@@ -897,6 +877,75 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 			}
 		}
 
+		private void prefetchCache(BigInteger startAddress, BigInteger endAddress) {
+			try {
+				MemoryPageStore store = getStore();
+				readPages(store, store.getPagesToRead(startAddress, endAddress));
+			} catch (Exception e) {
+				// the pages will be read again when they are scrolled to
+			}
+		}
+
+		// read the given pages, with one request for each run of consecutive pages
+		private void readPages(MemoryPageStore store, List<BigInteger> pages) throws DebugException {
+			int generation = store.getGeneration();
+			BigInteger pageUnits = BigInteger.valueOf(store.getPageUnits());
+			int first = 0;
+			while (first < pages.size()) {
+				int count = 1;
+				while (first + count < pages.size()
+						&& pages.get(first + count).equals(pages.get(first + count - 1).add(pageUnits)))
+					count++;
+				readPages(store, pages.get(first), count, generation);
+				first += count;
+			}
+		}
+
+		private void readPages(MemoryPageStore store, BigInteger startAddress, int pageCount, int generation)
+				throws DebugException {
+			IMemoryBlockExtension memoryBlock = getMemoryBlock();
+			int unitSize = store.getUnitSize();
+			int pageSize = store.getPageSize();
+
+			// CDT (and maybe other backends) will call setValue() on these MemoryBlock objects.
+			// We don't want this to happen, because it interferes with this rendering's own
+			// change history. Ideally, we should strictly use the back end change notification
+			// and history, but it is only guaranteed to work for bytes within the address range
+			// of the MemoryBlock.
+			MemoryByte readBytes[] = memoryBlock.getBytesFromAddress(startAddress,
+					(long) store.getPageUnits() * pageCount);
+
+			// derive the target endian from the read MemoryBytes.
+			if (readBytes.length > 0) {
+				if (readBytes[0].isEndianessKnown()) {
+					setTargetLittleEndian(!readBytes[0].isBigEndian());
+				}
+			}
+
+			// reorder bytes within unit to be a sequential byte stream if the endian is already little
+			// there isn't an order when the unit size is one, so skip for performance
+			boolean reorder = isTargetLittleEndian() && unitSize != 1;
+
+			for (int page = 0; page < pageCount; page++) {
+				// bytes missing from the result are left unreadable
+				byte values[] = new byte[pageSize];
+				byte flags[] = new byte[pageSize];
+				for (int i = 0; i < pageSize; i++) {
+					int index = page * pageSize + i;
+					if (reorder) {
+						int unitbyte = i % unitSize;
+						index = index - unitbyte + unitSize - unitbyte - 1;
+					}
+					if (index < readBytes.length) {
+						values[i] = readBytes[index].getValue();
+						flags[i] = readBytes[index].getFlags();
+					}
+				}
+				store.putPage(startAddress.add(BigInteger.valueOf((long) page * store.getPageUnits())), values,
+						flags, generation);
+			}
+		}
+
 		// bytes will be fetched from cache
 		@Override
 		public TraditionalMemoryByte[] getBytes(BigInteger address, int bytesRequested) throws DebugException {
@@ -910,22 +959,25 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 			if (containsEditedCell(address)) // cell size cannot be switched during an edit
 				return getEditedMemory(address);
 
-			boolean contains = false;
-			if (fCache != null && fCache.start != null) {
-				// see if all of the data requested is in the cache
-				BigInteger dataEnd = address.add(BigInteger.valueOf(units));
-
-				if (fCache.start.compareTo(address) <= 0 && fCache.end.compareTo(dataEnd) >= 0
-						&& fCache.bytes.length > 0)
-					contains = true;
+			// create objects only for the bytes being painted
+			int length = units * getAddressableSize();
+			if (fValues.length < length) {
+				fValues = new byte[length];
+				fFlags = new byte[length];
+				fChanges = new int[length];
 			}
+			if (getStore().read(address, length, fValues, fFlags, fChanges)) {
+				// paint the stale values until the new ones are read
+				if (getStore().isStale(address, length))
+					requestViewport();
 
-			if (contains) {
-				int offset = address.subtract(fCache.start).multiply(BigInteger.valueOf(getAddressableSize()))
-						.intValue();
+				int historyDepth = getHistoryDepth();
 				TraditionalMemoryByte bytes[] = new TraditionalMemoryByte[bytesRequested];
 				for (int i = 0; i < bytes.length; i++) {
-					bytes[i] = fCache.bytes[offset + i];
+					bytes[i] = new TraditionalMemoryByte(fValues[i], fFlags[i]);
+					for (int historyIndex = 0; historyIndex < historyDepth; historyIndex++) {
+						bytes[i].setChanged(historyIndex, (fChanges[i] & (1 << historyIndex)) != 0);
+					}
 				}
 
 				return bytes;
@@ -937,7 +989,7 @@ public class Rendering extends Composite implements IDebugEventSetListener {
 				bytes[i].setReadable(false);
 			}
 
-			fViewportCache.queueRequest(fViewportAddress, getViewportEndAddress());
+			requestViewport();
 
 			return bytes;
 		}
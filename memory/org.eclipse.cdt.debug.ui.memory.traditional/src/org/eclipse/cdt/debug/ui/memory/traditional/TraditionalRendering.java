@@ -558,6 +558,7 @@ public class TraditionalRendering extends AbstractMemoryRendering implements IRe
 			IPreferenceStore store = TraditionalRenderingPlugin.getDefault().getPreferenceStore();
 
 			fRendering.setHistoryDepth(store.getInt(TraditionalRenderingPreferenceConstants.MEM_HISTORY_TRAILS_COUNT));
+			fRendering.setPrefetchPages(store.getInt(TraditionalRenderingPreferenceConstants.MEM_PREFETCH_PAGES));
 
 			fRendering.setBackground(getColorBackground());
 
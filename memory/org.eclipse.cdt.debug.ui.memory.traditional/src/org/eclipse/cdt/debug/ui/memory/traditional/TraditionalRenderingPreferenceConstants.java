@@ -68,4 +68,11 @@ public class TraditionalRenderingPreferenceConstants {
 	 * @since 1.4
 	 */
 	public static final String MEM_CROSS_REFERENCE_INFO = "memCrossReferenceInfo"; //$NON-NLS-1$
+
+	/**
+	 * The number of pages of memory read ahead on each side of the viewport.
+	 *
+	 * @since 1.8
+	 */
+	public static final String MEM_PREFETCH_PAGES = "memoryPrefetchPages"; //$NON-NLS-1$
 }
@@ -74,6 +74,8 @@ public class TraditionalRenderingPreferenceInitializer extends AbstractPreferenc
 		store.setDefault(TraditionalRenderingPreferenceConstants.MEM_HISTORY_TRAILS_COUNT, "1"); //$NON-NLS-1$
 
 		store.setDefault(TraditionalRenderingPreferenceConstants.MEM_CROSS_REFERENCE_INFO, true);
+
+		store.setDefault(TraditionalRenderingPreferenceConstants.MEM_PREFETCH_PAGES, 1);
 	}
 
 	private String toColorString(Color color) {
@@ -129,6 +129,10 @@ public class TraditionalRenderingPreferencePage extends FieldEditorPreferencePag
 				TraditionalRenderingMessages.getString("TraditionalRenderingPreferencePage_HistoryTrailLevels"), //$NON-NLS-1$
 				getFieldEditorParent(), 1, 10, 1, 1));
 
+		addField(new ScaleFieldEditor(TraditionalRenderingPreferenceConstants.MEM_PREFETCH_PAGES,
+				TraditionalRenderingMessages.getString("TraditionalRenderingPreferencePage_PrefetchPages"), //$NON-NLS-1$
+				getFieldEditorParent(), 0, 8, 1, 1));
+
 		addField(new BooleanFieldEditor(TraditionalRenderingPreferenceConstants.MEM_CROSS_REFERENCE_INFO,
 				TraditionalRenderingMessages.getString("TraditionalRenderingPreferencePage_ShowCrossRefInfo"), //$NON-NLS-1$
 				getFieldEditorParent()));
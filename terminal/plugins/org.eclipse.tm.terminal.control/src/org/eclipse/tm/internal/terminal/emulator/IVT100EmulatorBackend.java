@@ -125,6 +125,16 @@ public interface IVT100EmulatorBackend {
 	 */
 	void appendString(String buffer);
 
+	/**
+	 * Same as {@link #appendString(String)} for a run of characters in a
+	 * buffer, without copying them into a string.
+	 *
+	 * @param buffer the buffer holding the characters
+	 * @param start the index of the first character in the buffer
+	 * @param length the number of characters
+	 */
+	void appendChars(char[] buffer, int start, int length);
+
 	/**
 	 * Process a newline (Control-J) character. A newline (NL) character just
 	 * moves the cursor to the same column on the next line, creating new lines
@@ -32,6 +32,12 @@ public class VT100BackendTraceDecorator implements IVT100EmulatorBackend {
 		fBackend.appendString(buffer);
 	}
 
+	@Override
+	public void appendChars(char[] buffer, int start, int length) {
+		fWriter.println("appendChars(\"" + new String(buffer, start, length) + "\")"); //$NON-NLS-1$ //$NON-NLS-2$
+		fBackend.appendChars(buffer, start, length);
+	}
+
 	@Override
 	public void clearAll() {
 		fWriter.println("clearAll()"); //$NON-NLS-1$
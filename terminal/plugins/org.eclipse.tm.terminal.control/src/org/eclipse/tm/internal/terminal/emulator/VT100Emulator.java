@@ -343,7 +343,7 @@ public class VT100Emulator implements ControlListener {
 					break;
 
 				default:
-					processNonControlCharacters(character);
+					processNonControlCharacters();
 					break;
 				}
 				break;
@@ -1353,29 +1353,35 @@ public class VT100Emulator implements ControlListener {
 	 * This method processes a contiguous sequence of non-control characters.
 	 * This is a performance optimization, so that we don't have to insert or
 	 * append each non-control character individually to the StyledText widget.
-	 * A non-control character is any character that passes the condition in the
-	 * below while loop.
+	 * A non-control character is any character for which
+	 * {@link #isControlCharacter(char)} returns false.  The characters are
+	 * passed to the backend directly from the read buffer.
 	 * @throws IOException
 	 */
-	private void processNonControlCharacters(char character) throws IOException {
-		StringBuffer buffer = new StringBuffer();
-		buffer.append(character);
-		// Identify a contiguous sequence of non-control characters, starting at
-		// firstNonControlCharacterIndex in newText.
-		while (hasNextChar()) {
-			character = getNextChar();
-			if (character == '\u0000' || character == '\b' || character == '\t' || character == '\u0007'
-					|| character == '\n' || character == '\r' || character == '\u001b') {
-				pushBackChar(character);
-				break;
+	private void processNonControlCharacters() throws IOException {
+		// The first character of the sequence was just read from the buffer.
+		int start = fBufferPosition - 1;
+		while (true) {
+			// Identify a contiguous sequence of non-control characters in the
+			// buffer, and insert it in the text at the location of the cursor.
+			int end = fBufferPosition;
+			while (end < fBufferLength && !isControlCharacter(fBuffer[end])) {
+				end++;
 			}
-			buffer.append(character);
-		}
+			fBufferPosition = end;
+			if (end > start)
+				displayNewText(fBuffer, start, end - start);
 
-		// Now insert the sequence of non-control characters in the StyledText widget
-		// at the location of the cursor.
+			// Continue with the next buffer if the sequence reached its end
+			if (end < fBufferLength || !hasNextChar())
+				break;
+			start = fBufferPosition;
+		}
+	}
 
-		displayNewText(buffer.toString());
+	private static boolean isControlCharacter(char character) {
+		return character == '\u0000' || character == '\b' || character == '\t' || character == '\u0007'
+				|| character == '\n' || character == '\r' || character == '\u001b';
 	}
 
 	/**
@@ -1389,8 +1395,8 @@ public class VT100Emulator implements ControlListener {
 	 * returns, and tabs).
 	 * <p>
 	 */
-	private void displayNewText(String buffer) {
-		text.appendString(buffer);
+	private void displayNewText(char[] buffer, int start, int length) {
+		text.appendChars(buffer, start, length);
 	}
 
 	/**
@@ -1566,40 +1572,43 @@ public class VT100Emulator implements ControlListener {
 	//	}
 
 	/**
-	 * Buffer for {@link #pushBackChar(char)}.
+	 * The characters read from {@link #fReader}, so that sequences of text can
+	 * be displayed without reading the characters one at a time.
 	 */
-	private int fNextChar = -1;
+	private final char[] fBuffer = new char[8192];
+
+	/**
+	 * The index in {@link #fBuffer} of the next character returned by
+	 * {@link #getNextChar}.
+	 */
+	private int fBufferPosition;
+
+	/**
+	 * The number of characters in {@link #fBuffer}.
+	 */
+	private int fBufferLength;
 
 	private char getNextChar() throws IOException {
-		int c = -1;
-		if (fNextChar != -1) {
-			c = fNextChar;
-			fNextChar = -1;
-		} else {
-			c = fReader.read();
-		}
-		// TODO: better end of file handling
-		if (c == -1)
-			c = 0;
-		return (char) c;
+		if (fBufferPosition == fBufferLength && !fillBuffer())
+			// TODO: better end of file handling
+			return 0;
+		return fBuffer[fBufferPosition++];
 	}
 
 	private boolean hasNextChar() throws IOException {
-		if (fNextChar < 0 && fReader.ready()) {
-			fNextChar = fReader.read();
-		}
-		return fNextChar >= 0;
+		return fBufferPosition < fBufferLength || (fReader.ready() && fillBuffer());
 	}
 
 	/**
-	 * Put back one character to the stream. This method can push
-	 * back exactly one character. The character is the next character
-	 * returned by {@link #getNextChar}
-	 * @param c the character to be pushed back.
+	 * Reads the next characters from {@link #fReader}, blocking until some are
+	 * available.
+	 * @return false at the end of the stream
 	 */
-	void pushBackChar(char c) {
-		//assert fNextChar!=-1: "Already a character waiting:"+fNextChar; //$NON-NLS-1$
-		fNextChar = c;
+	private boolean fillBuffer() throws IOException {
+		int n = fReader.read(fBuffer, 0, fBuffer.length);
+		fBufferPosition = 0;
+		fBufferLength = Math.max(n, 0);
+		return n > 0;
 	}
 
 	private int getCursorColumn() {
@@ -304,17 +304,22 @@ public class VT100EmulatorBackend implements IVT100EmulatorBackend {
 
 	@Override
 	public void appendString(String buffer) {
+		appendChars(buffer.toCharArray(), 0, buffer.length());
+	}
+
+	@Override
+	public void appendChars(char[] chars, int start, int length) {
 		synchronized (fTerminal) {
-			char[] chars = buffer.toCharArray();
 			if (fInsertMode)
-				insertCharacters(chars.length);
+				insertCharacters(length);
 			int line = toAbsoluteLine(fCursorLine);
-			int i = 0;
-			while (i < chars.length) {
+			int i = start;
+			int end = start + length;
+			while (i < end) {
 				if (fWrapPending) {
 					line = doLineWrap();
 				}
-				int n = Math.min(fColumns - fCursorColumn, chars.length - i);
+				int n = Math.min(fColumns - fCursorColumn, end - i);
 				fTerminal.setChars(line, fCursorColumn, chars, i, n, fStyle);
 				int col = fCursorColumn + n;
 				i += n;
@@ -29,6 +29,12 @@ import org.eclipse.tm.terminal.model.TerminalStyle;
  *
  */
 public class TerminalTextData implements ITerminalTextData {
+	/**
+	 * The number of most recent lines kept on the heap, the older lines of
+	 * larger scrollback buffers are spilled to a file.
+	 */
+	private static final int RESIDENT_LINES = 10000;
+
 	final ITerminalTextData fData;
 	/**
 	 * A list of active snapshots
@@ -82,7 +88,7 @@ public class TerminalTextData implements ITerminalTextData {
 	}
 
 	public TerminalTextData() {
-		this(new TerminalTextDataFastScroll());
+		this(new TerminalTextDataRingStore(RESIDENT_LINES));
 
 		//		this(new TerminalTextDataStore());
 	}
@@ -0,0 +1,980 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.tm.internal.terminal.model;
+
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.tm.internal.terminal.provisional.api.Logger;
+import org.eclipse.tm.terminal.model.ITerminalTextData;
+import org.eclipse.tm.terminal.model.ITerminalTextDataSnapshot;
+import org.eclipse.tm.terminal.model.LineSegment;
+import org.eclipse.tm.terminal.model.TerminalStyle;
+
+/**
+ * A terminal text store for large scrollback buffers.
+ * <p>
+ * The lines are kept in a ring, so that scrolling the entire {@link #getHeight()}
+ * moves the start of the ring instead of the lines.  The characters of a line
+ * are kept in a <code>char[]</code>, and its styles as runs: pairs of the
+ * column where a run starts and the index of its style in a table of the
+ * styles used by the store.  The runs of a line on the heap are modified in
+ * place and keep some spare capacity, so that writing characters does not
+ * allocate.  Once the table holds many styles no longer used by any line, it
+ * is pruned as lines scroll or are spilled.
+ * <p>
+ * Optionally, the lines that scrolled out of the most recent lines are spilled
+ * to a memory mapped temporary file, so that the heap used by a scrollback of
+ * millions of lines does not depend on their content.  Spilled lines are read
+ * from the file, and brought back to the heap when they are modified.  The
+ * file is deleted when the store is {@link #close() closed} or garbage
+ * collected.
+ * <p>
+ * This class is not thread safe.
+ */
+public class TerminalTextDataRingStore implements ITerminalTextData {
+
+	/** The style index of lines and columns without a style */
+	private static final int NO_STYLE = 0;
+
+	/** The runs of a line without a style.  Shared, so it is copied before it is modified. */
+	private static final int[] NO_RUNS = { 0, NO_STYLE };
+
+	/** The number of runs a line can gain before its runs are reallocated */
+	private static final int SPARE_RUNS = 4;
+
+	/** The minimum size of the style table before it is pruned */
+	private static final int MIN_PRUNED_STYLES = 256;
+
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	/** The characters of the lines on the heap, by slot of the ring */
+	private char[][] fChars;
+
+	/** The style runs of the lines on the heap, by slot of the ring */
+	private int[][] fRuns;
+
+	/** The number of ints of {@link #fRuns} used by the lines on the heap, by slot of the ring */
+	private int[] fRunLengths;
+
+	/** The offset + 1 of the spilled lines in {@link #fSpillFile}, 0 for lines on the heap */
+	private long[] fSpilled;
+
+	/** The wrapped lines, by slot of the ring */
+	final private BitSet fWrappedLines = new BitSet();
+
+	/** The slot of line 0 */
+	private int fFirst;
+
+	private int fWidth;
+	private int fHeight;
+	private int fMaxHeight;
+	private int fCursorColumn;
+	private int fCursorLine;
+
+	private final List<TerminalStyle> fStyles = new ArrayList<>();
+	private final Map<TerminalStyle, Integer> fStyleIndexes = new HashMap<>();
+
+	/** The style last looked up in the table, and its index */
+	private TerminalStyle fLastStyle;
+	private int fLastStyleIndex;
+
+	/** The size the style table has to reach before it is pruned */
+	private int fPruneStyleCount = MIN_PRUNED_STYLES;
+
+	/** The number of most recent lines kept on the heap, 0 if lines are never spilled */
+	private int fResidentLines;
+	private SpillFile fSpillFile;
+	private Cleaner.Cleanable fCleanable;
+
+	/**
+	 * Creates a store keeping all its lines on the heap.
+	 */
+	public TerminalTextDataRingStore() {
+		this(0);
+	}
+
+	/**
+	 * @param residentLines the number of most recent lines kept on the heap,
+	 * the lines before them are spilled to a temporary file.  If 0, all the
+	 * lines are kept on the heap.
+	 */
+	public TerminalTextDataRingStore(int residentLines) {
+		assert residentLines >= 0 || throwRuntimeException();
+		fResidentLines = residentLines;
+		fChars = new char[0][];
+		fRuns = new int[0][];
+		fRunLengths = new int[0];
+		fSpilled = new long[0];
+		fStyles.add(null);
+	}
+
+	/**
+	 * This is used in asserts to throw an {@link RuntimeException}.
+	 * This is useful for tests.
+	 * @return never -- throws an exception
+	 */
+	private boolean throwRuntimeException() {
+		throw new RuntimeException();
+	}
+
+	/**
+	 * Deletes the file holding the spilled lines.  The store must not be used
+	 * afterwards.
+	 */
+	public void close() {
+		if (fCleanable != null) {
+			fCleanable.clean();
+		}
+		fResidentLines = 0;
+	}
+
+	/**
+	 * @return the number of lines currently spilled to the file
+	 */
+	public int getSpilledLineCount() {
+		int count = 0;
+		for (int i = 0; i < fHeight; i++) {
+			if (fSpilled[slot(i)] != 0)
+				count++;
+		}
+		return count;
+	}
+
+	/**
+	 * @param line
+	 * @return the slot of the line in the ring
+	 */
+	private int slot(int line) {
+		return (fFirst + line) % fChars.length;
+	}
+
+	/**
+	 * @return the number of styles in the style table, including the
+	 * <code>null</code> style
+	 */
+	public int getStyleCount() {
+		return fStyles.size();
+	}
+
+	private int styleIndex(TerminalStyle style) {
+		if (style == null)
+			return NO_STYLE;
+		// styles are flyweights, and mostly written several times in a row
+		if (style == fLastStyle)
+			return fLastStyleIndex;
+		Integer index = fStyleIndexes.get(style);
+		if (index == null) {
+			index = fStyles.size();
+			fStyles.add(style);
+			fStyleIndexes.put(style, index);
+		}
+		fLastStyle = style;
+		fLastStyleIndex = index;
+		return index;
+	}
+
+	/**
+	 * @param length the number of ints of runs used
+	 * @return the index in runs of the run containing the column
+	 */
+	private static int findRun(int[] runs, int length, int column) {
+		int low = 0;
+		int high = length / 2 - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (runs[2 * mid] <= column)
+				low = mid;
+			else
+				high = mid - 1;
+		}
+		return 2 * low;
+	}
+
+	private char[] chars(int slot) {
+		if (fSpilled[slot] != 0)
+			return fSpillFile.readChars(fSpilled[slot] - 1);
+		return fChars[slot];
+	}
+
+	private int[] runs(int slot) {
+		if (fSpilled[slot] != 0)
+			return fSpillFile.readRuns(fSpilled[slot] - 1);
+		return fRuns[slot];
+	}
+
+	/**
+	 * @param runs the runs of the slot, as returned by {@link #runs(int)}
+	 * @return the number of ints of the runs used by the line
+	 */
+	private int runLength(int slot, int[] runs) {
+		if (fSpilled[slot] != 0)
+			return runs.length;
+		return fRunLengths[slot];
+	}
+
+	@Override
+	public int getWidth() {
+		return fWidth;
+	}
+
+	@Override
+	public int getHeight() {
+		return fHeight;
+	}
+
+	@Override
+	public void setDimensions(int height, int width) {
+		assert height >= 0 || throwRuntimeException();
+		assert width >= 0 || throwRuntimeException();
+		if (height > fChars.length) {
+			int capacity = 4 * height / 3;
+			if (fMaxHeight > 0)
+				capacity = Math.min(capacity, Math.max(fMaxHeight, height));
+			resizeRing(Math.max(capacity, height));
+		}
+		// the slots of the lines beyond the height are always clean
+		for (int i = height; i < fHeight; i++) {
+			cleanLine(i);
+		}
+		int oldHeight = fHeight;
+		// set dimensions after successful resize!
+		fWidth = width;
+		fHeight = height;
+		spillLines(oldHeight - fResidentLines, height - fResidentLines);
+	}
+
+	/**
+	 * Reallocates the ring with a new capacity, moving line 0 to slot 0.
+	 */
+	private void resizeRing(int capacity) {
+		char[][] chars = new char[capacity][];
+		int[][] runs = new int[capacity][];
+		int[] runLengths = new int[capacity];
+		long[] spilled = new long[capacity];
+		BitSet wrappedLines = new BitSet();
+		for (int i = 0; i < fHeight; i++) {
+			int slot = slot(i);
+			chars[i] = fChars[slot];
+			runs[i] = fRuns[slot];
+			runLengths[i] = fRunLengths[slot];
+			spilled[i] = fSpilled[slot];
+			wrappedLines.set(i, fWrappedLines.get(slot));
+		}
+		fChars = chars;
+		fRuns = runs;
+		fRunLengths = runLengths;
+		fSpilled = spilled;
+		fWrappedLines.clear();
+		fWrappedLines.or(wrappedLines);
+		fFirst = 0;
+	}
+
+	@Override
+	public LineSegment[] getLineSegments(int line, int column, int len) {
+		assert (line >= 0 && line < fHeight) || throwRuntimeException();
+		int slot = slot(line);
+		char[] chars = chars(slot);
+		int[] runs = runs(slot);
+		int runLength = chars == null ? 0 : runLength(slot, runs);
+		int n = column + len;
+
+		char[] text = new char[len];
+		if (chars != null && column < chars.length)
+			System.arraycopy(chars, column, text, 0, Math.min(n, chars.length) - column);
+
+		// and create the line segments, merging adjacent runs of the same style
+		List<LineSegment> segments = new ArrayList<>();
+		int segmentStart = column;
+		int segmentStyle = -1;
+		int col = column;
+		while (col < n) {
+			int style;
+			int end;
+			if (chars == null || col >= chars.length) {
+				style = NO_STYLE;
+				end = n;
+			} else {
+				int run = findRun(runs, runLength, col);
+				style = runs[run + 1];
+				end = Math.min(run + 2 < runLength ? runs[run + 2] : chars.length, n);
+			}
+			if (style != segmentStyle) {
+				if (segmentStyle >= 0) {
+					segments.add(new LineSegment(segmentStart,
+							new String(text, segmentStart - column, col - segmentStart), fStyles.get(segmentStyle)));
+				}
+				segmentStart = col;
+				segmentStyle = style;
+			}
+			col = end;
+		}
+		if (segmentStart < n) {
+			segments.add(new LineSegment(segmentStart, new String(text, segmentStart - column, n - segmentStart),
+					fStyles.get(segmentStyle)));
+		}
+		return segments.toArray(new LineSegment[segments.size()]);
+	}
+
+	@Override
+	public char getChar(int line, int column) {
+		assert (line >= 0 && line < fHeight) || throwRuntimeException();
+		assert column < fWidth || throwRuntimeException();
+		int slot = slot(line);
+		if (fSpilled[slot] != 0)
+			return fSpillFile.readChar(fSpilled[slot] - 1, column);
+		char[] chars = fChars[slot];
+		if (chars == null || column >= chars.length)
+			return 0;
+		return chars[column];
+	}
+
+	@Override
+	public TerminalStyle getStyle(int line, int column) {
+		assert (line >= 0 && line < fHeight) || throwRuntimeException();
+		assert column < fWidth || throwRuntimeException();
+		int slot = slot(line);
+		char[] chars = chars(slot);
+		if (chars == null || column >= chars.length)
+			return null;
+		int[] runs = runs(slot);
+		return fStyles.get(runs[findRun(runs, runLength(slot, runs), column) + 1]);
+	}
+
+	/**
+	 * Makes sure the line is on the heap and holds at least length characters.
+	 */
+	private void ensureLineLength(int slot, int length) {
+		if (length > fWidth)
+			throw new RuntimeException();
+		if (fSpilled[slot] != 0)
+			unspill(slot);
+		if (fChars[slot] == null) {
+			fChars[slot] = new char[fWidth];
+			fRuns[slot] = NO_RUNS;
+			fRunLengths[slot] = NO_RUNS.length;
+		} else if (fChars[slot].length < length) {
+			int oldLength = fChars[slot].length;
+			fChars[slot] = Arrays.copyOf(fChars[slot], fWidth);
+			padRuns(slot, oldLength);
+		}
+	}
+
+	/**
+	 * Makes sure the columns a line on the heap gained after its old length
+	 * have no style.  The runs of a line cover its characters only, the
+	 * columns after them have no style.
+	 */
+	private void padRuns(int slot, int oldLength) {
+		int[] runs = fRuns[slot];
+		int length = fRunLengths[slot];
+		if (oldLength >= fChars[slot].length || runs[length - 1] == NO_STYLE)
+			return;
+		if (length + 2 > runs.length) {
+			runs = Arrays.copyOf(runs, length + 2 * SPARE_RUNS);
+			fRuns[slot] = runs;
+		}
+		runs[length] = oldLength;
+		runs[length + 1] = NO_STYLE;
+		fRunLengths[slot] = length + 2;
+	}
+
+	/**
+	 * Sets the style of the columns from (inclusive) to to (exclusive) of a
+	 * line on the heap.  The runs are modified in place, unless they are
+	 * shared or lack the capacity.
+	 */
+	private void setStyle(int slot, int from, int to, int style) {
+		if (from >= to)
+			return;
+		int[] runs = fRuns[slot];
+		int length = fRunLengths[slot];
+		int lineLength = fChars[slot].length;
+		int first = findRun(runs, length, from);
+		int firstEnd = first + 2 < length ? runs[first + 2] : lineLength;
+		if (runs[first + 1] == style && firstEnd >= to)
+			return;
+		// the runs from start (inclusive) to end (exclusive) are replaced by
+		// the new run and the run of the column following it
+		int start = runs[first] < from ? first + 2 : first;
+		int end = length;
+		int next = NO_STYLE;
+		if (to < lineLength) {
+			int last = findRun(runs, length, to);
+			next = runs[last + 1];
+			end = last + 2;
+		}
+		// adjacent runs of the same style are merged
+		boolean styleRun = start == 0 || runs[start - 1] != style;
+		boolean nextRun = to < lineLength && next != style;
+		int inserted = (styleRun ? 2 : 0) + (nextRun ? 2 : 0);
+		int newLength = start + inserted + length - end;
+		if (runs == NO_RUNS || newLength > runs.length) {
+			int[] result = new int[newLength + 2 * SPARE_RUNS];
+			System.arraycopy(runs, 0, result, 0, start);
+			System.arraycopy(runs, end, result, start + inserted, length - end);
+			runs = result;
+			fRuns[slot] = runs;
+		} else {
+			System.arraycopy(runs, end, runs, start + inserted, length - end);
+		}
+		int i = start;
+		if (styleRun) {
+			runs[i++] = from;
+			runs[i++] = style;
+		}
+		if (nextRun) {
+			runs[i++] = to;
+			runs[i++] = next;
+		}
+		fRunLengths[slot] = newLength;
+	}
+
+	private static int appendRun(int[] runs, int n, int start, int style) {
+		if (n > 0 && runs[n - 1] == style)
+			return n;
+		runs[n] = start;
+		runs[n + 1] = style;
+		return n + 2;
+	}
+
+	@Override
+	public void setChar(int line, int column, char c, TerminalStyle style) {
+		assert (line >= 0 && line < fHeight) || throwRuntimeException();
+		int slot = slot(line);
+		ensureLineLength(slot, column + 1);
+		fChars[slot][column] = c;
+		setStyle(slot, column, column + 1, styleIndex(style));
+	}
+
+	@Override
+	public void setChars(int line, int column, char[] chars, TerminalStyle style) {
+		setChars(line, column, chars, 0, chars.length, style);
+	}
+
+	@Override
+	public void setChars(int line, int column, char[] chars, int start, int len, TerminalStyle style) {
+		assert (line >= 0 && line < fHeight) || throwRuntimeException();
+		int slot = slot(line);
+		ensureLineLength(slot, column + len);
+		System.arraycopy(chars, start, fChars[slot], column, len);
+		setStyle(slot, column, column + len, styleIndex(style));
+	}
+
+	@Override
+	public void scroll(int startLine, int size, int shift) {
+		assert (startLine >= 0 && startLine + size <= fHeight) || throwRuntimeException();
+		if (size == fHeight && size > 0 && Math.abs(shift) < size) {
+			// This is the case this class is optimized for: move the ring.
+			// The slots of the opened lines are clean, they were beyond the height.
+			if (shift < 0) {
+				cleanLines(0, -shift);
+				fFirst = (fFirst - shift) % fChars.length;
+				spillLines(fHeight - fResidentLines + shift, fHeight - fResidentLines);
+			} else {
+				cleanLines(size - shift, shift);
+				fFirst = (fFirst - shift + fChars.length) % fChars.length;
+			}
+		} else if (shift < 0) {
+			// move the region up
+			// shift is negative!!
+			for (int i = startLine; i < startLine + size + shift; i++) {
+				moveLine(i - shift, i);
+			}
+			// then clean the opened lines
+			cleanLines(Math.max(startLine, startLine + size + shift), Math.min(-shift, getHeight() - startLine));
+		} else {
+			for (int i = startLine + size - 1; i - shift >= startLine; i--) {
+				moveLine(i - shift, i);
+			}
+			cleanLines(startLine, Math.min(shift, getHeight() - startLine));
+		}
+	}
+
+	/**
+	 * Moves a line, leaving the source line clean.
+	 */
+	private void moveLine(int sourceLine, int destLine) {
+		if (sourceLine == destLine)
+			return;
+		int source = slot(sourceLine);
+		int dest = slot(destLine);
+		cleanLine(destLine);
+		fChars[dest] = fChars[source];
+		fRuns[dest] = fRuns[source];
+		fRunLengths[dest] = fRunLengths[source];
+		fSpilled[dest] = fSpilled[source];
+		fWrappedLines.set(dest, fWrappedLines.get(source));
+		fChars[source] = null;
+		fRuns[source] = null;
+		fSpilled[source] = 0;
+		fWrappedLines.clear(source);
+	}
+
+	/**
+	 * Replaces the lines with new empty data
+	 * @param line
+	 * @param len
+	 */
+	private void cleanLines(int line, int len) {
+		for (int i = line; i < line + len; i++) {
+			cleanLine(i);
+		}
+	}
+
+	/**
+	 * Spills the lines from (inclusive) to to (exclusive) to the file.
+	 */
+	private void spillLines(int from, int to) {
+		if (fStyles.size() >= fPruneStyleCount)
+			pruneStyles();
+		if (fResidentLines == 0)
+			return;
+		for (int i = Math.max(from, 0); i < Math.min(to, fHeight); i++) {
+			int slot = slot(i);
+			if (fChars[slot] != null && !spill(slot))
+				return;
+		}
+	}
+
+	/**
+	 * Removes the styles no longer used by any line from the style table, and
+	 * renumbers the styles of the runs of the lines on the heap and in the
+	 * file.
+	 */
+	private void pruneStyles() {
+		BitSet used = new BitSet(fStyles.size());
+		used.set(NO_STYLE);
+		for (int i = 0; i < fHeight; i++) {
+			int slot = slot(i);
+			if (fSpilled[slot] != 0) {
+				fSpillFile.markStyles(fSpilled[slot] - 1, used);
+			} else if (fRuns[slot] != null) {
+				for (int j = 1; j < fRunLengths[slot]; j += 2)
+					used.set(fRuns[slot][j]);
+			}
+		}
+		int[] indexes = new int[fStyles.size()];
+		List<TerminalStyle> styles = new ArrayList<>(used.cardinality());
+		fStyleIndexes.clear();
+		for (int i = used.nextSetBit(0); i >= 0; i = used.nextSetBit(i + 1)) {
+			TerminalStyle style = fStyles.get(i);
+			indexes[i] = styles.size();
+			if (style != null)
+				fStyleIndexes.put(style, indexes[i]);
+			styles.add(style);
+		}
+		for (int i = 0; i < fHeight; i++) {
+			int slot = slot(i);
+			if (fSpilled[slot] != 0) {
+				fSpillFile.renumberStyles(fSpilled[slot] - 1, indexes);
+			} else if (fRuns[slot] != null && fRuns[slot] != NO_RUNS) {
+				for (int j = 1; j < fRunLengths[slot]; j += 2)
+					fRuns[slot][j] = indexes[fRuns[slot][j]];
+			}
+		}
+		fStyles.clear();
+		fStyles.addAll(styles);
+		fLastStyle = null;
+		fPruneStyleCount = Math.max(MIN_PRUNED_STYLES, 2 * fStyles.size());
+	}
+
+	/**
+	 * @return false if the line could not be spilled
+	 */
+	private boolean spill(int slot) {
+		char[] chars = fChars[slot];
+		int[] runs = fRuns[slot];
+		// trailing null characters without a style need not be stored
+		int length = chars.length;
+		int lastRun = fRunLengths[slot] - 2;
+		if (runs[lastRun + 1] == NO_STYLE) {
+			while (length > runs[lastRun] && chars[length - 1] == 0)
+				length--;
+		}
+		int runCount = fRunLengths[slot];
+		while (runCount > 2 && runs[runCount - 2] >= length)
+			runCount -= 2;
+		try {
+			if (fSpillFile == null) {
+				fSpillFile = new SpillFile();
+				fCleanable = CLEANER.register(this, fSpillFile);
+			}
+			long offset = fSpillFile.write(chars, length, runs, runCount);
+			if (offset < 0)
+				return true;
+			fSpilled[slot] = offset + 1;
+			fChars[slot] = null;
+			fRuns[slot] = null;
+			return true;
+		} catch (IOException e) {
+			// keep the lines on the heap
+			Logger.logException(e);
+			fResidentLines = 0;
+			return false;
+		}
+	}
+
+	/**
+	 * Brings a spilled line back to the heap.
+	 */
+	private void unspill(int slot) {
+		long offset = fSpilled[slot] - 1;
+		char[] chars = fSpillFile.readChars(offset);
+		fChars[slot] = chars.length < fWidth ? Arrays.copyOf(chars, fWidth) : chars;
+		fRuns[slot] = fSpillFile.readRuns(offset);
+		fRunLengths[slot] = fRuns[slot].length;
+		padRuns(slot, chars.length);
+		fSpillFile.release(offset);
+		fSpilled[slot] = 0;
+	}
+
+	/*
+	 * @return a text representation of the object.
+	 * Lines are separated by '\n'. No style information is returned.
+	 */
+	@Override
+	public String toString() {
+		StringBuffer buff = new StringBuffer();
+		for (int line = 0; line < getHeight(); line++) {
+			if (line > 0)
+				buff.append("\n"); //$NON-NLS-1$
+			for (int column = 0; column < fWidth; column++) {
+				buff.append(getChar(line, column));
+			}
+		}
+		return buff.toString();
+	}
+
+	@Override
+	public ITerminalTextDataSnapshot makeSnapshot() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void addLine() {
+		if (fMaxHeight > 0 && getHeight() < fMaxHeight) {
+			setDimensions(getHeight() + 1, getWidth());
+		} else {
+			scroll(0, getHeight(), -1);
+		}
+	}
+
+	@Override
+	public void copy(ITerminalTextData source) {
+		int n = source.getHeight();
+		cleanLines(0, fHeight);
+		if (fChars.length < n)
+			resizeRing(n);
+		fFirst = 0;
+		fWidth = source.getWidth();
+		fHeight = n;
+		for (int i = 0; i < n; i++) {
+			copyLine(source, i, i);
+		}
+		fCursorLine = source.getCursorLine();
+		fCursorColumn = source.getCursorColumn();
+		spillLines(0, n - fResidentLines);
+	}
+
+	@Override
+	public void copyRange(ITerminalTextData source, int sourceStartLine, int destStartLine, int length) {
+		assert (destStartLine >= 0 && destStartLine + length <= fHeight) || throwRuntimeException();
+		for (int i = 0; i < length; i++) {
+			copyLine(source, i + sourceStartLine, i + destStartLine);
+		}
+	}
+
+	@Override
+	public void copyLine(ITerminalTextData source, int sourceLine, int destLine) {
+		assert (destLine >= 0 && destLine < fHeight) || throwRuntimeException();
+		char[] chars;
+		int[] runs;
+		if (source == this) {
+			int slot = slot(sourceLine);
+			chars = chars(slot);
+			runs = runs(slot);
+			if (chars != null && fSpilled[slot] == 0) {
+				// the runs of lines on the heap are modified in place
+				chars = chars.clone();
+				runs = Arrays.copyOf(runs, fRunLengths[slot]);
+			}
+		} else {
+			chars = source.getChars(sourceLine);
+			runs = chars == null ? null : toRuns(source.getStyles(sourceLine), chars.length);
+		}
+		boolean wrapped = source.isWrappedLine(sourceLine);
+		cleanLine(destLine);
+		int slot = slot(destLine);
+		fChars[slot] = chars;
+		fRuns[slot] = runs;
+		fRunLengths[slot] = runs == null ? 0 : runs.length;
+		fWrappedLines.set(slot, wrapped);
+	}
+
+	/**
+	 * @return the style runs of the given styles of a line
+	 */
+	private int[] toRuns(TerminalStyle[] styles, int length) {
+		if (styles == null)
+			return NO_RUNS;
+		int[] runs = new int[16];
+		int n = 0;
+		for (int i = 0; i < length; i++) {
+			int style = i < styles.length ? styleIndex(styles[i]) : NO_STYLE;
+			if (n == runs.length)
+				runs = Arrays.copyOf(runs, 2 * n);
+			n = appendRun(runs, n, i, style);
+		}
+		return n == 0 ? NO_RUNS : Arrays.copyOf(runs, n);
+	}
+
+	@Override
+	public char[] getChars(int line) {
+		assert (line >= 0 && line < fHeight) || throwRuntimeException();
+		int slot = slot(line);
+		if (fSpilled[slot] != 0)
+			return fSpillFile.readChars(fSpilled[slot] - 1);
+		if (fChars[slot] == null)
+			return null;
+		return fChars[slot].clone();
+	}
+
+	@Override
+	public TerminalStyle[] getStyles(int line) {
+		assert (line >= 0 && line < fHeight) || throwRuntimeException();
+		int slot = slot(line);
+		char[] chars = chars(slot);
+		if (chars == null)
+			return null;
+		int[] runs = runs(slot);
+		int length = runLength(slot, runs);
+		TerminalStyle[] styles = new TerminalStyle[chars.length];
+		for (int i = 0; i < length; i += 2) {
+			int end = i + 2 < length ? runs[i + 2] : styles.length;
+			Arrays.fill(styles, runs[i], end, fStyles.get(runs[i + 1]));
+		}
+		return styles;
+	}
+
+	@Override
+	public void setMaxHeight(int height) {
+		fMaxHeight = height;
+	}
+
+	@Override
+	public int getMaxHeight() {
+		return fMaxHeight;
+	}
+
+	@Override
+	public void cleanLine(int line) {
+		int slot = slot(line);
+		if (fSpilled[slot] != 0) {
+			fSpillFile.release(fSpilled[slot] - 1);
+			fSpilled[slot] = 0;
+		}
+		fChars[slot] = null;
+		fRuns[slot] = null;
+		fRunLengths[slot] = 0;
+		fWrappedLines.clear(slot);
+	}
+
+	@Override
+	public int getCursorColumn() {
+		return fCursorColumn;
+	}
+
+	@Override
+	public int getCursorLine() {
+		return fCursorLine;
+	}
+
+	@Override
+	public void setCursorColumn(int column) {
+		fCursorColumn = column;
+	}
+
+	@Override
+	public void setCursorLine(int line) {
+		fCursorLine = line;
+	}
+
+	@Override
+	public boolean isWrappedLine(int line) {
+		assert (line >= 0 && line < fHeight) || throwRuntimeException();
+		return fWrappedLines.get(slot(line));
+	}
+
+	@Override
+	public void setWrappedLine(int line) {
+		assert (line >= 0 && line < fHeight) || throwRuntimeException();
+		fWrappedLines.set(slot(line));
+	}
+
+	/**
+	 * A temporary file holding spilled lines, mapped in segments.
+	 * <p>
+	 * A line is written as the number of its characters, the number of its
+	 * style runs, its characters and its runs.  Lines are appended to the
+	 * current segment; a segment is reused once all its lines are released.
+	 * Since lines are mostly released in the order they were spilled, the file
+	 * stays about the size of the spilled lines.
+	 */
+	private static class SpillFile implements Runnable {
+		private static final int SEGMENT_SIZE = 1 << 20;
+		private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+		private final FileChannel fChannel;
+		private final List<MappedByteBuffer> fSegments = new ArrayList<>();
+		/** The number of lines held by each segment */
+		private int[] fLineCounts = new int[16];
+		private final ArrayDeque<Integer> fFreeSegments = new ArrayDeque<>();
+		private int fCurrent = -1;
+		private int fPosition;
+
+		SpillFile() throws IOException {
+			Path path = Files.createTempFile("terminal", ".scrollback"); //$NON-NLS-1$ //$NON-NLS-2$
+			fChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+					StandardOpenOption.DELETE_ON_CLOSE);
+		}
+
+		/**
+		 * @return the offset of the line, or -1 if it does not fit in a segment
+		 */
+		long write(char[] chars, int length, int[] runs, int runCount) throws IOException {
+			int size = HEADER_SIZE + length * Character.BYTES + runCount * Integer.BYTES;
+			if (size > SEGMENT_SIZE)
+				return -1;
+			if (fCurrent < 0 || fPosition + size > SEGMENT_SIZE)
+				nextSegment();
+			ByteBuffer buffer = fSegments.get(fCurrent).duplicate();
+			buffer.position(fPosition);
+			buffer.putInt(length);
+			buffer.putInt(runCount);
+			buffer.asCharBuffer().put(chars, 0, length);
+			buffer.position(fPosition + HEADER_SIZE + length * Character.BYTES);
+			buffer.asIntBuffer().put(runs, 0, runCount);
+			long offset = (long) fCurrent * SEGMENT_SIZE + fPosition;
+			fLineCounts[fCurrent]++;
+			fPosition += size;
+			return offset;
+		}
+
+		private void nextSegment() throws IOException {
+			if (fCurrent >= 0 && fLineCounts[fCurrent] == 0)
+				fFreeSegments.add(fCurrent);
+			Integer segment = fFreeSegments.poll();
+			if (segment == null) {
+				segment = fSegments.size();
+				fSegments.add(fChannel.map(FileChannel.MapMode.READ_WRITE, (long) segment * SEGMENT_SIZE,
+						SEGMENT_SIZE));
+				if (segment == fLineCounts.length)
+					fLineCounts = Arrays.copyOf(fLineCounts, 2 * segment);
+			}
+			fCurrent = segment;
+			fPosition = 0;
+		}
+
+		void release(long offset) {
+			int segment = (int) (offset / SEGMENT_SIZE);
+			if (--fLineCounts[segment] == 0) {
+				if (segment == fCurrent)
+					fPosition = 0;
+				else
+					fFreeSegments.add(segment);
+			}
+		}
+
+		private ByteBuffer segment(long offset) {
+			return fSegments.get((int) (offset / SEGMENT_SIZE));
+		}
+
+		char readChar(long offset, int column) {
+			ByteBuffer segment = segment(offset);
+			int position = (int) (offset % SEGMENT_SIZE);
+			if (column >= segment.getInt(position))
+				return 0;
+			if (column < 0)
+				throw new ArrayIndexOutOfBoundsException(column);
+			return segment.getChar(position + HEADER_SIZE + column * Character.BYTES);
+		}
+
+		char[] readChars(long offset) {
+			ByteBuffer buffer = segment(offset).duplicate();
+			buffer.position((int) (offset % SEGMENT_SIZE));
+			char[] chars = new char[buffer.getInt()];
+			buffer.getInt();
+			buffer.asCharBuffer().get(chars);
+			return chars;
+		}
+
+		/**
+		 * Adds the style indexes of the runs of the line to styles.
+		 */
+		void markStyles(long offset, BitSet styles) {
+			ByteBuffer segment = segment(offset);
+			int position = (int) (offset % SEGMENT_SIZE);
+			int runs = position + HEADER_SIZE + segment.getInt(position) * Character.BYTES;
+			int runCount = segment.getInt(position + Integer.BYTES);
+			for (int i = 1; i < runCount; i += 2)
+				styles.set(segment.getInt(runs + i * Integer.BYTES));
+		}
+
+		/**
+		 * Replaces the style indexes of the runs of the line in place.
+		 */
+		void renumberStyles(long offset, int[] indexes) {
+			ByteBuffer segment = segment(offset);
+			int position = (int) (offset % SEGMENT_SIZE);
+			int runs = position + HEADER_SIZE + segment.getInt(position) * Character.BYTES;
+			int runCount = segment.getInt(position + Integer.BYTES);
+			for (int i = 1; i < runCount; i += 2) {
+				int index = runs + i * Integer.BYTES;
+				segment.putInt(index, indexes[segment.getInt(index)]);
+			}
+		}
+
+		int[] readRuns(long offset) {
+			ByteBuffer buffer = segment(offset).duplicate();
+			int position = (int) (offset % SEGMENT_SIZE);
+			buffer.position(position);
+			int length = buffer.getInt();
+			int[] runs = new int[buffer.getInt()];
+			buffer.position(position + HEADER_SIZE + length * Character.BYTES);
+			buffer.asIntBuffer().get(runs);
+			return runs;
+		}
+
+		@Override
+		public void run() {
+			fSegments.clear();
+			try {
+				fChannel.close();
+			} catch (IOException e) {
+				Logger.logException(e);
+			}
+		}
+	}
+}
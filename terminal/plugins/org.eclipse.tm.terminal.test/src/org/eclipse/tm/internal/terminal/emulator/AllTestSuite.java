@@ -32,6 +32,7 @@ public class AllTestSuite extends TestCase {
 	public static Test suite() {
 		TestSuite suite = new TestSuite(AllTestSuite.class.getName());
 		suite.addTestSuite(VT100EmulatorBackendTest.class);
+		suite.addTestSuite(VT100EmulatorPerformanceTest.class);
 		return suite;
 	}
 
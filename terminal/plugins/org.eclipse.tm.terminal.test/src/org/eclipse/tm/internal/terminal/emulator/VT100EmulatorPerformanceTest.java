@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.tm.internal.terminal.emulator;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.Reader;
+
+import org.eclipse.tm.terminal.model.ITerminalTextData;
+import org.eclipse.tm.terminal.model.TerminalTextDataFactory;
+
+import junit.framework.TestCase;
+
+/**
+ * Measures the throughput of the emulator, in MB of characters per second,
+ * for the output of a parallel build and a log file.
+ */
+public class VT100EmulatorPerformanceTest extends TestCase {
+	long TIME = 1000;
+
+	/** The approximate size of the input, in characters */
+	int SIZE = 4 * 1024 * 1024;
+
+	public void testPlainText() throws IOException {
+		StringBuilder input = new StringBuilder();
+		for (int i = 0; input.length() < SIZE; i++) {
+			input.append("2026-01-01 12:00:00,").append(i % 1000).append(" INFO  [worker-").append(i % 64)
+					.append("] org.example.service.Handler - processed request ").append(i).append("\r\n");
+		}
+		measure(input, "plain");
+	}
+
+	public void testAnsiText() throws IOException {
+		StringBuilder input = new StringBuilder();
+		for (int i = 0; input.length() < SIZE; i++) {
+			input.append("\033[32m[ ").append(i % 100).append("%]\033[0m \033[1mBuilding CXX object\033[0m src/module")
+					.append(i % 64).append("/file").append(i).append(".cpp.o\r\n");
+		}
+		measure(input, "ANSI");
+	}
+
+	public void testMixedText() throws IOException {
+		StringBuilder input = new StringBuilder();
+		for (int i = 0; input.length() < SIZE; i++) {
+			if (i % 4 == 0) {
+				input.append("\033[1;31merror:\033[0m\033[1m expected ';' before '}' token\033[0m\r\n");
+			} else {
+				input.append("gcc -O2 -Wall -c -o obj/file").append(i).append(".o src/file").append(i)
+						.append(".c -Iinclude -DNDEBUG\r\n");
+			}
+			if (i % 100 == 0) {
+				input.append("\033]0;make: ").append(i).append("\007\033[K");
+			}
+		}
+		measure(input, "mixed");
+	}
+
+	private void measure(StringBuilder input, String label) throws IOException {
+		char[] chars = input.toString().toCharArray();
+		long n = 0;
+		long t0 = System.currentTimeMillis();
+		while (System.currentTimeMillis() - t0 < TIME) {
+			ITerminalTextData data = TerminalTextDataFactory.makeTerminalTextData();
+			data.setMaxHeight(1000);
+			VT100Emulator emulator = new VT100Emulator(data, new MockTerminalControlForText(), null);
+			emulator.resetState();
+			emulator.setDimensions(24, 120);
+			Reader reader = new CharArrayReader(chars);
+			emulator.setInputStreamReader(reader);
+			emulator.processText();
+			assertEquals(-1, reader.read());
+			n += chars.length;
+		}
+		long time = System.currentTimeMillis() - t0;
+		System.out.println(label + " " + (n * 1000 / (1024 * 1024)) / time + " MB/s");
+	}
+}
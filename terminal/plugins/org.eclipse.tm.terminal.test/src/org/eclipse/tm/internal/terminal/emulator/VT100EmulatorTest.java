@@ -198,6 +198,36 @@ public class VT100EmulatorTest {
 		assertTextEquals(expected);
 	}
 
+	/**
+	 * Input larger than the read buffer of the emulator, with text sequences
+	 * crossing the buffer boundaries.
+	 */
+	@Test
+	public void testLongInput() {
+		data.setMaxHeight(1000);
+		StringBuilder input = new StringBuilder();
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			String line = "Hello " + i + ":" + "x".repeat(i % 60);
+			input.append("\033[1;3" + (i % 8) + "m").append(line).append("\033[0m\r\n");
+			expected.add(line);
+		}
+		run(input.toString());
+		assertAll(() -> assertCursorLocation(500, 0), () -> assertTextEquals(expected));
+	}
+
+	@Test
+	public void testLongLine() {
+		data.setMaxHeight(1000);
+		run("x".repeat(125 * WINDOW_COLUMNS + 1));
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 125; i++) {
+			expected.add("x".repeat(WINDOW_COLUMNS));
+		}
+		expected.add("x");
+		assertAll(() -> assertCursorLocation(125, 1), () -> assertTextEquals(expected));
+	}
+
 	@Test
 	public void testCursorPosition() {
 		run(CURSOR_POSITION_TOP_LEFT);
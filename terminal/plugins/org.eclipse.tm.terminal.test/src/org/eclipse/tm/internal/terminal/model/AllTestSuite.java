@@ -36,6 +36,8 @@ public class AllTestSuite extends TestCase {
 		suite.addTestSuite(TerminalTextDataFastScrollTest.class);
 		suite.addTestSuite(TerminalTextDataFastScrollMaxHeightTest.class);
 		suite.addTestSuite(TerminalTextDataPerformanceTest.class);
+		suite.addTestSuite(TerminalTextDataRingStoreTest.class);
+		suite.addTestSuite(TerminalTextDataRingStoreSpillTest.class);
 		suite.addTestSuite(TerminalTextDataSnapshotTest.class);
 		suite.addTestSuite(TerminalTextDataSnapshotWindowTest.class);
 		suite.addTestSuite(TerminalTextDataStoreTest.class);
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.tm.internal.terminal.model;
+
+import org.eclipse.tm.terminal.model.ITerminalTextData;
+import org.eclipse.tm.terminal.model.LineSegment;
+import org.eclipse.tm.terminal.model.TerminalStyle;
+
+/**
+ * Runs the store tests with all but the last line spilled to the file.
+ */
+public class TerminalTextDataRingStoreSpillTest extends AbstractITerminalTextDataTest {
+	@Override
+	protected ITerminalTextData makeITerminalTextData() {
+		return new TerminalTextDataRingStore(1);
+	}
+
+	public void testScrollback() {
+		TerminalStyle style = getDefaultStyle();
+		TerminalStyle bold = style.setBold(true);
+		TerminalTextDataRingStore term = new TerminalTextDataRingStore(100);
+		try {
+			term.setMaxHeight(5000);
+			term.setDimensions(1, 20);
+			for (int i = 0; i < 20000; i++) {
+				int line = term.getHeight() - 1;
+				term.setChars(line, 0, ("line " + i).toCharArray(), style);
+				term.setChars(line, 12, "!".toCharArray(), bold);
+				term.addLine();
+			}
+			assertEquals(5000, term.getHeight());
+			assertEquals(4900, term.getSpilledLineCount());
+
+			// the oldest line
+			assertEquals("line 15001", new String(term.getChars(0), 0, 10));
+			LineSegment[] segments = term.getLineSegments(0, 0, 13);
+			assertEquals(3, segments.length);
+			assertSame(style, segments[0].getStyle());
+			assertEquals(10, segments[1].getColumn());
+			assertSame(bold, segments[2].getStyle());
+			assertEquals('!', term.getChar(0, 12));
+			assertNull(term.getStyle(0, 19));
+
+			// modifying a spilled line brings it back
+			term.setChar(1, 0, 'L', bold);
+			assertEquals(4899, term.getSpilledLineCount());
+			assertEquals("Line 15002", new String(term.getChars(1), 0, 10));
+			assertSame(bold, term.getStyle(1, 0));
+			assertSame(style, term.getStyle(1, 1));
+
+			// the most recent lines are on the heap
+			assertEquals("line 19999", new String(term.getChars(4998), 0, 10));
+			assertNull(term.getChars(4999));
+
+			term.setDimensions(10, 20);
+			assertEquals(9, term.getSpilledLineCount());
+			assertEquals("line 15001", new String(term.getChars(0), 0, 10));
+		} finally {
+			term.close();
+		}
+	}
+
+	public void testStylesPruned() {
+		TerminalTextDataRingStore term = new TerminalTextDataRingStore(10);
+		try {
+			term.setMaxHeight(100);
+			term.setDimensions(1, 10);
+			// a new style for each line
+			for (int i = 0; i < 5000; i++) {
+				int line = term.getHeight() - 1;
+				term.setChars(line, 0, "line".toCharArray(), style(i));
+				term.addLine();
+			}
+			assertEquals(90, term.getSpilledLineCount());
+			// the 99 lines with a style and the null style are kept
+			assertTrue(term.getStyleCount() <= 256);
+			assertTrue(term.getStyleCount() >= 100);
+
+			// the styles of spilled lines and lines on the heap were renumbered
+			assertEquals(style(4901), term.getStyle(0, 0));
+			assertNull(term.getStyle(0, 4));
+			assertEquals(style(4998), term.getStyle(97, 3));
+			term.setChar(0, 4, 'x', style(4998));
+			assertEquals(style(4998), term.getStyle(0, 4));
+		} finally {
+			term.close();
+		}
+	}
+
+	private TerminalStyle style(int i) {
+		return getDefaultStyle().setForeground(i % 256).setBackground(i / 256);
+	}
+
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.tm.internal.terminal.model;
+
+import org.eclipse.tm.terminal.model.ITerminalTextData;
+import org.eclipse.tm.terminal.model.LineSegment;
+import org.eclipse.tm.terminal.model.TerminalStyle;
+
+public class TerminalTextDataRingStoreTest extends AbstractITerminalTextDataTest {
+	@Override
+	protected ITerminalTextData makeITerminalTextData() {
+		return new TerminalTextDataRingStore();
+	}
+
+	public void testRunsEditedInPlace() {
+		TerminalStyle style = getDefaultStyle();
+		TerminalStyle bold = style.setBold(true);
+		ITerminalTextData term = makeITerminalTextData();
+		term.setDimensions(1, 10);
+		term.setChars(0, 0, "abcdef".toCharArray(), style);
+		term.setChar(0, 2, 'C', bold);
+		term.setChar(0, 3, 'D', bold);
+		assertSegments(term, new int[] { 0, 2, 4, 6 }, style, bold, style, null);
+
+		// splitting and merging runs
+		term.setChar(0, 2, 'c', style);
+		assertSegments(term, new int[] { 0, 3, 4, 6 }, style, bold, style, null);
+		term.setChar(0, 3, 'd', style);
+		assertSegments(term, new int[] { 0, 6 }, style, null);
+		term.setChars(0, 1, "BCDEFGHIJ".toCharArray(), bold);
+		assertSegments(term, new int[] { 0, 1 }, style, bold);
+		term.setChar(0, 9, 'j', null);
+		assertSegments(term, new int[] { 0, 1, 9 }, style, bold, null);
+		assertEquals("aBCDEFGHIj", new String(term.getChars(0)));
+	}
+
+	private void assertSegments(ITerminalTextData term, int[] columns, TerminalStyle... styles) {
+		LineSegment[] segments = term.getLineSegments(0, 0, term.getWidth());
+		assertEquals(columns.length, segments.length);
+		for (int i = 0; i < segments.length; i++) {
+			assertEquals(columns[i], segments[i].getColumn());
+			assertSame(styles[i], segments[i].getStyle());
+		}
+	}
+
+}